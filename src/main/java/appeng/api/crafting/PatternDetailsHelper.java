@@ -46,6 +46,7 @@
 import appeng.crafting.pattern.AEProcessingPattern;
 import appeng.crafting.pattern.AESmithingTablePattern;
 import appeng.crafting.pattern.AEStonecuttingPattern;
+import appeng.crafting.pattern.DecodedPatternCache;
 
 public final class PatternDetailsHelper {
     private static final List<IPatternDetailsDecoder> DECODERS = new CopyOnWriteArrayList<>();
@@ -89,8 +90,29 @@ public static boolean isEncodedPattern(ItemStack stack) {
         return false;
     }
 
+    /**
+     * Decodes the given encoded pattern. Results are cached per recipe manager until recipes or tags are reloaded, so
+     * identical encoded patterns share the same {@link IPatternDetails}.
+     */
     @Nullable
     public static IPatternDetails decodePattern(AEItemKey what, Level level) {
+        if (what == null || level == null) {
+            return decodeUncached(what, level);
+        }
+        return DecodedPatternCache.INSTANCE.get(what, level, key -> decodeUncached(key, level));
+    }
+
+    @Nullable
+    public static IPatternDetails decodePattern(ItemStack stack, Level level) {
+        var what = AEItemKey.of(stack);
+        if (what == null || level == null) {
+            return decodeUncached(stack, level);
+        }
+        return DecodedPatternCache.INSTANCE.get(what, level, key -> decodeUncached(stack, level));
+    }
+
+    @Nullable
+    private static IPatternDetails decodeUncached(AEItemKey what, Level level) {
         for (var decoder : DECODERS) {
             var decoded = decoder.decodePattern(what, level);
             if (decoded != null) {
@@ -101,7 +123,7 @@ public static IPatternDetails decodePattern(AEItemKey what, Level level) {
     }
 
     @Nullable
-    public static IPatternDetails decodePattern(ItemStack stack, Level level) {
+    private static IPatternDetails decodeUncached(ItemStack stack, Level level) {
         for (var decoder : DECODERS) {
             var decoded = decoder.decodePattern(stack, level);
             if (decoded != null) {
@@ -70,6 +70,30 @@ static ICraftingMachine of(Level level, BlockPos pos, Direction side) {
      */
     boolean pushPattern(IPatternDetails patternDetails, KeyCounter[] inputs, Direction ejectionDirection);
 
+    /**
+     * Return how many copies of a pattern this machine can currently accept in a single call to {@link #pushPatterns}.
+     * Machines that only process one craft at a time return 1.
+     *
+     * @param maxCopies the number of copies the caller would like to push
+     * @return a number between 1 and <code>maxCopies</code>
+     */
+    default int getMaxPatternBatchSize(IPatternDetails patternDetails, int maxCopies) {
+        return 1;
+    }
+
+    /**
+     * inserts several copies of a crafting plan at once.
+     *
+     * @param inputs The crafting ingredients of all copies combined. The array layout corresponds to
+     *               {@link IPatternDetails#getInputs()} of <code>patternDetails</code>.
+     * @param copies The number of copies, at most {@link #getMaxPatternBatchSize}.
+     * @return if it was accepted, all or nothing.
+     */
+    default boolean pushPatterns(IPatternDetails patternDetails, KeyCounter[] inputs, int copies,
+            Direction ejectionDirection) {
+        return copies == 1 && pushPattern(patternDetails, inputs, ejectionDirection);
+    }
+
     /**
      * check if the crafting machine is accepting pushes via pushPattern, if this is false, all calls to push will fail,
      * you can try inserting into the inventory instead.
@@ -84,7 +84,8 @@ public interface IGrid {
      *
      * @param machineClass class of the machine associated with a grid node
      * @return all unique machines of specified class. if a machine is connected to the grid with multiple nodes, this
-     *         will only return the machine once.
+     *         will only return the machine once. The returned set is immutable and cached until machines of the class
+     *         join or leave the grid, so iterating it repeatedly does not allocate.
      */
 
     <T> Set<T> getMachines(Class<T> machineClass);
@@ -94,11 +95,22 @@ public interface IGrid {
      *
      * @param machineClass class of the machine associated with a grid node
      * @return all unique machines of specified class. if a machine is connected to the grid with multiple nodes, this
-     *         will only return the machine once.
+     *         will only return the machine once. The returned set is immutable and cached until the set of active
+     *         machines of the class changes.
      */
 
     <T> Set<T> getActiveMachines(Class<T> machineClass);
 
+    /**
+     * Get a counter that changes whenever the result of {@link #getMachines} or {@link #getActiveMachines} changes for
+     * the given class. Callers can remember it to skip work if the machines didn't change since they last looked.
+     *
+     * @param machineClass class of the machine associated with a grid node
+     * @return the current version of the machines of the specified class.
+     */
+
+    long getMachinesVersion(Class<?> machineClass);
+
     /**
      * @return IReadOnlyCollection for all nodes on the network, node visitors are preferred.
      */
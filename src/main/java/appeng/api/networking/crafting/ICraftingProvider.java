@@ -59,11 +59,47 @@ default int getPatternPriority() {
      */
     boolean pushPattern(IPatternDetails patternDetails, KeyCounter[] inputHolder);
 
+    /**
+     * Return how many copies of a pattern this provider can currently accept in a single call to
+     * {@link #pushPatterns}. Providers that don't support pushing several copies at once return 1.
+     *
+     * @param maxCopies the number of copies the caller would like to push
+     * @return a number between 1 and <code>maxCopies</code>
+     */
+    default int getMaxPatternBatchSize(IPatternDetails patternDetails, int maxCopies) {
+        return 1;
+    }
+
+    /**
+     * Instruct a provider to craft several copies of one of the patterns at once. The inputs are pre-multiplied, i.e.
+     * the {@link KeyCounter} for each input slot contains the stacks for that slot of all copies combined.
+     * <p/>
+     * Since substitute inputs can't be split between copies, the batch is accepted completely or not at all.
+     *
+     * @param patternDetails details
+     * @param inputHolder    the requested stacks of all copies, for each input slot of the pattern
+     * @param copies         the number of copies, at most {@link #getMaxPatternBatchSize}
+     *
+     * @return if the batch was pushed, all or nothing.
+     */
+    default boolean pushPatterns(IPatternDetails patternDetails, KeyCounter[] inputHolder, int copies) {
+        return copies == 1 && pushPattern(patternDetails, inputHolder);
+    }
+
     /**
      * @return if this is true, the crafting engine will refuse to send patterns to this provider.
      */
     boolean isBusy();
 
+    /**
+     * Return true if this provider calls {@link #requestBusyUpdate} whenever the result of {@link #isBusy()} changes.
+     * This allows the crafting engine to skip patterns for which all providers are busy, without extracting their
+     * inputs first. Only supported for providers that are exposed by a grid node.
+     */
+    default boolean notifiesBusyChanges() {
+        return false;
+    }
+
     /**
      * Return the emitable items offered by this provider. They should be crafted and inserted into the network when
      * {@link ICraftingService#isRequesting} is true.
@@ -82,4 +118,16 @@ static void requestUpdate(IManagedGridNode managedNode) {
             node.getGrid().getCraftingService().refreshNodeCraftingProvider(node);
         }
     }
+
+    /**
+     * This convenience method can be used by providers that {@link #notifiesBusyChanges() notify busy changes} when
+     * the result of {@link #isBusy()} may have changed. This only works if the given managed grid node provides this
+     * service.
+     */
+    static void requestBusyUpdate(IManagedGridNode managedNode) {
+        var node = managedNode.getNode();
+        if (node != null) {
+            node.getGrid().getCraftingService().refreshNodeBusyState(node);
+        }
+    }
 }
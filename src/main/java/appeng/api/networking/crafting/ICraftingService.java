@@ -64,6 +64,12 @@ default boolean isCraftable(AEKey whatToCraft) {
      */
     void refreshNodeCraftingProvider(IGridNode node);
 
+    /**
+     * Refreshes whether the {@link ICraftingProvider} of a {@link IGridNode node} is busy. Only has an effect if the
+     * provider {@link ICraftingProvider#notifiesBusyChanges() notifies busy changes}.
+     */
+    void refreshNodeBusyState(IGridNode node);
+
     /**
      * Adds a {@link ICraftingProvider} that is not associated with a specific {@link IGridNode }. This is for providing
      * crafting patterns and auto-crafting with {@link IGridService}s, for example.
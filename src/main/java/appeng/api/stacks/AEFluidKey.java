@@ -31,6 +31,8 @@
 import appeng.core.AELog;
 
 public final class AEFluidKey extends AEKey {
+    static final KeyInterner<AEFluidKey> INTERNER = new KeyInterner<>();
+
     public static final MapCodec<AEFluidKey> MAP_CODEC = RecordCodecBuilder.mapCodec(
             instance -> instance.group(
                     BuiltInRegistries.FLUID.holderByNameCodec().validate(
@@ -40,8 +42,8 @@ public final class AEFluidKey extends AEKey {
                             .fieldOf("id").forGetter(key -> key.stack.getFluidHolder()),
                     DataComponentPatch.CODEC.optionalFieldOf("components", DataComponentPatch.EMPTY)
                             .forGetter(key -> key.stack.getComponentsPatch()))
-                    .apply(instance, (fluidHolder,
-                            dataComponentPatch) -> new AEFluidKey(new FluidStack(fluidHolder, 1, dataComponentPatch))));
+                    .apply(instance, (fluidHolder, dataComponentPatch) -> intern(
+                            new AEFluidKey(new FluidStack(fluidHolder, 1, dataComponentPatch)))));
     public static final Codec<AEFluidKey> CODEC = MAP_CODEC.codec();
 
     public static final int AMOUNT_BUCKET = 1000;
@@ -65,7 +67,15 @@ public static AEFluidKey of(FluidStack fluidVariant) {
         if (fluidVariant.isEmpty()) {
             return null;
         }
-        return new AEFluidKey(fluidVariant.copyWithAmount(1));
+        if (!KeyInterner.isEnabled()) {
+            return new AEFluidKey(fluidVariant.copyWithAmount(1));
+        }
+        // The stack only has to be copied if no equal key exists yet
+        return INTERNER.intern(new AEFluidKey(fluidVariant), key -> new AEFluidKey(key.stack.copyWithAmount(1)));
+    }
+
+    private static AEFluidKey intern(AEFluidKey key) {
+        return KeyInterner.isEnabled() ? INTERNER.intern(key, k -> k) : key;
     }
 
     public static boolean matches(AEKey what, FluidStack fluid) {
@@ -178,7 +188,7 @@ public void writeToPacket(RegistryFriendlyByteBuf data) {
 
     public static AEFluidKey fromPacket(RegistryFriendlyByteBuf data) {
         var stack = FluidStack.STREAM_CODEC.decode(data);
-        return new AEFluidKey(stack);
+        return intern(new AEFluidKey(stack));
     }
 
     public static boolean is(@Nullable GenericStack stack) {
@@ -32,6 +32,7 @@
 import appeng.core.AELog;
 
 public final class AEItemKey extends AEKey {
+    static final KeyInterner<AEItemKey> INTERNER = new KeyInterner<>();
 
     /**
      * We currently cannot directly use {@link ItemStack#SINGLE_ITEM_CODEC} since it is wrapped up in a lazy codec,
@@ -46,7 +47,8 @@ public final class AEItemKey extends AEKey {
                             .fieldOf("id").forGetter(key -> key.stack.getItemHolder()),
                     DataComponentPatch.CODEC.optionalFieldOf("components", DataComponentPatch.EMPTY)
                             .forGetter(key -> key.stack.getComponentsPatch()))
-                    .apply(builder, (item, componentPatch) -> new AEItemKey(new ItemStack(item, 1, componentPatch))));
+                    .apply(builder,
+                            (item, componentPatch) -> intern(new AEItemKey(new ItemStack(item, 1, componentPatch)))));
     public static final Codec<AEItemKey> CODEC = MAP_CODEC.codec();
 
     private final ItemStack stack;
@@ -68,7 +70,15 @@ public static AEItemKey of(ItemStack stack) {
             return null;
         }
 
-        return new AEItemKey(stack.copy());
+        if (!KeyInterner.isEnabled()) {
+            return new AEItemKey(stack.copy());
+        }
+        // The stack only has to be copied if no equal key exists yet
+        return INTERNER.intern(new AEItemKey(stack), key -> new AEItemKey(key.stack.copy()));
+    }
+
+    private static AEItemKey intern(AEItemKey key) {
+        return KeyInterner.isEnabled() ? INTERNER.intern(key, k -> k) : key;
     }
 
     public static boolean matches(AEKey what, ItemStack itemStack) {
@@ -251,7 +261,7 @@ public void writeToPacket(RegistryFriendlyByteBuf data) {
 
     public static AEItemKey fromPacket(RegistryFriendlyByteBuf data) {
         var stack = ItemStack.STREAM_CODEC.decode(data);
-        return new AEItemKey(stack);
+        return intern(new AEItemKey(stack));
     }
 
     @Override
@@ -75,7 +75,7 @@ public void addAll(KeyCounter other) {
             if (ourSubIndex == null) {
                 lists.put(entry.getKey(), entry.getValue().copy());
             } else {
-                ourSubIndex.addAll(entry.getValue());
+                ensureCanHoldAll(entry.getKey(), ourSubIndex, entry.getValue()).addAll(entry.getValue());
             }
         }
     }
@@ -88,7 +88,7 @@ public void removeAll(KeyCounter other) {
                 copied.invert();
                 lists.put(entry.getKey(), copied);
             } else {
-                ourSubIndex.removeAll(entry.getValue());
+                ensureCanHoldAll(entry.getKey(), ourSubIndex, entry.getValue()).removeAll(entry.getValue());
             }
         }
     }
@@ -109,7 +109,10 @@ public void remove(AEKey key, long amount) {
      * Removes the given key from this counter, and returns the old value (or 0).
      */
     public long remove(AEKey key) {
-        var subIndex = getSubIndex(key);
+        var subIndex = getSubIndexOrNull(key);
+        if (subIndex == null) {
+            return 0;
+        }
         var ret = subIndex.remove(key);
         if (subIndex.isEmpty()) {
             lists.remove(key.getPrimaryKey());
@@ -169,9 +172,30 @@ private VariantCounter getSubIndex(AEKey key) {
         // We check before the call to computeIfAbsent, otherwise we'd need a capturing lambda.
         if (key.getFuzzySearchMaxValue() > 0) {
             return lists.computeIfAbsent(key.getPrimaryKey(), k -> new VariantCounter.FuzzyVariantMap());
-        } else {
-            return lists.computeIfAbsent(key.getPrimaryKey(), k -> new VariantCounter.UnorderedVariantMap());
         }
+
+        var subIndex = lists.get(key.getPrimaryKey());
+        if (subIndex == null) {
+            subIndex = new VariantCounter.SingleVariantCounter();
+            lists.put(key.getPrimaryKey(), subIndex);
+        } else if (subIndex instanceof VariantCounter.SingleVariantCounter single && !single.canHold(key)) {
+            // A second variant of the same primary key was added
+            subIndex = single.toVariantMap();
+            lists.put(key.getPrimaryKey(), subIndex);
+        }
+        return subIndex;
+    }
+
+    /**
+     * Replaces our counter for the given primary key with one that can hold more than one variant, if the variants of
+     * the other counter would not fit into it.
+     */
+    private VariantCounter ensureCanHoldAll(Object primaryKey, VariantCounter subIndex, VariantCounter other) {
+        if (subIndex instanceof VariantCounter.SingleVariantCounter single && !single.canHoldAll(other)) {
+            subIndex = single.toVariantMap();
+            lists.put(primaryKey, subIndex);
+        }
+        return subIndex;
     }
 
     @Nullable
@@ -0,0 +1,131 @@
+package appeng.api.stacks;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.UnaryOperator;
+
+/**
+ * Weakly interns keys, so that equal keys share a single instance as long as any of them is still in use. Comparing
+ * interned keys for equality then usually succeeds on the identity check, instead of comparing their data components.
+ * <p/>
+ * Interning is a pure optimization: keys that were created while it was disabled, or that were already collected,
+ * still compare equal to interned keys, just slower.
+ * <p/>
+ * Lookups only need a temporary key that may wrap a mutable stack. The canonical key, which is created from it on a
+ * miss, has to own its stack. This avoids copying the stack when an equal key already exists.
+ */
+public final class KeyInterner<T extends AEKey> {
+    /**
+     * Keys are created by the server, client and crafting calculation threads, so the table is split into independently
+     * locked stripes.
+     */
+    private static final int STRIPE_COUNT = 16;
+
+    private static volatile boolean enabled = true;
+
+    private final Stripe<T>[] stripes;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    @SuppressWarnings("unchecked")
+    KeyInterner() {
+        stripes = new Stripe[STRIPE_COUNT];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Stripe<>();
+        }
+    }
+
+    /**
+     * @return The interner for {@link AEItemKey}.
+     */
+    public static KeyInterner<AEItemKey> items() {
+        return AEItemKey.INTERNER;
+    }
+
+    /**
+     * @return The interner for {@link AEFluidKey}.
+     */
+    public static KeyInterner<AEFluidKey> fluids() {
+        return AEFluidKey.INTERNER;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enables or disables interning for all key types. Keys that were already interned stay valid.
+     */
+    public static void setEnabled(boolean enabled) {
+        KeyInterner.enabled = enabled;
+    }
+
+    /**
+     * @param lookupKey    A key that is only used for the lookup, and not retained.
+     * @param canonicalize Creates the key that is stored and returned if no equal key exists yet.
+     * @return A key equal to the lookup key, which is shared with other callers.
+     */
+    T intern(T lookupKey, UnaryOperator<T> canonicalize) {
+        var stripe = stripes[spread(lookupKey.hashCode()) & (STRIPE_COUNT - 1)];
+        synchronized (stripe) {
+            var ref = stripe.keys.get(lookupKey);
+            var existing = ref != null ? ref.get() : null;
+            if (existing != null) {
+                hits.increment();
+                return existing;
+            }
+
+            misses.increment();
+            var canonical = canonicalize.apply(lookupKey);
+            // The value must not strongly reference the key, otherwise it would never be collected
+            stripe.keys.put(canonical, new WeakReference<>(canonical));
+            return canonical;
+        }
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * @return How many keys were answered with an existing instance.
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return How many keys had to be added to the table.
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return The ratio of hits to all lookups, or 0 if there were none yet.
+     */
+    public double getHitRate() {
+        var hits = getHits();
+        var total = hits + getMisses();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    /**
+     * @return The number of keys that are currently interned, including some that may already be unreachable.
+     */
+    public int size() {
+        int size = 0;
+        for (var stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.keys.size();
+            }
+        }
+        return size;
+    }
+
+    private static final class Stripe<T> {
+        private final Map<T, WeakReference<T>> keys = new WeakHashMap<>();
+    }
+}
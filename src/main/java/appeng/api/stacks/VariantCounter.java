@@ -1,9 +1,16 @@
 package appeng.api.stacks;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
 import java.util.NoSuchElementException;
 
+import com.google.common.collect.Iterators;
+
+import org.jetbrains.annotations.Nullable;
+
+import it.unimi.dsi.fastutil.objects.AbstractObject2LongMap.BasicEntry;
 import it.unimi.dsi.fastutil.objects.Object2LongMap;
 import it.unimi.dsi.fastutil.objects.Object2LongMaps;
 import it.unimi.dsi.fastutil.objects.Object2LongSortedMap;
@@ -27,153 +34,338 @@ public void setDropZeros(boolean dropZeros) {
         this.dropZeros = dropZeros;
     }
 
-    public long get(AEKey key) {
-        return this.getRecords().getOrDefault(key, 0);
-    }
+    public abstract long get(AEKey key);
 
-    public void add(AEKey key, long amount) {
-        this.getRecords().addTo(key, amount);
-    }
+    public abstract void add(AEKey key, long amount);
 
-    public void set(AEKey key, long amount) {
-        if (dropZeros && amount == 0) {
-            getRecords().removeLong(key);
-        } else {
-            getRecords().put(key, amount);
-        }
-    }
+    public abstract void set(AEKey key, long amount);
 
-    public long remove(AEKey key) {
-        return getRecords().removeLong(key);
-    }
+    public abstract long remove(AEKey key);
 
     public void addAll(VariantCounter other) {
-        for (var entry : other.getRecords().object2LongEntrySet()) {
+        for (var entry : other) {
             add(entry.getKey(), entry.getLongValue());
         }
     }
 
     public void removeAll(VariantCounter other) {
-        for (var entry : other.getRecords().object2LongEntrySet()) {
+        for (var entry : other) {
             add(entry.getKey(), -entry.getLongValue());
         }
     }
 
     public abstract Collection<Object2LongMap.Entry<AEKey>> findFuzzy(AEKey filter, FuzzyMode fuzzy);
 
-    public int size() {
-        if (!dropZeros) {
-            return getRecords().size();
+    public abstract int size();
+
+    public abstract boolean isEmpty();
+
+    /**
+     * Sets all amounts to zero.
+     */
+    public abstract void reset();
+
+    public abstract void clear();
+
+    public abstract VariantCounter copy();
+
+    public abstract void invert();
+
+    public abstract void removeZeros();
+
+    /**
+     * Base class for counters that store their variants in a map.
+     */
+    abstract static class VariantMap extends VariantCounter {
+        abstract AEKey2LongMap getRecords();
+
+        @Override
+        public long get(AEKey key) {
+            return this.getRecords().getOrDefault(key, 0);
         }
 
-        var size = 0;
-        for (var value : getRecords().values()) {
-            if (value != 0) {
-                size++;
-            }
+        @Override
+        public void add(AEKey key, long amount) {
+            this.getRecords().addTo(key, amount);
         }
 
-        return size;
-    }
+        @Override
+        public void set(AEKey key, long amount) {
+            if (isDropZeros() && amount == 0) {
+                getRecords().removeLong(key);
+            } else {
+                getRecords().put(key, amount);
+            }
+        }
 
-    public boolean isEmpty() {
-        if (!dropZeros) {
-            return getRecords().isEmpty();
+        @Override
+        public long remove(AEKey key) {
+            return getRecords().removeLong(key);
         }
 
-        for (var value : getRecords().values()) {
-            if (value != 0) {
-                return false;
+        @Override
+        public int size() {
+            if (!isDropZeros()) {
+                return getRecords().size();
+            }
+
+            var size = 0;
+            for (var value : getRecords().values()) {
+                if (value != 0) {
+                    size++;
+                }
             }
+
+            return size;
         }
 
-        return true;
-    }
+        @Override
+        public boolean isEmpty() {
+            if (!isDropZeros()) {
+                return getRecords().isEmpty();
+            }
 
-    @Override
-    public Iterator<Object2LongMap.Entry<AEKey>> iterator() {
-        if (!dropZeros) {
-            return Object2LongMaps.fastIterator(getRecords());
+            for (var value : getRecords().values()) {
+                if (value != 0) {
+                    return false;
+                }
+            }
+
+            return true;
         }
 
-        return new NonDefaultIterator();
-    }
+        @Override
+        public Iterator<Object2LongMap.Entry<AEKey>> iterator() {
+            if (!isDropZeros()) {
+                return Object2LongMaps.fastIterator(getRecords());
+            }
 
-    abstract AEKey2LongMap getRecords();
+            return new NonDefaultIterator();
+        }
 
-    /**
-     * Sets all amounts to zero.
-     */
-    public void reset() {
-        if (dropZeros) {
-            getRecords().clear();
-        } else {
-            getRecords().replaceAll((key, value) -> 0L);
+        @Override
+        public void reset() {
+            if (isDropZeros()) {
+                getRecords().clear();
+            } else {
+                getRecords().replaceAll((key, value) -> 0L);
+            }
         }
-    }
 
-    public void clear() {
-        getRecords().clear();
-    }
+        @Override
+        public void clear() {
+            getRecords().clear();
+        }
 
-    public abstract VariantCounter copy();
+        @Override
+        public void invert() {
+            for (var entry : getRecords().object2LongEntrySet()) {
+                entry.setValue(-entry.getLongValue());
+            }
+        }
 
-    public void invert() {
-        for (var entry : getRecords().object2LongEntrySet()) {
-            entry.setValue(-entry.getLongValue());
+        @Override
+        public void removeZeros() {
+            var it = getRecords().values().iterator();
+            while (it.hasNext()) {
+                var entry = it.nextLong();
+                if (entry == 0) {
+                    it.remove();
+                }
+            }
         }
-    }
 
-    public void removeZeros() {
-        var it = getRecords().values().iterator();
-        while (it.hasNext()) {
-            var entry = it.nextLong();
-            if (entry == 0) {
-                it.remove();
+        /**
+         * Only returns entries that do not have amount 0.
+         */
+        private class NonDefaultIterator implements Iterator<Object2LongMap.Entry<AEKey>> {
+            private final Iterator<Object2LongMap.Entry<AEKey>> parent;
+            private Object2LongMap.Entry<AEKey> next;
+
+            public NonDefaultIterator() {
+                this.parent = Object2LongMaps.fastIterator(getRecords());
+                this.next = seekNext();
+            }
+
+            @Override
+            public boolean hasNext() {
+                return this.next != null;
+            }
+
+            @Override
+            public Object2LongMap.Entry<AEKey> next() {
+                if (this.next == null) {
+                    throw new NoSuchElementException();
+                }
+
+                var result = this.next;
+                this.next = this.seekNext();
+                return result;
+            }
+
+            private Object2LongMap.Entry<AEKey> seekNext() {
+                while (this.parent.hasNext()) {
+                    var entry = this.parent.next();
+
+                    if (entry.getLongValue() == 0) {
+                        this.parent.remove();
+                    } else {
+                        return entry;
+                    }
+                }
+
+                return null;
             }
         }
     }
 
     /**
-     * Only returns entries that do not have amount 0.
+     * Holds the amount of a single variant inline, without allocating a map. Most primary keys in a network only ever
+     * have a single variant (i.e. items without components), so this is used for all keys that don't support fuzzy
+     * range lookups, until a second variant is added. {@link KeyCounter} then replaces it with the result of
+     * {@link #toVariantMap()}.
      */
-    private class NonDefaultIterator implements Iterator<Object2LongMap.Entry<AEKey>> {
-        private final Iterator<Object2LongMap.Entry<AEKey>> parent;
-        private Object2LongMap.Entry<AEKey> next;
+    static class SingleVariantCounter extends VariantCounter {
+        @Nullable
+        private AEKey key;
+        private long amount;
+
+        /**
+         * @return True if the given variant can be stored in this counter.
+         */
+        public boolean canHold(AEKey key) {
+            return this.key == null || this.key.equals(key);
+        }
+
+        /**
+         * @return True if all variants of the other counter can be added to this counter.
+         */
+        public boolean canHoldAll(VariantCounter other) {
+            var variant = this.key;
+            for (var entry : other) {
+                if (variant == null) {
+                    variant = entry.getKey();
+                } else if (!variant.equals(entry.getKey())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Creates a map-based counter with the same content, which can hold more than one variant.
+         */
+        public VariantCounter toVariantMap() {
+            var result = new UnorderedVariantMap();
+            result.setDropZeros(isDropZeros());
+            if (key != null) {
+                result.records.put(key, amount);
+            }
+            return result;
+        }
+
+        private boolean hasEntry() {
+            return key != null && (amount != 0 || !isDropZeros());
+        }
+
+        private void checkVariant(AEKey key) {
+            if (!canHold(key)) {
+                throw new IllegalArgumentException("Counter for " + this.key + " cannot hold " + key);
+            }
+        }
 
-        public NonDefaultIterator() {
-            this.parent = Object2LongMaps.fastIterator(getRecords());
-            this.next = seekNext();
+        @Override
+        public long get(AEKey key) {
+            return key.equals(this.key) ? amount : 0;
         }
 
         @Override
-        public boolean hasNext() {
-            return this.next != null;
+        public void add(AEKey key, long amount) {
+            checkVariant(key);
+            this.key = key;
+            this.amount += amount;
         }
 
         @Override
-        public Object2LongMap.Entry<AEKey> next() {
-            if (this.next == null) {
-                throw new NoSuchElementException();
+        public void set(AEKey key, long amount) {
+            checkVariant(key);
+            if (isDropZeros() && amount == 0) {
+                clear();
+            } else {
+                this.key = key;
+                this.amount = amount;
             }
+        }
 
-            var result = this.next;
-            this.next = this.seekNext();
+        @Override
+        public long remove(AEKey key) {
+            if (!key.equals(this.key)) {
+                return 0;
+            }
+            var result = amount;
+            clear();
             return result;
         }
 
-        private Object2LongMap.Entry<AEKey> seekNext() {
-            while (this.parent.hasNext()) {
-                var entry = this.parent.next();
+        @Override
+        public Collection<Object2LongMap.Entry<AEKey>> findFuzzy(AEKey filter, FuzzyMode fuzzy) {
+            // Like the unordered map, we return all records, which amounts to ignoring NBT
+            return key != null ? List.of(new BasicEntry<>(key, amount)) : List.of();
+        }
 
-                if (entry.getLongValue() == 0) {
-                    this.parent.remove();
-                } else {
-                    return entry;
-                }
+        @Override
+        public int size() {
+            return hasEntry() ? 1 : 0;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return !hasEntry();
+        }
+
+        @Override
+        public Iterator<Object2LongMap.Entry<AEKey>> iterator() {
+            if (!hasEntry()) {
+                return Collections.emptyIterator();
             }
+            // The entry is a snapshot, changing the counter through it is not supported
+            return Iterators.singletonIterator(new BasicEntry<>(key, amount));
+        }
 
-            return null;
+        @Override
+        public void reset() {
+            if (isDropZeros()) {
+                clear();
+            } else {
+                amount = 0;
+            }
+        }
+
+        @Override
+        public void clear() {
+            key = null;
+            amount = 0;
+        }
+
+        @Override
+        public VariantCounter copy() {
+            var result = new SingleVariantCounter();
+            result.setDropZeros(isDropZeros());
+            result.key = key;
+            result.amount = amount;
+            return result;
+        }
+
+        @Override
+        public void invert() {
+            amount = -amount;
+        }
+
+        @Override
+        public void removeZeros() {
+            if (amount == 0) {
+                clear();
+            }
         }
     }
 
@@ -181,7 +373,7 @@ private Object2LongMap.Entry<AEKey> seekNext() {
      * This variant list is optimized for items that cannot be damaged and thus do not support querying durability
      * ranges via {@link #findFuzzy}.
      */
-    static class UnorderedVariantMap extends VariantCounter {
+    static class UnorderedVariantMap extends VariantMap {
         private final AEKey2LongMap records = new AEKey2LongMap.OpenHashMap();
 
         /**
@@ -210,7 +402,7 @@ public VariantCounter copy() {
      * This variant list is optimized for damageable items, and supports selecting durability ranges with
      * {@link #findFuzzy}.
      */
-    static class FuzzyVariantMap extends VariantCounter {
+    static class FuzzyVariantMap extends VariantMap {
         private final AEKey2LongMap.AVLTreeMap records = FuzzySearch.createMap2Long();
 
         @Override
@@ -60,6 +60,7 @@ public void neighborChanged(BlockState state, Level level, BlockPos pos, Block b
         var be = this.getBlockEntity(level, pos);
         if (be != null) {
             be.getLogic().updateRedstoneState();
+            be.getLogic().notifyPatternContainerChanged();
         }
     }
 
@@ -102,5 +103,11 @@ public void setSide(Level level, BlockPos pos, Direction facing) {
         }
 
         level.setBlockAndUpdate(pos, currentState.setValue(PUSH_DIRECTION, newPushDirection));
+
+        // The push direction determines the group shown in the pattern access terminal
+        var be = this.getBlockEntity(level, pos);
+        if (be != null) {
+            be.getLogic().notifyPatternContainerChanged();
+        }
     }
 }
@@ -167,6 +167,9 @@ public void importSettings(SettingsFrom mode, DataComponentMap input,
                 }
             }
         }
+
+        // The custom name may have changed, which is shown as the group in the pattern access terminal
+        logic.notifyPatternContainerChanged();
     }
 
     @Override
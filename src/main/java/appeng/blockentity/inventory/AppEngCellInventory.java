@@ -31,8 +31,15 @@ public class AppEngCellInventory extends BaseInternalInventory {
     private final StorageCell[] handlerForSlot;
 
     public AppEngCellInventory(InternalInventoryHost host, int slots) {
-        this.inv = new AppEngInternalInventory(host, slots, 1);
-        this.handlerForSlot = new StorageCell[slots];
+        this(new AppEngInternalInventory(host, slots, 1));
+    }
+
+    /**
+     * Wraps an existing inventory, which must not be exposed directly, since the cells in it may not be persisted yet.
+     */
+    public AppEngCellInventory(AppEngInternalInventory inv) {
+        this.inv = inv;
+        this.handlerForSlot = new StorageCell[inv.size()];
     }
 
     public void setHandler(int slot, StorageCell handler) {
@@ -1,5 +1,11 @@
 package appeng.blockentity.misc;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.MapMaker;
+
 import org.jetbrains.annotations.Nullable;
 
 import net.minecraft.world.item.ItemStack;
@@ -11,15 +17,29 @@
 
 public class ChargerRecipes {
 
+    /**
+     * Indices by the recipe collection they were built from, see {@link InscriberRecipes}.
+     */
+    private static final Map<Collection<?>, RecipeItemIndex<ChargerRecipe>> INDICES = new MapMaker()
+            .weakKeys()
+            .makeMap();
+
     public static Iterable<RecipeHolder<ChargerRecipe>> getRecipes(Level level) {
         return level.getRecipeManager().byType(AERecipeTypes.CHARGER);
     }
 
+    private static RecipeItemIndex<ChargerRecipe> getIndex(Level level) {
+        var holders = level.getRecipeManager().byType(AERecipeTypes.CHARGER);
+        return INDICES.computeIfAbsent(holders,
+                k -> new RecipeItemIndex<>(holders.stream().map(RecipeHolder::value).toList(),
+                        recipe -> List.of(recipe.ingredient)));
+    }
+
     @Nullable
     public static ChargerRecipe findRecipe(Level level, ItemStack input) {
-        for (var recipe : getRecipes(level)) {
-            if (recipe.value().ingredient.test(input)) {
-                return recipe.value();
+        for (var recipe : getIndex(level).getCandidates(input)) {
+            if (recipe.ingredient.test(input)) {
+                return recipe;
             }
         }
 
@@ -558,8 +558,19 @@ public boolean allowInsert(InternalInventory inv, int slot, ItemStack stack) {
             if (inv == topItemHandler)
                 top = stack;
 
-            for (var holder : InscriberRecipes.getRecipes(level)) {
-                var recipe = holder.value();
+            // Only consider recipes that could accept one of the given stacks
+            List<InscriberRecipe> candidates;
+            if (!middle.isEmpty()) {
+                candidates = InscriberRecipes.getRecipesForMiddleInput(level, middle);
+            } else if (!top.isEmpty()) {
+                candidates = InscriberRecipes.getRecipesForOptionalInput(level, top);
+            } else if (!bot.isEmpty()) {
+                candidates = InscriberRecipes.getRecipesForOptionalInput(level, bot);
+            } else {
+                candidates = InscriberRecipes.getRecipesForMiddleInput(level, ItemStack.EMPTY);
+            }
+
+            for (var recipe : candidates) {
                 if (!middle.isEmpty() && !recipe.getMiddleInput().test(middle)) {
                     continue;
                 }
@@ -18,10 +18,19 @@
 
 package appeng.blockentity.misc;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.google.common.collect.MapMaker;
+
 import org.jetbrains.annotations.Nullable;
 
 import net.minecraft.core.component.DataComponents;
 import net.minecraft.network.chat.Component;
+import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.crafting.Ingredient;
 import net.minecraft.world.item.crafting.RecipeHolder;
@@ -34,11 +43,25 @@
 import appeng.recipes.handlers.InscriberRecipe;
 
 /**
- * This class indexes all inscriber recipes to find valid inputs for the top and bottom optional slots. This speeds up
- * checks whether inputs for those two slots are valid.
+ * This class indexes all inscriber recipes by the items accepted for their middle input and their top and bottom
+ * optional slots. This speeds up finding the recipe for an input, and checks whether inputs for those slots are valid.
  */
 public final class InscriberRecipes {
 
+    /**
+     * Indices by the recipe collection they were built from. The recipe manager replaces that collection when recipes
+     * are reloaded, which makes the previous index unreachable. The client and server recipe managers each have their
+     * own.
+     */
+    private static final Map<Collection<RecipeHolder<InscriberRecipe>>, Index> INDICES = new MapMaker()
+            .weakKeys()
+            .makeMap();
+
+    /**
+     * Limits how many input combinations without a recipe are remembered per index.
+     */
+    private static final int MAX_MISSING_RECIPES = 256;
+
     private InscriberRecipes() {
     }
 
@@ -49,6 +72,26 @@ public static Iterable<RecipeHolder<InscriberRecipe>> getRecipes(Level level) {
         return level.getRecipeManager().byType(AERecipeTypes.INSCRIBER);
     }
 
+    private static Index getIndex(Level level) {
+        return INDICES.computeIfAbsent(level.getRecipeManager().byType(AERecipeTypes.INSCRIBER), Index::new);
+    }
+
+    /**
+     * Returns the recipes that could accept the given stack in their middle slot, or all recipes if the stack is
+     * empty.
+     */
+    public static List<InscriberRecipe> getRecipesForMiddleInput(Level level, ItemStack input) {
+        var index = getIndex(level);
+        return input.isEmpty() ? index.recipes : index.byMiddleInput.getCandidates(input);
+    }
+
+    /**
+     * Returns the recipes that could accept the given stack in their top or bottom slot.
+     */
+    public static List<InscriberRecipe> getRecipesForOptionalInput(Level level, ItemStack input) {
+        return getIndex(level).byOptionalInput.getCandidates(input);
+    }
+
     @Nullable
     public static InscriberRecipe findRecipe(Level level, ItemStack input, ItemStack plateA, ItemStack plateB,
             boolean supportNamePress) {
@@ -63,8 +106,13 @@ public static InscriberRecipe findRecipe(Level level, ItemStack input, ItemStack
             }
         }
 
-        for (var holder : getRecipes(level)) {
-            var recipe = holder.value();
+        var index = getIndex(level);
+        var missingKey = index.isSimple() ? new InputItems(input.getItem(), plateA.getItem(), plateB.getItem()) : null;
+        if (missingKey != null && index.missingRecipes.contains(missingKey)) {
+            return null;
+        }
+
+        for (var recipe : index.byMiddleInput.getCandidates(input)) {
             // The recipe can be flipped at will
             final boolean matchA = recipe.getTopOptional().test(plateA) && recipe.getBottomOptional().test(plateB);
             final boolean matchB = recipe.getTopOptional().test(plateB) && recipe.getBottomOptional().test(plateA);
@@ -74,6 +122,12 @@ public static InscriberRecipe findRecipe(Level level, ItemStack input, ItemStack
             }
         }
 
+        if (missingKey != null) {
+            if (index.missingRecipes.size() >= MAX_MISSING_RECIPES) {
+                index.missingRecipes.clear();
+            }
+            index.missingRecipes.add(missingKey);
+        }
         return null;
     }
 
@@ -119,8 +173,8 @@ private static InscriberRecipe makeNamePressRecipe(ItemStack input, ItemStack pl
      * combination and the reverse will be searched.
      */
     public static boolean isValidOptionalIngredientCombination(Level level, ItemStack pressA, ItemStack pressB) {
-        for (var holder : getRecipes(level)) {
-            var recipe = holder.value();
+        // Any matching recipe has to accept pressA in one of the two slots
+        for (var recipe : getRecipesForOptionalInput(level, pressA)) {
             if (recipe.getTopOptional().test(pressA) && recipe.getBottomOptional().test(pressB)
                     || recipe.getTopOptional().test(pressB) && recipe.getBottomOptional().test(pressA)) {
                 return true;
@@ -135,8 +189,7 @@ public static boolean isValidOptionalIngredientCombination(Level level, ItemStac
      * top can be used interchangeably here, because the inscriber will flip the recipe if needed.
      */
     public static boolean isValidOptionalIngredient(Level level, ItemStack is) {
-        for (var holder : getRecipes(level)) {
-            var recipe = holder.value();
+        for (var recipe : getRecipesForOptionalInput(level, is)) {
             if (recipe.getTopOptional().test(is) || recipe.getBottomOptional().test(is)) {
                 return true;
             }
@@ -145,4 +198,28 @@ public static boolean isValidOptionalIngredient(Level level, ItemStack is) {
         return false;
     }
 
+    private static final class Index {
+        private final List<InscriberRecipe> recipes;
+        private final RecipeItemIndex<InscriberRecipe> byMiddleInput;
+        private final RecipeItemIndex<InscriberRecipe> byOptionalInput;
+        /**
+         * Input combinations for which no recipe was found. Only used if all ingredients are simple, since the result
+         * then only depends on the items.
+         */
+        private final Set<InputItems> missingRecipes = ConcurrentHashMap.newKeySet();
+
+        private Index(Collection<RecipeHolder<InscriberRecipe>> holders) {
+            this.recipes = holders.stream().map(RecipeHolder::value).toList();
+            this.byMiddleInput = new RecipeItemIndex<>(recipes, recipe -> List.of(recipe.getMiddleInput()));
+            this.byOptionalInput = new RecipeItemIndex<>(recipes,
+                    recipe -> List.of(recipe.getTopOptional(), recipe.getBottomOptional()));
+        }
+
+        private boolean isSimple() {
+            return byMiddleInput.isSimple() && byOptionalInput.isSimple();
+        }
+    }
+
+    private record InputItems(Item input, Item plateA, Item plateB) {
+    }
 }
@@ -0,0 +1,103 @@
+package appeng.blockentity.misc;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import net.minecraft.world.item.crafting.Ingredient;
+
+import it.unimi.dsi.fastutil.objects.Reference2IntMap;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+
+/**
+ * Indexes recipes by the items accepted by some of their ingredients, so that only the recipes that can possibly match
+ * a stack have to be tested against it. The candidates are returned in the original order of the recipes.
+ * <p/>
+ * Ingredients that can't be enumerated (i.e. non-simple custom ingredients) are treated as potentially matching every
+ * stack.
+ */
+final class RecipeItemIndex<T> {
+    private final Map<Item, List<T>> recipesByItem = new IdentityHashMap<>();
+    private final List<T> unindexedRecipes = new ArrayList<>();
+    private final Reference2IntMap<T> recipeOrder = new Reference2IntOpenHashMap<>();
+
+    RecipeItemIndex(Iterable<T> recipes, Function<T, Collection<Ingredient>> ingredients) {
+        for (var recipe : recipes) {
+            recipeOrder.put(recipe, recipeOrder.size());
+
+            for (var ingredient : ingredients.apply(recipe)) {
+                if (ingredient.isEmpty()) {
+                    // Empty ingredients match empty stacks, which report AIR as their item
+                    add(Items.AIR, recipe);
+                } else if (!ingredient.isSimple()) {
+                    if (!unindexedRecipes.contains(recipe)) {
+                        unindexedRecipes.add(recipe);
+                    }
+                } else {
+                    for (var stack : ingredient.getItems()) {
+                        add(stack.getItem(), recipe);
+                    }
+                }
+            }
+        }
+    }
+
+    private void add(Item item, T recipe) {
+        var list = recipesByItem.computeIfAbsent(item, i -> new ArrayList<>());
+        // Recipes are added in order, so a recipe accepting the same item twice would be the last element
+        if (list.isEmpty() || list.getLast() != recipe) {
+            list.add(recipe);
+        }
+    }
+
+    /**
+     * @return True if all indexed ingredients are simple, which means that whether they match a stack only depends on
+     *         its item.
+     */
+    boolean isSimple() {
+        return unindexedRecipes.isEmpty();
+    }
+
+    /**
+     * @return The recipes whose indexed ingredients might accept the given stack. The ingredients still need to be
+     *         tested.
+     */
+    List<T> getCandidates(ItemStack stack) {
+        var indexed = recipesByItem.getOrDefault(stack.getItem(), List.of());
+        if (unindexedRecipes.isEmpty()) {
+            return indexed;
+        } else if (indexed.isEmpty()) {
+            return unindexedRecipes;
+        }
+
+        // Merge both lists while preserving the recipe order
+        var result = new ArrayList<T>(indexed.size() + unindexedRecipes.size());
+        int i = 0, j = 0;
+        while (i < indexed.size() || j < unindexedRecipes.size()) {
+            int cmp;
+            if (i >= indexed.size()) {
+                cmp = 1;
+            } else if (j >= unindexedRecipes.size()) {
+                cmp = -1;
+            } else {
+                cmp = Integer.compare(recipeOrder.getInt(indexed.get(i)), recipeOrder.getInt(unindexedRecipes.get(j)));
+            }
+
+            if (cmp <= 0) {
+                result.add(indexed.get(i++));
+                if (cmp == 0) {
+                    j++; // Same recipe in both lists
+                }
+            } else {
+                result.add(unindexedRecipes.get(j++));
+            }
+        }
+        return result;
+    }
+}
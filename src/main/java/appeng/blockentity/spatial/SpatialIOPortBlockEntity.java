@@ -18,6 +18,8 @@
 
 package appeng.blockentity.spatial;
 
+import org.jetbrains.annotations.Nullable;
+
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.core.HolderLookup;
@@ -34,29 +36,50 @@
 import appeng.api.implementations.items.ISpatialStorageCell;
 import appeng.api.inventories.InternalInventory;
 import appeng.api.networking.GridFlags;
+import appeng.api.networking.IGridNode;
 import appeng.api.networking.IGridNodeListener;
 import appeng.api.networking.events.GridSpatialEvent;
+import appeng.api.networking.ticking.IGridTickable;
+import appeng.api.networking.ticking.TickRateModulation;
+import appeng.api.networking.ticking.TickingRequest;
 import appeng.api.util.AECableType;
 import appeng.blockentity.grid.AENetworkedInvBlockEntity;
+import appeng.core.AEConfig;
 import appeng.hooks.ticking.TickHandler;
+import appeng.spatial.SpatialStorageHelper;
+import appeng.spatial.SpatialStoragePlotManager;
+import appeng.spatial.SpatialTransfer;
 import appeng.util.ILevelRunnable;
 import appeng.util.inv.AppEngInternalInventory;
 import appeng.util.inv.FilteredInternalInventory;
 import appeng.util.inv.filter.IAEItemFilter;
 
-public class SpatialIOPortBlockEntity extends AENetworkedInvBlockEntity {
+public class SpatialIOPortBlockEntity extends AENetworkedInvBlockEntity implements IGridTickable {
+    /**
+     * If the chunks of the regions haven't been loaded after this many ticks, the transfer loads the remaining chunks
+     * synchronously.
+     */
+    private static final int MAX_LOADING_TICKS = 20 * 10;
 
     private final AppEngInternalInventory inv = new AppEngInternalInventory(this, 2);
     private final InternalInventory invExt = new FilteredInternalInventory(this.inv, new SpatialIOFilter());
     private YesNo lastRedstoneState = YesNo.UNDECIDED;
 
     private final ILevelRunnable transitionCallback = level -> transition();
+    private final ILevelRunnable swapCallback = level -> swap();
+
+    @Nullable
+    private SpatialTransfer transfer;
+    @Nullable
+    private SpatialTransfer lastTransfer;
 
     private boolean isActive = false;
 
     public SpatialIOPortBlockEntity(BlockEntityType<?> blockEntityType, BlockPos pos, BlockState blockState) {
         super(blockEntityType, pos, blockState);
-        this.getMainNode().setFlags(GridFlags.REQUIRE_CHANNEL);
+        this.getMainNode()
+                .setFlags(GridFlags.REQUIRE_CHANNEL)
+                .addService(IGridTickable.class, this);
     }
 
     @Override
@@ -127,12 +150,151 @@ private void triggerTransition() {
         if (!isClientSide()) {
             final ItemStack cell = this.inv.getStackInSlot(0);
             if (this.isSpatialCell(cell)) {
-                // this needs to be cross world synced.
-                TickHandler.instance().addCallable(null, transitionCallback);
+                if (AEConfig.instance().getSpatialTransferChunksPerTick() > 0) {
+                    startTransfer(cell);
+                } else {
+                    // this needs to be cross world synced.
+                    TickHandler.instance().addCallable(null, transitionCallback);
+                }
+            }
+        }
+    }
+
+    /**
+     * Starts loading the chunks of both regions in the background. Once they're loaded, the regions are staged if
+     * possible, and then swapped.
+     */
+    private void startTransfer(ItemStack cell) {
+        if (this.transfer != null || !(this.level instanceof ServerLevel serverLevel)) {
+            return;
+        }
+
+        getMainNode().ifPresent((grid, node) -> {
+            var spc = grid.getSpatialService();
+            if (!spc.hasRegion() || !spc.isValidRegion()) {
+                return;
+            }
+
+            var transfer = new SpatialTransfer();
+            transfer.addRegion(serverLevel, spc.getMin(), spc.getMax());
+
+            // If the cell already stores a region, also load that. Since that region is known in advance, both can
+            // be staged before the swap. A plot for a new cell is only allocated by the swap itself.
+            var sc = (ISpatialStorageCell) cell.getItem();
+            var plot = SpatialStoragePlotManager.INSTANCE.getPlot(sc.getAllocatedPlotId(cell));
+            if (plot != null) {
+                var plotLevel = SpatialStoragePlotManager.INSTANCE.getLevel();
+                transfer.addRegion(plotLevel, plot.getOrigin(), plot.getOrigin().offset(plot.getSize()));
+
+                // The blocks between the pylons are swapped with the plot
+                var size = spc.getMax().subtract(spc.getMin()).offset(-1, -1, -1);
+                if (size.equals(plot.getSize())) {
+                    transfer.setSwappedRegions(serverLevel, spc.getMin().offset(1, 1, 1), plotLevel,
+                            plot.getOrigin(), size);
+                }
+            }
+
+            this.transfer = transfer;
+            grid.getTickManager().wakeDevice(node);
+        });
+    }
+
+    @Override
+    public TickingRequest getTickingRequest(IGridNode node) {
+        return new TickingRequest(1, 1, this.transfer == null);
+    }
+
+    @Override
+    public TickRateModulation tickingRequest(IGridNode node, int ticksSinceLastCall) {
+        var transfer = this.transfer;
+        if (transfer == null) {
+            return TickRateModulation.SLEEP;
+        }
+
+        switch (transfer.getPhase()) {
+            case LOADING -> {
+                if ((transfer.tickLoading() || transfer.getLoadingTicks() >= MAX_LOADING_TICKS)
+                        && !transfer.startStaging()) {
+                    scheduleSwap(transfer);
+                }
+            }
+            case STAGING -> {
+                if (transfer.tickStaging(AEConfig.instance().getSpatialTransferSectionsPerTick())) {
+                    scheduleSwap(transfer);
+                }
+            }
+            case SWAPPING -> {
+                // Waiting for the callback
             }
+            case SENDING -> {
+                if (transfer.tickSending(AEConfig.instance().getSpatialTransferChunksPerTick())) {
+                    finishTransfer();
+                }
+            }
+            case DONE -> finishTransfer();
+        }
+
+        return this.transfer != null ? TickRateModulation.SAME : TickRateModulation.SLEEP;
+    }
+
+    private void scheduleSwap(SpatialTransfer transfer) {
+        transfer.onSwapScheduled();
+        // this needs to be cross world synced.
+        TickHandler.instance().addCallable(null, swapCallback);
+    }
+
+    private void swap() {
+        var transfer = this.transfer;
+        if (transfer == null || transfer.getPhase() != SpatialTransfer.Phase.SWAPPING) {
+            return;
+        }
+
+        var helper = SpatialStorageHelper.getInstance();
+        var start = System.nanoTime();
+        helper.setActiveTransfer(transfer);
+        try {
+            transition();
+        } finally {
+            helper.setActiveTransfer(null);
+        }
+        transfer.onSwapped(System.nanoTime() - start);
+    }
+
+    private void finishTransfer() {
+        if (this.transfer != null) {
+            this.transfer.release();
+            this.lastTransfer = this.transfer;
+            this.transfer = null;
         }
     }
 
+    /**
+     * @return The progress of the current transfer between 0 and 1, or -1 if no transfer is in progress.
+     */
+    public float getTransferProgress() {
+        return this.transfer != null ? this.transfer.getProgress() : -1;
+    }
+
+    /**
+     * @return The transfer that is currently in progress, or the last completed one, for debugging.
+     */
+    @Nullable
+    public SpatialTransfer getTransfer() {
+        return this.transfer != null ? this.transfer : this.lastTransfer;
+    }
+
+    @Override
+    public void onChunkUnloaded() {
+        super.onChunkUnloaded();
+        finishTransfer();
+    }
+
+    @Override
+    public void setRemoved() {
+        super.setRemoved();
+        finishTransfer();
+    }
+
     private boolean isSpatialCell(ItemStack cell) {
         if (!cell.isEmpty() && cell.getItem() instanceof ISpatialStorageCell sc) {
             return sc.isSpatialStorage(cell);
@@ -355,10 +355,11 @@ private void updateState() {
 
     // Returns idle power draw of slot
     private double updateStateForSlot(int slot) {
+        // Reading the stack persists the cell that is about to be replaced
+        var is = this.inv.getStackInSlot(slot);
+
         this.invBySlot[slot] = null;
         this.inv.setHandler(slot, null);
-
-        var is = this.inv.getStackInSlot(slot);
         if (!is.isEmpty()) {
             var cell = StorageCells.getCellInventory(is, this::onCellContentChanged);
 
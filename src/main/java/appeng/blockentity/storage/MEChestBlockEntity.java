@@ -76,6 +76,7 @@
 import appeng.api.util.KeyTypeSelectionHost;
 import appeng.blockentity.ServerTickingBlockEntity;
 import appeng.blockentity.grid.AENetworkedPoweredBlockEntity;
+import appeng.blockentity.inventory.AppEngCellInventory;
 import appeng.core.definitions.AEBlocks;
 import appeng.core.localization.GuiText;
 import appeng.core.localization.PlayerMessages;
@@ -99,8 +100,12 @@ public class MEChestBlockEntity extends AENetworkedPoweredBlockEntity
 
     private final AppEngInternalInventory inputInventory = new AppEngInternalInventory(this, 1);
     private final AppEngInternalInventory cellInventory = new AppEngInternalInventory(this, 1);
+    /**
+     * Persists the content of the cell before its stack is accessed from outside this block entity.
+     */
+    private final AppEngCellInventory persistingCellInventory = new AppEngCellInventory(this.cellInventory);
     private final InternalInventory internalInventory = new CombinedInternalInventory(this.inputInventory,
-            this.cellInventory);
+            this.persistingCellInventory);
 
     private final IActionSource mySrc = new MachineSource(this);
     private final IConfigManager config = IConfigManager.builder(this::saveChanges)
@@ -183,6 +188,9 @@ public int getCellCount() {
 
     private void updateHandler() {
         if (!this.isCached) {
+            // The cell might be replaced by a new inventory for the same stack
+            this.persistingCellInventory.persist();
+            this.persistingCellInventory.setHandler(0, null);
             this.cellHandler = null;
             this.fluidHandler = null;
 
@@ -191,6 +199,7 @@ private void updateHandler() {
                 this.isCached = true;
                 var newCell = StorageCells.getCellInventory(is, this::onCellContentChanged);
                 if (newCell != null) {
+                    this.persistingCellInventory.setHandler(0, newCell);
                     idlePowerUsage = 1.0 + newCell.getIdleDrain();
                     this.cellHandler = this.wrap(newCell);
 
@@ -464,7 +473,7 @@ public void onChangeInventory(AppEngInternalInventory inv, int slot) {
     @Override
     protected InternalInventory getExposedInventoryForSide(Direction side) {
         if (side == this.getFront()) {
-            return this.cellInventory;
+            return this.persistingCellInventory;
         } else {
             return this.inputInventory;
         }
@@ -564,10 +573,11 @@ public boolean recolourBlock(Direction side, AEColor newPaintedColor, Player who
         return true;
     }
 
+    /**
+     * Like the drive, we don't persist the cell right away. It is persisted once its stack is accessed through
+     * {@link #persistingCellInventory}, which includes saving this block entity.
+     */
     private void onCellContentChanged() {
-        if (cellHandler != null) {
-            cellHandler.cellInventory.persist();
-        }
         this.level.blockEntityChanged(this.worldPosition);
     }
 
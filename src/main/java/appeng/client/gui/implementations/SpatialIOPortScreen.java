@@ -49,7 +49,9 @@ protected void updateBeforeRender() {
         setTextContent("efficiency", GuiText.Efficiency.text((float) this.menu.getEfficency() / 100));
 
         Component scsSizeText;
-        if (this.menu.xSize != 0 && this.menu.ySize != 0 && this.menu.zSize != 0) {
+        if (this.menu.transferProgress >= 0) {
+            scsSizeText = GuiText.SpatialTransferProgress.text(this.menu.transferProgress);
+        } else if (this.menu.xSize != 0 && this.menu.ySize != 0 && this.menu.zSize != 0) {
             scsSizeText = GuiText.SCSSize.text(this.menu.xSize, this.menu.ySize, this.menu.zSize);
         } else {
             scsSizeText = GuiText.SCSInvalid.text();
@@ -37,7 +37,9 @@
 import appeng.api.config.Settings;
 import appeng.api.config.TerminalStyle;
 import appeng.api.networking.pathing.ChannelMode;
+import appeng.api.stacks.KeyInterner;
 import appeng.core.settings.TickRates;
+import appeng.crafting.execution.CraftingSchedulingPolicy;
 import appeng.util.EnumCycler;
 import appeng.util.Platform;
 
@@ -206,6 +208,10 @@ public int getFormationPlaneEntityLimit() {
         return common.formationPlaneEntityLimit.get();
     }
 
+    public int getStorageBusScanChunkSize() {
+        return common.storageBusScanChunkSize.get();
+    }
+
     public boolean isEnableEffects() {
         return client.enableEffects.getAsBoolean();
     }
@@ -238,6 +244,30 @@ public int getCraftingCalculationTimePerTick() {
         return common.craftingCalculationTimePerTick.get();
     }
 
+    public int getCraftingCalculationThreads() {
+        return common.craftingCalculationThreads.get();
+    }
+
+    public boolean isCraftingCalculationInBackground() {
+        return common.craftingCalculationInBackground.get();
+    }
+
+    public CraftingSchedulingPolicy getCraftingSchedulingPolicy() {
+        return common.craftingSchedulingPolicy.get();
+    }
+
+    public int getCraftingPatternPushBudget() {
+        return common.craftingPatternPushBudget.get();
+    }
+
+    public boolean isCraftingCoProcessorSharing() {
+        return common.craftingCoProcessorSharing.get();
+    }
+
+    public boolean isNetworkStorageKeyIndexEnabled() {
+        return common.networkStorageKeyIndex.get();
+    }
+
     public boolean isSpatialAnchorEnablesRandomTicks() {
         return common.spatialAnchorEnableRandomTicks.get();
     }
@@ -250,6 +280,14 @@ public double getSpatialPowerMultiplier() {
         return common.spatialPowerMultiplier.get();
     }
 
+    public int getSpatialTransferChunksPerTick() {
+        return common.spatialTransferChunksPerTick.get();
+    }
+
+    public int getSpatialTransferSectionsPerTick() {
+        return common.spatialTransferSectionsPerTick.get();
+    }
+
     public double getChargerChargeRate() {
         return common.chargerChargeRate.get();
     }
@@ -522,7 +560,15 @@ private static class CommonConfig {
 
         // Misc
         public final IntValue formationPlaneEntityLimit;
+        public final IntValue storageBusScanChunkSize;
+        public final BooleanValue networkStorageKeyIndex;
+        public final BooleanValue keyInterning;
         public final IntValue craftingCalculationTimePerTick;
+        public final IntValue craftingCalculationThreads;
+        public final BooleanValue craftingCalculationInBackground;
+        public final EnumValue<CraftingSchedulingPolicy> craftingSchedulingPolicy;
+        public final IntValue craftingPatternPushBudget;
+        public final BooleanValue craftingCoProcessorSharing;
         public final BooleanValue debugTools;
         public final BooleanValue matterCannonBlockDamage;
         public final BooleanValue tinyTntBlockDamage;
@@ -535,6 +581,8 @@ private static class CommonConfig {
         // Spatial IO/Dimension
         public final DoubleValue spatialPowerExponent;
         public final DoubleValue spatialPowerMultiplier;
+        public final IntValue spatialTransferChunksPerTick;
+        public final IntValue spatialTransferSectionsPerTick;
 
         // Logging
         public final BooleanValue blockUpdateLog;
@@ -602,10 +650,31 @@ public CommonConfig() {
 
             builder.push("automation");
             formationPlaneEntityLimit = define(builder, "formationPlaneEntityLimit", 128);
+            storageBusScanChunkSize = define(builder, "storageBusScanChunkSize", 1024, 1, Integer.MAX_VALUE,
+                    "The maximum number of slots a storage bus scans per tick. Larger inventories are scanned across several ticks.");
+            builder.pop();
+
+            builder.push("networkStorage");
+            networkStorageKeyIndex = define(builder, "keyIndex", true,
+                    "Route network insertions and extractions using an index of which storage cells contain which keys, instead of querying every mounted cell.");
+            keyInterning = define(builder, "keyInterning", true,
+                    "Share a single instance between equal item and fluid keys, which makes comparing them cheaper.");
             builder.pop();
 
             builder.push("craftingCPU");
             this.craftingCalculationTimePerTick = define(builder, "craftingCalculationTimePerTick", 5);
+            this.craftingCalculationThreads = define(builder, "craftingCalculationThreads",
+                    Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2)), 1, 64,
+                    "The maximum number of crafting calculations that run at the same time. Additional calculations are queued, player requests ahead of automated ones.");
+            this.craftingCalculationInBackground = define(builder, "craftingCalculationInBackground", true,
+                    "Run crafting calculations in the background, on a snapshot of the network taken when they start. If disabled, calculations only run while the server thread waits for them, for at most craftingCalculationTimePerTick ms per tick.");
+            this.craftingSchedulingPolicy = defineEnum(builder, "craftingSchedulingPolicy",
+                    CraftingSchedulingPolicy.ROUND_ROBIN,
+                    "The order in which the crafting CPUs of a network push their patterns each tick.");
+            this.craftingPatternPushBudget = define(builder, "craftingPatternPushBudget", 0, 0, Integer.MAX_VALUE,
+                    "The maximum number of patterns that all crafting CPUs of a network push per tick combined. 0 means unlimited.");
+            this.craftingCoProcessorSharing = define(builder, "craftingCoProcessorSharing", false,
+                    "Let crafting CPUs without a job lend their co-processors to busy crafting CPUs of the same network.");
             builder.pop();
 
             builder.push("crafting");
@@ -618,6 +687,10 @@ public CommonConfig() {
             builder.push("spatialio");
             this.spatialPowerMultiplier = define(builder, "spatialPowerMultiplier", 1250.0);
             this.spatialPowerExponent = define(builder, "spatialPowerExponent", 1.35);
+            this.spatialTransferChunksPerTick = define(builder, "spatialTransferChunksPerTick", 16, 0, 1024,
+                    "How many changed chunks the spatial IO port sends to players per tick after a transfer. The chunks of both regions are also loaded in the background before the transfer. Set to 0 to load and send all chunks in the same tick as the transfer.");
+            this.spatialTransferSectionsPerTick = define(builder, "spatialTransferSectionsPerTick", 64, 1, 4096,
+                    "How many chunk sections of the transferred regions the spatial IO port prepares per tick before a transfer into a cell that already stores a region. The regions are locked against players breaking or placing blocks in the meantime.");
             builder.pop();
 
             builder.push("logging");
@@ -711,6 +784,8 @@ public void sync() {
             AELog.setCraftingLogEnabled(craftingLog.get());
             AELog.setDebugLogEnabled(debugLog.get());
             AELog.setGridLogEnabled(gridLog.get());
+
+            KeyInterner.setEnabled(keyInterning.get());
         }
     }
 
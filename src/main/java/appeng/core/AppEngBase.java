@@ -41,6 +41,7 @@
 import net.neoforged.neoforge.common.NeoForge;
 import net.neoforged.neoforge.event.RegisterCommandsEvent;
 import net.neoforged.neoforge.event.RegisterGameTestsEvent;
+import net.neoforged.neoforge.event.TagsUpdatedEvent;
 import net.neoforged.neoforge.event.server.ServerAboutToStartEvent;
 import net.neoforged.neoforge.event.server.ServerStoppedEvent;
 import net.neoforged.neoforge.event.server.ServerStoppingEvent;
@@ -62,7 +63,9 @@
 import appeng.core.definitions.AEParts;
 import appeng.core.network.ClientboundPacket;
 import appeng.core.network.InitNetwork;
+import appeng.crafting.pattern.DecodedPatternCache;
 import appeng.hooks.SkyStoneBreakSpeed;
+import appeng.hooks.SpatialTransferLockHook;
 import appeng.hooks.WrenchHook;
 import appeng.hooks.ticking.TickHandler;
 import appeng.hotkeys.HotkeyActions;
@@ -180,6 +183,10 @@ public AppEngBase(IEventBus modEventBus, ModContainer container) {
 
         NeoForge.EVENT_BUS.addListener(WrenchHook::onPlayerUseBlockEvent);
         NeoForge.EVENT_BUS.addListener(SkyStoneBreakSpeed::handleBreakFaster);
+        NeoForge.EVENT_BUS.addListener(SpatialTransferLockHook::onBreakBlock);
+        NeoForge.EVENT_BUS.addListener(SpatialTransferLockHook::onPlaceBlock);
+        NeoForge.EVENT_BUS.addListener(SpatialTransferLockHook::onExplosion);
+        NeoForge.EVENT_BUS.addListener((TagsUpdatedEvent e) -> DecodedPatternCache.INSTANCE.clear());
 
         HotkeyActions.init();
     }
@@ -191,6 +191,7 @@ public enum GuiText implements LocalizationEnum {
     ReturnInventory("Return Inventory"),
     SCSInvalid("SCS Size: Invalid"),
     SCSSize("SCS Size: %sx%sx%s"),
+    SpatialTransferProgress("Transferring: %s%%"),
     Scheduled("Scheduled: %s"),
     SelectAmount("Select Amount"),
     SelectedCraftingCPU("Crafting CPU: %s"),
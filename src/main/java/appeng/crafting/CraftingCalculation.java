@@ -20,6 +20,7 @@
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 
 import com.google.common.base.Stopwatch;
@@ -29,6 +30,7 @@
 
 import net.minecraft.world.level.Level;
 
+import appeng.api.crafting.IPatternDetails;
 import appeng.api.networking.IGrid;
 import appeng.api.networking.crafting.CalculationStrategy;
 import appeng.api.networking.crafting.ICraftingPlan;
@@ -41,11 +43,15 @@
 import appeng.crafting.inv.CraftingSimulationState;
 import appeng.crafting.inv.NetworkCraftingSimulationState;
 import appeng.hooks.ticking.TickHandler;
+import appeng.me.service.CraftingService;
 
 public class CraftingCalculation {
     private final NetworkCraftingSimulationState networkInv;
     private final Level level;
-    private final KeyCounter missing = new KeyCounter();
+    /**
+     * Items missing in the current attempt. Each attempt gets its own counter, since the plan keeps a reference to it.
+     */
+    private KeyCounter missing = new KeyCounter();
     private final Object monitor = new Object();
     private final Stopwatch watch = Stopwatch.createUnstarted();
     private final CraftingTreeNode tree;
@@ -53,8 +59,18 @@ public class CraftingCalculation {
     // The initially requested amount of "output", may be reduced depending on the strategy used
     private final long requestedAmount;
     private final CalculationStrategy strategy;
+    private final ICraftingPatternLookup craftingProviders;
+    /**
+     * If true, the calculation runs independently of the server thread. Otherwise, it only runs while the server
+     * thread waits for it in {@link #simulateFor}.
+     */
+    private final boolean background;
     private boolean simulate = false;
     final ICraftingSimulationRequester simRequester;
+    /**
+     * Whether the requester had a grid node when the calculation was created. Without one, no patterns are used.
+     */
+    private final boolean requesterHasGridNode;
     private boolean running = false;
     private boolean done = false;
     private int time = 5;
@@ -63,17 +79,34 @@ public class CraftingCalculation {
 
     public CraftingCalculation(Level level, IGrid grid, ICraftingSimulationRequester simRequester,
             GenericStack output, CalculationStrategy strategy) {
+        this(level, grid, simRequester, output, strategy, false);
+    }
+
+    /**
+     * @param background If true, the calculation runs without waiting for the server thread. Otherwise, it only makes
+     *                   progress during {@link #simulateFor}.
+     */
+    public CraftingCalculation(Level level, IGrid grid, ICraftingSimulationRequester simRequester,
+            GenericStack output, CalculationStrategy strategy, boolean background) {
         this.level = level;
         this.output = output.what();
         this.requestedAmount = output.amount();
         this.strategy = strategy;
         this.simRequester = simRequester;
 
+        // Capture the requester, network contents and patterns while we are still on the server thread
+        this.requesterHasGridNode = simRequester.getGridNode() != null;
         var storage = grid.getStorageService();
         var craftingService = grid.getCraftingService();
+        if (craftingService instanceof CraftingService networkCraftingService) {
+            this.craftingProviders = networkCraftingService.getCraftingSnapshot();
+        } else {
+            this.craftingProviders = ICraftingPatternLookup.of(craftingService);
+        }
         this.networkInv = new NetworkCraftingSimulationState(storage, simRequester.getActionSource());
+        this.background = background;
 
-        this.tree = new CraftingTreeNode(craftingService, this, this.output, 1, null, -1);
+        this.tree = new CraftingTreeNode(craftingProviders, this, this.output, 1, null, -1);
     }
 
     void addMissing(AEKey what, long amount) {
@@ -82,7 +115,9 @@ void addMissing(AEKey what, long amount) {
 
     public ICraftingPlan run() {
         try {
-            TickHandler.instance().registerCraftingSimulation(this.level, this);
+            if (!this.background) {
+                TickHandler.instance().registerCraftingSimulation(this.level, this);
+            }
             this.handlePausing();
 
             var plan = computePlan();
@@ -103,30 +138,97 @@ private ICraftingPlan computePlan() throws InterruptedException {
             return fullAmountPlan;
         }
 
+        // Couldn't craft the full amount -> simulate to find out what's missing.
+        var simulatedPlan = runCraftAttempt(true, requestedAmount);
+
         if (strategy == CalculationStrategy.CRAFT_LESS) {
-            // Try crafting less if possible using binary search.
-            long successfulAmount = 0;
-            ICraftingPlan successfulPlan = null;
-            for (long increment = Long.highestOneBit(requestedAmount); increment > 0; increment /= 2) {
-                long testAmount = successfulAmount + increment;
-                if (testAmount < requestedAmount) {
-                    var plan = runCraftAttempt(false, testAmount);
+            // Try crafting less if possible, starting from an estimate based on what was missing.
+            var successfulPlan = findMaxCraftablePlan(estimateMaxCraftable(simulatedPlan));
+
+            // Found a successful plan! :)
+            if (successfulPlan != null) {
+                return successfulPlan;
+            }
+        }
+
+        return simulatedPlan;
+    }
+
+    /**
+     * Estimates how much of the output can be crafted, assuming that the required inputs scale linearly with the
+     * requested amount. This ignores rounding to whole crafts, and alternative patterns or ingredients, so it's only
+     * used as a starting point for the search.
+     */
+    private long estimateMaxCraftable(CraftingPlan simulatedPlan) {
+        double ratio = 1;
+        for (var entry : simulatedPlan.missingItems()) {
+            long available = simulatedPlan.usedItems().get(entry.getKey());
+            long missingAmount = entry.getLongValue();
+            ratio = Math.min(ratio, available / (double) (available + missingAmount));
+        }
+        // Even if nothing seems to be craftable, start with 1 since a failure then ends the search right away
+        return Math.max(1, Math.min(requestedAmount - 1, (long) (ratio * requestedAmount)));
+    }
+
+    /**
+     * Finds the largest amount below the requested amount that can be crafted, assuming that if some amount can be
+     * crafted, any smaller amount can be crafted too. The search first probes around the estimate, and then falls back
+     * to a binary search in the remaining range. With an accurate estimate, this only needs two attempts instead of one
+     * per bit of the requested amount.
+     *
+     * @return null if not even one can be crafted
+     */
+    @Nullable
+    private CraftingPlan findMaxCraftablePlan(long estimate) throws InterruptedException {
+        // Largest amount known to succeed, and smallest amount known to fail
+        long successfulAmount = 0;
+        CraftingPlan successfulPlan = null;
+        long failedAmount = requestedAmount;
+
+        if (estimate > 0 && estimate < requestedAmount) {
+            var plan = runCraftAttempt(false, estimate);
+            if (plan != null) {
+                successfulAmount = estimate;
+                successfulPlan = plan;
+                // Move up in increasing steps until an attempt fails
+                for (long step = 1; successfulAmount + step < failedAmount; step *= 2) {
+                    plan = runCraftAttempt(false, successfulAmount + step);
+                    if (plan == null) {
+                        failedAmount = successfulAmount + step;
+                        break;
+                    }
+                    successfulAmount += step;
+                    successfulPlan = plan;
+                }
+            } else {
+                failedAmount = estimate;
+                // Move down in increasing steps until an attempt succeeds
+                for (long step = 1; failedAmount - step > successfulAmount; step *= 2) {
+                    plan = runCraftAttempt(false, failedAmount - step);
                     if (plan != null) {
-                        // Success! :)
-                        successfulAmount = testAmount;
+                        successfulAmount = failedAmount - step;
                         successfulPlan = plan;
+                        break;
                     }
+                    failedAmount -= step;
                 }
             }
+        }
 
-            // Found a successful plan! :)
-            if (successfulPlan != null) {
-                return successfulPlan;
+        // Binary search between the two bounds.
+        while (failedAmount - successfulAmount > 1) {
+            long testAmount = successfulAmount + (failedAmount - successfulAmount) / 2;
+            var plan = runCraftAttempt(false, testAmount);
+            if (plan != null) {
+                // Success! :)
+                successfulAmount = testAmount;
+                successfulPlan = plan;
+            } else {
+                failedAmount = testAmount;
             }
         }
 
-        // Couldn't find a successful plan -> simulate.
-        return runCraftAttempt(true, requestedAmount);
+        return successfulPlan;
     }
 
     /**
@@ -136,6 +238,7 @@ private ICraftingPlan computePlan() throws InterruptedException {
     @Contract("true, _ -> !null") // the calculation can't fail if simulated
     private CraftingPlan runCraftAttempt(boolean simulate, long amount) throws InterruptedException {
         this.simulate = simulate;
+        this.missing = new KeyCounter();
 
         final Stopwatch timer = Stopwatch.createStarted();
 
@@ -172,6 +275,14 @@ void handlePausing() throws InterruptedException {
         if (this.incTime > 100) {
             this.incTime = 0;
 
+            if (this.background) {
+                // Nothing to hand back to the server thread, just allow the calculation to be cancelled
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+                return;
+            }
+
             synchronized (this.monitor) {
                 if (this.watch.elapsed(TimeUnit.MICROSECONDS) > this.time) {
                     this.running = false;
@@ -217,8 +328,33 @@ public KeyCounter getMissingItems() {
         return missing;
     }
 
-    Level getLevel() {
-        return this.level;
+    ICraftingPatternLookup getCraftingProviders() {
+        return this.craftingProviders;
+    }
+
+    boolean requesterHasGridNode() {
+        return this.requesterHasGridNode;
+    }
+
+    /**
+     * Checks if a key can be used for an input of a pattern. Patterns may look up recipes in the level to decide that,
+     * so calculations running in the background hand the check to the server thread and wait for it.
+     */
+    boolean isValidInput(IPatternDetails.IInput input, AEKey key) {
+        var server = this.level.getServer();
+        if (!this.background || server == null) {
+            return input.isValid(key, this.level);
+        }
+
+        try {
+            return server.submit(() -> input.isValid(key, this.level)).get();
+        } catch (InterruptedException e) {
+            // Cancelled, which the next call to handlePausing will notice
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause());
+        }
     }
 
     /**
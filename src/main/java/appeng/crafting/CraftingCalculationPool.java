@@ -0,0 +1,136 @@
+package appeng.crafting;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntSupplier;
+
+import appeng.api.networking.IGrid;
+import appeng.api.networking.crafting.ICraftingPlan;
+import appeng.core.AEConfig;
+
+/**
+ * Runs crafting calculations on a bounded number of threads, as configured by
+ * {@link AEConfig#getCraftingCalculationThreads()}.
+ * <p/>
+ * Calculations that can't start immediately are queued. Calculations requested by players are always started before
+ * automated ones. Within the same priority, queued calculations of different grids are started in a round-robin
+ * fashion, so that a single grid with many automated requests cannot starve the others.
+ */
+public final class CraftingCalculationPool {
+    public enum Priority {
+        /**
+         * The calculation was requested by a player, who is waiting for it.
+         */
+        PLAYER,
+        /**
+         * The calculation was requested by a machine, such as an export bus or level emitter.
+         */
+        AUTOMATION
+    }
+
+    private final ThreadPoolExecutor executor;
+    private final IntSupplier threads;
+    private final AtomicLong nextSequence = new AtomicLong();
+    /**
+     * Number of calculations per grid that are queued or running.
+     */
+    private final Map<IGrid, Integer> pendingPerGrid = new HashMap<>();
+
+    public CraftingCalculationPool() {
+        this(() -> AEConfig.instance().getCraftingCalculationThreads());
+    }
+
+    /**
+     * @param threads Supplies the maximum number of calculations that run at the same time.
+     */
+    CraftingCalculationPool(IntSupplier threads) {
+        this.threads = threads;
+        // The actual size is applied from the config once calculations are submitted
+        this.executor = new ThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS,
+                new PriorityBlockingQueue<>(), r -> {
+                    var thread = new Thread(r, "AE Crafting Calculator");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    public Future<ICraftingPlan> submit(IGrid grid, Priority priority, CraftingCalculation calculation) {
+        return submit(grid, priority, calculation::run);
+    }
+
+    Future<ICraftingPlan> submit(IGrid grid, Priority priority, Callable<ICraftingPlan> calculation) {
+        updatePoolSize();
+
+        int round;
+        synchronized (pendingPerGrid) {
+            round = pendingPerGrid.merge(grid, 1, Integer::sum) - 1;
+        }
+
+        var task = new Task(calculation, grid, priority, round, nextSequence.getAndIncrement());
+        executor.execute(task);
+        return task;
+    }
+
+    /**
+     * Applies changes to the configured number of threads.
+     */
+    private synchronized void updatePoolSize() {
+        int threads = this.threads.getAsInt();
+        if (threads > executor.getMaximumPoolSize()) {
+            executor.setMaximumPoolSize(threads);
+            executor.setCorePoolSize(threads);
+        } else if (threads < executor.getMaximumPoolSize()) {
+            executor.setCorePoolSize(threads);
+            executor.setMaximumPoolSize(threads);
+        }
+    }
+
+    private void onTaskDone(IGrid grid) {
+        synchronized (pendingPerGrid) {
+            pendingPerGrid.computeIfPresent(grid, (g, count) -> count == 1 ? null : count - 1);
+        }
+    }
+
+    private final class Task extends FutureTask<ICraftingPlan> implements Comparable<Task> {
+        private final IGrid grid;
+        private final Priority priority;
+        /**
+         * How many calculations of the same grid were already pending when this one was submitted.
+         */
+        private final int round;
+        private final long sequence;
+
+        private Task(Callable<ICraftingPlan> calculation, IGrid grid, Priority priority, int round, long sequence) {
+            super(calculation);
+            this.grid = grid;
+            this.priority = priority;
+            this.round = round;
+            this.sequence = sequence;
+        }
+
+        @Override
+        protected void done() {
+            onTaskDone(grid);
+        }
+
+        @Override
+        public int compareTo(Task o) {
+            int result = priority.compareTo(o.priority);
+            if (result == 0) {
+                result = Integer.compare(round, o.round);
+            }
+            if (result == 0) {
+                result = Long.compare(sequence, o.sequence);
+            }
+            return result;
+        }
+    }
+}
@@ -19,16 +19,15 @@
 package appeng.crafting;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.jetbrains.annotations.Nullable;
 
-import net.minecraft.world.level.Level;
-
 import appeng.api.config.Actionable;
 import appeng.api.crafting.IPatternDetails;
-import appeng.api.networking.crafting.ICraftingService;
 import appeng.api.stacks.AEKey;
 import appeng.api.stacks.GenericStack;
 import appeng.api.stacks.KeyCounter;
@@ -53,7 +52,6 @@ public class CraftingTreeNode {
     private final CraftingCalculation job;
     // parent node.
     private final CraftingTreeProcess parent;
-    private final Level level;
     /**
      * "Template" of the item this node is making. For top-level node: the count is always 1. For child nodes: the count
      * is that of the template of the corresponding input.
@@ -65,12 +63,17 @@ public class CraftingTreeNode {
      */
     private ArrayList<CraftingTreeProcess> nodes = null;
     private final boolean canEmit;
+    /**
+     * Caches whether a key is valid for {@link #parentInput}. This is independent of the simulated inventory, so it is
+     * kept across the attempts of a calculation, which would otherwise re-check the same keys (and possibly re-match
+     * the same recipes) on every attempt.
+     */
+    private final Map<AEKey, Boolean> validInputs = new HashMap<>();
 
-    public CraftingTreeNode(ICraftingService cc, CraftingCalculation job, AEKey what, long amount,
+    public CraftingTreeNode(ICraftingPatternLookup cc, CraftingCalculation job, AEKey what, long amount,
             CraftingTreeProcess par, int slot) {
         this.parent = par;
         this.parentInput = slot == -1 ? null : par.details.getInputs()[slot];
-        this.level = job.getLevel();
         this.job = job;
         this.what = findCraftedStack(cc, what);
         this.amount = amount;
@@ -78,7 +81,7 @@ public CraftingTreeNode(ICraftingService cc, CraftingCalculation job, AEKey what
         this.canEmit = cc.canEmitFor(what);
     }
 
-    private AEKey findCraftedStack(ICraftingService cc, AEKey wat) {
+    private AEKey findCraftedStack(ICraftingPatternLookup cc, AEKey wat) {
         if (cc.canEmitFor(wat)) {
             return wat; // if we can emit for something, use that.
         }
@@ -96,7 +99,7 @@ private AEKey findCraftedStack(ICraftingService cc, AEKey wat) {
                 }
 
                 var fuzzy = cc.getFuzzyCraftable(possibleInput.what(), fuzzyCandidate -> {
-                    return this.parentInput.isValid(fuzzyCandidate, level);
+                    return job.isValidInput(this.parentInput, fuzzyCandidate);
                 });
 
                 if (fuzzy != null) {
@@ -117,15 +120,13 @@ private void buildChildPatterns() {
         if (this.nodes == null) {
             this.nodes = new ArrayList<>();
 
-            var gridNode = this.job.simRequester.getGridNode();
-
             // If the node is null, we just skip patterns and let the request (likely) fail.
-            if (gridNode != null) {
-                var craftingService = gridNode.getGrid().getCraftingService();
+            if (this.job.requesterHasGridNode()) {
+                var craftingProviders = this.job.getCraftingProviders();
 
-                for (var details : craftingService.getCraftingFor(this.what)) {
+                for (var details : craftingProviders.getCraftingFor(this.what)) {
                     if (this.parent == null || this.parent.notRecursive(details)) {
-                        this.nodes.add(new CraftingTreeProcess(craftingService, job, details, this));
+                        this.nodes.add(new CraftingTreeProcess(craftingProviders, job, details, this));
                     }
                 }
             }
@@ -304,7 +305,8 @@ private void addContainerItems(AEKey template, long multiplier,
     private Iterable<InputTemplate> getValidItemTemplates(ICraftingInventory inv) {
         if (this.parentInput == null)
             return List.of(new InputTemplate(what, 1));
-        return CraftingCpuHelper.getValidItemTemplates(inv, this.parentInput, level);
+        return CraftingCpuHelper.getValidItemTemplates(inv, this.parentInput,
+                key -> validInputs.computeIfAbsent(key, k -> job.isValidInput(this.parentInput, k)));
     }
 
     long getNodeCount() {
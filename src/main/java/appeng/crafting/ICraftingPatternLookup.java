@@ -0,0 +1,45 @@
+package appeng.crafting;
+
+import java.util.Collection;
+
+import org.jetbrains.annotations.Nullable;
+
+import appeng.api.crafting.IPatternDetails;
+import appeng.api.networking.crafting.ICraftingService;
+import appeng.api.stacks.AEKey;
+import appeng.api.storage.AEKeyFilter;
+
+/**
+ * The parts of the {@link ICraftingService} that a {@link CraftingCalculation} uses to build its crafting tree.
+ */
+public interface ICraftingPatternLookup {
+    Collection<IPatternDetails> getCraftingFor(AEKey whatToCraft);
+
+    @Nullable
+    AEKey getFuzzyCraftable(AEKey whatToCraft, AEKeyFilter filter);
+
+    boolean canEmitFor(AEKey what);
+
+    /**
+     * Looks up patterns directly from the given crafting service.
+     */
+    static ICraftingPatternLookup of(ICraftingService craftingService) {
+        return new ICraftingPatternLookup() {
+            @Override
+            public Collection<IPatternDetails> getCraftingFor(AEKey whatToCraft) {
+                return craftingService.getCraftingFor(whatToCraft);
+            }
+
+            @Nullable
+            @Override
+            public AEKey getFuzzyCraftable(AEKey whatToCraft, AEKeyFilter filter) {
+                return craftingService.getFuzzyCraftable(whatToCraft, filter);
+            }
+
+            @Override
+            public boolean canEmitFor(AEKey what) {
+                return craftingService.canEmitFor(what);
+            }
+        };
+    }
+}
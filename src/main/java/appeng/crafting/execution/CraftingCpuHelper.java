@@ -20,6 +20,7 @@
 
 import java.util.ArrayList;
 import java.util.UUID;
+import java.util.function.Predicate;
 
 import com.google.common.collect.Iterables;
 
@@ -33,6 +34,7 @@
 import appeng.api.networking.IGrid;
 import appeng.api.networking.crafting.ICraftingPlan;
 import appeng.api.networking.security.IActionSource;
+import appeng.api.stacks.AEKey;
 import appeng.api.stacks.GenericStack;
 import appeng.api.stacks.KeyCounter;
 import appeng.crafting.inv.ICraftingInventory;
@@ -104,6 +106,22 @@ public static KeyCounter[] extractPatternInputs(
             Level level,
             KeyCounter expectedOutputs,
             KeyCounter expectedContainerItems) {
+        return extractPatternInputs(details, sourceInv, level, expectedOutputs, expectedContainerItems, 1);
+    }
+
+    /**
+     * Extracts the combined inputs of several copies of a pattern, for pushing them in a single batch.
+     *
+     * @return The inputs, or null if the inputs for all copies are not available. Nothing is extracted in that case.
+     */
+    @Nullable
+    public static KeyCounter[] extractPatternInputs(
+            IPatternDetails details,
+            ICraftingInventory sourceInv,
+            Level level,
+            KeyCounter expectedOutputs,
+            KeyCounter expectedContainerItems,
+            long copies) {
 
         // Extract inputs into the container.
         var inputs = details.getInputs();
@@ -112,7 +130,7 @@ public static KeyCounter[] extractPatternInputs(
 
         for (int x = 0; x < inputs.length; x++) {
             var list = inputHolder[x] = new KeyCounter();
-            long remainingMultiplier = inputs[x].getMultiplier();
+            long remainingMultiplier = inputs[x].getMultiplier() * copies;
             for (var template : getValidItemTemplates(sourceInv, inputs[x], level)) {
                 long extracted = extractTemplates(sourceInv, template, remainingMultiplier);
                 list.add(template.key(), extracted * template.amount());
@@ -143,12 +161,52 @@ public static KeyCounter[] extractPatternInputs(
 
         // Add pattern outputs.
         for (var output : details.getOutputs()) {
-            expectedOutputs.add(output.what(), output.amount());
+            expectedOutputs.add(output.what(), output.amount() * copies);
         }
 
         return inputHolder;
     }
 
+    /**
+     * Counts how many copies of a pattern could be extracted from the inventory, without extracting anything. Inputs
+     * that share the same items are counted independently, so an extraction of the returned number of copies can still
+     * fail.
+     */
+    public static long getAvailableCopies(IPatternDetails details, ICraftingInventory sourceInv, Level level,
+            long maxCopies) {
+        long copies = maxCopies;
+        for (var input : details.getInputs()) {
+            long wantedTemplates = input.getMultiplier() * copies;
+            long availableTemplates = 0;
+            for (var template : getValidItemTemplates(sourceInv, input, level)) {
+                var available = sourceInv.extract(template.key(), template.amount() * wantedTemplates,
+                        Actionable.SIMULATE);
+                availableTemplates += available / template.amount();
+                if (availableTemplates >= wantedTemplates) {
+                    break;
+                }
+            }
+            copies = Math.min(copies, availableTemplates / input.getMultiplier());
+            if (copies == 0) {
+                break;
+            }
+        }
+        return copies;
+    }
+
+    /**
+     * @return The inputs of both containers combined, in new counters.
+     */
+    public static KeyCounter[] mergePatternInputs(KeyCounter[] first, KeyCounter[] second) {
+        var result = new KeyCounter[first.length];
+        for (int x = 0; x < first.length; x++) {
+            result[x] = new KeyCounter();
+            result[x].addAll(first[x]);
+            result[x].addAll(second[x]);
+        }
+        return result;
+    }
+
     public static void reinjectPatternInputs(ICraftingInventory sourceInv,
             KeyCounter[] inputHolder) {
         for (var list : inputHolder) {
@@ -167,6 +225,15 @@ public static void reinjectPatternInputs(ICraftingInventory sourceInv,
      */
     public static Iterable<InputTemplate> getValidItemTemplates(ICraftingInventory inv,
             IPatternDetails.IInput input, Level level) {
+        return getValidItemTemplates(inv, input, key -> input.isValid(key, level));
+    }
+
+    /**
+     * Same as {@link #getValidItemTemplates(ICraftingInventory, IPatternDetails.IInput, Level)}, but allows the caller
+     * to cache the result of {@link IPatternDetails.IInput#isValid}.
+     */
+    public static Iterable<InputTemplate> getValidItemTemplates(ICraftingInventory inv,
+            IPatternDetails.IInput input, Predicate<AEKey> isValid) {
         var possibleInputs = input.getPossibleInputs();
 
         var substitutes = new ArrayList<InputTemplate>(possibleInputs.length);
@@ -177,7 +244,7 @@ public static Iterable<InputTemplate> getValidItemTemplates(ICraftingInventory i
             }
         }
 
-        return Iterables.filter(substitutes, stack -> input.isValid(stack.key(), level));
+        return Iterables.filter(substitutes, stack -> isValid.test(stack.key()));
     }
 
     /**
@@ -33,10 +33,12 @@
 
 import appeng.api.config.Actionable;
 import appeng.api.config.PowerMultiplier;
+import appeng.api.crafting.IPatternDetails;
 import appeng.api.features.IPlayerRegistry;
 import appeng.api.networking.IGrid;
 import appeng.api.networking.crafting.ICraftingLink;
 import appeng.api.networking.crafting.ICraftingPlan;
+import appeng.api.networking.crafting.ICraftingProvider;
 import appeng.api.networking.crafting.ICraftingRequester;
 import appeng.api.networking.crafting.ICraftingSubmitResult;
 import appeng.api.networking.energy.IEnergyService;
@@ -52,6 +54,7 @@
 import appeng.hooks.ticking.TickHandler;
 import appeng.me.cluster.implementations.CraftingCPUCluster;
 import appeng.me.service.CraftingService;
+import appeng.menu.me.crafting.SharedCraftingStatus;
 
 /**
  * Stores the crafting logic of a crafting CPU.
@@ -67,10 +70,15 @@ public class CraftingCpuLogic {
      */
     private final ListCraftingInventory inventory = new ListCraftingInventory(CraftingCpuLogic.this::postChange);
     /**
-     * Used crafting operations over the last 3 ticks.
+     * Used crafting operations in the current tick, and over the last 3 ticks.
      */
-    private final int[] usedOps = new int[3];
+    private final int[] usedOps = new int[4];
     private final Set<Consumer<AEKey>> listeners = new HashSet<>();
+    /**
+     * The changes of this CPU, shared by the menus that show it. Created when the CPU is first shown.
+     */
+    @Nullable
+    private SharedCraftingStatus sharedStatus;
     /**
      * True if the CPU is currently trying to clear its inventory but is not able to.
      */
@@ -130,10 +138,16 @@ public ICraftingSubmitResult trySubmitJob(IGrid grid, ICraftingPlan plan, IActio
         }
     }
 
-    public void tickCraftingLogic(IEnergyService eg, CraftingService cc) {
+    /**
+     * Performs the work of this CPU that doesn't involve pushing patterns, i.e. storing the items of an idle CPU and
+     * cancelling jobs.
+     *
+     * @return True if the CPU has a job that should push patterns this tick.
+     */
+    public boolean prepareTick() {
         // Don't tick if we're not active.
         if (!cluster.isActive())
-            return;
+            return false;
         cantStoreItems = false;
         // If we don't have a job, just try to dump our items.
         if (this.job == null) {
@@ -141,31 +155,72 @@ public void tickCraftingLogic(IEnergyService eg, CraftingService cc) {
             if (!this.inventory.list.isEmpty()) {
                 cantStoreItems = true;
             }
-            return;
+            return false;
         }
         // Check if the job was cancelled.
         if (job.link.isCanceled()) {
             cancel();
-            return;
+            return false;
         }
+        return true;
+    }
 
-        var remainingOperations = cluster.getCoProcessors() + 1 - (this.usedOps[0] + this.usedOps[1] + this.usedOps[2]);
-        final var started = remainingOperations;
+    /**
+     * @return How many more patterns this CPU can push this tick, based on its co-processors and recent usage.
+     */
+    public int getAvailableOperations() {
+        var usedOperations = this.usedOps[0] + this.usedOps[1] + this.usedOps[2] + this.usedOps[3];
+        return Math.max(0, cluster.getCoProcessors() + 1 - usedOperations);
+    }
 
-        if (remainingOperations > 0) {
-            do {
-                var pushedPatterns = executeCrafting(remainingOperations, cc, eg, cluster.getLevel());
+    /**
+     * Counts operations against the co-processors of this CPU, including operations lent to other CPUs.
+     */
+    public void useOperations(int operations) {
+        this.usedOps[0] += operations;
+    }
 
-                if (pushedPatterns > 0) {
-                    remainingOperations -= pushedPatterns;
-                } else {
-                    break;
-                }
-            } while (remainingOperations > 0);
-        }
+    /**
+     * Must be called at the end of every tick, after all patterns were pushed.
+     */
+    public void finishTick() {
+        this.usedOps[3] = this.usedOps[2];
         this.usedOps[2] = this.usedOps[1];
         this.usedOps[1] = this.usedOps[0];
-        this.usedOps[0] = started - remainingOperations;
+        this.usedOps[0] = 0;
+    }
+
+    /**
+     * Pushes patterns until the limit is reached or no more patterns can be pushed. The operations are not counted
+     * against the co-processors of this CPU, use {@link #useOperations} for that.
+     *
+     * @return How many patterns were pushed.
+     */
+    public int pushPatterns(int maxOperations, IEnergyService eg, CraftingService cc) {
+        var pushed = 0;
+        while (pushed < maxOperations) {
+            var pushedPatterns = executeCrafting(maxOperations - pushed, cc, eg, cluster.getLevel());
+            if (pushedPatterns <= 0) {
+                break;
+            }
+            pushed += pushedPatterns;
+        }
+        return pushed;
+    }
+
+    /**
+     * @return The number of pattern pushes the current job still needs, 0 if there is no job.
+     */
+    public long getRemainingPatternCount() {
+        var job = this.job;
+        return job != null ? job.remainingPatterns : 0;
+    }
+
+    /**
+     * @return True if the current job was requested by a player, rather than by automation.
+     */
+    public boolean isRequestedByPlayer() {
+        return job != null && job.playerId != null;
     }
 
     /**
@@ -190,6 +245,11 @@ public int executeCrafting(int maxPatterns, CraftingService craftingService, IEn
             }
 
             var details = task.getKey();
+            if (!craftingService.hasReadyProvider(details)) {
+                // Don't extract the inputs if they can't be pushed anywhere anyway
+                continue;
+            }
+
             var expectedOutputs = new KeyCounter();
             var expectedContainerItems = new KeyCounter();
             // Contains the inputs for the pattern.
@@ -204,30 +264,36 @@ public int executeCrafting(int maxPatterns, CraftingService craftingService, IEn
                 if (provider.isBusy())
                     continue;
 
-                var patternPower = CraftingCpuHelper.calculatePatternPower(craftingContainer);
+                // Try to push several copies at once if the provider supports it.
+                var pushedCopies = 0;
+                var maxCopies = (int) Math.min(task.getValue().value, maxPatterns - pushedPatterns);
+                if (maxCopies > 1) {
+                    var batchSize = provider.getMaxPatternBatchSize(details, maxCopies);
+                    if (batchSize > 1) {
+                        pushedCopies = pushPatternBatch(provider, details, craftingContainer, batchSize,
+                                expectedOutputs, expectedContainerItems, energyService, level);
+                    }
+                }
 
-                if (energyService.extractAEPower(patternPower, Actionable.SIMULATE,
-                        PowerMultiplier.CONFIG) < patternPower - 0.01)
-                    break;
+                if (pushedCopies == 0) {
+                    var patternPower = CraftingCpuHelper.calculatePatternPower(craftingContainer);
 
-                if (provider.pushPattern(details, craftingContainer)) {
-                    energyService.extractAEPower(patternPower, Actionable.MODULATE, PowerMultiplier.CONFIG);
-                    pushedPatterns++;
+                    if (energyService.extractAEPower(patternPower, Actionable.SIMULATE,
+                            PowerMultiplier.CONFIG) < patternPower - 0.01)
+                        break;
 
-                    for (var expectedOutput : expectedOutputs) {
-                        job.waitingFor.insert(expectedOutput.getKey(), expectedOutput.getLongValue(),
-                                Actionable.MODULATE);
-                    }
-                    for (var expectedContainerItem : expectedContainerItems) {
-                        job.waitingFor.insert(expectedContainerItem.getKey(), expectedContainerItem.getLongValue(),
-                                Actionable.MODULATE);
-                        job.timeTracker.addMaxItems(expectedContainerItem.getLongValue(),
-                                expectedContainerItem.getKey().getType());
+                    if (provider.pushPattern(details, craftingContainer)) {
+                        energyService.extractAEPower(patternPower, Actionable.MODULATE, PowerMultiplier.CONFIG);
+                        pushedCopies = 1;
                     }
+                }
 
-                    cluster.markDirty();
+                if (pushedCopies > 0) {
+                    pushedPatterns += pushedCopies;
 
-                    task.getValue().value--;
+                    onPatternsPushed(job, expectedOutputs, expectedContainerItems);
+
+                    job.onTaskPushed(details, task.getValue(), pushedCopies);
                     if (task.getValue().value <= 0) {
                         it.remove();
                         continue taskLoop;
@@ -254,6 +320,62 @@ public int executeCrafting(int maxPatterns, CraftingService craftingService, IEn
         return pushedPatterns;
     }
 
+    /**
+     * Pushes several copies of a pattern to a provider in a single call. The inputs of the first copy were already
+     * extracted, so only the inputs of the other copies are extracted here, at most once. The batch is limited to the
+     * copies whose inputs are available.
+     *
+     * @return How many copies were pushed, 0 if no batch of at least two copies could be pushed. In that case, only the
+     *         inputs of the first copy remain extracted.
+     */
+    private int pushPatternBatch(ICraftingProvider provider, IPatternDetails details, KeyCounter[] firstCopy,
+            int batchSize, KeyCounter expectedOutputs, KeyCounter expectedContainerItems,
+            IEnergyService energyService, Level level) {
+        var extraCopies = CraftingCpuHelper.getAvailableCopies(details, inventory, level, batchSize - 1);
+        if (extraCopies <= 0) {
+            return 0;
+        }
+
+        var extraOutputs = new KeyCounter();
+        var extraContainerItems = new KeyCounter();
+        var extraInputs = CraftingCpuHelper.extractPatternInputs(details, inventory, level, extraOutputs,
+                extraContainerItems, extraCopies);
+        if (extraInputs == null) {
+            return 0;
+        }
+
+        var copies = (int) extraCopies + 1;
+        var batchInputs = CraftingCpuHelper.mergePatternInputs(firstCopy, extraInputs);
+        var patternPower = CraftingCpuHelper.calculatePatternPower(batchInputs);
+        if (energyService.extractAEPower(patternPower, Actionable.SIMULATE,
+                PowerMultiplier.CONFIG) >= patternPower - 0.01
+                && provider.pushPatterns(details, batchInputs, copies)) {
+            energyService.extractAEPower(patternPower, Actionable.MODULATE, PowerMultiplier.CONFIG);
+            expectedOutputs.addAll(extraOutputs);
+            expectedContainerItems.addAll(extraContainerItems);
+            return copies;
+        }
+
+        CraftingCpuHelper.reinjectPatternInputs(inventory, extraInputs);
+        return 0;
+    }
+
+    private void onPatternsPushed(ExecutingCraftingJob job, KeyCounter expectedOutputs,
+            KeyCounter expectedContainerItems) {
+        for (var expectedOutput : expectedOutputs) {
+            job.waitingFor.insert(expectedOutput.getKey(), expectedOutput.getLongValue(),
+                    Actionable.MODULATE);
+        }
+        for (var expectedContainerItem : expectedContainerItems) {
+            job.waitingFor.insert(expectedContainerItem.getKey(), expectedContainerItem.getLongValue(),
+                    Actionable.MODULATE);
+            job.timeTracker.addMaxItems(expectedContainerItem.getLongValue(),
+                    expectedContainerItem.getKey().getType());
+        }
+
+        cluster.markDirty();
+    }
+
     /**
      * Called by the CraftingService with an Integer.MAX_VALUE priority to inject items that are being waited for.
      *
@@ -465,6 +587,16 @@ public void removeListener(Consumer<AEKey> listener) {
         listeners.remove(listener);
     }
 
+    /**
+     * Returns the status shared by all menus that show this CPU.
+     */
+    public SharedCraftingStatus getSharedStatus() {
+        if (this.sharedStatus == null) {
+            this.sharedStatus = new SharedCraftingStatus(this);
+        }
+        return this.sharedStatus;
+    }
+
     public long getStored(AEKey template) {
         return this.inventory.extract(template, Long.MAX_VALUE, Actionable.SIMULATE);
     }
@@ -485,17 +617,10 @@ public void getAllWaitingFor(Set<AEKey> waitingFor) {
     }
 
     public long getPendingOutputs(AEKey template) {
-        long count = 0;
         if (this.job != null) {
-            for (var t : job.tasks.entrySet()) {
-                for (var output : t.getKey().getOutputs()) {
-                    if (template.matches(output)) {
-                        count += output.amount() * t.getValue().value;
-                    }
-                }
-            }
+            return Math.max(0, job.pendingOutputs.get(template));
         }
-        return count;
+        return 0;
     }
 
     /**
@@ -505,9 +630,9 @@ public void getAllItems(KeyCounter out) {
         out.addAll(this.inventory.list);
         if (this.job != null) {
             out.addAll(job.waitingFor.list);
-            for (var t : job.tasks.entrySet()) {
-                for (var output : t.getKey().getOutputs()) {
-                    out.add(output.what(), output.amount() * t.getValue().value);
+            for (var entry : job.pendingOutputs) {
+                if (entry.getLongValue() > 0) {
+                    out.add(entry.getKey(), entry.getLongValue());
                 }
             }
         }
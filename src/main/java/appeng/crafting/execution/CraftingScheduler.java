@@ -0,0 +1,163 @@
+package appeng.crafting.execution;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import appeng.api.networking.energy.IEnergyService;
+import appeng.core.AEConfig;
+import appeng.me.cluster.implementations.CraftingCPUCluster;
+import appeng.me.service.CraftingService;
+
+/**
+ * Decides in which order the crafting CPUs of a grid push their patterns each tick, and how many patterns each of them
+ * may push.
+ * <p/>
+ * Every CPU can push as many patterns as its co-processors allow. Optionally, CPUs without a job lend their unused
+ * operations to busy CPUs, and the total number of patterns pushed by the grid per tick is capped. When the cap is
+ * reached, the CPUs that come last in the order of the {@link CraftingSchedulingPolicy} have to wait for the next tick.
+ */
+public class CraftingScheduler {
+    private int roundRobinOffset;
+
+    // Metrics of the last tick
+    private int queueDepth;
+    private long queuedPatterns;
+    private int pushedPatterns;
+    private int starvedCpus;
+
+    public void tick(Collection<CraftingCPUCluster> cpus, IEnergyService energyService,
+            CraftingService craftingService) {
+        var config = AEConfig.instance();
+        var budget = config.getCraftingPatternPushBudget() > 0 ? config.getCraftingPatternPushBudget()
+                : Integer.MAX_VALUE;
+
+        var queue = new ArrayList<CraftingCpuLogic>(cpus.size());
+        var lenders = new ArrayList<CraftingCpuLogic>();
+        for (var cpu : cpus) {
+            var logic = cpu.craftingLogic;
+            if (logic.prepareTick()) {
+                queue.add(logic);
+            } else if (config.isCraftingCoProcessorSharing() && cpu.isActive() && !logic.hasJob()) {
+                lenders.add(logic);
+            }
+        }
+
+        schedule(queue, lenders, config.getCraftingSchedulingPolicy(), budget, energyService, craftingService);
+
+        for (var cpu : cpus) {
+            cpu.craftingLogic.finishTick();
+        }
+    }
+
+    /**
+     * Lets the CPUs in the queue push their patterns in the order of the policy, until the budget is used up.
+     *
+     * @param queue   The CPUs that have a job to push patterns for.
+     * @param lenders The CPUs that may lend their unused operations to the CPUs in the queue.
+     */
+    void schedule(List<CraftingCpuLogic> queue, List<CraftingCpuLogic> lenders, CraftingSchedulingPolicy policy,
+            int budget, IEnergyService energyService, CraftingService craftingService) {
+        queueDepth = queue.size();
+        queuedPatterns = 0;
+        pushedPatterns = 0;
+        starvedCpus = 0;
+
+        if (queue.isEmpty()) {
+            return;
+        }
+
+        // Rotate first, so that CPUs that are tied under the policy take turns
+        Collections.rotate(queue, -(roundRobinOffset++ % queue.size()));
+        var ordered = order(queue, policy);
+
+        for (var logic : ordered) {
+            if (pushedPatterns >= budget) {
+                starvedCpus++;
+            } else {
+                var ownOperations = logic.getAvailableOperations();
+                var maxOperations = Math.min(ownOperations + getLendableOperations(lenders),
+                        budget - pushedPatterns);
+                var pushed = logic.pushPatterns(maxOperations, energyService, craftingService);
+                logic.useOperations(Math.min(pushed, ownOperations));
+                if (pushed > ownOperations) {
+                    lendOperations(lenders, pushed - ownOperations);
+                }
+                pushedPatterns += pushed;
+            }
+            queuedPatterns += logic.getRemainingPatternCount();
+        }
+    }
+
+    private static List<CraftingCpuLogic> order(List<CraftingCpuLogic> queue, CraftingSchedulingPolicy policy) {
+        if (policy == CraftingSchedulingPolicy.ROUND_ROBIN || queue.size() < 2) {
+            return queue;
+        }
+
+        // Determine the sort keys up front, since some of them change while sorting (i.e. the elapsed time)
+        record Entry(CraftingCpuLogic logic, long key) {
+        }
+        var entries = new ArrayList<Entry>(queue.size());
+        for (var logic : queue) {
+            var key = switch (policy) {
+                case SHORTEST_JOB_FIRST -> logic.getRemainingPatternCount();
+                case PLAYER_FIRST -> logic.isRequestedByPlayer() ? 0 : 1;
+                case OLDEST_FIRST -> -logic.getElapsedTimeTracker().getElapsedTime();
+                case ROUND_ROBIN -> 0;
+            };
+            entries.add(new Entry(logic, key));
+        }
+        // The sort is stable, which keeps the round-robin order for ties
+        entries.sort(Comparator.comparingLong(Entry::key));
+        return entries.stream().map(Entry::logic).toList();
+    }
+
+    private static int getLendableOperations(List<CraftingCpuLogic> lenders) {
+        var operations = 0;
+        for (var lender : lenders) {
+            operations += lender.getAvailableOperations();
+        }
+        return operations;
+    }
+
+    private static void lendOperations(List<CraftingCpuLogic> lenders, int operations) {
+        for (var lender : lenders) {
+            if (operations <= 0) {
+                break;
+            }
+            var lent = Math.min(operations, lender.getAvailableOperations());
+            lender.useOperations(lent);
+            operations -= lent;
+        }
+    }
+
+    /**
+     * @return The number of CPUs that had a job to push patterns for in the last tick.
+     */
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    /**
+     * @return The number of pattern pushes that the jobs of the CPUs still needed after the last tick.
+     */
+    public long getQueuedPatterns() {
+        return queuedPatterns;
+    }
+
+    /**
+     * @return The number of patterns pushed by all CPUs in the last tick.
+     */
+    public int getPushedPatterns() {
+        return pushedPatterns;
+    }
+
+    /**
+     * @return The number of CPUs that could not push any patterns in the last tick, because the budget was used up.
+     */
+    public int getStarvedCpus() {
+        return starvedCpus;
+    }
+}
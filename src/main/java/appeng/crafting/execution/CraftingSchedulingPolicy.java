@@ -0,0 +1,24 @@
+package appeng.crafting.execution;
+
+/**
+ * The order in which the crafting CPUs of a grid get to push their patterns each tick. It matters when the CPUs compete
+ * for the same pattern providers, or when the number of patterns pushed per tick is capped.
+ */
+public enum CraftingSchedulingPolicy {
+    /**
+     * Rotate which CPU goes first every tick.
+     */
+    ROUND_ROBIN,
+    /**
+     * CPUs whose jobs need the fewest pattern pushes to complete go first.
+     */
+    SHORTEST_JOB_FIRST,
+    /**
+     * CPUs running jobs requested by players go before CPUs running jobs requested by automation.
+     */
+    PLAYER_FIRST,
+    /**
+     * CPUs whose jobs have been running the longest go first.
+     */
+    OLDEST_FIRST
+}
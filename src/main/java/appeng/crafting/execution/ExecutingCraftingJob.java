@@ -36,6 +36,7 @@
 import appeng.api.stacks.AEItemKey;
 import appeng.api.stacks.AEKey;
 import appeng.api.stacks.GenericStack;
+import appeng.api.stacks.KeyCounter;
 import appeng.crafting.CraftingLink;
 import appeng.crafting.inv.ListCraftingInventory;
 import appeng.me.service.CraftingService;
@@ -53,6 +54,16 @@ public class ExecutingCraftingJob {
     final CraftingLink link;
     final ListCraftingInventory waitingFor;
     final Map<IPatternDetails, TaskProgress> tasks = new HashMap<>();
+    /**
+     * The combined outputs of the pattern pushes in {@link #tasks} that haven't been pushed yet, kept up to date by
+     * {@link #onTaskPushed}.
+     */
+    final KeyCounter pendingOutputs = new KeyCounter();
+    /**
+     * The number of pattern pushes in {@link #tasks} that haven't been pushed yet, kept up to date by
+     * {@link #onTaskPushed}.
+     */
+    long remainingPatterns;
     final ElapsedTimeTracker timeTracker;
     GenericStack finalOutput;
     long remainingAmount;
@@ -78,6 +89,7 @@ interface CraftingDifferenceListener {
         }
         for (var entry : plan.patternTimes().entrySet()) {
             tasks.computeIfAbsent(entry.getKey(), p -> new TaskProgress()).value += entry.getValue();
+            addPendingCopies(entry.getKey(), entry.getValue());
             for (var output : entry.getKey().getOutputs()) {
                 var amount = output.amount() * entry.getValue() * output.what().getAmountPerUnit();
                 timeTracker.addMaxItems(amount, output.what().getType());
@@ -114,7 +126,11 @@ interface CraftingDifferenceListener {
             if (details != null) {
                 final TaskProgress tp = new TaskProgress();
                 tp.value = item.getLong(NBT_CRAFTING_PROGRESS);
-                this.tasks.put(details, tp);
+                var previous = this.tasks.put(details, tp);
+                if (previous != null) {
+                    addPendingCopies(details, -previous.value);
+                }
+                addPendingCopies(details, tp.value);
             }
         }
     }
@@ -147,6 +163,21 @@ CompoundTag writeToNBT(HolderLookup.Provider registries) {
         return data;
     }
 
+    /**
+     * Records that copies of a task's pattern were pushed.
+     */
+    void onTaskPushed(IPatternDetails details, TaskProgress progress, long copies) {
+        progress.value -= copies;
+        addPendingCopies(details, -copies);
+    }
+
+    private void addPendingCopies(IPatternDetails details, long copies) {
+        remainingPatterns += copies;
+        for (var output : details.getOutputs()) {
+            pendingOutputs.add(output.what(), output.amount() * copies);
+        }
+    }
+
     static class TaskProgress {
         long value = 0;
     }
@@ -19,10 +19,10 @@
 package appeng.crafting.pattern;
 
 import java.util.Collections;
-import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.google.common.base.Preconditions;
 
@@ -69,7 +69,7 @@ public class AEStonecuttingPattern implements IPatternDetails, IMolecularAssembl
     /**
      * We cache results of isValid(...) calls for stacks that don't have NBT.
      */
-    private final Map<Item, Boolean> isValidCache = new IdentityHashMap<>();
+    private final Map<Item, Boolean> isValidCache = new ConcurrentHashMap<>();
 
     public AEStonecuttingPattern(AEItemKey definition, Level level) {
         this.definition = definition;
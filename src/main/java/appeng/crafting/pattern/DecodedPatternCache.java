@@ -0,0 +1,83 @@
+package appeng.crafting.pattern;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.MapMaker;
+
+import org.jetbrains.annotations.Nullable;
+
+import net.minecraft.world.item.crafting.RecipeManager;
+import net.minecraft.world.level.Level;
+
+import appeng.api.crafting.IPatternDetails;
+import appeng.api.crafting.PatternDetailsHelper;
+import appeng.api.stacks.AEItemKey;
+
+/**
+ * Caches the results of {@link PatternDetailsHelper#decodePattern}, so that identical encoded patterns share a single
+ * {@link IPatternDetails}, and aren't decoded again every time a pattern provider or terminal looks at them.
+ * <p/>
+ * Decoding depends on the recipes and tags of the level, so there is a separate cache per recipe manager. The server
+ * creates a new recipe manager when datapacks are reloaded. The client updates its recipe manager in place, so
+ * {@link #clear()} has to be called whenever recipes or tags are updated.
+ */
+public final class DecodedPatternCache {
+    public static final DecodedPatternCache INSTANCE = new DecodedPatternCache();
+
+    private static final int MAX_SIZE = 8192;
+
+    private final Map<RecipeManager, Cache<AEItemKey, Optional<IPatternDetails>>> caches = new MapMaker()
+            .weakKeys()
+            .makeMap();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    DecodedPatternCache() {
+    }
+
+    @Nullable
+    public IPatternDetails get(AEItemKey what, Level level, Function<AEItemKey, IPatternDetails> decoder) {
+        var recipeManager = level.getRecipeManager();
+        if (recipeManager == null) {
+            return decoder.apply(what); // Levels without recipes (i.e. in tests)
+        }
+
+        var cache = caches.computeIfAbsent(recipeManager,
+                k -> CacheBuilder.newBuilder().maximumSize(MAX_SIZE).build());
+
+        var result = cache.getIfPresent(what);
+        if (result != null) {
+            hits.increment();
+            return result.orElse(null);
+        }
+
+        misses.increment();
+        var details = decoder.apply(what);
+        cache.put(what, Optional.ofNullable(details));
+        return details;
+    }
+
+    public void clear() {
+        caches.clear();
+    }
+
+    /**
+     * @return How many lookups were answered from the cache.
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return How many lookups had to actually decode the pattern.
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+}
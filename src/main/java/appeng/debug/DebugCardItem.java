@@ -46,14 +46,18 @@
 import appeng.api.parts.IPartHost;
 import appeng.blockentity.AEBaseBlockEntity;
 import appeng.blockentity.networking.ControllerBlockEntity;
+import appeng.blockentity.spatial.SpatialIOPortBlockEntity;
 import appeng.hooks.ticking.TickHandler;
 import appeng.items.AEBaseItem;
 import appeng.me.Grid;
 import appeng.me.GridNode;
+import appeng.me.cells.BasicCellInventory;
 import appeng.me.helpers.IGridConnectedBlockEntity;
+import appeng.me.service.CraftingService;
 import appeng.me.service.TickManagerService;
 import appeng.parts.networking.CablePart;
 import appeng.parts.p2p.P2PTunnelPart;
+import appeng.parts.storagebus.StorageBusPart;
 import appeng.util.InteractionUtil;
 import appeng.util.Platform;
 
@@ -89,6 +93,15 @@ public InteractionResultHolder<ItemStack> use(Level level, Player player, Intera
             for (var line : TickHandler.instance().getBlockEntityReport()) {
                 player.sendSystemMessage(line);
             }
+            divider(player);
+            outputMessage(player, "Storage Cells", ChatFormatting.BOLD);
+            var persistCount = BasicCellInventory.getPersistCount();
+            this.outputSecondaryMessage(player, "Changes", Long.toString(BasicCellInventory.getChangeCount()));
+            this.outputSecondaryMessage(player, "Persists", Long.toString(persistCount));
+            if (persistCount > 0) {
+                this.outputSecondaryMessage(player, "Mean Persist Time",
+                        Platform.formatTimeMeasurement(BasicCellInventory.getPersistNanos() / persistCount));
+            }
         }
 
         return InteractionResultHolder.sidedSuccess(player.getItemInHand(usedHand), level.isClientSide);
@@ -131,6 +144,13 @@ public InteractionResult onItemUseFirst(ItemStack stack, UseOnContext context) {
                 this.outputPrimaryMessage(player, "Nodes in grid", String.valueOf(Iterables.size(g.getNodes())));
                 this.outputSecondaryMessage(player, "Grid Pivot Node", String.valueOf(center));
 
+                var scheduler = ((CraftingService) g.getCraftingService()).getScheduler();
+                if (scheduler.getQueueDepth() > 0) {
+                    this.outputSecondaryMessage(player, "Crafting", scheduler.getQueueDepth() + " CPUs queued, "
+                            + scheduler.getStarvedCpus() + " starved; " + scheduler.getPushedPatterns()
+                            + " patterns pushed, " + scheduler.getQueuedPatterns() + " remaining");
+                }
+
                 var tmc = (TickManagerService) g.getTickManager();
                 for (var c : g.getMachineClasses()) {
                     int o = 0;
@@ -197,6 +217,30 @@ public InteractionResult onItemUseFirst(ItemStack stack, UseOnContext context) {
                 if (center.getOwner() instanceof P2PTunnelPart<?> tunnelPart) {
                     this.outputSecondaryMessage(player, "Freq", Integer.toString(tunnelPart.getFrequency()));
                 }
+
+                if (node.getOwner() instanceof StorageBusPart storageBus) {
+                    for (var stats : storageBus.getScanStatistics()) {
+                        this.outputSecondaryMessage(player, "Scan " + stats.keyType().getId(),
+                                stats.slots() + " slots in " + stats.ticks() + " ticks, "
+                                        + Platform.formatTimeMeasurement(stats.nanos()));
+                    }
+                }
+
+                if (node.getOwner() instanceof SpatialIOPortBlockEntity spatialIOPort) {
+                    var transfer = spatialIOPort.getTransfer();
+                    if (transfer != null) {
+                        this.outputSecondaryMessage(player, "Spatial Transfer",
+                                transfer.getPhase() + " (" + (int) (transfer.getProgress() * 100) + "%)");
+                        this.outputSecondaryMessage(player, "Loading", transfer.getLoadingTicks() + " ticks");
+                        this.outputSecondaryMessage(player, "Staging", transfer.getStagedSections() + " sections ("
+                                + transfer.getRestagedSections() + " restaged) in " + transfer.getStagingTicks()
+                                + " ticks");
+                        this.outputSecondaryMessage(player, "Swap",
+                                Platform.formatTimeMeasurement(transfer.getSwapNanos()));
+                        this.outputSecondaryMessage(player, "Sending", transfer.getTotalUpdates() + " chunks in "
+                                + transfer.getSendingTicks() + " ticks");
+                    }
+                }
             } else {
                 this.outputMessage(player, "No Node Available.");
             }
@@ -0,0 +1,18 @@
+package appeng.helpers;
+
+import org.jetbrains.annotations.Nullable;
+
+import appeng.api.networking.IGrid;
+import appeng.api.storage.ITerminalHost;
+
+/**
+ * Implemented by terminal hosts whose {@link ITerminalHost#getInventory() inventory} is the network inventory of a
+ * grid. Terminals use this to share the grid's cached inventory, instead of querying the network storage themselves.
+ */
+public interface IGridTerminalHost {
+    /**
+     * @return The grid whose network inventory is currently shown by the terminal, or null if there is none.
+     */
+    @Nullable
+    IGrid getTerminalGrid();
+}
@@ -56,7 +56,7 @@
 import appeng.menu.locator.ItemMenuHostLocator;
 
 public class WirelessTerminalMenuHost<T extends WirelessTerminalItem> extends ItemMenuHost<T>
-        implements IPortableTerminal, IActionHost, KeyTypeSelectionHost {
+        implements IPortableTerminal, IActionHost, KeyTypeSelectionHost, IGridTerminalHost {
 
     private final BiConsumer<Player, ISubMenu> returnToMainMenu;
     @Nullable
@@ -108,6 +108,12 @@ public MEStorage getInventory() {
         return this.storage;
     }
 
+    @Nullable
+    @Override
+    public IGrid getTerminalGrid() {
+        return getLinkedGrid(getItemStack());
+    }
+
     @Override
     public double extractAEPower(double amt, Actionable mode, PowerMultiplier usePowerMultiplier) {
         final double extracted = Math.min(amt, getItem().getAECurrentPower(getItemStack()));
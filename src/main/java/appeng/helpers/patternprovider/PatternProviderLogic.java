@@ -75,6 +75,7 @@
 import appeng.core.settings.TickRates;
 import appeng.helpers.InterfaceLogicHost;
 import appeng.me.helpers.MachineSource;
+import appeng.me.service.PatternContainerService;
 import appeng.util.inv.AppEngInternalInventory;
 import appeng.util.inv.InternalInventoryHost;
 import appeng.util.inv.PlayerInternalInventory;
@@ -103,6 +104,10 @@ public class PatternProviderLogic implements InternalInventoryHost, ICraftingPro
     // Pattern storing logic
     private final AppEngInternalInventory patternInventory;
     private final List<IPatternDetails> patterns = new ArrayList<>();
+    /**
+     * The same patterns as {@link #patterns}, for quickly checking pushed patterns.
+     */
+    private final Set<IPatternDetails> patternSet = new HashSet<>();
     /**
      * Keeps track of the inputs of all the patterns. When blocking mode is enabled, if any of these is contained in the
      * target, the pattern won't be pushed. Always contains keys with the secondary component dropped.
@@ -246,6 +251,15 @@ public void saveChangedInventory(AppEngInternalInventory inv) {
     public void onChangeInventory(AppEngInternalInventory inv, int slot) {
         this.saveChanges();
         this.updatePatterns();
+        this.notifyPatternContainerChanged();
+    }
+
+    /**
+     * Notifies open pattern access terminals that the patterns, visibility or group of this provider may have changed.
+     * The group depends on the adjacent machines, so this also has to be called when those change.
+     */
+    public void notifyPatternContainerChanged() {
+        PatternContainerService.notifyChanged(this.host);
     }
 
     @Override
@@ -256,6 +270,7 @@ public boolean isClientSide() {
 
     public void updatePatterns() {
         patterns.clear();
+        patternSet.clear();
         patternInputs.clear();
 
         for (var stack : this.patternInventory) {
@@ -263,6 +278,7 @@ public void updatePatterns() {
 
             if (details != null) {
                 patterns.add(details);
+                patternSet.add(details);
 
                 for (var iinput : details.getInputs()) {
                     for (var inputCandidate : iinput.getPossibleInputs()) {
@@ -302,7 +318,66 @@ private <T> void rearrangeRoundRobin(List<T> list) {
 
     @Override
     public boolean pushPattern(IPatternDetails patternDetails, KeyCounter[] inputHolder) {
-        if (!sendList.isEmpty() || !this.mainNode.isActive() || !this.patterns.contains(patternDetails)) {
+        return pushPatterns(patternDetails, inputHolder, 1);
+    }
+
+    @Override
+    public int getMaxPatternBatchSize(IPatternDetails patternDetails, int maxCopies) {
+        // Blocking mode and crafting locks are meant to only let a single craft through at a time
+        if (maxCopies <= 1 || isBlocking()
+                || configManager.getSetting(Settings.LOCK_CRAFTING_MODE) != LockCraftingMode.NONE) {
+            return 1;
+        }
+
+        var be = host.getBlockEntity();
+        var maxBatchSize = 1;
+        for (var direction : getActiveSides()) {
+            var adjBeSide = direction.getOpposite();
+            var craftingMachine = ICraftingMachine.of(be.getLevel(), be.getBlockPos().relative(direction), adjBeSide);
+            if (craftingMachine != null && craftingMachine.acceptsPlans()) {
+                maxBatchSize = Math.max(maxBatchSize,
+                        Math.min(maxCopies, craftingMachine.getMaxPatternBatchSize(patternDetails, maxCopies)));
+            } else if (patternDetails.supportsPushInputsToExternalInventory()) {
+                var adapter = findAdapter(direction);
+                if (adapter != null) {
+                    maxBatchSize = Math.max(maxBatchSize, getAcceptedCopies(adapter, patternDetails, maxCopies));
+                }
+            }
+        }
+        return maxBatchSize;
+    }
+
+    /**
+     * Simulates inserting the primary inputs of several copies of a pattern into a target.
+     *
+     * @return How many copies the target accepts completely, up to <code>maxCopies</code>.
+     */
+    static int getAcceptedCopies(PatternProviderTarget target, IPatternDetails patternDetails, int maxCopies) {
+        var perCopy = new KeyCounter();
+        for (var input : patternDetails.getInputs()) {
+            var primaryInput = input.getPossibleInputs()[0];
+            perCopy.add(primaryInput.what(), primaryInput.amount() * input.getMultiplier());
+        }
+
+        int copies = maxCopies;
+        for (var entry : perCopy) {
+            var amount = entry.getLongValue();
+            if (amount <= 0) {
+                continue;
+            }
+            var total = amount > Long.MAX_VALUE / copies ? Long.MAX_VALUE : amount * copies;
+            var inserted = target.insert(entry.getKey(), total, Actionable.SIMULATE);
+            copies = (int) Math.min(copies, inserted / amount);
+            if (copies == 0) {
+                break;
+            }
+        }
+        return copies;
+    }
+
+    @Override
+    public boolean pushPatterns(IPatternDetails patternDetails, KeyCounter[] inputHolder, int copies) {
+        if (!sendList.isEmpty() || !this.mainNode.isActive() || !this.patternSet.contains(patternDetails)) {
             return false;
         }
 
@@ -324,8 +399,13 @@ record PushTarget(Direction direction, PatternProviderTarget target) {
 
             var craftingMachine = ICraftingMachine.of(level, adjPos, adjBeSide);
             if (craftingMachine != null && craftingMachine.acceptsPlans()) {
-                if (craftingMachine.pushPattern(patternDetails, inputHolder, adjBeSide)) {
+                var pushed = copies == 1
+                        ? craftingMachine.pushPattern(patternDetails, inputHolder, adjBeSide)
+                        : craftingMachine.getMaxPatternBatchSize(patternDetails, copies) >= copies
+                                && craftingMachine.pushPatterns(patternDetails, inputHolder, copies, adjBeSide);
+                if (pushed) {
                     onPushPatternSuccess(patternDetails);
+                    updateBusyState();
                     return true;
                 }
                 continue;
@@ -357,7 +437,8 @@ record PushTarget(Direction direction, PatternProviderTarget target) {
                 continue;
             }
 
-            if (this.adapterAcceptsAll(adapter, inputHolder)) {
+            // A batch must fit completely, otherwise the overflow of all copies would end up in the send list
+            if (adapterAcceptsAll(adapter, inputHolder, copies > 1)) {
                 patternDetails.pushInputsToExternalInventory(inputHolder, (what, amount) -> {
                     var inserted = adapter.insert(what, amount, Actionable.MODULATE);
                     if (inserted < amount) {
@@ -367,6 +448,7 @@ record PushTarget(Direction direction, PatternProviderTarget target) {
                 onPushPatternSuccess(patternDetails);
                 this.sendDirection = direction;
                 this.sendStacksOut();
+                updateBusyState();
                 roundRobinIndex += i + 1;
                 return true;
             }
@@ -380,6 +462,7 @@ public void resetCraftingLock() {
             unlockEvent = null;
             unlockStack = null;
             saveChanges();
+            updateBusyState();
         }
     }
 
@@ -478,11 +561,15 @@ private PatternProviderTarget findAdapter(Direction side) {
         return targetCaches[side.get3DDataValue()].find();
     }
 
-    private boolean adapterAcceptsAll(PatternProviderTarget target, KeyCounter[] inputHolder) {
+    /**
+     * @param requireAll If true, each input must be accepted completely. Otherwise, it's enough if some of each input
+     *                   is accepted, and the rest is sent later.
+     */
+    static boolean adapterAcceptsAll(PatternProviderTarget target, KeyCounter[] inputHolder, boolean requireAll) {
         for (var inputList : inputHolder) {
             for (var input : inputList) {
                 var inserted = target.insert(input.getKey(), input.getLongValue(), Actionable.SIMULATE);
-                if (inserted == 0) {
+                if (inserted == 0 || requireAll && inserted < input.getLongValue()) {
                     return false;
                 }
             }
@@ -537,7 +624,19 @@ private boolean sendStacksOut() {
 
     @Override
     public boolean isBusy() {
-        return !sendList.isEmpty();
+        return !sendList.isEmpty() || getCraftingLockedReason() != LockCraftingMode.NONE;
+    }
+
+    @Override
+    public boolean notifiesBusyChanges() {
+        return true;
+    }
+
+    /**
+     * Lets the crafting service know that {@link #isBusy()} may have changed.
+     */
+    private void updateBusyState() {
+        ICraftingProvider.requestBusyUpdate(mainNode);
     }
 
     private boolean hasWorkToDo() {
@@ -546,9 +645,13 @@ private boolean hasWorkToDo() {
 
     private boolean doWork() {
         // Note: bitwise OR to avoid short-circuiting.
-        return returnInv.injectIntoNetwork(
+        var didWork = returnInv.injectIntoNetwork(
                 mainNode.getGrid().getStorageService().getInventory(), actionSource, this::onStackReturnedToNetwork)
                 | sendStacksOut();
+        if (didWork) {
+            updateBusyState();
+        }
+        return didWork;
     }
 
     public InternalInventory getPatternInv() {
@@ -580,6 +683,7 @@ public void clearContent() {
         this.patternInventory.clear();
         this.sendList.clear();
         this.returnInv.clear();
+        updateBusyState();
     }
 
     public PatternProviderReturnInventory getReturnInv() {
@@ -790,13 +894,19 @@ public void updateRedstoneState() {
             // Otherwise, just reset back to undecided
             redstoneState = YesNo.UNDECIDED;
         }
+        // The crafting lock may depend on the redstone signal
+        updateBusyState();
     }
 
     private void configChanged(IConfigManager manager, Setting<?> setting) {
         if (setting == Settings.LOCK_CRAFTING_MODE) {
             resetCraftingLock();
+            updateBusyState();
         } else {
             saveChanges();
+            if (setting == Settings.PATTERN_ACCESS_TERMINAL) {
+                notifyPatternContainerChanged();
+            }
         }
     }
 
@@ -0,0 +1,32 @@
+package appeng.hooks;
+
+import net.neoforged.neoforge.event.level.BlockEvent;
+import net.neoforged.neoforge.event.level.ExplosionEvent;
+
+import appeng.spatial.SpatialTransfer;
+
+/**
+ * Prevents blocks from being broken, placed or blown up in the regions of a spatial transfer while they are being
+ * staged. Anything else that changes them in the meantime is caught when the staged sections are verified.
+ */
+public final class SpatialTransferLockHook {
+
+    private SpatialTransferLockHook() {
+    }
+
+    public static void onBreakBlock(BlockEvent.BreakEvent event) {
+        if (SpatialTransfer.isLocked(event.getLevel(), event.getPos())) {
+            event.setCanceled(true);
+        }
+    }
+
+    public static void onPlaceBlock(BlockEvent.EntityPlaceEvent event) {
+        if (SpatialTransfer.isLocked(event.getLevel(), event.getPos())) {
+            event.setCanceled(true);
+        }
+    }
+
+    public static void onExplosion(ExplosionEvent.Detonate event) {
+        event.getAffectedBlocks().removeIf(pos -> SpatialTransfer.isLocked(event.getLevel(), pos));
+    }
+}
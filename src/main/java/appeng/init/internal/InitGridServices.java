@@ -29,6 +29,7 @@
 import appeng.me.service.EnergyService;
 import appeng.me.service.P2PService;
 import appeng.me.service.PathingService;
+import appeng.me.service.PatternContainerService;
 import appeng.me.service.SpatialPylonService;
 import appeng.me.service.StatisticsService;
 import appeng.me.service.StorageService;
@@ -47,5 +48,6 @@ public static void init() {
         GridServices.register(ISpatialService.class, SpatialPylonService.class);
         GridServices.register(ICraftingService.class, CraftingService.class);
         GridServices.register(StatisticsService.class, StatisticsService.class);
+        GridServices.register(PatternContainerService.class, PatternContainerService.class);
     }
 }
@@ -25,6 +25,7 @@
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -42,12 +43,14 @@
 
 import it.unimi.dsi.fastutil.objects.Reference2IntMap;
 import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
 
 import appeng.api.networking.GridServicesInternal;
 import appeng.api.networking.IGrid;
 import appeng.api.networking.IGridNode;
 import appeng.api.networking.IGridNodeListener;
 import appeng.api.networking.IGridService;
+import appeng.api.networking.IGridServiceProvider;
 import appeng.api.networking.crafting.ICraftingService;
 import appeng.api.networking.energy.IEnergyService;
 import appeng.api.networking.events.GridEvent;
@@ -71,12 +74,19 @@ public class Grid implements IGrid {
     private static int nextSerial = 0;
 
     private final SetMultimap<Class<?>, IGridNode> machines = MultimapBuilder.hashKeys().hashSetValues().build();
+    private final Map<Class<?>, MachineClassView> machineViews = new Reference2ObjectOpenHashMap<>();
+    /**
+     * Shared by all machine views, so that a view that is recreated after its class left the grid never reuses the
+     * version of the previous one.
+     */
+    private long lastMachinesVersion;
     private final GridServiceContainer services;
     // Becomes null after the last node has left the grid.
     @Nullable
     private GridNode pivot;
     private int priority; // how import is this network?
     private final int serialNumber = nextSerial++; // useful to keep track of grids in toString() for debugging purposes
+    private final GridProfile profile = new GridProfile();
 
     /**
      * Creates a new grid, sends the necessary events, and registers it to the tickhandler or other objects.
@@ -114,7 +124,14 @@ void remove(GridNode gridNode) {
         }
 
         var machineClass = gridNode.getOwner().getClass();
-        this.machines.remove(machineClass, gridNode);
+        if (this.machines.remove(machineClass, gridNode)) {
+            if (this.machines.containsKey(machineClass)) {
+                this.machineViews.get(machineClass).onNodesChanged();
+            } else {
+                // Don't keep views for every class of machine that was ever part of the grid
+                this.machineViews.remove(machineClass);
+            }
+        }
 
         if (this.pivot == gridNode) {
             var nodesIt = machines.values().iterator();
@@ -131,13 +148,24 @@ void remove(GridNode gridNode) {
 
     void add(GridNode gridNode, @Nullable CompoundTag savedData) {
         // track node.
-        this.machines.put(gridNode.getOwner().getClass(), gridNode);
+        var machineClass = gridNode.getOwner().getClass();
+        this.machines.put(machineClass, gridNode);
+        var view = this.machineViews.get(machineClass);
+        if (view == null) {
+            view = new MachineClassView(this.machines.get(machineClass), this::nextMachinesVersion);
+            this.machineViews.put(machineClass, view);
+        }
+        view.onNodesChanged();
 
         for (var service : services.services().values()) {
             service.addNode(gridNode, savedData);
         }
     }
 
+    private long nextMachinesVersion() {
+        return ++this.lastMachinesVersion;
+    }
+
     void saveNodeData(GridNode gridNode, CompoundTag savedData) {
         for (var service : services.services().values()) {
             service.saveNodeData(gridNode, savedData);
@@ -170,30 +198,35 @@ public Iterable<IGridNode> getMachineNodes(Class<?> machineClass) {
         return this.machines.get(machineClass);
     }
 
+    @SuppressWarnings("unchecked")
     @Override
     public <T> Set<T> getMachines(Class<T> machineClass) {
-        Set<IGridNode> nodes = this.machines.get(machineClass);
-        var resultBuilder = ImmutableSet.<T>builder();
-        for (IGridNode node : nodes) {
-            var logicalHost = node.getOwner();
-            if (machineClass.isInstance(logicalHost)) {
-                resultBuilder.add(machineClass.cast(logicalHost));
-            }
-        }
-        return resultBuilder.build();
+        // Views are keyed by the exact class of the owners, so they are all instances of it
+        var view = this.machineViews.get(machineClass);
+        return view != null ? (Set<T>) view.getMachines() : ImmutableSet.of();
     }
 
+    @SuppressWarnings("unchecked")
     @Override
     public <T> Set<T> getActiveMachines(Class<T> machineClass) {
-        Set<IGridNode> nodes = this.machines.get(machineClass);
-        var resultBuilder = ImmutableSet.<T>builder();
-        for (IGridNode node : nodes) {
-            var logicalHost = node.getOwner();
-            if (machineClass.isInstance(logicalHost) && node.isActive()) {
-                resultBuilder.add(machineClass.cast(logicalHost));
-            }
+        var view = this.machineViews.get(machineClass);
+        return view != null ? (Set<T>) view.getActiveMachines() : ImmutableSet.of();
+    }
+
+    @Override
+    public long getMachinesVersion(Class<?> machineClass) {
+        var view = this.machineViews.get(machineClass);
+        return view != null ? view.getVersion() : 0;
+    }
+
+    /**
+     * Called by nodes when their active state may have changed.
+     */
+    void onNodeStatusChanged(GridNode gridNode) {
+        var view = this.machineViews.get(gridNode.getOwner().getClass());
+        if (view != null) {
+            view.onNodeStatusChanged();
         }
-        return resultBuilder.build();
     }
 
     @Override
@@ -220,6 +253,11 @@ public void onServerStartTick() {
             return;
         }
 
+        if (GridProfile.isEnabled()) {
+            profileServices("serverStartTick", this.services.serverStartTickServices(), gc -> gc.onServerStartTick());
+            return;
+        }
+
         for (var gc : this.services.serverStartTickServices()) {
             gc.onServerStartTick();
         }
@@ -230,6 +268,11 @@ public void onLevelStartTick(Level level) {
             return;
         }
 
+        if (GridProfile.isEnabled()) {
+            profileServices("levelStartTick", this.services.levelStartTickServices(), gc -> gc.onLevelStartTick(level));
+            return;
+        }
+
         for (var gc : this.services.levelStartTickServices()) {
             gc.onLevelStartTick(level);
         }
@@ -240,6 +283,11 @@ public void onLevelEndTick(Level level) {
             return;
         }
 
+        if (GridProfile.isEnabled()) {
+            profileServices("levelEndTick", this.services.levelEndtickServices(), gc -> gc.onLevelEndTick(level));
+            return;
+        }
+
         for (var gc : this.services.levelEndtickServices()) {
             gc.onLevelEndTick(level);
         }
@@ -250,11 +298,33 @@ public void onServerEndTick() {
             return;
         }
 
+        if (GridProfile.isEnabled()) {
+            profileServices("serverEndTick", this.services.serverEndTickServices(), gc -> gc.onServerEndTick());
+            return;
+        }
+
         for (var gc : this.services.serverEndTickServices()) {
             gc.onServerEndTick();
         }
     }
 
+    /**
+     * Runs one tick phase of the given services while recording it in the profile of this grid.
+     */
+    private void profileServices(String phase, IGridServiceProvider[] services,
+            Consumer<IGridServiceProvider> callback) {
+        this.profile.begin(phase);
+        try {
+            for (var gc : services) {
+                this.profile.enter(gc.getClass());
+                callback.accept(gc);
+                this.profile.exit();
+            }
+        } finally {
+            this.profile.end();
+        }
+    }
+
     public void setImportantFlag(int i, boolean publicHasPower) {
         final int flag = 1 << i;
         this.priority = this.priority & ~flag | (publicHasPower ? flag : 0);
@@ -358,6 +428,9 @@ public void export(JsonWriter jsonWriter) throws IOException {
         }
         jsonWriter.endObject();
 
+        jsonWriter.name("profile");
+        profile.export(jsonWriter);
+
         jsonWriter.endObject();
     }
 
@@ -389,6 +462,13 @@ private void exportNodes(JsonWriter jsonWriter, HolderLookup.Provider registries
         jsonWriter.endArray();
     }
 
+    /**
+     * @return The profile of this grid's ticks, which is only recorded while {@link GridProfile#isEnabled()}.
+     */
+    public GridProfile getProfile() {
+        return profile;
+    }
+
     public int getSerialNumber() {
         return serialNumber;
     }
@@ -18,6 +18,7 @@
 
 package appeng.me;
 
+import java.util.List;
 import java.util.Objects;
 
 import com.google.common.base.Preconditions;
@@ -33,6 +34,7 @@
 import appeng.api.networking.IGridNodeListener;
 import appeng.api.networking.pathing.ChannelMode;
 import appeng.me.pathfinding.IPathItem;
+import appeng.me.service.PathingService;
 
 public class GridConnection implements IGridConnection, IPathItem {
 
@@ -94,8 +96,7 @@ public void destroy() {
         this.sideA.removeConnection(this);
         this.sideB.removeConnection(this);
 
-        this.sideA.validateGrid();
-        this.sideB.validateGrid();
+        GridSplitDetector.splitDisconnectedParts(List.of(this.sideA, this.sideB));
     }
 
     @Override
@@ -172,6 +173,10 @@ public int propagateChannelsUpwards() {
         return this.usedChannels;
     }
 
+    public void incrementChannelCount(int usedChannels) {
+        this.usedChannels += usedChannels;
+    }
+
     @Override
     public void finalizeChannels() {
         if (this.lastUsedChannels != this.usedChannels) {
@@ -217,9 +222,9 @@ public static GridConnection create(IGridNode aNode, IGridNode bNode,
 
         mergeGrids(a, b);
 
-        // a connection was destroyed RE-PATH!!
-        var p = connection.sideA.getInternalGrid().getPathingService();
-        p.repath();
+        // a connection was created RE-PATH!! (connections of new leaves are applied incrementally)
+        var p = (PathingService) connection.sideA.getInternalGrid().getPathingService();
+        p.onConnectionCreated(connection);
 
         connection.sideA.addConnection(connection);
         connection.sideB.addConnection(connection);
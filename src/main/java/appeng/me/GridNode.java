@@ -69,6 +69,7 @@
 import appeng.blockentity.networking.ControllerBlockEntity;
 import appeng.core.AELog;
 import appeng.me.pathfinding.IPathItem;
+import appeng.me.service.PathingService;
 import appeng.util.IDebugExportable;
 import appeng.util.JsonStreamUtil;
 
@@ -170,6 +171,9 @@ public <T> void callListener(ListenerCallback<T> callback) {
      * Notifies the grid node's listener about a potential change in the grid node's status.
      */
     public void notifyStatusChange(IGridNodeListener.State reason) {
+        if (this.myGrid != null) {
+            this.myGrid.onNodeStatusChanged(this);
+        }
         callListener((listener, owner, node) -> listener.onStateChanged(owner, node, reason));
     }
 
@@ -196,20 +200,6 @@ boolean hasConnection(IGridNode otherSide) {
         return false;
     }
 
-    void validateGrid() {
-        if (!ready) {
-            // We're in the process of being destroyed
-            return;
-        }
-
-        var gsd = new GridSplitDetector(this.getInternalGrid().getPivot());
-        this.beginVisit(gsd);
-        if (!gsd.isPivotFound()) {
-            var gp = new GridPropagator(Grid.create(this));
-            this.beginVisit(gp);
-        }
-    }
-
     public Grid getInternalGrid() {
         if (this.myGrid == null) {
             Grid.create(this);
@@ -344,6 +334,10 @@ public void destroy() {
         // no longer available.
         this.ready = false;
 
+        if (myGrid != null) {
+            ((PathingService) myGrid.getPathingService()).onNodeDestroyed(this, connections);
+        }
+
         boolean movedPivot = false;
 
         // First pass: Remove the connection on the other side
@@ -366,6 +360,7 @@ public void destroy() {
         }
 
         // Second pass: Re-validate the grids of the previously connected, adjacent nodes
+        var adjacentNodes = new ArrayList<GridNode>(connections.size());
         for (var connection : connections) {
             var otherSide = (GridNode) connection.getOtherSide(this);
 
@@ -376,12 +371,19 @@ public void destroy() {
                 movedPivot = true;
             }
 
-            // Re-validating the grid will cause the actual grid split to occur if the previously adjacent nodes
-            // were only connected by this node.
-            otherSide.validateGrid();
+            adjacentNodes.add(otherSide);
+        }
+
+        // This will cause the actual grid split to occur if the previously adjacent nodes were only connected by this
+        // node.
+        GridSplitDetector.splitDisconnectedParts(adjacentNodes);
 
-            // Cause a repath later. This is not done immediately.
-            otherSide.getInternalGrid().getPathingService().repath();
+        for (var otherSide : adjacentNodes) {
+            // Cause a repath later if the node ended up in another grid. This is not done immediately.
+            var otherGrid = otherSide.getInternalGrid();
+            if (otherGrid != myGrid) {
+                otherGrid.getPathingService().repath();
+            }
         }
 
         connections.clear();
@@ -393,6 +395,10 @@ public void destroy() {
         }
     }
 
+    boolean isReady() {
+        return ready;
+    }
+
     void markReady() {
         Preconditions.checkState(!ready);
         ready = true;
@@ -0,0 +1,320 @@
+package appeng.me;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+import com.google.gson.stream.JsonWriter;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Records how much time and memory the services and machines of a grid use while it is ticked, as a tree of frames.
+ * Profiling is globally enabled or disabled via {@link #setEnabled}, and costs nothing while disabled.
+ * <p/>
+ * The grid enters a frame for each tick phase and service, and the tick manager enters a frame for each machine class
+ * it ticks. Code that doesn't know its grid can add nested frames to the grid that is currently being ticked via
+ * {@link #enterActive} and {@link #exitActive}.
+ */
+public final class GridProfile {
+    @Nullable
+    private static final com.sun.management.ThreadMXBean THREADS = getThreadBean();
+
+    private static boolean enabled;
+    /**
+     * Incremented every time profiling is started, to lazily reset the profiles of all grids.
+     */
+    private static int generation;
+    private static long enabledSince;
+    /**
+     * The profile of the grid that is currently being ticked.
+     */
+    @Nullable
+    private static GridProfile active;
+
+    private final Frame root = new Frame(null, "grid");
+    private Frame current = root;
+    private long[] startNanos = new long[8];
+    private long[] startBytes = new long[8];
+    private int depth;
+    private int profileGeneration = -1;
+
+    @Nullable
+    private static com.sun.management.ThreadMXBean getThreadBean() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                && bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled()) {
+            return bean;
+        }
+        return null;
+    }
+
+    private static long getAllocatedBytes() {
+        return THREADS != null ? THREADS.getCurrentThreadAllocatedBytes() : 0;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enabling the profiler discards the data recorded by previous profiling runs.
+     */
+    public static void setEnabled(boolean enabled) {
+        if (enabled && !GridProfile.enabled) {
+            generation++;
+            enabledSince = System.nanoTime();
+        }
+        GridProfile.enabled = enabled;
+    }
+
+    /**
+     * @return How long the profiler has been running, in nanoseconds.
+     */
+    public static long getEnabledNanos() {
+        return enabled ? System.nanoTime() - enabledSince : 0;
+    }
+
+    /**
+     * @return True if allocations are recorded in addition to time.
+     */
+    public static boolean isRecordingAllocations() {
+        return THREADS != null;
+    }
+
+    /**
+     * Starts recording a tick phase of the grid. Must be followed by {@link #end()}.
+     */
+    void begin(String phase) {
+        if (profileGeneration != generation) {
+            profileGeneration = generation;
+            root.clear();
+        }
+        current = root;
+        depth = 0;
+        active = this;
+        enter(phase);
+    }
+
+    void end() {
+        // If a service threw, frames may still be open, which are discarded
+        if (depth == 1) {
+            exit();
+        }
+        depth = 0;
+        active = null;
+    }
+
+    /**
+     * Enters a child frame of the current frame. The key is either a class or a string.
+     */
+    public void enter(Object key) {
+        current = current.getChild(key);
+        if (depth == startNanos.length) {
+            startNanos = Arrays.copyOf(startNanos, depth * 2);
+            startBytes = Arrays.copyOf(startBytes, depth * 2);
+        }
+        startBytes[depth] = getAllocatedBytes();
+        startNanos[depth] = System.nanoTime();
+        depth++;
+    }
+
+    public void exit() {
+        if (depth == 0) {
+            return; // Unbalanced exit, i.e. after an exception
+        }
+        depth--;
+        current.record(System.nanoTime() - startNanos[depth], getAllocatedBytes() - startBytes[depth]);
+        current = current.parent != null ? current.parent : root;
+    }
+
+    /**
+     * Enters a frame in the profile of the grid that is currently being ticked, if profiling is enabled.
+     */
+    public static void enterActive(Object key) {
+        if (active != null) {
+            active.enter(key);
+        }
+    }
+
+    public static void exitActive() {
+        if (active != null) {
+            active.exit();
+        }
+    }
+
+    /**
+     * @return True if this profile contains data from the current profiling run.
+     */
+    public boolean hasData() {
+        return profileGeneration == generation && !root.children.isEmpty();
+    }
+
+    /**
+     * @return The total time recorded for all tick phases, in nanoseconds.
+     */
+    public long getTotalNanos() {
+        return hasData() ? root.getChildNanos() : 0;
+    }
+
+    public long getTotalBytes() {
+        if (!hasData()) {
+            return 0;
+        }
+        long bytes = 0;
+        for (var child : root.children.values()) {
+            bytes += child.bytes;
+        }
+        return bytes;
+    }
+
+    /**
+     * @return The frames directly below the tick phases (i.e. the services), merged across phases and sorted by time.
+     */
+    public List<FrameStats> getTopFrames() {
+        var merged = new IdentityHashMap<Object, long[]>();
+        if (hasData()) {
+            for (var phase : root.children.values()) {
+                for (var frame : phase.children.values()) {
+                    var stats = merged.computeIfAbsent(frame.key, k -> new long[4]);
+                    stats[0] += frame.calls;
+                    stats[1] += frame.nanos;
+                    stats[2] = Math.max(stats[2], frame.maxNanos);
+                    stats[3] += frame.bytes;
+                }
+            }
+        }
+
+        var result = new ArrayList<FrameStats>(merged.size());
+        merged.forEach((key, stats) -> result.add(new FrameStats(getName(key), stats[0], stats[1], stats[2],
+                stats[3])));
+        result.sort(Comparator.comparingLong(FrameStats::nanos).reversed());
+        return result;
+    }
+
+    /**
+     * Writes the frame tree as JSON.
+     */
+    public void export(JsonWriter writer) throws IOException {
+        writer.beginArray();
+        if (hasData()) {
+            for (var child : root.children.values()) {
+                child.export(writer);
+            }
+        }
+        writer.endArray();
+    }
+
+    /**
+     * Writes the frames in the collapsed stack format used by flame graph tools: one line per frame, with the
+     * semicolon-separated names of the frame and its parents, followed by the time spent in the frame itself (without
+     * its children) in nanoseconds.
+     */
+    public void exportCollapsedStacks(String prefix, BiConsumer<String, Long> out) {
+        if (hasData()) {
+            for (var child : root.children.values()) {
+                child.exportCollapsedStacks(prefix, out);
+            }
+        }
+    }
+
+    private static String getName(Object key) {
+        if (key instanceof Class<?> clazz) {
+            var name = clazz.getSimpleName();
+            return name.isEmpty() ? clazz.getName() : name;
+        }
+        return key.toString();
+    }
+
+    /**
+     * @param calls    How often the frame was entered.
+     * @param nanos    Total time spent in the frame, including its children.
+     * @param maxNanos The longest time spent in a single call.
+     * @param bytes    Total bytes allocated in the frame, including its children.
+     */
+    public record FrameStats(String name, long calls, long nanos, long maxNanos, long bytes) {
+    }
+
+    private static final class Frame {
+        @Nullable
+        private final Frame parent;
+        private final Object key;
+        // Keys are classes or string constants, so identity is sufficient
+        private final Map<Object, Frame> children = new IdentityHashMap<>();
+        private long calls;
+        private long nanos;
+        private long maxNanos;
+        private long bytes;
+
+        private Frame(@Nullable Frame parent, Object key) {
+            this.parent = parent;
+            this.key = key;
+        }
+
+        private Frame getChild(Object key) {
+            var child = children.get(key);
+            if (child == null) {
+                child = new Frame(this, key);
+                children.put(key, child);
+            }
+            return child;
+        }
+
+        private void record(long nanos, long bytes) {
+            this.calls++;
+            this.nanos += nanos;
+            this.maxNanos = Math.max(this.maxNanos, nanos);
+            this.bytes += bytes;
+        }
+
+        private void clear() {
+            children.clear();
+            calls = 0;
+            nanos = 0;
+            maxNanos = 0;
+            bytes = 0;
+        }
+
+        private long getChildNanos() {
+            long result = 0;
+            for (var child : children.values()) {
+                result += child.nanos;
+            }
+            return result;
+        }
+
+        private void export(JsonWriter writer) throws IOException {
+            writer.beginObject();
+            writer.name("name").value(getName(key));
+            writer.name("calls").value(calls);
+            writer.name("nanos").value(nanos);
+            writer.name("maxNanos").value(maxNanos);
+            writer.name("allocatedBytes").value(bytes);
+            if (!children.isEmpty()) {
+                writer.name("children");
+                writer.beginArray();
+                for (var child : children.values()) {
+                    child.export(writer);
+                }
+                writer.endArray();
+            }
+            writer.endObject();
+        }
+
+        private void exportCollapsedStacks(String prefix, BiConsumer<String, Long> out) {
+            var stack = prefix + ";" + getName(key);
+            var selfNanos = Math.max(0, nanos - getChildNanos());
+            if (selfNanos > 0) {
+                out.accept(stack, selfNanos);
+            }
+            for (var child : children.values()) {
+                child.exportCollapsedStacks(stack, out);
+            }
+        }
+    }
+}
@@ -18,32 +18,182 @@
 
 package appeng.me;
 
-import appeng.api.networking.IGridNode;
-import appeng.api.networking.IGridVisitor;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
 
-class GridSplitDetector implements IGridVisitor {
+/**
+ * Detects whether removing a connection or a node has split a grid into several disconnected parts, and moves all but
+ * one of these parts to new grids.
+ * <p>
+ * A breadth-first search is started from every node that was adjacent to the removed connection or node, and all
+ * searches are advanced in lock-step. Searches that reach each other are merged into a group using union-find, since
+ * their start nodes are still connected. Once all searches of a group run out of nodes to visit, the group has explored
+ * a part of the grid that is no longer connected to any other group. Detection stops as soon as at most one group is
+ * still searching.
+ * <p>
+ * This bounds the cost by the size of the parts that were split off, or by the distance between the start nodes if
+ * the grid is still connected, instead of the size of the entire grid. The part that was never fully explored, which
+ * is the largest one, keeps the existing grid, so only the smaller parts have to be moved.
+ */
+final class GridSplitDetector {
+    private GridSplitDetector() {
+    }
 
-    private final IGridNode pivot;
-    private boolean pivotFound;
+    /**
+     * @param startNodes The nodes that were adjacent to the removed connection or node. They must all be part of the
+     *                   same grid.
+     */
+    static void splitDisconnectedParts(Collection<GridNode> startNodes) {
+        var visitedBy = new IdentityHashMap<GridNode, Search>();
+        var searches = new ArrayList<Search>(startNodes.size());
+        for (var node : startNodes) {
+            // Nodes that are in the process of being destroyed don't need a grid
+            if (node.isReady() && !visitedBy.containsKey(node)) {
+                var search = new Search(node);
+                visitedBy.put(node, search);
+                searches.add(search);
+            }
+        }
 
-    public GridSplitDetector(IGridNode pivot) {
-        this.pivot = pivot;
-    }
+        if (searches.size() < 2) {
+            return; // A single part can't be split
+        }
+
+        var grid = searches.getFirst().startNode.getMyGrid();
 
-    @Override
-    public boolean visitNode(IGridNode n) {
-        if (n == this.pivot) {
-            this.setPivotFound(true);
+        int searchingGroups = searches.size();
+        while (searchingGroups > 1) {
+            for (var search : searches) {
+                if (!search.frontier.isEmpty()) {
+                    searchingGroups -= search.step(visitedBy);
+                    if (searchingGroups <= 1) {
+                        break;
+                    }
+                }
+            }
         }
 
-        return !this.isPivotFound();
-    }
+        // The group that is still searching keeps the grid. If all of them finished, the largest one does.
+        Search keptGroup = null;
+        List<Search> splitGroups = new ArrayList<>();
+        for (var search : searches) {
+            if (search.find() != search) {
+                continue; // Only look at the root of each group
+            }
+            if (keptGroup == null || search.isBetterToKeep(keptGroup)) {
+                if (keptGroup != null) {
+                    splitGroups.add(keptGroup);
+                }
+                keptGroup = search;
+            } else {
+                splitGroups.add(search);
+            }
+        }
+
+        if (splitGroups.isEmpty() || grid == null) {
+            return;
+        }
 
-    public boolean isPivotFound() {
-        return this.pivotFound;
+        // Make sure the pivot doesn't end up in one of the parts that are moved to a new grid
+        var pivotSearch = visitedBy.get((GridNode) grid.getPivot());
+        if (pivotSearch != null ? pivotSearch.find() != keptGroup : !keptGroup.isSearching()) {
+            grid.setPivot(keptGroup.startNode);
+        }
+
+        for (var group : splitGroups) {
+            var gp = new GridPropagator(Grid.create(group.startNode));
+            group.startNode.beginVisit(gp);
+        }
     }
 
-    private void setPivotFound(boolean pivotFound) {
-        this.pivotFound = pivotFound;
+    private static final class Search {
+        private final GridNode startNode;
+        private final ArrayDeque<GridNode> frontier = new ArrayDeque<>();
+        /**
+         * Union-find parent, the root of a group points to itself.
+         */
+        private Search parent = this;
+        /**
+         * Only valid for the root of a group: the number of nodes visited by the group.
+         */
+        private int size = 1;
+        /**
+         * Only valid for the root of a group: the number of searches in the group that still have nodes to visit.
+         */
+        private int searchingCount = 1;
+
+        private Search(GridNode startNode) {
+            this.startNode = startNode;
+            this.frontier.add(startNode);
+        }
+
+        private Search find() {
+            var root = this;
+            while (root.parent != root) {
+                root = root.parent;
+            }
+            // Path compression
+            var current = this;
+            while (current.parent != root) {
+                var next = current.parent;
+                current.parent = root;
+                current = next;
+            }
+            return root;
+        }
+
+        private boolean isSearching() {
+            return searchingCount > 0;
+        }
+
+        private boolean isBetterToKeep(Search other) {
+            if (isSearching() != other.isSearching()) {
+                return isSearching();
+            }
+            return size > other.size;
+        }
+
+        /**
+         * Visits the next node of this search.
+         *
+         * @return By how much the number of searching groups decreased.
+         */
+        private int step(Map<GridNode, Search> visitedBy) {
+            int finishedGroups = 0;
+
+            var node = frontier.poll();
+            for (var connection : node.connections) {
+                var other = (GridNode) connection.getOtherSide(node);
+                var otherSearch = visitedBy.putIfAbsent(other, this);
+                if (otherSearch == null) {
+                    frontier.add(other);
+                    find().size++;
+                } else {
+                    var group = find();
+                    var otherGroup = otherSearch.find();
+                    if (group != otherGroup) {
+                        // The start nodes are still connected, merge the groups
+                        otherGroup.parent = group;
+                        group.size += otherGroup.size;
+                        group.searchingCount += otherGroup.searchingCount;
+                        finishedGroups++;
+                    }
+                }
+            }
+
+            if (frontier.isEmpty()) {
+                var group = find();
+                group.searchingCount--;
+                if (group.searchingCount == 0) {
+                    finishedGroups++;
+                }
+            }
+
+            return finishedGroups;
+        }
     }
 }
@@ -0,0 +1,90 @@
+package appeng.me;
+
+import java.util.Set;
+import java.util.function.LongSupplier;
+
+import com.google.common.collect.ImmutableSet;
+
+import org.jetbrains.annotations.Nullable;
+
+import appeng.api.networking.IGridNode;
+
+/**
+ * Caches the machines of a single class in a grid, and the subset of them that is active. Both sets are rebuilt
+ * lazily: the set of all machines when a node of the class joins or leaves the grid, and the active subset when the
+ * status of one of the nodes changed (i.e. power, booting or channels). As long as nothing changed, callers get the
+ * same set instance every time.
+ */
+final class MachineClassView {
+    private final Set<IGridNode> nodes;
+    private final LongSupplier nextVersion;
+    @Nullable
+    private ImmutableSet<Object> machines;
+    @Nullable
+    private ImmutableSet<Object> activeMachines;
+    private boolean activeMachinesStale;
+    private long version;
+
+    /**
+     * @param nodes       The live set of nodes whose owner is of this class.
+     * @param nextVersion Supplies increasing versions, which are used whenever the machines changed.
+     */
+    MachineClassView(Set<IGridNode> nodes, LongSupplier nextVersion) {
+        this.nodes = nodes;
+        this.nextVersion = nextVersion;
+    }
+
+    /**
+     * Called when a node of this class joined or left the grid.
+     */
+    void onNodesChanged() {
+        machines = null;
+        activeMachines = null;
+        version = nextVersion.getAsLong();
+    }
+
+    /**
+     * Called when the active state of a node of this class may have changed.
+     */
+    void onNodeStatusChanged() {
+        // Rebuild the active set on the next query, and only bump the version if it actually changed
+        activeMachinesStale = true;
+    }
+
+    ImmutableSet<Object> getMachines() {
+        if (machines == null) {
+            var builder = ImmutableSet.builder();
+            for (var node : nodes) {
+                builder.add(node.getOwner());
+            }
+            machines = builder.build();
+        }
+        return machines;
+    }
+
+    ImmutableSet<Object> getActiveMachines() {
+        if (activeMachines == null || activeMachinesStale) {
+            var builder = ImmutableSet.builder();
+            for (var node : nodes) {
+                if (node.isActive()) {
+                    builder.add(node.getOwner());
+                }
+            }
+            var result = builder.build();
+            if (activeMachines == null) {
+                activeMachines = result;
+            } else if (!activeMachines.equals(result)) {
+                activeMachines = result;
+                version = nextVersion.getAsLong();
+            }
+            activeMachinesStale = false;
+        }
+        return activeMachines;
+    }
+
+    long getVersion() {
+        // Changes of the active machines are only detected when the set is rebuilt
+        getActiveMachines();
+        return version;
+    }
+}
@@ -21,6 +21,8 @@
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ObjLongConsumer;
 
 import org.jetbrains.annotations.Nullable;
 
@@ -55,6 +57,13 @@
 public class BasicCellInventory implements StorageCell {
     private static final int MAX_ITEM_TYPES = 63;
 
+    /**
+     * Statistics about how often cell contents are written to their item stacks, for debugging.
+     */
+    private static final LongAdder changeCount = new LongAdder();
+    private static final LongAdder persistCount = new LongAdder();
+    private static final LongAdder persistNanos = new LongAdder();
+
     @Nullable
     private final ISaveProvider container;
     private final AEKeyType keyType;
@@ -69,6 +78,8 @@ public class BasicCellInventory implements StorageCell {
     private final long maxItemsPerType; // max items per type, basically infinite unless there is a distribution card.
     private final boolean hasVoidUpgrade;
     private boolean isPersisted = true;
+    @Nullable
+    private ObjLongConsumer<AEKey> deltaListener;
 
     private BasicCellInventory(IBasicCellItem cellType, ItemStack o, @Nullable ISaveProvider container) {
         this.i = o;
@@ -141,6 +152,19 @@ public boolean isFuzzy() {
         return partitionList instanceof FuzzyPriorityList;
     }
 
+    /**
+     * Sets a listener that is notified of every change to the stored amounts of this cell.
+     */
+    public void setDeltaListener(@Nullable ObjLongConsumer<AEKey> deltaListener) {
+        this.deltaListener = deltaListener;
+    }
+
+    private void notifyDeltaListener(AEKey what, long delta) {
+        if (this.deltaListener != null && delta != 0) {
+            this.deltaListener.accept(what, delta);
+        }
+    }
+
     public static BasicCellInventory createInventory(ItemStack o, @Nullable ISaveProvider container) {
         Objects.requireNonNull(o, "Cannot create cell inventory for null itemstack");
 
@@ -189,14 +213,11 @@ public void persist() {
             return;
         }
 
-        // add new pretty stuff...
-        var itemCount = 0L;
+        var start = System.nanoTime();
         var stacks = new ArrayList<GenericStack>(storedAmounts.size());
 
         for (var entry : this.storedAmounts.object2LongEntrySet()) {
             long amount = entry.getLongValue();
-            itemCount += amount;
-
             if (amount > 0) {
                 stacks.add(new GenericStack(entry.getKey(), amount));
             }
@@ -208,19 +229,22 @@ public void persist() {
             i.set(AEComponents.STORAGE_CELL_INV, stacks);
         }
 
-        this.storedItems = (short) this.storedAmounts.size();
-
-        this.storedItemCount = itemCount;
         this.isPersisted = true;
-    }
-
-    protected void saveChanges() {
-        // recalculate values
-        this.storedItems = (short) this.storedAmounts.size();
-        this.storedItemCount = 0;
-        for (var storedAmount : this.storedAmounts.values()) {
-            this.storedItemCount += storedAmount;
-        }
+        persistCount.increment();
+        persistNanos.add(System.nanoTime() - start);
+    }
+
+    /**
+     * The stored item count is tracked incrementally, so changes only cost as much as the change itself. Writing the
+     * content to the item stack is deferred to {@link #persist()}, which the container calls when it needs the stack
+     * (i.e. when it is saved or the cell is removed), so that many changes are coalesced into a single write.
+     *
+     * @param countDelta By how much the stored item count changed.
+     */
+    protected void saveChanges(long countDelta) {
+        this.storedItems = this.storedAmounts.size();
+        this.storedItemCount += countDelta;
+        changeCount.increment();
 
         this.isPersisted = false;
         if (this.container != null) {
@@ -231,6 +255,27 @@ protected void saveChanges() {
         }
     }
 
+    /**
+     * @return How many changes to the contents of cells were made in total.
+     */
+    public static long getChangeCount() {
+        return changeCount.sum();
+    }
+
+    /**
+     * @return How often the contents of cells were written to their item stacks in total.
+     */
+    public static long getPersistCount() {
+        return persistCount.sum();
+    }
+
+    /**
+     * @return How much time was spent writing the contents of cells to their item stacks in total, in nanoseconds.
+     */
+    public static long getPersistNanos() {
+        return persistNanos.sum();
+    }
+
     private void loadCellItems() {
         var stacks = getStoredStacks();
         for (var stack : stacks) {
@@ -396,7 +441,8 @@ private long innerInsert(AEKey what, long amount, Actionable mode) {
 
         if (mode == Actionable.MODULATE) {
             getCellItems().put(what, currentAmount + amount);
-            this.saveChanges();
+            this.saveChanges(amount);
+            this.notifyDeltaListener(what, amount);
         }
 
         return amount;
@@ -409,14 +455,16 @@ public long extract(AEKey what, long amount, Actionable mode, IActionSource sour
             if (amount >= currentAmount) {
                 if (mode == Actionable.MODULATE) {
                     getCellItems().remove(what, currentAmount);
-                    this.saveChanges();
+                    this.saveChanges(-currentAmount);
+                    this.notifyDeltaListener(what, -currentAmount);
                 }
 
                 return currentAmount;
             } else {
                 if (mode == Actionable.MODULATE) {
                     getCellItems().put(what, currentAmount - amount);
-                    this.saveChanges();
+                    this.saveChanges(-amount);
+                    this.notifyDeltaListener(what, -amount);
                 }
 
                 return amount;
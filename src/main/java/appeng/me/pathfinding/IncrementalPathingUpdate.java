@@ -0,0 +1,265 @@
+package appeng.me.pathfinding;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import appeng.api.networking.GridFlags;
+import appeng.blockentity.networking.ControllerBlockEntity;
+import appeng.me.GridConnection;
+import appeng.me.GridNode;
+
+/**
+ * Collects the topology changes of a grid since it was last pathed, and applies them to the existing channel assignment
+ * if they only add or remove leaves of the controller tree.
+ * <p>
+ * A leaf is a node that is connected to the rest of the grid by a single connection, such as a device attached to a
+ * cable, or a cable that doesn't connect anything else yet. Adding or removing a leaf cannot change the route of any
+ * other node to the controller, so only the channel counts along its own path to the controller need to be updated.
+ * All other nodes keep their channels, and the grid doesn't need to reboot.
+ * <p>
+ * Any other change, such as a connection between two nodes that were already part of the grid, may change the routes
+ * of other nodes and requires a full {@link PathingCalculation}.
+ */
+public class IncrementalPathingUpdate {
+    /**
+     * Beyond this number of changes, a full pathing calculation is used instead.
+     */
+    private static final int MAX_CHANGES = 64;
+
+    private final Set<GridNode> addedNodes = new LinkedHashSet<>();
+    private final Set<GridNode> removedNodes = new HashSet<>();
+    /**
+     * Destroyed nodes that had a single connection, and that connection.
+     */
+    private final Map<GridNode, GridConnection> destroyedLeaves = new LinkedHashMap<>();
+    private final Set<GridConnection> createdConnections = new HashSet<>();
+
+    private int channelsInUseChange;
+    private int channelsByBlocksChange;
+    private int nodesWithoutChannelChange;
+
+    /**
+     * @return false if too many changes were recorded, and a full pathing calculation should be used.
+     */
+    public boolean nodeAdded(GridNode node) {
+        if (!canRecord()) {
+            return false;
+        }
+        addedNodes.add(node);
+        return true;
+    }
+
+    /**
+     * @return false if too many changes were recorded, and a full pathing calculation should be used.
+     */
+    public boolean nodeRemoved(GridNode node) {
+        if (!canRecord()) {
+            return false;
+        }
+        removedNodes.add(node);
+        return true;
+    }
+
+    /**
+     * Records that a node with a single connection is about to be destroyed. Must be called while the connection still
+     * exists.
+     *
+     * @return false if too many changes were recorded, and a full pathing calculation should be used.
+     */
+    public boolean leafDestroyed(GridNode node, GridConnection connection) {
+        if (!canRecord()) {
+            return false;
+        }
+        destroyedLeaves.put(node, connection);
+        return true;
+    }
+
+    /**
+     * @return false if too many changes were recorded, and a full pathing calculation should be used.
+     */
+    public boolean connectionCreated(GridConnection connection) {
+        if (!canRecord()) {
+            return false;
+        }
+        createdConnections.add(connection);
+        return true;
+    }
+
+    private boolean canRecord() {
+        int changes = addedNodes.size() + removedNodes.size() + destroyedLeaves.size() + createdConnections.size();
+        return changes < MAX_CHANGES;
+    }
+
+    public boolean isEmpty() {
+        return addedNodes.isEmpty() && removedNodes.isEmpty() && destroyedLeaves.isEmpty()
+                && createdConnections.isEmpty();
+    }
+
+    public void clear() {
+        addedNodes.clear();
+        removedNodes.clear();
+        destroyedLeaves.clear();
+        createdConnections.clear();
+        channelsInUseChange = 0;
+        channelsByBlocksChange = 0;
+        nodesWithoutChannelChange = 0;
+    }
+
+    /**
+     * Checks whether the recorded changes can be applied to the current channel assignment. This requires the grid to
+     * have been fully pathed with a controller before the changes were made.
+     *
+     * @param hasNodesWithoutChannel True if some nodes in the grid require a channel but didn't get one. Channels freed
+     *                               by removing a leaf should go to them, which requires a full pathing calculation.
+     */
+    public boolean canApply(boolean hasNodesWithoutChannel) {
+        for (var connection : createdConnections) {
+            // A new connection between two existing nodes can open a shorter route for other nodes
+            if (addedNodes.contains(connection.a()) == addedNodes.contains(connection.b())) {
+                return false;
+            }
+        }
+
+        for (var node : removedNodes) {
+            var connection = destroyedLeaves.get(node);
+            // Nodes that were moved to another grid, or only joined the grid recently, are not supported
+            if (connection == null || addedNodes.contains(node) || !isSupportedLeaf(node)) {
+                return false;
+            }
+            // Side A of a connection is the side closer to the controller, so the node needs to be side B
+            if (connection.b() != node || isChanged(connection.a())) {
+                return false;
+            }
+            if (hasNodesWithoutChannel && connection.getUsedChannels() > 0) {
+                return false;
+            }
+        }
+        for (var node : destroyedLeaves.keySet()) {
+            if (!removedNodes.contains(node)) {
+                return false;
+            }
+        }
+
+        for (var node : addedNodes) {
+            if (!isSupportedLeaf(node) || node.getConnections().size() != 1) {
+                return false;
+            }
+            var connection = (GridConnection) node.getConnections().getFirst();
+            if (!createdConnections.contains(connection) || isChanged((GridNode) connection.getOtherSide(node))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Applies the recorded changes. {@link #canApply} must have returned true.
+     */
+    public void apply() {
+        // Free channels first, so they can be used by the added nodes
+        for (var entry : destroyedLeaves.entrySet()) {
+            var node = entry.getKey();
+            var connection = entry.getValue();
+            int channels = connection.getUsedChannels();
+            if (channels > 0) {
+                // Both the node and its connection were carrying the channels
+                channelsByBlocksChange -= channels * (2 + updatePath(connection.a(), -channels));
+                channelsInUseChange -= channels;
+            } else if (node.hasFlag(GridFlags.REQUIRE_CHANNEL)) {
+                nodesWithoutChannelChange--;
+            }
+        }
+
+        for (var node : addedNodes) {
+            var connection = (GridConnection) node.getConnections().getFirst();
+            var parent = (GridNode) connection.getOtherSide(node);
+            connection.setControllerRoute(parent);
+            node.setControllerRoute(connection);
+
+            if (node.hasFlag(GridFlags.REQUIRE_CHANNEL)) {
+                if (canUseChannel(node, parent)) {
+                    node.incrementChannelCount(1);
+                    connection.incrementChannelCount(1);
+                    channelsByBlocksChange += 2 + updatePath(parent, 1);
+                    channelsInUseChange++;
+                } else {
+                    nodesWithoutChannelChange++;
+                }
+            }
+
+            node.finalizeChannels();
+            connection.finalizeChannels();
+        }
+    }
+
+    /**
+     * Checks that every node along the path to the controller can carry one more channel.
+     */
+    private static boolean canUseChannel(GridNode node, GridNode parent) {
+        if (node.getMaxChannels() <= 0) {
+            return false;
+        }
+
+        var pi = parent;
+        while (!isController(pi)) {
+            if (pi.getUsedChannels() >= pi.getMaxChannels()) {
+                return false;
+            }
+            pi = ((GridConnection) pi.getControllerRoute()).a();
+        }
+        return true;
+    }
+
+    /**
+     * Changes the channel count of every node and connection along the path from the given node to the controller.
+     *
+     * @return The number of updated path items.
+     */
+    private static int updatePath(GridNode node, int channels) {
+        int pathItems = 0;
+        var pi = node;
+        while (!isController(pi)) {
+            var route = (GridConnection) pi.getControllerRoute();
+            pi.incrementChannelCount(channels);
+            route.incrementChannelCount(channels);
+            pi.finalizeChannels();
+            route.finalizeChannels();
+            pathItems += 2;
+            pi = route.a();
+        }
+        return pathItems;
+    }
+
+    private boolean isChanged(GridNode node) {
+        return addedNodes.contains(node) || removedNodes.contains(node);
+    }
+
+    private static boolean isSupportedLeaf(GridNode node) {
+        // Controllers change the routes themselves, and multiblocks as well as P2P tunnels share their channels with
+        // other nodes
+        return !isController(node)
+                && !node.hasFlag(GridFlags.MULTIBLOCK)
+                && !node.hasFlag(GridFlags.COMPRESSED_CHANNEL)
+                && !node.hasFlag(GridFlags.CANNOT_CARRY_COMPRESSED);
+    }
+
+    private static boolean isController(GridNode node) {
+        return node.getOwner() instanceof ControllerBlockEntity;
+    }
+
+    public int getChannelsInUseChange() {
+        return channelsInUseChange;
+    }
+
+    public int getChannelsByBlocksChange() {
+        return channelsByBlocksChange;
+    }
+
+    public int getNodesWithoutChannelChange() {
+        return nodesWithoutChannelChange;
+    }
+}
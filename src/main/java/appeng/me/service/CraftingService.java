@@ -26,10 +26,7 @@
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
-import java.util.concurrent.ThreadFactory;
 
 import com.google.common.collect.HashMultimap;
 import com.google.common.collect.ImmutableSet;
@@ -67,11 +64,15 @@
 import appeng.api.stacks.GenericStack;
 import appeng.api.storage.AEKeyFilter;
 import appeng.blockentity.crafting.CraftingBlockEntity;
+import appeng.core.AEConfig;
 import appeng.crafting.CraftingCalculation;
+import appeng.crafting.CraftingCalculationPool;
 import appeng.crafting.CraftingLink;
 import appeng.crafting.CraftingLinkNexus;
+import appeng.crafting.execution.CraftingScheduler;
 import appeng.crafting.execution.CraftingSubmitResult;
 import appeng.hooks.ticking.TickHandler;
+import appeng.me.GridProfile;
 import appeng.me.cluster.implementations.CraftingCPUCluster;
 import appeng.me.helpers.InterestManager;
 import appeng.me.helpers.StackWatcher;
@@ -96,17 +97,9 @@ public class CraftingService implements ICraftingService, IGridServiceProvider {
             .comparingInt(CraftingCPUCluster::getCoProcessors)
             .thenComparingLong(CraftingCPUCluster::getAvailableStorage);
 
-    private static final ExecutorService CRAFTING_POOL;
+    private static final CraftingCalculationPool CRAFTING_POOL = new CraftingCalculationPool();
 
     static {
-        final ThreadFactory factory = ar -> {
-            final Thread crafting = new Thread(ar, "AE Crafting Calculator");
-            crafting.setDaemon(true);
-            return crafting;
-        };
-
-        CRAFTING_POOL = Executors.newCachedThreadPool(factory);
-
         GridHelper.addGridServiceEventHandler(GridCraftingCpuChange.class, ICraftingService.class,
                 (service, event) -> {
                     ((CraftingService) service).updateList = true;
@@ -114,6 +107,7 @@ public class CraftingService implements ICraftingService, IGridServiceProvider {
     }
 
     private final Set<CraftingCPUCluster> craftingCPUClusters = new HashSet<>();
+    private final CraftingScheduler scheduler = new CraftingScheduler();
     private final Map<IGridNode, StackWatcher<ICraftingWatcherNode>> craftingWatchers = new HashMap<>();
     private final IGrid grid;
     private final NetworkCraftingProviders craftingProviders = new NetworkCraftingProviders();
@@ -147,9 +141,12 @@ public void onServerEndTick() {
 
         this.craftingLinks.values().removeIf(nexus -> nexus.isDead(this.grid, this));
 
+        GridProfile.enterActive("craftingCpus");
+        this.scheduler.tick(this.craftingCPUClusters, energyGrid, this);
+        GridProfile.exitActive();
+
         long latestChange = 0;
         for (var cpu : this.craftingCPUClusters) {
-            cpu.craftingLogic.tickCraftingLogic(energyGrid, this);
             latestChange = Math.max(
                     latestChange,
                     cpu.craftingLogic.getLastModifiedOnTick());
@@ -272,6 +269,20 @@ public Set<AEKey> getCraftables(AEKeyFilter filter) {
         return craftingProviders.getCraftables(filter);
     }
 
+    /**
+     * @return A counter that changes whenever the result of {@link #getCraftables} may have changed.
+     */
+    public long getCraftablesModificationCount() {
+        return craftingProviders.getModificationCount();
+    }
+
+    /**
+     * @see NetworkCraftingProviders#getSnapshot()
+     */
+    public NetworkCraftingProviders.Snapshot getCraftingSnapshot() {
+        return craftingProviders.getSnapshot();
+    }
+
     private void updateCPUClusters() {
         this.craftingCPUClusters.clear();
 
@@ -321,6 +332,11 @@ public void refreshNodeCraftingProvider(IGridNode node) {
         this.craftingProviders.addProvider(node);
     }
 
+    @Override
+    public void refreshNodeBusyState(IGridNode node) {
+        this.craftingProviders.refreshBusyState(node);
+    }
+
     @Override
     public void addGlobalCraftingProvider(ICraftingProvider cc) {
         this.craftingProviders.addProvider(cc);
@@ -351,9 +367,13 @@ public Future<ICraftingPlan> beginCraftingCalculation(Level level, ICraftingSimu
         }
 
         final CraftingCalculation job = new CraftingCalculation(level, grid, simRequester,
-                new GenericStack(what, amount), strategy);
+                new GenericStack(what, amount), strategy, AEConfig.instance().isCraftingCalculationInBackground());
 
-        return CRAFTING_POOL.submit(job::run);
+        var actionSource = simRequester.getActionSource();
+        var priority = actionSource != null && actionSource.player().isPresent()
+                ? CraftingCalculationPool.Priority.PLAYER
+                : CraftingCalculationPool.Priority.AUTOMATION;
+        return CRAFTING_POOL.submit(grid, priority, job);
     }
 
     @Override
@@ -475,10 +495,21 @@ public boolean isRequestingAny() {
         return !currentlyCrafting.isEmpty();
     }
 
+    public CraftingScheduler getScheduler() {
+        return scheduler;
+    }
+
     public Iterable<ICraftingProvider> getProviders(IPatternDetails key) {
         return craftingProviders.getMediums(key);
     }
 
+    /**
+     * @see NetworkCraftingProviders#hasReadyProvider(IPatternDetails)
+     */
+    public boolean hasReadyProvider(IPatternDetails key) {
+        return craftingProviders.hasReadyProvider(key);
+    }
+
     public boolean hasCpu(ICraftingCPU cpu) {
         return this.craftingCPUClusters.contains(cpu);
     }
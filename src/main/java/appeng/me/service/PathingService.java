@@ -19,6 +19,7 @@
 package appeng.me.service;
 
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import org.jetbrains.annotations.Nullable;
@@ -46,9 +47,12 @@
 import appeng.core.AELog;
 import appeng.core.stats.AdvancementTriggers;
 import appeng.me.Grid;
+import appeng.me.GridConnection;
+import appeng.me.GridNode;
 import appeng.me.pathfinding.AdHocChannelUpdater;
 import appeng.me.pathfinding.ChannelFinalizer;
 import appeng.me.pathfinding.ControllerValidator;
+import appeng.me.pathfinding.IncrementalPathingUpdate;
 import appeng.me.pathfinding.PathingCalculation;
 
 public class PathingService implements IPathingService, IGridServiceProvider {
@@ -77,6 +81,14 @@ public class PathingService implements IPathingService, IGridServiceProvider {
     private AdHocNetworkError adHocNetworkError;
     private ControllerState controllerState = ControllerState.NO_CONTROLLER;
     private int lastChannels = 0;
+    /**
+     * Topology changes since the last pathing, that may be applied without repathing the entire grid.
+     */
+    private final IncrementalPathingUpdate pendingChanges = new IncrementalPathingUpdate();
+    /**
+     * Number of nodes that require a channel, but didn't get one in controller mode.
+     */
+    private int nodesWithoutChannel = 0;
     /**
      * This can be used for testing to set a specific channel mode on this grid that will not be overwritten by
      * repathing.
@@ -94,8 +106,14 @@ public void onServerEndTick() {
             this.updateControllerState();
         }
 
+        if (!this.reboot && !this.pendingChanges.isEmpty() && !this.applyPendingChanges()) {
+            this.reboot = true;
+        }
+
         if (this.reboot) {
             this.reboot = false;
+            this.pendingChanges.clear();
+            this.nodesWithoutChannel = 0;
 
             // Preserve the illusion that the network is booting for a while before channel assignment completes.
             this.booting = true;
@@ -139,9 +157,40 @@ public void onServerEndTick() {
             // properly return true.
             this.grid.getPivot().beginVisit(new ChannelFinalizer());
             this.postBootingStatusChange();
+
+            if (this.controllerState == ControllerState.CONTROLLER_ONLINE) {
+                for (var node : this.nodesNeedingChannels) {
+                    if (!node.meetsChannelRequirements()) {
+                        this.nodesWithoutChannel++;
+                    }
+                }
+            }
         }
     }
 
+    /**
+     * Applies leaves that were added to or removed from the grid since the last pathing to the existing channel
+     * assignment, without rebooting the grid.
+     *
+     * @return False if the changes require a full repath.
+     */
+    private boolean applyPendingChanges() {
+        if (this.controllerState != ControllerState.CONTROLLER_ONLINE
+                || !this.pendingChanges.canApply(this.nodesWithoutChannel > 0)) {
+            return false;
+        }
+
+        this.pendingChanges.apply();
+        this.channelsInUse += this.pendingChanges.getChannelsInUseChange();
+        this.channelsByBlocks += this.pendingChanges.getChannelsByBlocksChange();
+        this.nodesWithoutChannel += this.pendingChanges.getNodesWithoutChannelChange();
+        this.pendingChanges.clear();
+
+        this.setChannelPowerUsage(this.channelsByBlocks / 128.0);
+        this.achievementPost();
+        return true;
+    }
+
     private void postBootingStatusChange() {
         this.grid.postEvent(new GridBootingStatusChange(this.booting));
         this.grid.notifyAllNodes(IGridNodeListener.State.GRID_BOOT);
@@ -162,13 +211,19 @@ public void removeNode(IGridNode gridNode) {
             this.cannotCarryCompressedNodes.remove(gridNode);
         }
 
-        this.repath();
+        if (!this.reboot && !this.pendingChanges.nodeRemoved((GridNode) gridNode)) {
+            this.repath();
+        }
     }
 
     @Override
     public void addNode(IGridNode gridNode, @Nullable CompoundTag savedData) {
         if (savedData != null) {
+            var previousChannelMode = this.channelMode;
             restoreChannelMode(savedData);
+            if (this.channelMode != previousChannelMode) {
+                this.repath();
+            }
         }
 
         if (gridNode.getOwner() instanceof ControllerBlockEntity controller) {
@@ -184,7 +239,32 @@ public void addNode(IGridNode gridNode, @Nullable CompoundTag savedData) {
             this.cannotCarryCompressedNodes.add(gridNode);
         }
 
-        this.repath();
+        if (!this.reboot && !this.pendingChanges.nodeAdded((GridNode) gridNode)) {
+            this.repath();
+        }
+    }
+
+    /**
+     * Called when a connection within this grid was created. Connecting a new leaf to the grid can be applied
+     * incrementally, while any other new connection requires a full repath.
+     */
+    public void onConnectionCreated(GridConnection connection) {
+        if (!this.reboot && !this.pendingChanges.connectionCreated(connection)) {
+            this.repath();
+        }
+    }
+
+    /**
+     * Called when a node of this grid is about to be destroyed, while it is still connected.
+     */
+    public void onNodeDestroyed(GridNode node, List<GridConnection> connections) {
+        if (this.reboot) {
+            return;
+        }
+
+        if (connections.size() != 1 || !this.pendingChanges.leafDestroyed(node, connections.getFirst())) {
+            this.repath();
+        }
     }
 
     private void restoreChannelMode(CompoundTag savedData) {
@@ -0,0 +1,80 @@
+package appeng.me.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jetbrains.annotations.Nullable;
+
+import net.minecraft.nbt.CompoundTag;
+
+import appeng.api.networking.IGrid;
+import appeng.api.networking.IGridNode;
+import appeng.api.networking.IGridService;
+import appeng.api.networking.IGridServiceProvider;
+import appeng.helpers.patternprovider.PatternContainer;
+
+/**
+ * Lets pattern containers publish changes to their pattern inventory or terminal group, so that open pattern access
+ * terminals only have to look at the containers that actually changed.
+ */
+public class PatternContainerService implements IGridService, IGridServiceProvider {
+    private final List<Listener> listeners = new ArrayList<>();
+    /**
+     * Incremented when a pattern container joins or leaves the grid.
+     */
+    private long containersVersion;
+
+    public static PatternContainerService get(IGrid grid) {
+        return grid.getService(PatternContainerService.class);
+    }
+
+    /**
+     * Notifies the terminals on the grid of the container that its patterns, visibility or group may have changed.
+     */
+    public static void notifyChanged(PatternContainer container) {
+        var grid = container.getGrid();
+        if (grid != null) {
+            get(grid).onChanged(container);
+        }
+    }
+
+    private void onChanged(PatternContainer container) {
+        for (var listener : listeners) {
+            listener.onPatternContainerChanged(container);
+        }
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * @return A counter that changes whenever a pattern container joins or leaves the grid.
+     */
+    public long getContainersVersion() {
+        return containersVersion;
+    }
+
+    @Override
+    public void addNode(IGridNode gridNode, @Nullable CompoundTag savedData) {
+        if (gridNode.getOwner() instanceof PatternContainer) {
+            containersVersion++;
+        }
+    }
+
+    @Override
+    public void removeNode(IGridNode gridNode) {
+        if (gridNode.getOwner() instanceof PatternContainer) {
+            containersVersion++;
+        }
+    }
+
+    @FunctionalInterface
+    public interface Listener {
+        void onPatternContainerChanged(PatternContainer container);
+    }
+}
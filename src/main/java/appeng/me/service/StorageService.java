@@ -43,6 +43,7 @@
 
 import it.unimi.dsi.fastutil.objects.Object2LongMap;
 import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
 
 import appeng.api.networking.IGridNode;
 import appeng.api.networking.IGridServiceProvider;
@@ -53,8 +54,12 @@
 import appeng.api.storage.IStorageMounts;
 import appeng.api.storage.IStorageProvider;
 import appeng.api.storage.MEStorage;
+import appeng.core.AEConfig;
+import appeng.hooks.ticking.TickHandler;
+import appeng.me.GridProfile;
 import appeng.me.helpers.InterestManager;
 import appeng.me.helpers.StackWatcher;
+import appeng.me.service.helpers.InventoryChangeJournal;
 import appeng.me.storage.NetworkStorage;
 import appeng.util.JsonStreamUtil;
 
@@ -83,16 +88,45 @@ public class StorageService implements IStorageService, IGridServiceProvider {
      */
     private final Object2LongMap<AEKey> cachedAvailableAmounts = new Object2LongOpenHashMap<>();
     private boolean cachedStacksNeedUpdate = true;
+    /**
+     * Forces the next cache update to rebuild the cache from scratch instead of applying changes.
+     */
+    private boolean cachedStacksNeedRebuild = true;
+    /**
+     * Content of all storage that reports its changes via {@link appeng.me.storage.IDeltaReportingStorage}. Kept
+     * up-to-date incrementally.
+     */
+    private final KeyCounter trackedStacks = new KeyCounter();
+    /**
+     * Content of all other storage, as of the current and previous update. This storage has to be scanned in full,
+     * and we diff the two scans to find out which keys changed.
+     */
+    private KeyCounter untrackedStacks = new KeyCounter();
+    private KeyCounter previousUntrackedStacks = new KeyCounter();
+    /**
+     * Keys that changed during the current cache update.
+     */
+    private final Set<AEKey> changedKeys = new ObjectOpenHashSet<>();
     /**
      * Tracks the stack watcher associated with a given grid node. Needed to clean up watchers when the node leaves the
      * grid.
      */
     private final Map<IGridNode, StackWatcher<IStorageWatcherNode>> watchers = new IdentityHashMap<>();
 
+    /**
+     * Records which keys of {@link #cachedAvailableStacks} changed, so terminals can share the cache.
+     */
+    private final InventoryChangeJournal changeJournal = new InventoryChangeJournal();
+    /**
+     * The tick on which the cache was last updated.
+     */
+    private long lastCacheUpdateTick = -1;
+
     private final StatsAccumulator inventoryRefreshStats = new StatsAccumulator();
+    private final StatsAccumulator inventoryRebuildStats = new StatsAccumulator();
 
     public StorageService() {
-        this.storage = new NetworkStorage();
+        this.storage = new NetworkStorage(AEConfig.instance().isNetworkStorageKeyIndexEnabled());
     }
 
     @Override
@@ -107,13 +141,40 @@ public void onServerEndTick() {
     }
 
     private void updateCachedStacks() {
+        cachedStacksNeedUpdate = false;
+        lastCacheUpdateTick = TickHandler.instance().getCurrentTick();
+
+        if (cachedStacksNeedRebuild || storage.isTrackedContentInvalid()) {
+            GridProfile.enterActive("rebuildCachedStacks");
+            rebuildCachedStacks();
+            GridProfile.exitActive();
+        } else {
+            GridProfile.enterActive("applyCachedStackChanges");
+            applyCachedStackChanges();
+            GridProfile.exitActive();
+        }
+    }
+
+    /**
+     * Rebuilds the cache from a full scan of the network storage. Only required when storage was mounted or
+     * unmounted.
+     */
+    private void rebuildCachedStacks() {
         var time = System.nanoTime();
 
         try {
-            cachedStacksNeedUpdate = false;
+            cachedStacksNeedRebuild = false;
+
+            trackedStacks.clear();
+            storage.getTrackedAvailableStacks(trackedStacks);
+            trackedStacks.removeZeros();
+            untrackedStacks.clear();
+            storage.getUntrackedAvailableStacks(untrackedStacks);
+            untrackedStacks.removeZeros();
 
             cachedAvailableStacks.clear();
-            storage.getAvailableStacks(cachedAvailableStacks);
+            cachedAvailableStacks.addAll(trackedStacks);
+            cachedAvailableStacks.addAll(untrackedStacks);
             // clear() only clears the inner maps,
             // so ensure that the outer map gets cleaned up too
             cachedAvailableStacks.removeEmptySubmaps();
@@ -139,12 +200,72 @@ private void updateCachedStacks() {
             for (var entry : cachedAvailableStacks) {
                 cachedAvailableAmounts.put(entry.getKey(), entry.getLongValue());
             }
+        } finally {
+            inventoryRebuildStats.add(System.nanoTime() - time);
+        }
+    }
+
+    /**
+     * Updates the cache using the changes reported by tracked storage, and by diffing the content of untracked
+     * storage. The cost of this scales with the amount of changes and the size of untracked storage, but not with the
+     * total size of the network inventory.
+     */
+    private void applyCachedStackChanges() {
+        var time = System.nanoTime();
+
+        try {
+            changedKeys.clear();
+            storage.drainTrackedChanges(trackedStacks, changedKeys);
+
+            // Swap the buffers and re-scan the untracked storage
+            var tmp = previousUntrackedStacks;
+            previousUntrackedStacks = untrackedStacks;
+            untrackedStacks = tmp;
+            untrackedStacks.clear();
+            storage.getUntrackedAvailableStacks(untrackedStacks);
+            untrackedStacks.removeZeros();
+
+            for (var entry : untrackedStacks) {
+                if (entry.getLongValue() != previousUntrackedStacks.get(entry.getKey())) {
+                    changedKeys.add(entry.getKey());
+                }
+            }
+            for (var entry : previousUntrackedStacks) {
+                if (untrackedStacks.get(entry.getKey()) == 0) {
+                    changedKeys.add(entry.getKey());
+                }
+            }
+
+            for (var what : changedKeys) {
+                var trackedAmount = trackedStacks.get(what);
+                if (trackedAmount == 0) {
+                    trackedStacks.remove(what);
+                }
+
+                var newAmount = trackedAmount + untrackedStacks.get(what);
+                if (newAmount == 0) {
+                    cachedAvailableStacks.remove(what);
+                } else {
+                    cachedAvailableStacks.set(what, newAmount);
+                }
+
+                if (newAmount != cachedAvailableAmounts.getLong(what)) {
+                    if (newAmount == 0) {
+                        cachedAvailableAmounts.removeLong(what);
+                    } else {
+                        cachedAvailableAmounts.put(what, newAmount);
+                    }
+                    postWatcherUpdate(what, newAmount);
+                }
+            }
         } finally {
             inventoryRefreshStats.add(System.nanoTime() - time);
         }
     }
 
     private void postWatcherUpdate(AEKey what, long newAmount) {
+        changeJournal.add(what);
+
         for (var watcher : interestManager.get(what)) {
             watcher.getHost().onStackChange(what, newAmount);
         }
@@ -204,6 +325,28 @@ public KeyCounter getCachedInventory() {
         return cachedAvailableStacks;
     }
 
+    /**
+     * Returns the cached inventory for display in terminals. Unlike {@link #getCachedInventory()}, this ensures that
+     * the cache was updated at least once during the current tick, so that terminals reflect changes without an
+     * additional tick of delay. All terminals on a grid share this inventory, and can find out what changed using the
+     * {@link #getChangeJournal() change journal}.
+     *
+     * @return The cached stacks of this network. Does not return a copy. <strong>Do not modify!</strong>
+     */
+    public KeyCounter getTerminalInventory() {
+        if (cachedStacksNeedUpdate || lastCacheUpdateTick != TickHandler.instance().getCurrentTick()) {
+            updateCachedStacks();
+        }
+        return cachedAvailableStacks;
+    }
+
+    /**
+     * @return The journal of keys whose amount in the {@link #getTerminalInventory() cached inventory} changed.
+     */
+    public InventoryChangeJournal getChangeJournal() {
+        return changeJournal;
+    }
+
     @Override
     public void addGlobalStorageProvider(IStorageProvider provider) {
         for (var state : globalProviders) {
@@ -253,6 +396,7 @@ public void refreshGlobalStorageProvider(IStorageProvider provider) {
     @Override
     public void invalidateCache() {
         cachedStacksNeedUpdate = true;
+        cachedStacksNeedRebuild = true;
     }
 
     /**
@@ -317,7 +461,12 @@ private void unmount(MEStorage inventory) {
     public void debugDump(JsonWriter writer, HolderLookup.Provider registries) throws IOException {
 
         JsonStreamUtil.writeProperties(Map.of(
-                "inventoryRefreshTime", JsonStreamUtil.toMap(inventoryRefreshStats)), writer);
+                "inventoryRefreshTime", JsonStreamUtil.toMap(inventoryRefreshStats),
+                "inventoryRebuildTime", JsonStreamUtil.toMap(inventoryRebuildStats),
+                "trackedInventories", storage.getTrackedInventoryCount(),
+                "untrackedInventories", storage.getUntrackedInventoryCount(),
+                "indexedInventories", storage.getIndexedInventoryCount(),
+                "indexedKeys", storage.getIndexedKeyCount()), writer);
 
         writer.name("cachedAvailableStacks");
         writer.beginArray();
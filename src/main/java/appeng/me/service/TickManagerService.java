@@ -22,11 +22,9 @@
 import java.util.LongSummaryStatistics;
 import java.util.Map;
 import java.util.Objects;
-import java.util.PriorityQueue;
 import java.util.concurrent.TimeUnit;
 
 import com.google.common.base.Stopwatch;
-import com.google.common.collect.Iterators;
 
 import org.jetbrains.annotations.Nullable;
 
@@ -41,7 +39,9 @@
 import appeng.api.networking.ticking.ITickManager;
 import appeng.api.networking.ticking.TickRateModulation;
 import appeng.me.GridNode;
+import appeng.me.GridProfile;
 import appeng.me.service.helpers.TickTracker;
+import appeng.me.service.helpers.TickWheel;
 
 public class TickManagerService implements ITickManager, IGridServiceProvider {
 
@@ -53,9 +53,9 @@ public class TickManagerService implements ITickManager, IGridServiceProvider {
     private final Map<IGridNode, TickTracker> alertable = new IdentityHashMap<>();
     private final Map<IGridNode, TickTracker> sleeping = new IdentityHashMap<>();
     private final Map<IGridNode, TickTracker> awake = new IdentityHashMap<>();
-    private final Map<Level, PriorityQueue<TickTracker>> upcomingTicks = new IdentityHashMap<>();
+    private final Map<Level, TickWheel> upcomingTicks = new IdentityHashMap<>();
 
-    private PriorityQueue<TickTracker> currentlyTickingQueue = null;
+    private TickWheel currentlyTickingQueue = null;
 
     private long currentTick = 0;
     private final Stopwatch stopWatch = Stopwatch.createUnstarted();
@@ -98,49 +98,40 @@ private void tickLevelQueue(@Nullable Level level) {
         }
     }
 
-    private void tickQueue(PriorityQueue<TickTracker> queue) {
-        TickTracker tt;
-
-        while (!queue.isEmpty()) {
-            // Peek and stop once it reaches a TickTracker running at a later tick
-            tt = queue.peek();
-            if (tt.getNextTick() > this.currentTick) {
-                break;
-            }
+    private void tickQueue(TickWheel queue) {
+        queue.tick(this.currentTick, tt -> tickTracker(queue, tt));
+    }
 
-            if (queue.poll() != tt) {
-                throw new IllegalStateException();
-            }
-            var diff = (int) (this.currentTick - tt.getLastTick());
-            currentlyTicking = tt.getNode();
-            TickRateModulation mod;
-            try {
-                mod = this.unsafeTickingRequest(tt, diff);
-            } finally {
-                currentlyTicking = null;
-            }
+    private void tickTracker(TickWheel queue, TickTracker tt) {
+        var diff = (int) (this.currentTick - tt.getLastTick());
+        currentlyTicking = tt.getNode();
+        TickRateModulation mod;
+        try {
+            mod = this.unsafeTickingRequest(tt, diff);
+        } finally {
+            currentlyTicking = null;
+        }
 
-            // Update the last time this node was ticked
-            tt.setLastTick(this.currentTick);
-
-            var newRate = switch (mod) {
-                case URGENT -> tt.getRequest().minTickRate();
-                case FASTER -> tt.getCurrentRate() - TICK_RATE_SPEED_UP_FACTOR;
-                case IDLE, SLEEP -> tt.getRequest().maxTickRate();
-                case SLOWER -> tt.getCurrentRate() + TICK_RATE_SLOW_DOWN_FACTOR;
-                case SAME -> tt.getCurrentRate();
-            };
-            // This will clamp to the min,max range
-            tt.setCurrentRate(newRate);
-
-            if (mod == TickRateModulation.SLEEP) {
-                sleepDevice(tt.getNode());
-            } else {
-                // Note that the node _may_ have been removed entirely from the grid in its own tick
-                if (this.awake.containsKey(tt.getNode())) {
-                    // Queue already known, no need to use addToQueue() to resolve it again.
-                    queue.add(tt);
-                }
+        // Update the last time this node was ticked
+        tt.setLastTick(this.currentTick);
+
+        var newRate = switch (mod) {
+            case URGENT -> tt.getRequest().minTickRate();
+            case FASTER -> tt.getCurrentRate() - TICK_RATE_SPEED_UP_FACTOR;
+            case IDLE, SLEEP -> tt.getRequest().maxTickRate();
+            case SLOWER -> tt.getCurrentRate() + TICK_RATE_SLOW_DOWN_FACTOR;
+            case SAME -> tt.getCurrentRate();
+        };
+        // This will clamp to the min,max range
+        tt.setCurrentRate(newRate);
+
+        if (mod == TickRateModulation.SLEEP) {
+            sleepDevice(tt.getNode());
+        } else {
+            // Note that the node _may_ have been removed entirely from the grid in its own tick
+            if (this.awake.containsKey(tt.getNode())) {
+                // Queue already known, no need to use addToQueue() to resolve it again.
+                queue.add(tt);
             }
         }
     }
@@ -315,8 +306,8 @@ private LongSummaryStatistics getStatistics(IGridNode node) {
     /**
      * null as level could be used for virtual nodes.
      */
-    private PriorityQueue<TickTracker> getQueue(@Nullable Level level) {
-        return this.upcomingTicks.computeIfAbsent(level, (key) -> new PriorityQueue<>());
+    private TickWheel getQueue(@Nullable Level level) {
+        return this.upcomingTicks.computeIfAbsent(level, (key) -> new TickWheel(this.currentTick));
     }
 
     private void addToQueue(IGridNode node, TickTracker tt) {
@@ -324,10 +315,15 @@ private void addToQueue(IGridNode node, TickTracker tt) {
         queue.add(tt);
     }
 
-    private void removeFromQueue(IGridNode node, TickTracker tt) {
+    private void removeFromQueue(IGridNode node, @Nullable TickTracker tt) {
         var level = node.getLevel();
-        var queue = getQueue(level);
-        queue.remove(tt);
+        var queue = this.upcomingTicks.get(level);
+        if (queue == null) {
+            return;
+        }
+        if (tt != null) {
+            queue.remove(tt);
+        }
 
         // Make sure we don't cleanup a queue we are iterating over,
         // as something might be added to it later even if it's empty now.
@@ -337,8 +333,7 @@ private void removeFromQueue(IGridNode node, TickTracker tt) {
     }
 
     private void updateQueuePosition(IGridNode node, TickTracker tt) {
-        this.removeFromQueue(node, tt);
-        this.addToQueue(node, tt);
+        getQueue(node.getLevel()).update(tt);
     }
 
     /**
@@ -350,6 +345,9 @@ private TickRateModulation unsafeTickingRequest(TickTracker tt, int diff) {
         try {
             // Shortcut to immediately return when monitoring is disabled.
             if (!MONITORING_ENABLED) {
+                if (GridProfile.isEnabled()) {
+                    return profiledTickingRequest(tt, diff);
+                }
                 return tt.getGridTickable().tickingRequest(tt.getNode(), diff);
             }
 
@@ -371,6 +369,19 @@ private TickRateModulation unsafeTickingRequest(TickTracker tt, int diff) {
         }
     }
 
+    /**
+     * Records the tick of the machine in the profile of the grid, grouped by the class of the machine.
+     */
+    private TickRateModulation profiledTickingRequest(TickTracker tt, int diff) {
+        var tickable = tt.getGridTickable();
+        GridProfile.enterActive(tt.getNode().getOwner().getClass());
+        try {
+            return tickable.tickingRequest(tt.getNode(), diff);
+        } finally {
+            GridProfile.exitActive();
+        }
+    }
+
     /**
      * This method is slow and only for debugging purposes.
      */
@@ -384,7 +395,7 @@ public NodeStatus getStatus(IGridNode node) {
         boolean isQueued = false;
         var tickQueue = upcomingTicks.get(node.getLevel());
         if (awakeTracker != null && tickQueue != null) {
-            isQueued = Iterators.contains(tickQueue.iterator(), awakeTracker);
+            isQueued = tickQueue.contains(awakeTracker);
         }
 
         // Get the tick-request stats
@@ -0,0 +1,74 @@
+package appeng.me.service.helpers;
+
+import java.util.function.Consumer;
+
+import org.jetbrains.annotations.Nullable;
+
+import appeng.api.stacks.AEKey;
+
+/**
+ * Records which keys of a grid's cached inventory changed, in the order they changed. Readers remember the
+ * {@link #getVersion() version} they last read, and can then retrieve only the keys that changed since.
+ * <p/>
+ * The journal is a fixed-size ring buffer. Readers that fall too far behind have to resynchronize fully. The buffer is
+ * only allocated once the journal is read for the first time, since most grids never have a terminal open.
+ */
+public final class InventoryChangeJournal {
+    private static final int CAPACITY = 16384;
+
+    @Nullable
+    private AEKey[] entries;
+    /**
+     * The total number of changes that were ever added to this journal.
+     */
+    private long version;
+    /**
+     * The version at which we started recording changes.
+     */
+    private long firstRecordedVersion;
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void add(AEKey what) {
+        if (entries != null) {
+            entries[(int) (version % CAPACITY)] = what;
+        }
+        version++;
+    }
+
+    /**
+     * Starts recording changed keys, if that didn't already happen. Readers should call this when they first start
+     * following the journal, so that the changes after their initial full update are available to them.
+     *
+     * @return The current version.
+     */
+    public long startRecording() {
+        if (entries == null) {
+            entries = new AEKey[CAPACITY];
+            firstRecordedVersion = version;
+        }
+        return version;
+    }
+
+    /**
+     * Passes all keys that changed since the given version to the consumer. Keys that changed more than once may be
+     * passed more than once.
+     *
+     * @return False if the journal no longer contains all changes since the given version. Nothing will have been
+     *         passed to the consumer in that case.
+     */
+    public boolean getChangesSince(long since, Consumer<AEKey> consumer) {
+        startRecording();
+
+        if (since > version || since < firstRecordedVersion || since < version - CAPACITY) {
+            return false;
+        }
+
+        for (var v = since; v < version; v++) {
+            consumer.accept(entries[(int) (v % CAPACITY)]);
+        }
+        return true;
+    }
+}
@@ -23,6 +23,7 @@
 import appeng.api.stacks.AEKey;
 import appeng.api.stacks.KeyCounter;
 import appeng.api.storage.AEKeyFilter;
+import appeng.crafting.ICraftingPatternLookup;
 import appeng.hooks.ticking.TickHandler;
 
 /**
@@ -49,6 +50,12 @@ public class NetworkCraftingProviders {
     private final Set<AEKey> emittableKeys = Collections.unmodifiableSet(emitableItems.keySet());
 
     private long lastModifiedOnTick = TickHandler.instance().getCurrentTick();
+    /**
+     * Incremented every time providers are added or removed.
+     */
+    private long modificationCount;
+    @Nullable
+    private Snapshot snapshot;
 
     public void addProvider(IGridNode node) {
         var provider = node.getService(ICraftingProvider.class);
@@ -56,7 +63,7 @@ public void addProvider(IGridNode node) {
             if (craftingProviders.containsKey(node)) {
                 throw new IllegalArgumentException("Duplicate crafting provider registration for node " + node);
             }
-            var state = new ProviderState(provider);
+            var state = new ProviderState(provider, provider.notifiesBusyChanges());
             state.mount(this);
             craftingProviders.put(node, state);
             setLastModifiedOnTick();
@@ -70,7 +77,8 @@ public void addProvider(ICraftingProvider provider) {
             }
         }
 
-        var state = new ProviderState(provider);
+        // Global providers have no node to notify busy changes through
+        var state = new ProviderState(provider, false);
         state.mount(this);
         globalProviders.add(state);
         setLastModifiedOnTick();
@@ -99,6 +107,25 @@ public void removeProvider(ICraftingProvider provider) {
         }
     }
 
+    /**
+     * Updates the busy state of a provider that {@link ICraftingProvider#notifiesBusyChanges() notifies busy changes}.
+     */
+    public void refreshBusyState(IGridNode node) {
+        var state = craftingProviders.get(node);
+        if (state != null && state.tracksBusy) {
+            state.setBusy(this, state.provider.isBusy());
+        }
+    }
+
+    /**
+     * @return False if all providers of the pattern are known to be busy. Providers that don't notify busy changes are
+     *         always assumed to be ready, so this can still return true if all of them are busy.
+     */
+    public boolean hasReadyProvider(IPatternDetails pattern) {
+        var mediumList = this.craftingMethods.get(pattern);
+        return mediumList != null && mediumList.providers.size() > mediumList.busyCount;
+    }
+
     public Set<AEKey> getCraftables(AEKeyFilter filter) {
         var result = new HashSet<AEKey>();
 
@@ -148,6 +175,24 @@ public boolean canEmitFor(AEKey someItem) {
         return this.emitableItems.containsKey(someItem);
     }
 
+    /**
+     * @return An immutable copy of the craftable and emittable keys, and the patterns for them, that can safely be used
+     *         from other threads. The copy is shared until the providers change.
+     */
+    public Snapshot getSnapshot() {
+        if (snapshot == null || snapshot.modificationCount != modificationCount) {
+            var patterns = new HashMap<AEKey, List<IPatternDetails>>(craftableItems.size());
+            for (var entry : craftableItems.entrySet()) {
+                patterns.put(entry.getKey(), entry.getValue().getSortedPatterns());
+            }
+            var fuzzyCraftables = new KeyCounter();
+            fuzzyCraftables.addAll(craftableItemsList);
+            snapshot = new Snapshot(modificationCount, patterns, Set.copyOf(emitableItems.keySet()),
+                    fuzzyCraftables);
+        }
+        return snapshot;
+    }
+
     public Iterable<ICraftingProvider> getMediums(IPatternDetails key) {
         var mediumList = this.craftingMethods.get(key);
         return Objects.requireNonNullElse(mediumList, Collections.emptyList());
@@ -160,15 +205,25 @@ private static class CraftingProviderList implements Iterable<ICraftingProvider>
          * CMEs.
          */
         private Iterator<ICraftingProvider> cycleIterator = Iterators.cycle(providers);
+        /**
+         * The number of providers in the list that are known to be busy.
+         */
+        private int busyCount;
 
-        private void add(ICraftingProvider provider) {
-            providers.add(provider);
+        private void add(ProviderState state) {
+            providers.add(state.provider);
             cycleIterator = Iterators.cycle(providers);
+            if (state.busy) {
+                busyCount++;
+            }
         }
 
-        private void remove(ICraftingProvider provider) {
-            providers.remove(provider);
+        private void remove(ProviderState state) {
+            providers.remove(state.provider);
             cycleIterator = Iterators.cycle(providers);
+            if (state.busy) {
+                busyCount--;
+            }
         }
 
         @Override
@@ -182,12 +237,32 @@ private static class ProviderState {
         private final Set<AEKey> emitableItems;
         private final List<IPatternDetails> patterns;
         private final int priority;
+        /**
+         * True if the provider notifies busy changes, and {@link #busy} is kept up to date.
+         */
+        private final boolean tracksBusy;
+        private boolean busy;
 
-        private ProviderState(ICraftingProvider provider) {
+        private ProviderState(ICraftingProvider provider, boolean tracksBusy) {
             this.provider = provider;
             this.emitableItems = new HashSet<>(provider.getEmitableItems());
             this.patterns = new ArrayList<>(provider.getAvailablePatterns());
             this.priority = provider.getPatternPriority();
+            this.tracksBusy = tracksBusy;
+            this.busy = tracksBusy && provider.isBusy();
+        }
+
+        private void setBusy(NetworkCraftingProviders methods, boolean busy) {
+            if (this.busy == busy) {
+                return;
+            }
+            this.busy = busy;
+            for (var pattern : patterns) {
+                var list = methods.craftingMethods.get(pattern);
+                if (list != null) {
+                    list.busyCount += busy ? 1 : -1;
+                }
+            }
         }
 
         private void mount(NetworkCraftingProviders methods) {
@@ -206,7 +281,7 @@ private void mount(NetworkCraftingProviders methods) {
                 patternsForKey.needsSorting = true;
 
                 // pattern -> method (for execution)
-                methods.craftingMethods.computeIfAbsent(pattern, d -> new CraftingProviderList()).add(provider);
+                methods.craftingMethods.computeIfAbsent(pattern, d -> new CraftingProviderList()).add(this);
             }
         }
 
@@ -226,7 +301,7 @@ private void unmount(NetworkCraftingProviders methods) {
                 });
 
                 methods.craftingMethods.computeIfPresent(pattern, (pat, list) -> {
-                    list.remove(provider);
+                    list.remove(this);
                     return list.providers.isEmpty() ? null : list;
                 });
             }
@@ -249,16 +324,58 @@ private void sortPatterns() {
         private List<IPatternDetails> getSortedPatterns() {
             if (needsSorting) {
                 sortPatterns();
+                needsSorting = false;
             }
             return sortedPatterns;
         }
     }
 
+    /**
+     * Read-only view of the crafting patterns of a network at a point in time, used by crafting calculations that run
+     * outside the server thread.
+     */
+    public static final class Snapshot implements ICraftingPatternLookup {
+        private final long modificationCount;
+        private final Map<AEKey, List<IPatternDetails>> patterns;
+        private final Set<AEKey> emittableKeys;
+        private final KeyCounter fuzzyCraftables;
+
+        private Snapshot(long modificationCount, Map<AEKey, List<IPatternDetails>> patterns,
+                Set<AEKey> emittableKeys, KeyCounter fuzzyCraftables) {
+            this.modificationCount = modificationCount;
+            this.patterns = patterns;
+            this.emittableKeys = emittableKeys;
+            this.fuzzyCraftables = fuzzyCraftables;
+        }
+
+        @Override
+        public Collection<IPatternDetails> getCraftingFor(AEKey whatToCraft) {
+            return patterns.getOrDefault(whatToCraft, List.of());
+        }
+
+        @Nullable
+        @Override
+        public AEKey getFuzzyCraftable(AEKey whatToCraft, AEKeyFilter filter) {
+            for (var fuzzy : fuzzyCraftables.findFuzzy(whatToCraft, FuzzyMode.IGNORE_ALL)) {
+                if (filter.matches(fuzzy.getKey())) {
+                    return fuzzy.getKey();
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public boolean canEmitFor(AEKey someItem) {
+            return emittableKeys.contains(someItem);
+        }
+    }
+
     private record PatternInfo(IPatternDetails pattern, ProviderState state) {
     }
 
     private void setLastModifiedOnTick() {
         lastModifiedOnTick = TickHandler.instance().getCurrentTick();
+        modificationCount++;
     }
 
     /**
@@ -267,4 +384,11 @@ private void setLastModifiedOnTick() {
     public long getLastModifiedOnTick() {
         return lastModifiedOnTick;
     }
+
+    /**
+     * @return A counter that changes whenever the set of craftable or emittable keys may have changed.
+     */
+    public long getModificationCount() {
+        return modificationCount;
+    }
 }
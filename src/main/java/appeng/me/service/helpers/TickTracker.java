@@ -20,6 +20,8 @@
 
 import java.util.LongSummaryStatistics;
 
+import org.jetbrains.annotations.Nullable;
+
 import net.minecraft.CrashReportCategory;
 import net.minecraft.util.Mth;
 
@@ -37,6 +39,16 @@ public class TickTracker implements Comparable<TickTracker> {
     private long lastTick;
     private int currentRate;
 
+    /**
+     * Links used by the {@link TickWheel} this tracker is scheduled in.
+     */
+    @Nullable
+    TickWheel.Slot slot;
+    @Nullable
+    TickTracker previousInSlot;
+    @Nullable
+    TickTracker nextInSlot;
+
     public TickTracker(TickingRequest req, IGridNode node, IGridTickable gt, long currentTick) {
         this.request = req;
         this.gt = gt;
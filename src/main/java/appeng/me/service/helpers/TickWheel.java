@@ -0,0 +1,168 @@
+package appeng.me.service.helpers;
+
+import java.util.function.Consumer;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Schedules {@link TickTracker}s by the tick they are due on, using a hashed timing wheel.
+ * <p>
+ * The wheel has a fixed number of slots, one per tick. A tracker is stored in the slot of the tick it is due on, modulo
+ * the number of slots. Trackers that are due further in the future than one revolution of the wheel share the slot, and
+ * are skipped until their revolution comes up. Each slot is an intrusive doubly-linked list, so adding, removing and
+ * rescheduling a tracker is O(1), regardless of how many trackers are scheduled.
+ * <p>
+ * Trackers that are due on the same tick are processed in the order they were scheduled in. Trackers that are
+ * scheduled while their tick is being processed (i.e. because they were alerted by another device) are still processed
+ * in the same pass.
+ */
+public class TickWheel {
+    private static final int SLOT_COUNT = 256;
+    private static final int SLOT_MASK = SLOT_COUNT - 1;
+
+    /**
+     * Slots are only allocated once they are used, since most grids only have a few ticking devices.
+     */
+    private final Slot[] slots = new Slot[SLOT_COUNT];
+    /**
+     * Holds trackers that are due in a later revolution while a slot is being processed.
+     */
+    private final Slot skipped = new Slot();
+    /**
+     * The last tick that was fully processed.
+     */
+    private long processedTick;
+    private int size;
+
+    /**
+     * @param currentTick The current tick, which hasn't been processed yet.
+     */
+    public TickWheel(long currentTick) {
+        this.processedTick = currentTick - 1;
+    }
+
+    private Slot getSlot(long tick) {
+        var index = (int) (tick & SLOT_MASK);
+        var slot = slots[index];
+        if (slot == null) {
+            slot = slots[index] = new Slot();
+        }
+        return slot;
+    }
+
+    /**
+     * Schedules the tracker for {@link TickTracker#getNextTick()}. If that tick was already processed, the tracker will
+     * be processed as soon as possible instead.
+     */
+    public void add(TickTracker tt) {
+        if (tt.slot != null) {
+            throw new IllegalStateException("Tracker is already scheduled: " + tt);
+        }
+
+        var tick = Math.max(tt.getNextTick(), processedTick + 1);
+        getSlot(tick).append(tt);
+        size++;
+    }
+
+    /**
+     * Unschedules the tracker. Does nothing if it isn't scheduled.
+     */
+    public void remove(TickTracker tt) {
+        if (contains(tt)) {
+            tt.slot.unlink(tt);
+            size--;
+        }
+    }
+
+    /**
+     * Reschedules the tracker, for example after its next tick has changed.
+     */
+    public void update(TickTracker tt) {
+        remove(tt);
+        add(tt);
+    }
+
+    public boolean contains(TickTracker tt) {
+        return tt.slot != null && tt.slot.wheel == this;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Passes every tracker that is due on or before the given tick to the consumer, in order of the ticks they are due
+     * on. The trackers are unscheduled before being passed to the consumer, which may schedule them again.
+     */
+    public void tick(long currentTick, Consumer<TickTracker> consumer) {
+        // Every slot has to be processed at most once, even if several revolutions worth of ticks were skipped
+        long from = Math.max(processedTick + 1, currentTick - SLOT_COUNT + 1);
+        for (long tick = from; tick <= currentTick; tick++) {
+            processedTick = tick - 1;
+            var slot = slots[(int) (tick & SLOT_MASK)];
+            if (slot != null) {
+                processSlot(slot, currentTick, consumer);
+            }
+        }
+        processedTick = Math.max(processedTick, currentTick);
+    }
+
+    private void processSlot(Slot slot, long currentTick, Consumer<TickTracker> consumer) {
+        TickTracker tt;
+        while ((tt = slot.head) != null) {
+            slot.unlink(tt);
+            if (tt.getNextTick() > currentTick) {
+                // Due in a later revolution of the wheel
+                skipped.append(tt);
+            } else {
+                size--;
+                consumer.accept(tt);
+            }
+        }
+
+        while ((tt = skipped.head) != null) {
+            skipped.unlink(tt);
+            slot.append(tt);
+        }
+    }
+
+    final class Slot {
+        private final TickWheel wheel = TickWheel.this;
+        @Nullable
+        private TickTracker head;
+        @Nullable
+        private TickTracker tail;
+
+        private void append(TickTracker tt) {
+            tt.slot = this;
+            tt.previousInSlot = tail;
+            tt.nextInSlot = null;
+            if (tail != null) {
+                tail.nextInSlot = tt;
+            } else {
+                head = tt;
+            }
+            tail = tt;
+        }
+
+        private void unlink(TickTracker tt) {
+            if (tt.previousInSlot != null) {
+                tt.previousInSlot.nextInSlot = tt.nextInSlot;
+            } else {
+                head = tt.nextInSlot;
+            }
+            if (tt.nextInSlot != null) {
+                tt.nextInSlot.previousInSlot = tt.previousInSlot;
+            } else {
+                tail = tt.previousInSlot;
+            }
+            tt.slot = null;
+            tt.previousInSlot = null;
+            tt.nextInSlot = null;
+        }
+    }
+}
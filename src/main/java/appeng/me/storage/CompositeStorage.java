@@ -1,5 +1,8 @@
 package appeng.me.storage;
 
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 
@@ -12,6 +15,7 @@
 import appeng.api.stacks.AEKeyType;
 import appeng.api.stacks.KeyCounter;
 import appeng.api.storage.MEStorage;
+import appeng.core.AEConfig;
 import appeng.core.localization.GuiText;
 
 /**
@@ -85,28 +89,104 @@ public Component getDescription() {
     @Override
     public TickRateModulation onTick() {
         forceCacheRebuild = false;
-        boolean changed = this.cache.update();
-        if (changed) {
-            return TickRateModulation.URGENT;
-        } else {
-            return TickRateModulation.SLOWER;
-        }
+        var result = this.cache.update(AEConfig.instance().getStorageBusScanChunkSize());
+        return switch (result) {
+            case CHANGED -> TickRateModulation.URGENT;
+            // Keep going at the same rate until the pass over a large inventory is complete
+            case SCANNING -> TickRateModulation.SAME;
+            // Back off while the inventory is idle
+            case UNCHANGED -> TickRateModulation.SLOWER;
+        };
     }
 
     @Override
     public void getAvailableStacks(KeyCounter out) {
         if (forceCacheRebuild) {
             forceCacheRebuild = false;
-            cache.update();
+            cache.updateAll();
         }
         this.cache.getAvailableKeys(out);
     }
 
+    /**
+     * @return Statistics about the last complete scan of each external inventory that is scanned slot by slot.
+     */
+    public List<ScanStatistics> getScanStatistics() {
+        var result = new ArrayList<ScanStatistics>();
+        for (var entry : cache.slotCaches.entrySet()) {
+            var slotCache = entry.getValue();
+            result.add(new ScanStatistics(entry.getKey(), slotCache.getLastPassSlots(),
+                    slotCache.getLastPassTicks(), slotCache.getLastPassNanos()));
+        }
+        return result;
+    }
+
+    /**
+     * @param slots Number of slots in the inventory.
+     * @param ticks Number of ticks across which the scan was spread.
+     * @param nanos Total time spent scanning, in nanoseconds.
+     */
+    public record ScanStatistics(AEKeyType keyType, int slots, int ticks, long nanos) {
+    }
+
     private class InventoryCache {
+        /**
+         * External inventories with slots are scanned in chunks, and keep their own per-slot cache.
+         */
+        private final Map<AEKeyType, ExternalInventoryCache> slotCaches = new IdentityHashMap<>(2);
+        /**
+         * All other storages are scanned entirely, and compared against the previous scan.
+         */
         private KeyCounter frontBuffer = new KeyCounter();
         private KeyCounter backBuffer = new KeyCounter();
 
-        public boolean update() {
+        public ExternalInventoryCache.ScanResult update(int maxSlots) {
+            boolean changed = false;
+            boolean scanning = false;
+
+            // Forget the caches of inventories that were replaced
+            slotCaches.entrySet().removeIf(e -> storages.get(e.getKey()) != e.getValue().getFacade());
+
+            for (var entry : storages.entrySet()) {
+                if (entry.getValue() instanceof ExternalStorageFacade facade) {
+                    var slotCache = slotCaches.get(entry.getKey());
+                    if (slotCache == null) {
+                        // The first scan has to be complete, otherwise parts of the inventory would appear to be
+                        // missing until the first pass is done
+                        slotCache = ExternalInventoryCache.of(facade);
+                        slotCaches.put(entry.getKey(), slotCache);
+                        changed |= slotCache.updateAll();
+                        continue;
+                    }
+
+                    switch (slotCache.update(maxSlots)) {
+                        case CHANGED -> changed = true;
+                        case SCANNING -> scanning = true;
+                        case UNCHANGED -> {
+                        }
+                    }
+                }
+            }
+
+            changed |= updateOtherStorages();
+
+            if (changed) {
+                return ExternalInventoryCache.ScanResult.CHANGED;
+            }
+            return scanning ? ExternalInventoryCache.ScanResult.SCANNING : ExternalInventoryCache.ScanResult.UNCHANGED;
+        }
+
+        public void updateAll() {
+            slotCaches.entrySet().removeIf(e -> storages.get(e.getKey()) != e.getValue().getFacade());
+            for (var entry : storages.entrySet()) {
+                if (entry.getValue() instanceof ExternalStorageFacade facade) {
+                    slotCaches.computeIfAbsent(entry.getKey(), k -> ExternalInventoryCache.of(facade)).updateAll();
+                }
+            }
+            updateOtherStorages();
+        }
+
+        private boolean updateOtherStorages() {
             // Flip back & front buffer and start building a new list
             var tmp = backBuffer;
             backBuffer = frontBuffer;
@@ -115,7 +195,9 @@ public boolean update() {
 
             // Rebuild the front buffer
             for (var storage : storages.values()) {
-                storage.getAvailableStacks(frontBuffer);
+                if (!(storage instanceof ExternalStorageFacade)) {
+                    storage.getAvailableStacks(frontBuffer);
+                }
             }
 
             boolean changed = false;
@@ -140,10 +222,9 @@ public boolean update() {
 
         public void getAvailableKeys(KeyCounter out) {
             out.addAll(frontBuffer);
-        }
-
-        public boolean contains(AEKey what) {
-            return frontBuffer.get(what) > 0;
+            for (var slotCache : slotCaches.values()) {
+                slotCache.getAvailableItems(out);
+            }
         }
     }
 }
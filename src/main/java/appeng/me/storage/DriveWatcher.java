@@ -18,13 +18,19 @@
 
 package appeng.me.storage;
 
+import java.util.function.ObjLongConsumer;
+
+import org.jetbrains.annotations.Nullable;
+
 import appeng.api.config.Actionable;
+import appeng.api.config.IncludeExclude;
 import appeng.api.networking.security.IActionSource;
 import appeng.api.stacks.AEKey;
 import appeng.api.storage.cells.CellState;
 import appeng.api.storage.cells.StorageCell;
+import appeng.me.cells.BasicCellInventory;
 
-public class DriveWatcher extends MEInventoryHandler {
+public class DriveWatcher extends MEInventoryHandler implements IDeltaReportingStorage {
 
     private CellState oldStatus = CellState.EMPTY;
     private final Runnable activityCallback;
@@ -74,4 +80,20 @@ public long extract(AEKey what, long amount, Actionable mode, IActionSource sour
 
         return extracted;
     }
+
+    @Override
+    public boolean setDeltaListener(@Nullable ObjLongConsumer<AEKey> listener) {
+        // Only basic cells are known to change exclusively through their own insert/extract methods.
+        if (getCell() instanceof BasicCellInventory basicCell && !isFilteringAvailableContents()) {
+            basicCell.setDeltaListener(listener);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean isPreferredOnlyForContent() {
+        // A whitelist on the drive itself would make it preferred for keys it doesn't contain
+        return getWhitelist() == IncludeExclude.BLACKLIST || getPartitionList().isEmpty();
+    }
 }
@@ -1,16 +1,30 @@
 package appeng.me.storage;
 
 import java.util.Arrays;
-import java.util.HashSet;
-import java.util.Set;
 
-import appeng.api.stacks.AEKey;
 import appeng.api.stacks.GenericStack;
 import appeng.api.stacks.KeyCounter;
 
+/**
+ * Caches the content of an external inventory per slot, so that it can be scanned in chunks spread across several
+ * ticks, and the available stacks don't have to be rebuilt for every scan.
+ */
 class ExternalInventoryCache {
     private GenericStack[] cached = new GenericStack[0];
+    private final KeyCounter available = new KeyCounter();
     private final ExternalStorageFacade facade;
+    /**
+     * The slot at which the next chunk starts.
+     */
+    private int nextSlot;
+    private boolean changedInPass;
+
+    // Statistics about the last completed pass, for debugging
+    private int passTicks;
+    private long passNanos;
+    private int lastPassSlots;
+    private int lastPassTicks;
+    private long lastPassNanos;
 
     private ExternalInventoryCache(ExternalStorageFacade facade) {
         this.facade = facade;
@@ -20,75 +34,136 @@ public static ExternalInventoryCache of(ExternalStorageFacade facade) {
         return new ExternalInventoryCache(facade);
     }
 
+    public ExternalStorageFacade getFacade() {
+        return facade;
+    }
+
     public void getAvailableItems(KeyCounter out) {
-        for (GenericStack stack : cached) {
-            out.add(stack.what(), stack.amount());
+        for (var entry : available) {
+            if (entry.getLongValue() > 0) {
+                out.add(entry.getKey(), entry.getLongValue());
+            }
         }
     }
 
-    public Set<AEKey> update() {
-        var changes = new HashSet<AEKey>();
+    /**
+     * Scans the next chunk of slots, continuing where the previous chunk stopped.
+     *
+     * @param maxSlots The maximum number of slots to scan.
+     * @return The result of the scan.
+     */
+    public ScanResult update(int maxSlots) {
+        var start = System.nanoTime();
         final int slots = this.facade.getSlots();
 
-        // Make room for new slots
-        if (slots > this.cached.length) {
-            this.cached = Arrays.copyOf(this.cached, slots);
+        boolean changed = false;
+        if (slots != this.cached.length) {
+            changed = resize(slots);
         }
 
-        for (int slot = 0; slot < slots; slot++) {
-            // Save the old stuff
-            var oldGenericStack = this.cached[slot];
-            var newGenericStack = facade.getStackInSlot(slot);
-
-            this.handlePossibleSlotChanges(slot, oldGenericStack, newGenericStack, changes);
+        if (nextSlot >= slots) {
+            nextSlot = 0;
         }
+        int end = (int) Math.min(slots, (long) nextSlot + Math.max(1, maxSlots));
+        for (int slot = nextSlot; slot < end; slot++) {
+            changed |= updateSlot(slot, facade.getAvailableStackInSlot(slot));
+        }
+        nextSlot = end;
 
-        // Handle cases where the number of slots actually is lower now than before
-        if (slots < this.cached.length) {
-            for (int slot = slots; slot < this.cached.length; slot++) {
-                final GenericStack aeStack = this.cached[slot];
-
-                if (aeStack != null) {
-                    changes.add(aeStack.what());
-                }
-            }
+        passTicks++;
+        passNanos += System.nanoTime() - start;
+        changedInPass |= changed;
 
-            // Reduce the cache size
-            this.cached = Arrays.copyOf(this.cached, slots);
+        if (nextSlot < slots) {
+            return changed ? ScanResult.CHANGED : ScanResult.SCANNING;
         }
 
-        return changes;
+        // The pass is complete
+        lastPassSlots = slots;
+        lastPassTicks = passTicks;
+        lastPassNanos = passNanos;
+        passTicks = 0;
+        passNanos = 0;
+        var changedInPass = this.changedInPass;
+        this.changedInPass = false;
+        if (changed) {
+            return ScanResult.CHANGED;
+        }
+        // Only consider the inventory idle if nothing changed during the entire pass
+        return changedInPass ? ScanResult.SCANNING : ScanResult.UNCHANGED;
     }
 
-    private void handlePossibleSlotChanges(int slot, GenericStack oldStack, GenericStack newStack, Set<AEKey> changes) {
-        if (oldStack != null && newStack != null && oldStack.what().equals(newStack.what())) {
-            handleAmountChanged(slot, oldStack, newStack, changes);
-        } else {
-            handleItemChanged(slot, oldStack, newStack, changes);
-        }
+    /**
+     * Scans all slots at once, for example after the inventory was modified through the facade.
+     */
+    public boolean updateAll() {
+        nextSlot = 0;
+        changedInPass = false;
+        passTicks = 0;
+        passNanos = 0;
+        return update(Integer.MAX_VALUE) == ScanResult.CHANGED;
     }
 
-    private void handleAmountChanged(int slot, GenericStack oldStack, GenericStack newStack, Set<AEKey> changes) {
-        // Still the same item, but amount might have changed
-        if (newStack.amount() != oldStack.amount()) {
-            this.cached[slot] = newStack;
-            changes.add(newStack.what());
+    private boolean resize(int slots) {
+        boolean changed = false;
+        // Handle cases where the number of slots actually is lower now than before
+        for (int slot = slots; slot < this.cached.length; slot++) {
+            changed |= updateSlot(slot, null);
         }
+        this.cached = Arrays.copyOf(this.cached, slots);
+        return changed;
     }
 
-    private void handleItemChanged(int slot, GenericStack oldStack, GenericStack newStack, Set<AEKey> changes) {
-        // Completely different item
-        this.cached[slot] = newStack;
+    private boolean updateSlot(int slot, GenericStack newStack) {
+        var oldStack = this.cached[slot];
+        if (oldStack == null && newStack == null) {
+            return false;
+        }
+        if (oldStack != null && newStack != null && oldStack.what().equals(newStack.what())) {
+            // Still the same key, but amount might have changed
+            if (oldStack.amount() == newStack.amount()) {
+                return false;
+            }
+        }
 
-        // If we had a stack previously in this slot, notify the network about its disappearance
         if (oldStack != null) {
-            changes.add(oldStack.what());
+            available.remove(oldStack.what(), oldStack.amount());
+            if (available.get(oldStack.what()) == 0) {
+                available.remove(oldStack.what());
+            }
         }
-
-        // Notify the network about the new stack
         if (newStack != null) {
-            changes.add(newStack.what());
+            available.add(newStack.what(), newStack.amount());
         }
+        this.cached[slot] = newStack;
+        return true;
     }
 
+    public int getLastPassSlots() {
+        return lastPassSlots;
+    }
+
+    public int getLastPassTicks() {
+        return lastPassTicks;
+    }
+
+    public long getLastPassNanos() {
+        return lastPassNanos;
+    }
+
+    enum ScanResult {
+        /**
+         * The scanned chunk contained changes.
+         */
+        CHANGED,
+        /**
+         * The scanned chunk did not contain changes, but the pass is not complete yet, or a previous chunk of the pass
+         * did contain changes.
+         */
+        SCANNING,
+        /**
+         * The scanned chunk completed a pass without any changes.
+         */
+        UNCHANGED
+    }
 }
@@ -47,6 +47,23 @@ public void setChangeListener(@Nullable Runnable listener) {
     @Nullable
     public abstract GenericStack getStackInSlot(int slot);
 
+    /**
+     * Like {@link #getStackInSlot}, but skips resources that cannot be extracted if the extractable-only filter is
+     * enabled.
+     */
+    @Nullable
+    public abstract GenericStack getAvailableStackInSlot(int slot);
+
+    @Override
+    public void getAvailableStacks(KeyCounter out) {
+        for (int i = 0; i < getSlots(); i++) {
+            var stack = getAvailableStackInSlot(i);
+            if (stack != null) {
+                out.add(stack.what(), stack.amount());
+            }
+        }
+    }
+
     public abstract AEKeyType getKeyType();
 
     @Override
@@ -240,25 +257,23 @@ public boolean containsAnyFuzzy(Set<AEKey> keys) {
             return false;
         }
 
+        @Nullable
         @Override
-        public void getAvailableStacks(KeyCounter out) {
-            for (int i = 0; i < handler.getSlots(); i++) {
-                // Skip resources that cannot be extracted if that filter was enabled
-                var stack = handler.getStackInSlot(i);
-                if (stack.isEmpty()) {
-                    continue;
-                }
+        public GenericStack getAvailableStackInSlot(int slot) {
+            var stack = handler.getStackInSlot(slot);
+            if (stack.isEmpty()) {
+                return null;
+            }
 
-                if (extractableOnly) {
-                    if (handler.extractItem(i, 1, true).isEmpty()) {
-                        if (handler.extractItem(i, stack.getCount(), true).isEmpty()) {
-                            continue;
-                        }
+            if (extractableOnly) {
+                if (handler.extractItem(slot, 1, true).isEmpty()) {
+                    if (handler.extractItem(slot, stack.getCount(), true).isEmpty()) {
+                        return null;
                     }
                 }
-
-                out.add(AEItemKey.of(stack), stack.getCount());
             }
+
+            return new GenericStack(AEItemKey.of(stack), stack.getCount());
         }
     }
 
@@ -325,23 +340,21 @@ public boolean containsAnyFuzzy(Set<AEKey> keys) {
             return false;
         }
 
+        @Nullable
         @Override
-        public void getAvailableStacks(KeyCounter out) {
-            for (int i = 0; i < handler.getTanks(); i++) {
-                // Skip resources that cannot be extracted if that filter was enabled
-                var stack = handler.getFluidInTank(i);
-                if (stack.isEmpty()) {
-                    continue;
-                }
+        public GenericStack getAvailableStackInSlot(int slot) {
+            var stack = handler.getFluidInTank(slot);
+            if (stack.isEmpty()) {
+                return null;
+            }
 
-                if (extractableOnly) {
-                    if (handler.drain(stack, IFluidHandler.FluidAction.SIMULATE).isEmpty()) {
-                        continue;
-                    }
+            if (extractableOnly) {
+                if (handler.drain(stack, IFluidHandler.FluidAction.SIMULATE).isEmpty()) {
+                    return null;
                 }
-
-                out.add(AEFluidKey.of(stack), stack.getAmount());
             }
+
+            return new GenericStack(AEFluidKey.of(stack), stack.getAmount());
         }
     }
 }
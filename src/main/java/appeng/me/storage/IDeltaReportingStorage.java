@@ -0,0 +1,32 @@
+package appeng.me.storage;
+
+import java.util.function.ObjLongConsumer;
+
+import org.jetbrains.annotations.Nullable;
+
+import appeng.api.stacks.AEKey;
+
+/**
+ * Implemented by mounted storage that reports every change to its available stacks as it happens. This allows
+ * {@link NetworkStorage} to keep the cached network inventory up-to-date incrementally, instead of scanning the storage
+ * in full every time the cache is refreshed.
+ */
+public interface IDeltaReportingStorage {
+    /**
+     * Starts reporting changes to the given listener, or stops reporting them if the listener is null. The listener
+     * receives the key that changed and the signed change in its available amount.
+     *
+     * @return False if this storage cannot currently guarantee that every change will be reported. It'll then be
+     *         treated like any other storage and scanned in full.
+     */
+    boolean setDeltaListener(@Nullable ObjLongConsumer<AEKey> listener);
+
+    /**
+     * @return True if {@link appeng.api.storage.MEStorage#isPreferredStorageFor} only returns true for keys that this
+     *         storage currently contains. This allows the network storage to answer that question from the changes
+     *         reported by this storage, without asking it.
+     */
+    default boolean isPreferredOnlyForContent() {
+        return false;
+    }
+}
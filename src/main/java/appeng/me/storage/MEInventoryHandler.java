@@ -72,6 +72,10 @@ public void setExtractFiltering(boolean filterOnExtraction, boolean filterAvaila
         this.filterAvailableContents = filterAvailableContents;
     }
 
+    protected boolean isFilteringAvailableContents() {
+        return this.filterAvailableContents;
+    }
+
     public void setVoidOverflow(boolean voidOverflow) {
         this.voidOverflow = voidOverflow;
     }
@@ -22,7 +22,9 @@
 import java.util.Comparator;
 import java.util.List;
 import java.util.NavigableMap;
+import java.util.Set;
 import java.util.TreeMap;
+import java.util.function.ObjLongConsumer;
 
 import com.google.common.base.Preconditions;
 
@@ -30,6 +32,9 @@
 
 import net.minecraft.network.chat.Component;
 
+import it.unimi.dsi.fastutil.objects.Reference2LongMap;
+import it.unimi.dsi.fastutil.objects.Reference2LongOpenHashMap;
+
 import appeng.api.config.Actionable;
 import appeng.api.networking.security.IActionSource;
 import appeng.api.stacks.AEKey;
@@ -49,14 +54,57 @@ public class NetworkStorage implements MEStorage {
 
     private final NavigableMap<Integer, List<MEStorage>> priorityInventory;
     private final List<MEStorage> secondPassInventories = new ArrayList<>();
+    /**
+     * The order in which the mounted storage was mounted. Storage with the same priority is used in this order.
+     */
+    private final Reference2LongMap<MEStorage> mountSequence = new Reference2LongOpenHashMap<>();
+    private long nextMountSequence;
+
+    /**
+     * Indexes the content of storage that reports its changes, so that insert and extract only need to consider the
+     * storage that actually contains a key. Only used if {@link #useKeyIndex} is set.
+     */
+    private final StorageKeyIndex keyIndex = new StorageKeyIndex();
+    private final boolean useKeyIndex;
+    /**
+     * The subset of {@link #priorityInventory} that is not covered by {@link #keyIndex}, and needs to be queried for
+     * every operation.
+     */
+    private final NavigableMap<Integer, List<MEStorage>> unindexedInventory;
+    private final List<StorageKeyIndex.Entry> indexedCandidates = new ArrayList<>();
+    private final List<MEStorage> preferredInventories = new ArrayList<>();
+
+    /**
+     * Mounted storage that reports changes to its content through {@link IDeltaReportingStorage}.
+     */
+    private final List<MEStorage> trackedInventories = new ArrayList<>();
+    /**
+     * Mounted storage whose content can change without us being notified, and which must be scanned in full.
+     */
+    private final List<MEStorage> untrackedInventories = new ArrayList<>();
+    private final ObjLongConsumer<AEKey> trackedChangeListener = this::onTrackedStorageChanged;
+    /**
+     * Changes reported by tracked storage since the last call to {@link #drainTrackedChanges}.
+     */
+    private final KeyCounter trackedChanges = new KeyCounter();
+    /**
+     * Set when tracked storage was mounted or unmounted, which requires the tracked content to be scanned again.
+     */
+    private boolean trackedContentInvalid = true;
 
     // Queued mount/unmount operations that occurred while an insert/extract was ongoing
     // Is only non-null if something is queued
     @Nullable
     private List<QueuedOperation> queuedOperations;
 
-    public NetworkStorage() {
+    /**
+     * @param useKeyIndex Whether to index the content of storage that supports it. Otherwise, every insert and extract
+     *                    queries all mounted storage.
+     */
+    public NetworkStorage(boolean useKeyIndex) {
+        this.useKeyIndex = useKeyIndex;
         this.priorityInventory = new TreeMap<>(PRIORITY_SORTER);
+        this.unindexedInventory = new TreeMap<>(PRIORITY_SORTER);
     }
 
     public void mount(int priority, MEStorage inventory) {
@@ -68,7 +116,36 @@ public void mount(int priority, MEStorage inventory) {
         } else {
             this.priorityInventory.computeIfAbsent(priority, k -> new ArrayList<>())
                     .add(inventory);
+            var sequence = nextMountSequence++;
+            this.mountSequence.put(inventory, sequence);
+
+            if (inventory instanceof IDeltaReportingStorage deltaReporting
+                    && mountTracked(priority, sequence, inventory, deltaReporting)) {
+                trackedInventories.add(inventory);
+                invalidateTrackedContent();
+            } else {
+                untrackedInventories.add(inventory);
+            }
+
+            if (!keyIndex.contains(inventory)) {
+                this.unindexedInventory.computeIfAbsent(priority, k -> new ArrayList<>())
+                        .add(inventory);
+            }
+        }
+    }
+
+    private boolean mountTracked(int priority, long sequence, MEStorage inventory,
+            IDeltaReportingStorage deltaReporting) {
+        var indexed = useKeyIndex && deltaReporting.isPreferredOnlyForContent();
+        var listener = indexed ? keyIndex.add(inventory, priority, sequence, trackedChangeListener)
+                : trackedChangeListener;
+        if (!deltaReporting.setDeltaListener(listener)) {
+            if (indexed) {
+                keyIndex.remove(inventory);
+            }
+            return false;
         }
+        return true;
     }
 
     public void unmount(MEStorage inventory) {
@@ -87,9 +164,103 @@ public void unmount(MEStorage inventory) {
                     prioIt.remove();
                 }
             }
+            this.mountSequence.removeLong(inventory);
+
+            if (trackedInventories.remove(inventory)) {
+                ((IDeltaReportingStorage) inventory).setDeltaListener(null);
+                invalidateTrackedContent();
+            } else {
+                untrackedInventories.remove(inventory);
+            }
+
+            if (!keyIndex.remove(inventory)) {
+                var unindexedIt = this.unindexedInventory.values().iterator();
+                while (unindexedIt.hasNext()) {
+                    var inventories = unindexedIt.next();
+                    if (inventories.remove(inventory) && inventories.isEmpty()) {
+                        unindexedIt.remove();
+                    }
+                }
+            }
         }
     }
 
+    private void onTrackedStorageChanged(AEKey what, long delta) {
+        // While the content is invalid, it'll be re-scanned anyway
+        if (!trackedContentInvalid) {
+            trackedChanges.add(what, delta);
+        }
+    }
+
+    private void invalidateTrackedContent() {
+        trackedContentInvalid = true;
+        trackedChanges.clear();
+    }
+
+    /**
+     * @return True if the content of tracked storage can't be updated using {@link #drainTrackedChanges} and must be
+     *         re-scanned using {@link #getTrackedAvailableStacks}.
+     */
+    public boolean isTrackedContentInvalid() {
+        return trackedContentInvalid;
+    }
+
+    /**
+     * Adds the content of all storage that reports its changes to the given counter, and resets the pending changes.
+     */
+    public void getTrackedAvailableStacks(KeyCounter out) {
+        if (getAvailableStacks(trackedInventories, out)) {
+            trackedContentInvalid = false;
+            trackedChanges.clear();
+        }
+    }
+
+    /**
+     * Adds the content of all storage that cannot report its changes to the given counter.
+     */
+    public void getUntrackedAvailableStacks(KeyCounter out) {
+        getAvailableStacks(untrackedInventories, out);
+    }
+
+    /**
+     * Applies the changes reported by tracked storage since the last call to the given counter, and collects the keys
+     * that changed.
+     */
+    public void drainTrackedChanges(KeyCounter out, Set<AEKey> changedKeys) {
+        Preconditions.checkState(!trackedContentInvalid, "Tracked content must be re-scanned first");
+
+        for (var entry : trackedChanges) {
+            var delta = entry.getLongValue();
+            if (delta != 0) {
+                out.add(entry.getKey(), delta);
+                changedKeys.add(entry.getKey());
+            }
+        }
+        trackedChanges.clear();
+    }
+
+    /**
+     * @return The number of mounted storages that report their changes, and that need full scans respectively.
+     */
+    public int getTrackedInventoryCount() {
+        return trackedInventories.size();
+    }
+
+    public int getUntrackedInventoryCount() {
+        return untrackedInventories.size();
+    }
+
+    /**
+     * @return The number of mounted storages whose content is indexed, and the number of distinct keys they contain.
+     */
+    public int getIndexedInventoryCount() {
+        return keyIndex.size();
+    }
+
+    public int getIndexedKeyCount() {
+        return keyIndex.getIndexedKeyCount();
+    }
+
     public long insert(AEKey what, long amount, Actionable type, IActionSource src) {
         if (mountsInUse) {
             return 0; // Prevent recursive use
@@ -99,47 +270,124 @@ public long insert(AEKey what, long amount, Actionable type, IActionSource src)
 
         mountsInUse = true;
         try {
-            for (var invList : this.priorityInventory.values()) {
-                secondPassInventories.clear();
+            if (useKeyIndex) {
+                remaining = insertIndexed(what, remaining, type, src);
+            } else {
+                remaining = insertUnindexed(what, remaining, type, src);
+            }
+        } finally {
+            mountsInUse = false;
+        }
+
+        flushQueuedOperations();
+
+        return amount - remaining;
+    }
+
+    /**
+     * Inserts using the key index to find preferred storage. Only storage that is not indexed has to be asked whether
+     * it's the preferred storage for the key. Gives the same result as {@link #insertUnindexed}.
+     */
+    private long insertIndexed(AEKey what, long remaining, Actionable type, IActionSource src) {
+        // The index changes while we insert, so we need a copy
+        indexedCandidates.clear();
+        keyIndex.getStorage(what, indexedCandidates);
+        var candidateIdx = 0;
+
+        for (var entry : this.priorityInventory.entrySet()) {
+            if (remaining <= 0) {
+                break;
+            }
 
-                // First give every inventory a chance to accept the item if it's preferential storage for the given
-                // stack
-                var ii = invList.iterator();
-                while (ii.hasNext() && remaining > 0) {
-                    var inv = ii.next();
+            var priority = entry.getKey();
+            preferredInventories.clear();
 
-                    if (isQueuedForRemoval(inv)) {
-                        continue;
+            // The inventories that contain the key, and the ones we couldn't index if they're preferential storage
+            // for the given stack, in the order they were mounted
+            var candidateEnd = candidateIdx;
+            while (candidateEnd < indexedCandidates.size()
+                    && indexedCandidates.get(candidateEnd).priority == priority) {
+                candidateEnd++;
+            }
+            var unindexed = this.unindexedInventory.getOrDefault(priority, List.of());
+            var unindexedIdx = 0;
+            while (remaining > 0 && (candidateIdx < candidateEnd || unindexedIdx < unindexed.size())) {
+                if (unindexedIdx >= unindexed.size() || candidateIdx < candidateEnd
+                        && isMountedBefore(indexedCandidates.get(candidateIdx), unindexed.get(unindexedIdx))) {
+                    var inv = indexedCandidates.get(candidateIdx++).storage;
+                    preferredInventories.add(inv);
+
+                    if (!isQueuedForRemoval(inv)) {
+                        remaining -= inv.insert(what, remaining, type, src);
                     }
+                } else {
+                    var inv = unindexed.get(unindexedIdx++);
 
-                    if (inv.isPreferredStorageFor(what, src)) {
+                    if (!isQueuedForRemoval(inv) && inv.isPreferredStorageFor(what, src)) {
+                        preferredInventories.add(inv);
                         remaining -= inv.insert(what, remaining, type, src);
-                    } else {
-                        secondPassInventories.add(inv);
                     }
                 }
+            }
+            candidateIdx = candidateEnd;
 
-                // Then give every remaining inventory a chance
-                for (var inv : secondPassInventories) {
-                    if (remaining <= 0) {
-                        break;
-                    }
+            // Then give every remaining inventory a chance
+            for (var inv : entry.getValue()) {
+                if (remaining <= 0) {
+                    break;
+                }
 
-                    if (isQueuedForRemoval(inv)) {
-                        continue;
-                    }
+                if (preferredInventories.contains(inv) || isQueuedForRemoval(inv)) {
+                    continue;
+                }
 
+                remaining -= inv.insert(what, remaining, type, src);
+            }
+        }
+
+        return remaining;
+    }
+
+    private boolean isMountedBefore(StorageKeyIndex.Entry candidate, MEStorage inventory) {
+        return candidate.sequence < this.mountSequence.getLong(inventory);
+    }
+
+    private long insertUnindexed(AEKey what, long remaining, Actionable type, IActionSource src) {
+        for (var invList : this.priorityInventory.values()) {
+            secondPassInventories.clear();
+
+            // First give every inventory a chance to accept the item if it's preferential storage for the given
+            // stack
+            var ii = invList.iterator();
+            while (ii.hasNext() && remaining > 0) {
+                var inv = ii.next();
+
+                if (isQueuedForRemoval(inv)) {
+                    continue;
+                }
+
+                if (inv.isPreferredStorageFor(what, src)) {
                     remaining -= inv.insert(what, remaining, type, src);
+                } else {
+                    secondPassInventories.add(inv);
                 }
             }
 
-        } finally {
-            mountsInUse = false;
-        }
+            // Then give every remaining inventory a chance
+            for (var inv : secondPassInventories) {
+                if (remaining <= 0) {
+                    break;
+                }
 
-        flushQueuedOperations();
+                if (isQueuedForRemoval(inv)) {
+                    continue;
+                }
 
-        return amount - remaining;
+                remaining -= inv.insert(what, remaining, type, src);
+            }
+        }
+
+        return remaining;
     }
 
     private void flushQueuedOperations() {
@@ -179,23 +427,81 @@ public long extract(AEKey what, long amount, Actionable mode, IActionSource sour
 
         mountsInUse = true;
         try {
-            for (var invList : this.priorityInventory.descendingMap().values()) {
-                var ii = invList.iterator();
-                while (ii.hasNext() && extracted < amount) {
-                    var inv = ii.next();
+            if (useKeyIndex) {
+                extracted = extractIndexed(what, amount, mode, source);
+            } else {
+                extracted = extractUnindexed(what, amount, mode, source);
+            }
+        } finally {
+            mountsInUse = false;
+        }
 
-                    if (isQueuedForRemoval(inv)) {
-                        continue;
-                    }
+        flushQueuedOperations();
+
+        return extracted;
+    }
+
+    /**
+     * Extracts from the indexed storage that contains the key, and from all storage we couldn't index, starting with
+     * the lowest priority. Gives the same result as {@link #extractUnindexed}.
+     */
+    private long extractIndexed(AEKey what, long amount, Actionable mode, IActionSource source) {
+        var extracted = 0L;
+
+        // The index changes while we extract, so we need a copy
+        indexedCandidates.clear();
+        keyIndex.getStorage(what, indexedCandidates);
+        // The candidates are sorted by descending priority, so we walk them from the back
+        var candidateEnd = indexedCandidates.size();
 
+        for (var priority : this.priorityInventory.descendingKeySet()) {
+            if (extracted >= amount) {
+                break;
+            }
+
+            var candidateIdx = candidateEnd;
+            while (candidateIdx > 0 && indexedCandidates.get(candidateIdx - 1).priority == priority) {
+                candidateIdx--;
+            }
+            var candidateStart = candidateIdx;
+
+            // Within the same priority, use the inventories in the order they were mounted
+            var unindexed = this.unindexedInventory.getOrDefault(priority, List.of());
+            var unindexedIdx = 0;
+            while (extracted < amount && (candidateIdx < candidateEnd || unindexedIdx < unindexed.size())) {
+                MEStorage inv;
+                if (unindexedIdx >= unindexed.size() || candidateIdx < candidateEnd
+                        && isMountedBefore(indexedCandidates.get(candidateIdx), unindexed.get(unindexedIdx))) {
+                    inv = indexedCandidates.get(candidateIdx++).storage;
+                } else {
+                    inv = unindexed.get(unindexedIdx++);
+                }
+
+                if (!isQueuedForRemoval(inv)) {
                     extracted += inv.extract(what, amount - extracted, mode, source);
                 }
             }
-        } finally {
-            mountsInUse = false;
+            candidateEnd = candidateStart;
         }
 
-        flushQueuedOperations();
+        return extracted;
+    }
+
+    private long extractUnindexed(AEKey what, long amount, Actionable mode, IActionSource source) {
+        var extracted = 0L;
+
+        for (var invList : this.priorityInventory.descendingMap().values()) {
+            var ii = invList.iterator();
+            while (ii.hasNext() && extracted < amount) {
+                var inv = ii.next();
+
+                if (isQueuedForRemoval(inv)) {
+                    continue;
+                }
+
+                extracted += inv.extract(what, amount - extracted, mode, source);
+            }
+        }
 
         return extracted;
     }
@@ -218,6 +524,22 @@ public void getAvailableStacks(KeyCounter out) {
         }
     }
 
+    private boolean getAvailableStacks(List<MEStorage> inventories, KeyCounter out) {
+        if (mountsInUse) {
+            return false; // Prevent recursive use
+        }
+
+        mountsInUse = true;
+        try {
+            for (var inventory : inventories) {
+                inventory.getAvailableStacks(out);
+            }
+        } finally {
+            mountsInUse = false;
+        }
+        return true;
+    }
+
     @Override
     public Component getDescription() {
         return GuiText.MENetworkStorage.text();
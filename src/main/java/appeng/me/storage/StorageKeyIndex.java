@@ -0,0 +1,143 @@
+package appeng.me.storage;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ObjLongConsumer;
+
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
+
+import appeng.api.stacks.AEKey;
+import appeng.api.storage.MEStorage;
+
+/**
+ * Indexes which of the storages mounted in a {@link NetworkStorage} contain which keys. Only storage that reports all
+ * of its changes through {@link IDeltaReportingStorage}, and that is only preferred for the keys it contains, can be
+ * indexed.
+ * <p/>
+ * This allows insertion and extraction to only consider the few storages that actually contain a key, instead of
+ * querying every mounted storage.
+ */
+final class StorageKeyIndex {
+    private final Map<AEKey, List<Entry>> entriesByKey = new HashMap<>();
+    private final Map<MEStorage, Entry> entries = new IdentityHashMap<>();
+
+    /**
+     * Adds the given storage to the index.
+     *
+     * @param sequence       Orders storage with the same priority, lower first.
+     * @param changeListener Will be notified of any changes reported by the storage, after the index was updated.
+     * @return The listener that the storage should report its changes to.
+     */
+    ObjLongConsumer<AEKey> add(MEStorage storage, int priority, long sequence, ObjLongConsumer<AEKey> changeListener) {
+        var entry = new Entry(storage, priority, sequence, changeListener);
+        if (entries.putIfAbsent(storage, entry) != null) {
+            throw new IllegalStateException("Storage " + storage + " is already indexed");
+        }
+
+        for (var stack : storage.getAvailableStacks()) {
+            entry.updateAmount(stack.getKey(), stack.getLongValue());
+        }
+        return entry;
+    }
+
+    boolean remove(MEStorage storage) {
+        var entry = entries.remove(storage);
+        if (entry == null) {
+            return false;
+        }
+
+        entry.indexed = false;
+        for (var what : entry.amounts.keySet()) {
+            removeFromKey(what, entry);
+        }
+        entry.amounts.clear();
+        return true;
+    }
+
+    boolean contains(MEStorage storage) {
+        return entries.containsKey(storage);
+    }
+
+    /**
+     * Adds all indexed storages that currently contain the given key to the output, in descending order of priority
+     * and ascending order of sequence within the same priority.
+     */
+    void getStorage(AEKey what, Collection<Entry> out) {
+        var keyEntries = entriesByKey.get(what);
+        if (keyEntries != null) {
+            out.addAll(keyEntries);
+        }
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    int getIndexedKeyCount() {
+        return entriesByKey.size();
+    }
+
+    private void addToKey(AEKey what, Entry entry) {
+        var keyEntries = entriesByKey.computeIfAbsent(what, k -> new ArrayList<>(2));
+        // Keep the list sorted by descending priority, then ascending sequence
+        int i = 0;
+        while (i < keyEntries.size() && keyEntries.get(i).comesBefore(entry)) {
+            i++;
+        }
+        keyEntries.add(i, entry);
+    }
+
+    private void removeFromKey(AEKey what, Entry entry) {
+        var keyEntries = entriesByKey.get(what);
+        if (keyEntries != null && keyEntries.remove(entry) && keyEntries.isEmpty()) {
+            entriesByKey.remove(what);
+        }
+    }
+
+    final class Entry implements ObjLongConsumer<AEKey> {
+        final MEStorage storage;
+        final int priority;
+        final long sequence;
+        private final ObjLongConsumer<AEKey> changeListener;
+        private final Object2LongOpenHashMap<AEKey> amounts = new Object2LongOpenHashMap<>();
+        private boolean indexed = true;
+
+        private Entry(MEStorage storage, int priority, long sequence, ObjLongConsumer<AEKey> changeListener) {
+            this.storage = storage;
+            this.priority = priority;
+            this.sequence = sequence;
+            this.changeListener = changeListener;
+        }
+
+        private boolean comesBefore(Entry other) {
+            return priority > other.priority || priority == other.priority && sequence < other.sequence;
+        }
+
+        @Override
+        public void accept(AEKey what, long delta) {
+            // Guard against changes being reported after the storage was removed from the index
+            if (indexed) {
+                updateAmount(what, delta);
+            }
+
+            changeListener.accept(what, delta);
+        }
+
+        private void updateAmount(AEKey what, long delta) {
+            var oldAmount = amounts.addTo(what, delta);
+            var newAmount = oldAmount + delta;
+            if (newAmount <= 0) {
+                amounts.removeLong(what);
+                if (oldAmount > 0) {
+                    removeFromKey(what, this);
+                }
+            } else if (oldAmount <= 0) {
+                addToKey(what, this);
+            }
+        }
+    }
+}
@@ -69,6 +69,7 @@
 import appeng.core.network.serverbound.GuiActionPacket;
 import appeng.helpers.InventoryAction;
 import appeng.helpers.externalstorage.GenericStackInv;
+import appeng.hooks.ticking.TickHandler;
 import appeng.me.helpers.PlayerSource;
 import appeng.menu.guisync.DataSynchronization;
 import appeng.menu.locator.MenuHostLocator;
@@ -325,7 +326,7 @@ public void broadcastChanges() {
                 this.setValidMenu(false);
             }
 
-            if (dataSync.hasChanges()) {
+            if (dataSync.hasChanges(TickHandler.instance().getCurrentTick())) {
                 sendPacketToClient(new GuiDataSyncPacket(containerId, dataSync::writeUpdate, registryAccess()));
             }
         }
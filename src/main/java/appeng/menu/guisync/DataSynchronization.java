@@ -60,13 +60,21 @@ private void collectFields(Object host, Class<?> clazz) {
         }
     }
 
-    public boolean hasChanges() {
+    /**
+     * Checks which fields have to be sent to the client, taking the policies defined by {@link GuiSync} into account.
+     * Fields with small changes that were deferred are only sent along with other fields.
+     *
+     * @param tick The current server tick.
+     * @return True if an update should be sent.
+     */
+    public boolean hasChanges(long tick) {
+        boolean hasChanges = false;
         for (SynchronizedField<?> value : fields.values()) {
-            if (value.hasChanges()) {
-                return true;
+            if (value.checkForUpdate(tick) == SynchronizedField.UpdateState.READY) {
+                hasChanges = true;
             }
         }
-        return false;
+        return hasChanges;
     }
 
     /**
@@ -77,17 +85,23 @@ public void writeFull(RegistryFriendlyByteBuf data) {
     }
 
     /**
-     * Write the data for changed fields to the given buffer, and marks all fields as unchanged.
+     * Write the data for the fields found by the last {@link #hasChanges} to the given buffer, and marks them as
+     * unchanged.
      */
     public void writeUpdate(RegistryFriendlyByteBuf data) {
         writeFields(data, false);
     }
 
-    private void writeFields(RegistryFriendlyByteBuf data, boolean includeUnchanged) {
+    private void writeFields(RegistryFriendlyByteBuf data, boolean full) {
         for (Map.Entry<Short, SynchronizedField<?>> entry : fields.entrySet()) {
-            if (includeUnchanged || entry.getValue().hasChanges()) {
+            var field = entry.getValue();
+            if (full) {
+                // Not every field was checked for this update, so they have to be read again
+                data.writeShort(entry.getKey());
+                field.write(data);
+            } else if (field.getUpdateState() != SynchronizedField.UpdateState.NONE) {
                 data.writeShort(entry.getKey());
-                entry.getValue().write(data);
+                field.writeUpdate(data);
             }
         }
 
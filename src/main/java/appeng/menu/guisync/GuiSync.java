@@ -25,10 +25,24 @@
 
 /**
  * Annotates that this field should be synchronized between the server and client. Requires the field to be public.
+ * <p/>
+ * Fields that change very often, such as progress bars or stored power, can limit how often they are sent using
+ * {@link #minInterval()} and {@link #minDelta()}. Changes that are held back are always sent eventually.
  */
 @Retention(RetentionPolicy.RUNTIME)
 @Target(ElementType.FIELD)
 public @interface GuiSync {
 
     short value();
+
+    /**
+     * The minimum number of server ticks between two updates of this field.
+     */
+    int minInterval() default 0;
+
+    /**
+     * For numeric fields, changes smaller than this are held back until the value stops changing, or until an update
+     * for another field of the menu is sent anyway.
+     */
+    double minDelta() default 0;
 }
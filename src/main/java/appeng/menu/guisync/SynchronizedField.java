@@ -20,6 +20,7 @@
 
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.util.HashMap;
@@ -41,57 +42,124 @@
  */
 public abstract class SynchronizedField<T> {
 
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
     private final Object source;
     protected final MethodHandle getter;
     protected final MethodHandle setter;
     protected T clientVersion;
+    private final int minInterval;
+    /**
+     * The value seen by the last {@link #checkForUpdate}. It is used to detect when a value stopped changing, and is
+     * what {@link #writeUpdate} sends.
+     */
+    private T lastSeenValue;
+    private long lastCheckTick;
+    private long lastSentTick = Long.MIN_VALUE;
+    private UpdateState updateState = UpdateState.NONE;
 
     private SynchronizedField(Object source, Field field) {
         this.clientVersion = null;
         this.source = source;
         field.setAccessible(true);
         try {
-            this.getter = MethodHandles.publicLookup().unreflectGetter(field);
-            this.setter = MethodHandles.publicLookup().unreflectSetter(field);
+            // Adapt the handles once, so that reading them every tick doesn't have to go through a generic invoke
+            this.getter = MethodHandles.publicLookup().unreflectGetter(field).asType(GETTER_TYPE);
+            this.setter = MethodHandles.publicLookup().unreflectSetter(field).asType(SETTER_TYPE);
         } catch (IllegalAccessException e) {
             throw new RuntimeException(
                     "Failed to get accessor for field " + field + ". Did you forget to make it public?");
         }
+
+        var annotation = field.getAnnotation(GuiSync.class);
+        this.minInterval = annotation != null ? annotation.minInterval() : 0;
     }
 
     @SuppressWarnings("unchecked")
     private T getCurrentValue() {
         try {
-            return (T) this.getter.invoke(source);
+            return (T) (Object) this.getter.invokeExact(source);
         } catch (Throwable throwable) {
             throw new RuntimeException(throwable);
         }
     }
 
-    public boolean hasChanges() {
-        return !Objects.equals(getCurrentValue(), this.clientVersion);
+    /**
+     * Checks whether this field should be sent to the client, taking its {@link GuiSync} policy into account. The
+     * result is remembered until the field is {@link #write written}.
+     *
+     * @param tick The current server tick.
+     */
+    public UpdateState checkForUpdate(long tick) {
+        var currentValue = getCurrentValue();
+        var previousValue = this.lastSeenValue;
+        this.lastSeenValue = currentValue;
+        this.lastCheckTick = tick;
+
+        if (Objects.equals(currentValue, this.clientVersion) || this.lastSentTick + this.minInterval > tick) {
+            this.updateState = UpdateState.NONE;
+        } else if (this.clientVersion != null && currentValue != null
+                && !Objects.equals(currentValue, previousValue)
+                && isSmallChange(this.clientVersion, currentValue)) {
+            // The value is still changing in small steps, hold it back for now
+            this.updateState = UpdateState.DEFERRED;
+        } else {
+            this.updateState = UpdateState.READY;
+        }
+        return this.updateState;
     }
 
+    /**
+     * @return The result of the last {@link #checkForUpdate}, unless the field has been written since.
+     */
+    public UpdateState getUpdateState() {
+        return updateState;
+    }
+
+    /**
+     * Writes the current value of the field.
+     */
     public final void write(RegistryFriendlyByteBuf data) {
-        T currentValue = getCurrentValue();
-        this.clientVersion = currentValue;
-        this.writeValue(data, currentValue);
+        writeAndRemember(data, getCurrentValue());
+    }
+
+    /**
+     * Writes the value seen by the last {@link #checkForUpdate}, without reading the field again.
+     */
+    public final void writeUpdate(RegistryFriendlyByteBuf data) {
+        writeAndRemember(data, this.lastSeenValue);
+    }
+
+    private void writeAndRemember(RegistryFriendlyByteBuf data, T value) {
+        this.clientVersion = value;
+        this.lastSentTick = this.lastCheckTick;
+        this.updateState = UpdateState.NONE;
+        this.writeValue(data, value);
     }
 
     public final void read(RegistryFriendlyByteBuf data) {
         T value = readValue(data);
         try {
-            setter.invoke(source, value);
+            setter.invokeExact(source, (Object) value);
         } catch (Throwable throwable) {
             throw new RuntimeException(throwable);
         }
     }
 
+    /**
+     * @return True if the change from the value known to the client is too small to be sent while the value is still
+     *         changing.
+     */
+    protected boolean isSmallChange(T clientValue, T currentValue) {
+        return false;
+    }
+
     protected abstract void writeValue(RegistryFriendlyByteBuf data, T value);
 
     protected abstract T readValue(RegistryFriendlyByteBuf data);
 
-    public static SynchronizedField<?> create(Object source, Field field) {
+    private static SynchronizedField<?> createForType(Object source, Field field) {
         Class<?> fieldType = field.getType();
 
         if (PacketWritable.class.isAssignableFrom(fieldType)) {
@@ -119,10 +187,38 @@ public static SynchronizedField<?> create(Object source, Field field) {
         }
     }
 
+    public static SynchronizedField<?> create(Object source, Field field) {
+        var result = createForType(source, field);
+        var annotation = field.getAnnotation(GuiSync.class);
+        if (annotation != null && annotation.minDelta() > 0 && !(result instanceof NumericField)) {
+            throw new IllegalArgumentException("Field " + field + " is not numeric and cannot use minDelta");
+        }
+        return result;
+    }
+
     private static <T extends Enum<T>> EnumField<T> createEnumField(Object source, Field field, Class<T> fieldType) {
         return new EnumField<>(source, field, fieldType.getEnumConstants());
     }
 
+    private abstract static class NumericField<T extends Number> extends SynchronizedField<T> {
+        private final double minDelta;
+
+        private NumericField(Object source, Field field) {
+            super(source, field);
+            var annotation = field.getAnnotation(GuiSync.class);
+            this.minDelta = annotation != null ? annotation.minDelta() : 0;
+        }
+
+        @Override
+        protected boolean isSmallChange(T clientValue, T currentValue) {
+            return this.minDelta > 0 && getDistance(clientValue, currentValue) < this.minDelta;
+        }
+
+        private double getDistance(T a, T b) {
+            return Math.abs(a.doubleValue() - b.doubleValue());
+        }
+    }
+
     private static class StringField extends SynchronizedField<String> {
         private StringField(Object source, Field field) {
             super(source, field);
@@ -139,7 +235,7 @@ protected String readValue(RegistryFriendlyByteBuf data) {
         }
     }
 
-    private static class IntegerField extends SynchronizedField<Integer> {
+    private static class IntegerField extends NumericField<Integer> {
         private IntegerField(Object source, Field field) {
             super(source, field);
         }
@@ -155,7 +251,7 @@ protected Integer readValue(RegistryFriendlyByteBuf data) {
         }
     }
 
-    private static class LongField extends SynchronizedField<Long> {
+    private static class LongField extends NumericField<Long> {
         private LongField(Object source, Field field) {
             super(source, field);
         }
@@ -171,7 +267,7 @@ protected Long readValue(RegistryFriendlyByteBuf data) {
         }
     }
 
-    private static class DoubleField extends SynchronizedField<Double> {
+    private static class DoubleField extends NumericField<Double> {
         private DoubleField(Object source, Field field) {
             super(source, field);
         }
@@ -338,4 +434,18 @@ private static Function<RegistryFriendlyByteBuf, Object> getFactory(Class<?> cla
         }
     }
 
+    public enum UpdateState {
+        /**
+         * The client is up to date, or the field may not be sent yet.
+         */
+        NONE,
+        /**
+         * The field changed by less than its minimum delta. It will be sent along with other fields.
+         */
+        DEFERRED,
+        /**
+         * The field should be sent now.
+         */
+        READY
+    }
 }
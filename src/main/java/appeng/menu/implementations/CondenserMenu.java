@@ -43,7 +43,7 @@ public class CondenserMenu extends AEBaseMenu implements IProgressProvider {
     private final CondenserBlockEntity condenser;
     @GuiSync(0)
     public long requiredEnergy = 0;
-    @GuiSync(1)
+    @GuiSync(value = 1, minInterval = 4)
     public long storedPower = 0;
     @GuiSync(2)
     public CondenserOutput output = CondenserOutput.TRASH;
@@ -56,7 +56,7 @@ public class InscriberMenu extends UpgradeableMenu<InscriberBlockEntity> impleme
     @GuiSync(2)
     public int maxProcessingTime = -1;
 
-    @GuiSync(3)
+    @GuiSync(value = 3, minInterval = 2)
     public int processingTime = -1;
 
     @GuiSync(7)
@@ -45,7 +45,7 @@ public class MolecularAssemblerMenu extends UpgradeableMenu<MolecularAssemblerBl
 
     private static final int MAX_CRAFT_PROGRESS = 100;
     private final MolecularAssemblerBlockEntity molecularAssembler;
-    @GuiSync(4)
+    @GuiSync(value = 4, minDelta = 5)
     public int craftProgress = 0;
 
     private Slot encodedPatternSlot;
@@ -30,6 +30,7 @@
 
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.entity.player.Inventory;
+import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.inventory.MenuType;
 import net.minecraft.world.inventory.Slot;
 import net.minecraft.world.item.ItemStack;
@@ -56,6 +57,8 @@
 import appeng.core.network.clientbound.SetLinkStatusPacket;
 import appeng.helpers.InventoryAction;
 import appeng.helpers.patternprovider.PatternContainer;
+import appeng.helpers.patternprovider.PatternProviderLogicHost;
+import appeng.me.service.PatternContainerService;
 import appeng.menu.AEBaseMenu;
 import appeng.menu.guisync.GuiSync;
 import appeng.menu.guisync.LinkStatusAwareMenu;
@@ -88,6 +91,11 @@ public ShowPatternProviders getShownProviders() {
     // We use this serial number to uniquely identify all inventories we send to the client
     // It is used in packets sent by the client to interact with these inventories
     private static long inventorySerial = Long.MIN_VALUE;
+    /**
+     * The group of a pattern provider depends on the adjacent machine, which can change its name or icon without
+     * notifying the provider. The groups of all shown containers are therefore compared every so often.
+     */
+    private static final int GROUP_CHECK_INTERVAL = 20;
     private final Map<PatternContainer, ContainerTracker> diList = new IdentityHashMap<>();
     private final Long2ObjectOpenHashMap<ContainerTracker> byId = new Long2ObjectOpenHashMap<>();
     /**
@@ -95,6 +103,20 @@ public ShowPatternProviders getShownProviders() {
      * {@link ShowPatternProviders#NOT_FULL}.
      */
     private final Set<PatternContainer> pinnedHosts = Collections.newSetFromMap(new IdentityHashMap<>());
+    /**
+     * Containers that published changes since the last update.
+     */
+    private final Set<PatternContainer> changedContainers = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final PatternContainerService.Listener changeListener = changedContainers::add;
+    /**
+     * Containers that don't publish their changes, whether they are shown or not.
+     */
+    private final List<PatternContainer> polledContainers = new ArrayList<>();
+    @Nullable
+    private IGrid subscribedGrid;
+    private long lastContainersVersion;
+    private boolean fullUpdateNeeded = true;
+    private int ticksUntilGroupCheck = GROUP_CHECK_INTERVAL;
 
     public PatternAccessTermMenu(int id, Inventory ip, IPatternAccessTermMenuHost anchor) {
         this(TYPE, id, ip, anchor, true);
@@ -109,13 +131,13 @@ public PatternAccessTermMenu(MenuType<?> menuType, int id, Inventory ip, IPatter
         }
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     public void broadcastChanges() {
         if (isClientSide()) {
             return;
         }
 
+        var previousShownProviders = showPatternProviders;
         showPatternProviders = this.host.getConfigManager().getSetting(Settings.TERMINAL_SHOW_PATTERN_PROVIDERS);
 
         super.broadcastChanges();
@@ -127,28 +149,59 @@ public void broadcastChanges() {
         }
 
         IGrid grid = getGrid();
+        if (grid != this.subscribedGrid) {
+            subscribe(grid);
+            this.fullUpdateNeeded = true;
+        }
 
-        var state = new VisitorState();
-        if (grid != null) {
-            for (var machineClass : grid.getMachineClasses()) {
-                if (PatternContainer.class.isAssignableFrom(machineClass)) {
-                    visitPatternProviderHosts(grid, (Class<? extends PatternContainer>) machineClass, state);
-                }
-            }
+        var containersVersion = grid != null ? getContainersVersion(grid) : 0;
+        if (containersVersion != this.lastContainersVersion || previousShownProviders != showPatternProviders) {
+            this.lastContainersVersion = containersVersion;
+            this.fullUpdateNeeded = true;
+        }
 
-            // Ensure we don't keep references to removed hosts
-            pinnedHosts.removeIf(host -> host.getGrid() != grid);
-        } else {
-            pinnedHosts.clear();
+        if (!this.fullUpdateNeeded) {
+            this.fullUpdateNeeded = !sendIncrementalUpdate();
         }
 
-        if (state.total != this.diList.size() || state.forceFullUpdate) {
+        if (this.fullUpdateNeeded) {
+            this.fullUpdateNeeded = false;
+            this.changedContainers.clear();
             sendFullUpdate(grid);
-        } else {
-            sendIncrementalUpdate();
         }
     }
 
+    @Override
+    public void removed(Player player) {
+        super.removed(player);
+        subscribe(null);
+    }
+
+    private void subscribe(@Nullable IGrid grid) {
+        if (this.subscribedGrid != null) {
+            PatternContainerService.get(this.subscribedGrid).removeListener(this.changeListener);
+        }
+        this.subscribedGrid = grid;
+        if (grid != null) {
+            PatternContainerService.get(grid).addListener(this.changeListener);
+        }
+    }
+
+    /**
+     * @return A value that changes whenever a pattern container joins or leaves the grid, or becomes active or
+     *         inactive.
+     */
+    private static long getContainersVersion(IGrid grid) {
+        // Classes of containers only disappear from the grid if containers leave it, which changes the first part
+        long version = PatternContainerService.get(grid).getContainersVersion();
+        for (var machineClass : grid.getMachineClasses()) {
+            if (PatternContainer.class.isAssignableFrom(machineClass)) {
+                version = 31 * version + grid.getMachinesVersion(machineClass);
+            }
+        }
+        return version;
+    }
+
     @Nullable
     private IGrid getGrid() {
         var agn = host.getGridNode();
@@ -162,13 +215,6 @@ public ILinkStatus getLinkStatus() {
         return linkStatus;
     }
 
-    private static class VisitorState {
-        // Total number of pattern provider hosts found
-        int total;
-        // Set to true if any visited machines were missing from diList, or had a different name
-        boolean forceFullUpdate;
-    }
-
     private boolean isFull(PatternContainer logic) {
         for (int i = 0; i < logic.getTerminalPatternInventory().size(); i++) {
             if (logic.getTerminalPatternInventory().getStackInSlot(i).isEmpty()) {
@@ -188,26 +234,6 @@ private boolean isVisible(PatternContainer container) {
         };
     }
 
-    private <T extends PatternContainer> void visitPatternProviderHosts(IGrid grid, Class<T> machineClass,
-            VisitorState state) {
-        for (var container : grid.getActiveMachines(machineClass)) {
-            if (!isVisible(container)) {
-                continue;
-            }
-
-            if (getShownProviders() == ShowPatternProviders.NOT_FULL) {
-                pinnedHosts.add(container);
-            }
-
-            var t = this.diList.get(container);
-            if (t == null || !t.group.equals(container.getTerminalGroup())) {
-                state.forceFullUpdate = true;
-            }
-
-            state.total++;
-        }
-    }
-
     @Override
     public void doAction(ServerPlayer player, InventoryAction action, int slot, long id) {
         final ContainerTracker inv = this.byId.get(id);
@@ -343,13 +369,18 @@ public void quickMovePattern(ServerPlayer player, int clickedSlot, List<Long> al
     private void sendFullUpdate(@Nullable IGrid grid) {
         this.byId.clear();
         this.diList.clear();
+        this.polledContainers.clear();
 
         sendPacketToClient(new ClearPatternAccessTerminalPacket());
 
         if (grid == null) {
+            pinnedHosts.clear();
             return;
         }
 
+        // Ensure we don't keep references to removed hosts
+        pinnedHosts.removeIf(host -> host.getGrid() != grid);
+
         for (var machineClass : grid.getMachineClasses()) {
             var containerClass = tryCastMachineToContainer(machineClass);
             if (containerClass == null) {
@@ -357,10 +388,19 @@ private void sendFullUpdate(@Nullable IGrid grid) {
             }
 
             for (var container : grid.getActiveMachines(containerClass)) {
+                if (!(container instanceof PatternProviderLogicHost)) {
+                    // Other containers don't publish their changes, so they have to be checked every tick
+                    this.polledContainers.add(container);
+                }
+
                 if (isVisible(container)) {
-                    this.diList.put(container, new ContainerTracker(container,
+                    if (getShownProviders() == ShowPatternProviders.NOT_FULL) {
+                        pinnedHosts.add(container);
+                    }
+                    var tracker = new ContainerTracker(container,
                             container.getTerminalPatternInventory(),
-                            container.getTerminalGroup()));
+                            container.getTerminalGroup());
+                    this.diList.put(container, tracker);
                 }
             }
         }
@@ -371,13 +411,57 @@ private void sendFullUpdate(@Nullable IGrid grid) {
         }
     }
 
-    private void sendIncrementalUpdate() {
-        for (var inv : this.diList.values()) {
-            var packet = inv.createUpdatePacket();
-            if (packet != null) {
-                sendPacketToClient(packet);
+    /**
+     * Sends the changes of the containers that published changes since the last update, and of the containers that
+     * are polled.
+     *
+     * @return False if a full update is needed instead, because a container was shown or hidden, or changed its group.
+     */
+    private boolean sendIncrementalUpdate() {
+        for (var container : this.changedContainers) {
+            var tracker = this.diList.get(container);
+            if (tracker == null) {
+                // Containers that aren't shown only matter if they should be shown now
+                if (container.getGrid() == this.subscribedGrid && isVisible(container)) {
+                    return false;
+                }
+            } else if (!isVisible(container) || !tracker.group.equals(container.getTerminalGroup())) {
+                return false;
+            } else {
+                sendUpdatePacket(tracker);
+            }
+        }
+        this.changedContainers.clear();
+
+        for (var container : this.polledContainers) {
+            var tracker = this.diList.get(container);
+            if (tracker == null) {
+                if (isVisible(container)) {
+                    return false;
+                }
+            } else if (!isVisible(container) || !tracker.group.equals(container.getTerminalGroup())) {
+                return false;
+            } else {
+                sendUpdatePacket(tracker);
             }
         }
+
+        if (--this.ticksUntilGroupCheck <= 0) {
+            this.ticksUntilGroupCheck = GROUP_CHECK_INTERVAL;
+            for (var tracker : this.diList.values()) {
+                if (!tracker.group.equals(tracker.container.getTerminalGroup())) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private void sendUpdatePacket(ContainerTracker tracker) {
+        var packet = tracker.createUpdatePacket();
+        if (packet != null) {
+            sendPacketToClient(packet);
+        }
     }
 
     private static class ContainerTracker {
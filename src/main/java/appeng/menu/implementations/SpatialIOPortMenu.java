@@ -53,6 +53,11 @@ public class SpatialIOPortMenu extends AEBaseMenu {
     public int ySize;
     @GuiSync(33)
     public int zSize;
+    /**
+     * Progress of the current transfer in percent, or -1 if none is in progress.
+     */
+    @GuiSync(34)
+    public int transferProgress = -1;
 
     public SpatialIOPortMenu(int id, Inventory ip, SpatialIOPortBlockEntity spatialIOPort) {
         super(TYPE, id, ip, spatialIOPort);
@@ -71,9 +76,13 @@ public void broadcastChanges() {
         if (isServerSide()) {
             this.delay++;
 
-            var gridNode = ((SpatialIOPortBlockEntity) getBlockEntity()).getGridNode();
+            var spatialIOPort = (SpatialIOPortBlockEntity) getBlockEntity();
+            var gridNode = spatialIOPort.getGridNode();
             var grid = gridNode != null ? gridNode.getGrid() : null;
 
+            var progress = spatialIOPort.getTransferProgress();
+            this.transferProgress = progress >= 0 ? (int) (progress * 100) : -1;
+
             if (this.delay > 15 && grid != null) {
                 this.delay = 0;
 
@@ -32,6 +32,7 @@
 import net.minecraft.world.item.ItemStack;
 
 import appeng.api.stacks.AEKey;
+import appeng.me.service.helpers.InventoryChangeJournal;
 
 /**
  * This utility class helps menus that need to send a list of information that is grouped by {@link AEKey} to the client
@@ -57,6 +58,13 @@ public class IncrementalUpdateHelper implements Iterable<AEKey> {
      */
     private boolean fullUpdate = true;
 
+    /**
+     * The journal we last read changes from, and the version we read up to.
+     */
+    @Nullable
+    private InventoryChangeJournal journal;
+    private long journalVersion;
+
     public IncrementalUpdateHelper() {
         this.mapping = HashBiMap.create();
     }
@@ -92,6 +100,7 @@ public void reset() {
         clear();
         this.serial = 0;
         this.mapping.clear();
+        this.journal = null;
     }
 
     public void addChange(AEKey entry) {
@@ -101,6 +110,40 @@ public void addChange(AEKey entry) {
         }
     }
 
+    /**
+     * Queues the keys that changed in the given journal since this helper last read from it.
+     *
+     * @return False if the journal could not provide all changes, i.e. because this helper did not previously read from
+     *         it. The caller has to queue changes for all relevant keys itself in that case, for example by using
+     *         {@link #addChangesForKnownKeys()}.
+     */
+    public boolean addChangesFrom(InventoryChangeJournal journal) {
+        if (journal != this.journal) {
+            this.journal = journal;
+            this.journalVersion = journal.startRecording();
+            return false;
+        }
+
+        var complete = journal.getChangesSince(journalVersion, this::addChange);
+        this.journalVersion = journal.getVersion();
+        return complete;
+    }
+
+    /**
+     * Forgets the journal that was last read from, which means the next call to {@link #addChangesFrom} will require
+     * a full resynchronization.
+     */
+    public void forgetJournal() {
+        this.journal = null;
+    }
+
+    /**
+     * Queues a change for every key that was previously sent to the client, so that their current state is sent again.
+     */
+    public void addChangesForKnownKeys() {
+        changes.addAll(mapping.keySet());
+    }
+
     /**
      * Removes the serial mapping for the given key. Will lead to a new serial being generated the next time this
      * particular key is used.
@@ -75,8 +75,11 @@
 import appeng.core.network.clientbound.MEInventoryUpdatePacket;
 import appeng.core.network.clientbound.SetLinkStatusPacket;
 import appeng.core.network.serverbound.MEInteractionPacket;
+import appeng.helpers.IGridTerminalHost;
 import appeng.helpers.InventoryAction;
 import appeng.me.helpers.ActionHostEnergySource;
+import appeng.me.service.CraftingService;
+import appeng.me.service.StorageService;
 import appeng.menu.AEBaseMenu;
 import appeng.menu.SlotSemantics;
 import appeng.menu.ToolboxMenu;
@@ -150,7 +153,18 @@ public class MEStorageMenu extends AEBaseMenu
      * The last set of craftables sent to the client.
      */
     private Set<AEKey> previousCraftables = Collections.emptySet();
+    /**
+     * The crafting service {@link #previousCraftables} were retrieved from, and its modification count at the time.
+     */
+    @Nullable
+    private CraftingService previousCraftablesSource;
+    private long previousCraftablesModificationCount;
     private KeyCounter previousAvailableStacks = new KeyCounter();
+    /**
+     * True if {@link #previousAvailableStacks} is the cached inventory shared by all terminals of a grid, which must
+     * not be modified.
+     */
+    private boolean previousAvailableStacksShared;
 
     public MEStorageMenu(MenuType<?> menuType, int id, Inventory ip, ITerminalHost host) {
         this(menuType, id, ip, host, true);
@@ -251,22 +265,43 @@ public void broadcastChanges() {
             }
 
             var craftables = getCraftablesFromGrid();
-            var availableStacks = storage.getAvailableStacks();
+            var storageService = getTerminalStorageService();
 
             // This is currently not supported/backed by any network service
             var requestables = new KeyCounter();
 
+            KeyCounter availableStacks;
             try {
                 // Craftables
-                // Newly craftable
-                Sets.difference(previousCraftables, craftables).forEach(updateHelper::addChange);
-                // No longer craftable
-                Sets.difference(craftables, previousCraftables).forEach(updateHelper::addChange);
+                if (craftables != previousCraftables) {
+                    // Newly craftable
+                    Sets.difference(previousCraftables, craftables).forEach(updateHelper::addChange);
+                    // No longer craftable
+                    Sets.difference(craftables, previousCraftables).forEach(updateHelper::addChange);
+                }
 
                 // Available changes
-                previousAvailableStacks.removeAll(availableStacks);
-                previousAvailableStacks.removeZeros();
-                previousAvailableStacks.keySet().forEach(updateHelper::addChange);
+                if (storageService != null) {
+                    // Share the cached inventory of the grid with all other terminals, and only look at the keys
+                    // that changed since our last update
+                    availableStacks = storageService.getTerminalInventory();
+                    if (!updateHelper.addChangesFrom(storageService.getChangeJournal())) {
+                        updateHelper.addChangesForKnownKeys();
+                        availableStacks.keySet().forEach(updateHelper::addChange);
+                    }
+                } else {
+                    availableStacks = storage.getAvailableStacks();
+                    if (previousAvailableStacksShared) {
+                        // We switched away from the grid's inventory, resend everything
+                        updateHelper.forgetJournal();
+                        updateHelper.addChangesForKnownKeys();
+                        availableStacks.keySet().forEach(updateHelper::addChange);
+                    } else {
+                        previousAvailableStacks.removeAll(availableStacks);
+                        previousAvailableStacks.removeZeros();
+                        previousAvailableStacks.keySet().forEach(updateHelper::addChange);
+                    }
+                }
 
                 if (updateHelper.hasChanges()) {
                     var builder = MEInventoryUpdatePacket
@@ -279,10 +314,17 @@ public void broadcastChanges() {
 
             } catch (Exception e) {
                 AELog.warn(e, "Failed to send incremental inventory update to client");
+                // Start from scratch on the next update
+                updateHelper.forgetJournal();
+                availableStacks = new KeyCounter();
+                storageService = null;
             }
 
-            previousCraftables = ImmutableSet.copyOf(craftables);
+            if (craftables != previousCraftables) {
+                previousCraftables = ImmutableSet.copyOf(craftables);
+            }
             previousAvailableStacks = availableStacks;
+            previousAvailableStacksShared = storageService != null;
 
             super.broadcastChanges();
         }
@@ -316,11 +358,40 @@ private Set<AEKey> getCraftablesFromGrid() {
         }
 
         if (hostNode != null && hostNode.isActive()) {
-            return hostNode.getGrid().getCraftingService().getCraftables(this::isKeyVisible);
+            var craftingService = hostNode.getGrid().getCraftingService();
+            if (craftingService instanceof CraftingService service) {
+                // Skip rebuilding the set if the craftables of the grid didn't change
+                var modificationCount = service.getCraftablesModificationCount();
+                if (service == previousCraftablesSource
+                        && modificationCount == previousCraftablesModificationCount) {
+                    return previousCraftables;
+                }
+                previousCraftablesSource = service;
+                previousCraftablesModificationCount = modificationCount;
+            } else {
+                previousCraftablesSource = null;
+            }
+            return craftingService.getCraftables(this::isKeyVisible);
         }
+        previousCraftablesSource = null;
         return Collections.emptySet();
     }
 
+    /**
+     * @return The storage service of the grid whose network inventory is shown by this terminal, or null if it
+     *         doesn't show a grid's network inventory.
+     */
+    @Nullable
+    private StorageService getTerminalStorageService() {
+        if (host instanceof IGridTerminalHost gridTerminalHost) {
+            var grid = gridTerminalHost.getTerminalGrid();
+            if (grid != null && grid.getStorageService() instanceof StorageService storageService) {
+                return storageService;
+            }
+        }
+        return null;
+    }
+
     private void updateActiveCraftingJobs() {
         IGridNode hostNode = getGridNode();
         IGrid grid = null;
@@ -709,7 +780,8 @@ public boolean hasIngredient(Ingredient ingredient, Object2IntOpenHashMap<Object
     }
 
     /**
-     * @return The stacks available in the storage as determined the last time this menu was ticked.
+     * @return The stacks available in the storage as determined the last time this menu was ticked. <strong>Do not
+     *         modify!</strong> This may be the cached inventory shared by all terminals of a grid.
      */
     protected final KeyCounter getPreviousAvailableStacks() {
         Preconditions.checkState(isServerSide());
@@ -18,7 +18,7 @@
 
 package appeng.menu.me.crafting;
 
-import java.util.function.Consumer;
+import java.util.Map;
 
 import net.minecraft.network.chat.Component;
 import net.minecraft.world.entity.player.Inventory;
@@ -61,7 +61,11 @@ public class CraftingCPUMenu extends AEBaseMenu {
     private final IncrementalUpdateHelper incrementalUpdateHelper = new IncrementalUpdateHelper();
     private final IGrid grid;
     private CraftingCPUCluster cpu = null;
-    private final Consumer<AEKey> cpuChangeListener = incrementalUpdateHelper::addChange;
+    private SharedCraftingStatus sharedStatus = null;
+    /**
+     * Serial of the last shared status update that was queued for the client, or -1 if none was.
+     */
+    private long lastUpdateSerial = -1;
 
     @GuiSync(0)
     public CpuSelectionMode schedulingMode = CpuSelectionMode.ANY;
@@ -94,8 +98,9 @@ protected void setCPU(ICraftingCPU c) {
             return;
         }
 
-        if (this.cpu != null) {
-            this.cpu.craftingLogic.removeListener(cpuChangeListener);
+        if (this.sharedStatus != null) {
+            this.sharedStatus.release();
+            this.sharedStatus = null;
         }
 
         this.incrementalUpdateHelper.reset();
@@ -104,13 +109,11 @@ protected void setCPU(ICraftingCPU c) {
             this.cpu = (CraftingCPUCluster) c;
 
             // Initially send all items as a full-update to the client when the CPU changes
-            var allItems = new KeyCounter();
-            cpu.craftingLogic.getAllItems(allItems);
-            for (var entry : allItems) {
-                incrementalUpdateHelper.addChange(entry.getKey());
-            }
+            addChangesForAllItems();
 
-            this.cpu.craftingLogic.addListener(cpuChangeListener);
+            this.sharedStatus = this.cpu.craftingLogic.getSharedStatus();
+            this.sharedStatus.acquire();
+            this.lastUpdateSerial = -1;
         } else {
             this.cpu = null;
             // Clear the crafting status
@@ -118,6 +121,14 @@ protected void setCPU(ICraftingCPU c) {
         }
     }
 
+    private void addChangesForAllItems() {
+        var allItems = new KeyCounter();
+        cpu.craftingLogic.getAllItems(allItems);
+        for (var entry : allItems) {
+            incrementalUpdateHelper.addChange(entry.getKey());
+        }
+    }
+
     public void cancelCrafting() {
         if (isClientSide()) {
             sendClientAction(ACTION_CANCEL_CRAFTING);
@@ -131,8 +142,9 @@ public void cancelCrafting() {
     @Override
     public void removed(Player player) {
         super.removed(player);
-        if (this.cpu != null) {
-            this.cpu.craftingLogic.removeListener(cpuChangeListener);
+        if (this.sharedStatus != null) {
+            this.sharedStatus.release();
+            this.sharedStatus = null;
         }
     }
 
@@ -142,8 +154,24 @@ public void broadcastChanges() {
             this.schedulingMode = this.cpu.getSelectionMode();
             this.cantStoreItems = this.cpu.craftingLogic.isCantStoreItems();
 
+            Map<AEKey, SharedCraftingStatus.Amounts> knownAmounts = Map.of();
+            var update = this.sharedStatus != null ? this.sharedStatus.poll() : null;
+            if (update != null && update.serial() != this.lastUpdateSerial) {
+                if (this.lastUpdateSerial != -1 && update.serial() != this.lastUpdateSerial + 1) {
+                    // An update was missed, so resend everything
+                    this.incrementalUpdateHelper.addChangesForKnownKeys();
+                    addChangesForAllItems();
+                }
+                for (var what : update.amounts().keySet()) {
+                    this.incrementalUpdateHelper.addChange(what);
+                }
+                this.lastUpdateSerial = update.serial();
+                knownAmounts = update.amounts();
+            }
+
             if (this.incrementalUpdateHelper.hasChanges()) {
-                CraftingStatus status = CraftingStatus.create(this.incrementalUpdateHelper, this.cpu.craftingLogic);
+                CraftingStatus status = CraftingStatus.create(this.incrementalUpdateHelper, this.cpu.craftingLogic,
+                        knownAmounts);
                 this.incrementalUpdateHelper.commitChanges();
 
                 sendPacketToClient(new CraftingStatusPacket(containerId, status));
@@ -20,11 +20,13 @@
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import com.google.common.collect.ImmutableList;
 
 import net.minecraft.network.RegistryFriendlyByteBuf;
 
+import appeng.api.stacks.AEKey;
 import appeng.crafting.execution.CraftingCpuLogic;
 import appeng.crafting.execution.ElapsedTimeTracker;
 import appeng.menu.me.common.IncrementalUpdateHelper;
@@ -109,15 +111,23 @@ public static CraftingStatus read(RegistryFriendlyByteBuf buffer) {
         return new CraftingStatus(fullStatus, elapsedTime, remainingItemCount, startItemCount, List.copyOf(entries));
     }
 
-    public static CraftingStatus create(IncrementalUpdateHelper changes, CraftingCpuLogic logic) {
+    /**
+     * @param knownAmounts Amounts that were already looked up for some of the changed keys.
+     */
+    static CraftingStatus create(IncrementalUpdateHelper changes, CraftingCpuLogic logic,
+            Map<AEKey, SharedCraftingStatus.Amounts> knownAmounts) {
 
         boolean full = changes.isFullUpdate();
 
         ImmutableList.Builder<CraftingStatusEntry> newEntries = ImmutableList.builder();
         for (var what : changes) {
-            long storedCount = logic.getStored(what);
-            long activeCount = logic.getWaitingFor(what);
-            long pendingCount = logic.getPendingOutputs(what);
+            var amounts = knownAmounts.get(what);
+            if (amounts == null) {
+                amounts = SharedCraftingStatus.Amounts.of(logic, what);
+            }
+            long storedCount = amounts.stored();
+            long activeCount = amounts.active();
+            long pendingCount = amounts.pending();
 
             var sentStack = what;
             if (!full && changes.getSerial(what) != null) {
@@ -0,0 +1,118 @@
+package appeng.menu.me.crafting;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.jetbrains.annotations.Nullable;
+
+import appeng.api.stacks.AEKey;
+import appeng.crafting.execution.CraftingCpuLogic;
+import appeng.hooks.ticking.TickHandler;
+
+/**
+ * Collects the changes of a crafting CPU on behalf of all menus that show it. The amounts of the changed keys are looked
+ * up once per update and shared by all viewers, instead of every viewer tracking and looking up the changes itself.
+ * <p/>
+ * The more players view the same CPU, the less often updates are produced, to bound the cost of sending them.
+ * <p/>
+ * Each CPU owns one instance, see {@link CraftingCpuLogic#getSharedStatus()}.
+ */
+public final class SharedCraftingStatus {
+    /**
+     * Every this many viewers, the interval between updates grows by one tick.
+     */
+    private static final int VIEWERS_PER_TICK_OF_DELAY = 4;
+    private static final int MAX_UPDATE_INTERVAL = 10;
+
+    private final CraftingCpuLogic logic;
+    private final Set<AEKey> changes = new LinkedHashSet<>();
+    private final Consumer<AEKey> listener = changes::add;
+    private int viewers;
+
+    private long lastUpdateTick = -MAX_UPDATE_INTERVAL;
+    /**
+     * Incremented with every update, so that viewers can detect when they missed one.
+     */
+    private long updateSerial;
+    private Update lastUpdate = new Update(0, Map.of());
+
+    public SharedCraftingStatus(CraftingCpuLogic logic) {
+        this.logic = logic;
+    }
+
+    /**
+     * Registers a viewer of the CPU. Every call must be followed by a call to {@link #release()}.
+     */
+    void acquire() {
+        if (viewers++ == 0) {
+            logic.addListener(listener);
+        }
+    }
+
+    void release() {
+        if (viewers <= 0) {
+            throw new IllegalStateException("Released more often than acquired");
+        }
+        if (--viewers == 0) {
+            // Stop collecting changes while nobody is watching, the next viewer starts with a full update anyway
+            logic.removeListener(listener);
+            changes.clear();
+            lastUpdate = new Update(updateSerial, Map.of());
+            lastUpdateTick = -MAX_UPDATE_INTERVAL;
+        }
+    }
+
+    int getViewers() {
+        return viewers;
+    }
+
+    /**
+     * Returns the update for the current tick, computing it if this is the first viewer to ask for it.
+     *
+     * @return Null if no update is due in the current tick.
+     */
+    @Nullable
+    Update poll() {
+        return poll(TickHandler.instance().getCurrentTick());
+    }
+
+    @Nullable
+    Update poll(long currentTick) {
+        if (currentTick == lastUpdateTick) {
+            return lastUpdate;
+        }
+        if (currentTick - lastUpdateTick < getUpdateInterval()) {
+            return null;
+        }
+
+        var amounts = new LinkedHashMap<AEKey, Amounts>(changes.size());
+        for (var what : changes) {
+            amounts.put(what, Amounts.of(logic, what));
+        }
+        changes.clear();
+
+        lastUpdateTick = currentTick;
+        lastUpdate = new Update(++updateSerial, amounts);
+        return lastUpdate;
+    }
+
+    private int getUpdateInterval() {
+        return Math.min(MAX_UPDATE_INTERVAL, 1 + (viewers - 1) / VIEWERS_PER_TICK_OF_DELAY);
+    }
+
+    /**
+     * @param serial  Consecutive updates have consecutive serials.
+     * @param amounts The current amounts of the keys that changed since the previous update.
+     */
+    record Update(long serial, Map<AEKey, Amounts> amounts) {
+    }
+
+    record Amounts(long stored, long active, long pending) {
+        static Amounts of(CraftingCpuLogic logic, AEKey what) {
+            return new Amounts(logic.getStored(what), logic.getWaitingFor(what), logic.getPendingOutputs(what));
+        }
+    }
+}
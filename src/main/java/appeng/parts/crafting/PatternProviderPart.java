@@ -151,11 +151,15 @@ public void importSettings(SettingsFrom mode, DataComponentMap input, @Nullable
         if (mode == SettingsFrom.MEMORY_CARD) {
             logic.importSettings(input, player);
         }
+
+        // The custom name may have changed, which is shown as the group in the pattern access terminal
+        logic.notifyPatternContainerChanged();
     }
 
     @Override
     public void onNeighborChanged(BlockGetter level, BlockPos pos, BlockPos neighbor) {
         logic.updateRedstoneState();
+        logic.notifyPatternContainerChanged();
     }
 
     @Override
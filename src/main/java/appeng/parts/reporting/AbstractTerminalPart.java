@@ -21,6 +21,7 @@
 import java.util.List;
 
 import org.jetbrains.annotations.MustBeInvokedByOverriders;
+import org.jetbrains.annotations.Nullable;
 
 import net.minecraft.core.HolderLookup;
 import net.minecraft.nbt.CompoundTag;
@@ -35,6 +36,7 @@
 import appeng.api.config.ViewItems;
 import appeng.api.implementations.blockentities.IViewCellStorage;
 import appeng.api.inventories.InternalInventory;
+import appeng.api.networking.IGrid;
 import appeng.api.parts.IPartItem;
 import appeng.api.storage.ILinkStatus;
 import appeng.api.storage.ITerminalHost;
@@ -44,6 +46,7 @@
 import appeng.api.util.IConfigManagerBuilder;
 import appeng.api.util.KeyTypeSelection;
 import appeng.api.util.KeyTypeSelectionHost;
+import appeng.helpers.IGridTerminalHost;
 import appeng.menu.ISubMenu;
 import appeng.menu.MenuOpener;
 import appeng.menu.locator.MenuLocators;
@@ -63,7 +66,7 @@
  * @since rv3
  */
 public abstract class AbstractTerminalPart extends AbstractDisplayPart
-        implements ITerminalHost, IViewCellStorage, InternalInventoryHost, KeyTypeSelectionHost {
+        implements ITerminalHost, IGridTerminalHost, IViewCellStorage, InternalInventoryHost, KeyTypeSelectionHost {
 
     private final IConfigManager cm;
     private final KeyTypeSelection keyTypeSelection = new KeyTypeSelection(this::saveChanges, keyType -> true);
@@ -163,6 +166,12 @@ public MEStorage getInventory() {
         });
     }
 
+    @Nullable
+    @Override
+    public IGrid getTerminalGrid() {
+        return getMainNode().getGrid();
+    }
+
     @Override
     public ILinkStatus getLinkStatus() {
         return ILinkStatus.ofManagedNode(getMainNode());
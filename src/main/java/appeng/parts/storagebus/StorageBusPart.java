@@ -20,6 +20,7 @@
 
 import java.util.Collections;
 import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.jetbrains.annotations.Nullable;
@@ -295,6 +296,16 @@ public final TickRateModulation tickingRequest(IGridNode node, int ticksSinceLas
                 : TickRateModulation.SLEEP;
     }
 
+    /**
+     * @return Statistics about scanning the adjacent external inventories, for debugging.
+     */
+    public List<CompositeStorage.ScanStatistics> getScanStatistics() {
+        if (this.handler.getDelegate() instanceof CompositeStorage compositeStorage) {
+            return compositeStorage.getScanStatistics();
+        }
+        return List.of();
+    }
+
     /**
      * Used by the menu to configure based on stored contents.
      */
@@ -24,6 +24,7 @@
 import appeng.server.subcommands.ChannelModeCommand;
 import appeng.server.subcommands.ChunkLogger;
 import appeng.server.subcommands.GridsCommand;
+import appeng.server.subcommands.ProfileCommand;
 import appeng.server.subcommands.SetupTestWorldCommand;
 import appeng.server.subcommands.SpatialStorageCommand;
 import appeng.server.subcommands.TestMeteoritesCommand;
@@ -36,6 +37,7 @@ public enum Commands {
     CHANNEL_MODE(4, "channelmode", new ChannelModeCommand()),
     TICK_MONITORING(4, "tickmonitor", new TickMonitoring()),
     GRIDS(4, "grids", new GridsCommand()),
+    PROFILE(4, "profile", new ProfileCommand()),
 
     // Testing
     COMPASS(4, "compass", new TestCompassCommand(), true),
@@ -206,6 +206,17 @@ private void exportGrids(Iterable<Grid> grids, OutputStream out) {
                 }
             }
 
+            // Tick profiles of all grids in the collapsed stack format, which can be rendered as a flame graph
+            var collapsedStacks = new StringBuilder();
+            for (var grid : grids) {
+                grid.getProfile().exportCollapsedStacks("grid_" + grid.getSerialNumber(),
+                        (stack, nanos) -> collapsedStacks.append(stack).append(' ').append(nanos).append('\n'));
+            }
+            if (!collapsedStacks.isEmpty()) {
+                zipOut.putNextEntry(new ZipEntry("profile.folded"));
+                zipOut.write(collapsedStacks.toString().getBytes(StandardCharsets.UTF_8));
+            }
+
             zipOut.putNextEntry(new ZipEntry("chunks/"));
             for (var entry : chunksByLevel.entrySet()) {
                 var level = entry.getKey();
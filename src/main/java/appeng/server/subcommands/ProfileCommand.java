@@ -0,0 +1,140 @@
+package appeng.server.subcommands;
+
+import static net.minecraft.commands.Commands.argument;
+import static net.minecraft.commands.Commands.literal;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+
+import com.mojang.brigadier.LiteralMessage;
+import com.mojang.brigadier.arguments.IntegerArgumentType;
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import com.mojang.brigadier.context.CommandContext;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import com.mojang.brigadier.exceptions.SimpleCommandExceptionType;
+
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.network.chat.Component;
+import net.minecraft.server.MinecraftServer;
+
+import appeng.core.AELog;
+import appeng.hooks.ticking.TickHandler;
+import appeng.me.Grid;
+import appeng.me.GridProfile;
+import appeng.server.ISubCommand;
+import appeng.util.Platform;
+
+/**
+ * Records how much time the grids, their services and their machines take to tick. The full profile is included in
+ * {@link GridsCommand grid exports}.
+ */
+public class ProfileCommand implements ISubCommand {
+    private static final int TOP_GRIDS = 5;
+    private static final int TOP_FRAMES = 3;
+
+    @Override
+    public void addArguments(LiteralArgumentBuilder<CommandSourceStack> builder) {
+        builder.then(literal("start").executes(ctx -> {
+            AELog.info("%s started grid profiling", ctx.getSource());
+            GridProfile.setEnabled(true);
+            ctx.getSource().sendSuccess(() -> Component.literal("Grid profiling started"), true);
+            return 1;
+        }));
+        builder.then(literal("stop").executes(ctx -> {
+            report(ctx.getSource());
+            GridProfile.setEnabled(false);
+            ctx.getSource().sendSuccess(() -> Component.literal("Grid profiling stopped"), true);
+            return 1;
+        }));
+        builder.then(literal("report").executes(ctx -> {
+            report(ctx.getSource());
+            return 1;
+        }).then(argument("gridSerial", IntegerArgumentType.integer()).executes(ctx -> {
+            reportGrid(ctx.getSource(), ctx.getArgument("gridSerial", Integer.class));
+            return 1;
+        })));
+    }
+
+    @Override
+    public void call(MinecraftServer srv, CommandContext<CommandSourceStack> data,
+            CommandSourceStack sender) {
+        sender.sendSuccess(() -> Component.literal("Grid profiling is "
+                + (GridProfile.isEnabled() ? "running" : "stopped")), false);
+    }
+
+    private static void report(CommandSourceStack source) {
+        if (!GridProfile.isEnabled()) {
+            source.sendFailure(Component.literal("Grid profiling is not running"));
+            return;
+        }
+
+        var grids = new ArrayList<Grid>();
+        long totalNanos = 0;
+        for (var grid : TickHandler.instance().getGridList()) {
+            if (grid.getProfile().hasData()) {
+                grids.add(grid);
+                totalNanos += grid.getProfile().getTotalNanos();
+            }
+        }
+        grids.sort(Comparator.comparingLong((Grid grid) -> grid.getProfile().getTotalNanos()).reversed());
+
+        var elapsed = GridProfile.getEnabledNanos();
+        var totalTime = Platform.formatTimeMeasurement(totalNanos);
+        var percentage = elapsed > 0 ? totalNanos * 100.0 / elapsed : 0;
+        source.sendSuccess(() -> Component.literal(String.format("%d grids took %s in %s (%.2f%%)",
+                grids.size(), totalTime, Platform.formatTimeMeasurement(elapsed), percentage)), false);
+
+        for (int i = 0; i < Math.min(TOP_GRIDS, grids.size()); i++) {
+            var grid = grids.get(i);
+            var profile = grid.getProfile();
+            source.sendSuccess(() -> Component.literal(String.format("Grid #%d: %s, %s allocated",
+                    grid.getSerialNumber(), Platform.formatTimeMeasurement(profile.getTotalNanos()),
+                    formatBytes(profile.getTotalBytes()))), false);
+
+            var frames = profile.getTopFrames();
+            for (int j = 0; j < Math.min(TOP_FRAMES, frames.size()); j++) {
+                sendFrame(source, frames.get(j));
+            }
+        }
+    }
+
+    private static void reportGrid(CommandSourceStack source, int gridSerial) throws CommandSyntaxException {
+        for (var grid : TickHandler.instance().getGridList()) {
+            if (grid.getSerialNumber() == gridSerial) {
+                var profile = grid.getProfile();
+                source.sendSuccess(() -> Component.literal(String.format("Grid #%d: %s, %s allocated",
+                        gridSerial, Platform.formatTimeMeasurement(profile.getTotalNanos()),
+                        formatBytes(profile.getTotalBytes()))), false);
+                for (var frame : profile.getTopFrames()) {
+                    sendFrame(source, frame);
+                }
+                source.sendSuccess(() -> Component.literal("Use " + GridsCommand.buildExportCommand(gridSerial)
+                        + " to export the per-machine breakdown"), false);
+                return;
+            }
+        }
+
+        throw new SimpleCommandExceptionType(new LiteralMessage("No such grid found")).create();
+    }
+
+    private static void sendFrame(CommandSourceStack source, GridProfile.FrameStats frame) {
+        var mean = frame.calls() > 0 ? frame.nanos() / frame.calls() : 0;
+        source.sendSuccess(() -> Component.literal(String.format("  %s: %s in %d calls (mean %s, max %s), %s",
+                frame.name(), Platform.formatTimeMeasurement(frame.nanos()), frame.calls(),
+                Platform.formatTimeMeasurement(mean), Platform.formatTimeMeasurement(frame.maxNanos()),
+                formatBytes(frame.bytes()))), false);
+    }
+
+    private static String formatBytes(long bytes) {
+        if (!GridProfile.isRecordingAllocations()) {
+            return "n/a";
+        }
+        if (bytes < 1024) {
+            return bytes + " B";
+        } else if (bytes < 1024 * 1024) {
+            return String.format("%.1f KiB", bytes / 1024.0);
+        } else {
+            return String.format("%.1f MiB", bytes / (1024.0 * 1024.0));
+        }
+    }
+}
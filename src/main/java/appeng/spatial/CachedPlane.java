@@ -21,6 +21,8 @@
 import java.util.ArrayList;
 import java.util.List;
 
+import org.jetbrains.annotations.Nullable;
+
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.core.Holder;
@@ -37,11 +39,14 @@
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.level.chunk.LevelChunk;
 import net.minecraft.world.level.chunk.LevelChunkSection;
+import net.minecraft.world.level.chunk.PalettedContainer;
 import net.minecraft.world.level.lighting.LevelLightEngine;
 import net.minecraft.world.ticks.LevelChunkTicks;
 import net.minecraft.world.ticks.ScheduledTick;
 
 import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
 
 import appeng.api.ids.AETags;
 import appeng.api.movable.BlockEntityMoveStrategies;
@@ -68,6 +73,14 @@ public class CachedPlane {
     private final List<BlockPos> updates = new ArrayList<>();
     private final BlockState matrixBlockState;
     private final List<PoiMoveRecord> poiMoveRecords = new ArrayList<>();
+    /**
+     * Sections containing positions that must not be moved, which rules out swapping them as a whole.
+     */
+    private final LongSet skippedSections = new LongOpenHashSet();
+    /**
+     * Positions of block entities that can't be moved.
+     */
+    private final List<BlockPos> skippedBlocks = new ArrayList<>();
 
     public CachedPlane(ServerLevel level, int minX, int minY, int minZ, int maxX,
             int maxY, int maxZ) {
@@ -159,6 +172,8 @@ public CachedPlane(ServerLevel level, int minX, int minY, int minZ, int maxX,
                             level.removeBlock(pos, false);
                         } else {
                             this.myColumns[pos.getX() - minX][pos.getZ() - minZ].setSkip(pos.getY());
+                            this.skippedSections.add(SectionPos.asLong(pos));
+                            this.skippedBlocks.add(pos);
                         }
                     }
                 }
@@ -201,50 +216,23 @@ public CachedPlane(ServerLevel level, int minX, int minY, int minZ, int maxX,
 
     }
 
-    void swap(CachedPlane dst) {
+    /**
+     * @param transfer If not null, the changed chunks are queued in the transfer instead of being sent right away.
+     * @param stager   If not null, the block states of both planes have already been staged by it.
+     */
+    void swap(CachedPlane dst, @Nullable SpatialTransfer transfer, @Nullable SectionStager stager) {
         if (dst.x_size == this.x_size && dst.y_size == this.y_size && dst.z_size == this.z_size) {
             AELog.info("Block Copy Scale: " + this.x_size + ", " + this.y_size + ", " + this.z_size);
 
             long startTime = System.nanoTime();
 
-            for (int x = 0; x < this.x_size; x++) {
-                for (int z = 0; z < this.z_size; z++) {
-                    final Column srcCol = this.myColumns[x][z];
-                    final Column dstCol = dst.myColumns[x][z];
-
-                    for (int y = 0; y < this.y_size; y++) {
-                        var src_y = this.y_offset + y;
-                        var dst_y = dst.y_offset + y;
-
-                        if (srcCol.doNotSkip(src_y) && dstCol.doNotSkip(dst_y)) {
-                            var srcSection = srcCol.getSection(src_y);
-                            var dstSection = dstCol.getSection(dst_y);
-
-                            var srcState = srcSection.getBlockState(srcCol.x, SectionPos.sectionRelative(src_y),
-                                    srcCol.z);
-                            if (srcState == CachedPlane.this.matrixBlockState) {
-                                srcState = Blocks.AIR.defaultBlockState();
-                            }
-                            var dstState = dstSection.getBlockState(dstCol.x, SectionPos.sectionRelative(dst_y),
-                                    dstCol.z);
-                            if (dstState == CachedPlane.this.matrixBlockState) {
-                                dstState = Blocks.AIR.defaultBlockState();
-                            }
-
-                            srcSection.setBlockState(srcCol.x, SectionPos.sectionRelative(src_y), srcCol.z, dstState);
-                            dstSection.setBlockState(dstCol.x, SectionPos.sectionRelative(dst_y), dstCol.z, srcState);
-                        } else {
-                            this.markForUpdate(this.x_offset + x, src_y, this.z_offset + z);
-                            dst.markForUpdate(dst.x_offset + x, dst_y, dst.z_offset + z);
-                        }
-                    }
-                }
+            if (stager != null) {
+                this.applyStagedSections(dst, stager);
+                AELog.info("Block Copy Time: " + (System.nanoTime() - startTime) + " (staged)");
+            } else {
+                this.copyBlocks(dst);
             }
 
-            long endTime = System.nanoTime();
-            long duration = endTime - startTime;
-            AELog.info("Block Copy Time: " + duration);
-
             for (var moveRecord : this.blockEntities) {
                 var pos = moveRecord.blockEntity().getBlockPos();
                 dst.addBlockEntity(pos.getX() - this.x_offset, pos.getY() - this.y_offset,
@@ -277,8 +265,8 @@ void swap(CachedPlane dst) {
             }
 
             startTime = System.nanoTime();
-            this.updateChunks();
-            dst.updateChunks();
+            this.updateChunks(transfer);
+            dst.updateChunks(transfer);
             endTime = System.nanoTime();
 
             duration = endTime - startTime;
@@ -286,6 +274,190 @@ void swap(CachedPlane dst) {
         }
     }
 
+    /**
+     * Copies the block states of both planes block by block, apart from the sections that can be swapped as a whole.
+     */
+    private void copyBlocks(CachedPlane dst) {
+        long startTime = System.nanoTime();
+
+        var swappedSections = this.swapFullSections(dst);
+
+        for (int x = 0; x < this.x_size; x++) {
+            for (int z = 0; z < this.z_size; z++) {
+                final Column srcCol = this.myColumns[x][z];
+                final Column dstCol = dst.myColumns[x][z];
+
+                for (int y = 0; y < this.y_size; y++) {
+                    var src_y = this.y_offset + y;
+                    var dst_y = dst.y_offset + y;
+
+                    if (!swappedSections.isEmpty() && swappedSections.contains(SectionPos.asLong(
+                            SectionPos.blockToSectionCoord(this.x_offset + x),
+                            SectionPos.blockToSectionCoord(src_y),
+                            SectionPos.blockToSectionCoord(this.z_offset + z)))) {
+                        // Skip the rest of the section, it was already swapped as a whole
+                        y += LevelChunkSection.SECTION_HEIGHT - 1 - SectionPos.sectionRelative(src_y);
+                        continue;
+                    }
+
+                    if (srcCol.doNotSkip(src_y) && dstCol.doNotSkip(dst_y)) {
+                        var srcSection = srcCol.getSection(src_y);
+                        var dstSection = dstCol.getSection(dst_y);
+
+                        var srcState = srcSection.getBlockState(srcCol.x, SectionPos.sectionRelative(src_y),
+                                srcCol.z);
+                        if (srcState == CachedPlane.this.matrixBlockState) {
+                            srcState = Blocks.AIR.defaultBlockState();
+                        }
+                        var dstState = dstSection.getBlockState(dstCol.x, SectionPos.sectionRelative(dst_y),
+                                dstCol.z);
+                        if (dstState == CachedPlane.this.matrixBlockState) {
+                            dstState = Blocks.AIR.defaultBlockState();
+                        }
+
+                        srcSection.setBlockState(srcCol.x, SectionPos.sectionRelative(src_y), srcCol.z, dstState);
+                        dstSection.setBlockState(dstCol.x, SectionPos.sectionRelative(dst_y), dstCol.z, srcState);
+                    } else {
+                        this.markForUpdate(this.x_offset + x, src_y, this.z_offset + z);
+                        dst.markForUpdate(dst.x_offset + x, dst_y, dst.z_offset + z);
+                    }
+                }
+            }
+        }
+
+        long endTime = System.nanoTime();
+        long duration = endTime - startTime;
+        AELog.info("Block Copy Time: " + duration + " (" + swappedSections.size() + " full sections)");
+    }
+
+    /**
+     * Replaces the sections of both planes with the block states prepared by the given stager. Block entities that
+     * can't be moved were only found when the planes were created, so they and whatever is at the same position in
+     * the other plane are put back afterwards.
+     */
+    private void applyStagedSections(CachedPlane dst, SectionStager stager) {
+        var keptBlocks = new ArrayList<KeptBlock>();
+        this.keepSkippedBlocks(dst, keptBlocks);
+        dst.keepSkippedBlocks(this, keptBlocks);
+
+        stager.apply(this::replaceSection, dst::replaceSection);
+
+        for (var kept : keptBlocks) {
+            var pos = kept.pos();
+            kept.plane().getSection(pos).setBlockState(SectionPos.sectionRelative(pos.getX()),
+                    SectionPos.sectionRelative(pos.getY()), SectionPos.sectionRelative(pos.getZ()), kept.state());
+            kept.plane().markForUpdate(pos.getX(), pos.getY(), pos.getZ());
+        }
+    }
+
+    private void keepSkippedBlocks(CachedPlane other, List<KeptBlock> keptBlocks) {
+        for (var pos : this.skippedBlocks) {
+            var otherPos = pos.offset(other.x_offset - this.x_offset, other.y_offset - this.y_offset,
+                    other.z_offset - this.z_offset);
+            keptBlocks.add(new KeptBlock(this, pos, this.getBlockState(pos)));
+            keptBlocks.add(new KeptBlock(other, otherPos, other.getBlockState(otherPos)));
+        }
+    }
+
+    private BlockState getBlockState(BlockPos pos) {
+        return getSection(pos).getBlockState(SectionPos.sectionRelative(pos.getX()),
+                SectionPos.sectionRelative(pos.getY()), SectionPos.sectionRelative(pos.getZ()));
+    }
+
+    private LevelChunkSection getSection(BlockPos pos) {
+        var chunk = this.level.getChunk(pos);
+        return chunk.getSection(chunk.getSectionIndex(pos.getY()));
+    }
+
+    private void replaceSection(int sectionX, int sectionY, int sectionZ, PalettedContainer<BlockState> states) {
+        var chunk = this.level.getChunk(sectionX, sectionZ);
+        var sections = chunk.getSections();
+        var index = chunk.getSectionIndexFromSectionY(sectionY);
+        sections[index] = new LevelChunkSection(states, sections[index].getBiomes());
+    }
+
+    /**
+     * Swaps the sections that lie entirely within both planes by exchanging their block state containers, instead of
+     * copying them block by block. This requires both planes to have the same alignment to the section grid. Sections
+     * with blocks that must not be moved, or that contain matrix frames, are left to the per-block copy.
+     * <p/>
+     * Biomes stay where they are, and light is recomputed when the chunks are updated, just like for the blocks that
+     * are copied individually.
+     *
+     * @return The positions of the swapped sections in this plane, as {@link SectionPos#asLong}.
+     */
+    private LongSet swapFullSections(CachedPlane dst) {
+        var swapped = new LongOpenHashSet();
+        if (((dst.x_offset - this.x_offset) & 0xF) != 0 || ((dst.y_offset - this.y_offset) & 0xF) != 0
+                || ((dst.z_offset - this.z_offset) & 0xF) != 0) {
+            return swapped;
+        }
+
+        int sectionOffsetX = SectionPos.blockToSectionCoord(dst.x_offset - this.x_offset);
+        int sectionOffsetY = SectionPos.blockToSectionCoord(dst.y_offset - this.y_offset);
+        int sectionOffsetZ = SectionPos.blockToSectionCoord(dst.z_offset - this.z_offset);
+
+        // The first and last sections that lie entirely within this plane
+        int minSX = SectionPos.blockToSectionCoord(this.x_offset + LevelChunkSection.SECTION_WIDTH - 1);
+        int minSY = SectionPos.blockToSectionCoord(this.y_offset + LevelChunkSection.SECTION_HEIGHT - 1);
+        int minSZ = SectionPos.blockToSectionCoord(this.z_offset + LevelChunkSection.SECTION_WIDTH - 1);
+        int maxSX = SectionPos.blockToSectionCoord(this.x_offset + this.x_size) - 1;
+        int maxSY = SectionPos.blockToSectionCoord(this.y_offset + this.y_size) - 1;
+        int maxSZ = SectionPos.blockToSectionCoord(this.z_offset + this.z_size) - 1;
+
+        for (int sx = minSX; sx <= maxSX; sx++) {
+            for (int sz = minSZ; sz <= maxSZ; sz++) {
+                var srcChunk = this.getChunkForSection(sx, sz);
+                var dstChunk = dst.getChunkForSection(sx + sectionOffsetX, sz + sectionOffsetZ);
+
+                for (int sy = minSY; sy <= maxSY; sy++) {
+                    var srcPos = SectionPos.asLong(sx, sy, sz);
+                    var dstPos = SectionPos.asLong(sx + sectionOffsetX, sy + sectionOffsetY, sz + sectionOffsetZ);
+                    var srcIndex = srcChunk.getSectionIndexFromSectionY(sy);
+                    var dstIndex = dstChunk.getSectionIndexFromSectionY(sy + sectionOffsetY);
+
+                    if (this.canSwapSection(srcChunk, srcIndex, srcPos)
+                            && dst.canSwapSection(dstChunk, dstIndex, dstPos)) {
+                        swapSections(srcChunk, srcIndex, dstChunk, dstIndex);
+                        swapped.add(srcPos);
+                    }
+                }
+            }
+        }
+
+        return swapped;
+    }
+
+    private LevelChunk getChunkForSection(int sectionX, int sectionZ) {
+        var cx = sectionX - SectionPos.blockToSectionCoord(this.x_offset);
+        var cz = sectionZ - SectionPos.blockToSectionCoord(this.z_offset);
+        return this.myChunks[cx][cz];
+    }
+
+    private boolean canSwapSection(LevelChunk chunk, int sectionIndex, long sectionPos) {
+        if (this.skippedSections.contains(sectionPos)) {
+            return false;
+        }
+
+        var section = chunk.getSection(sectionIndex);
+        return !section.maybeHas(state -> state == this.matrixBlockState || state.is(AETags.SPATIAL_BLACKLIST));
+    }
+
+    private static void swapSections(LevelChunk srcChunk, int srcIndex, LevelChunk dstChunk, int dstIndex) {
+        var srcSections = srcChunk.getSections();
+        var dstSections = dstChunk.getSections();
+        var srcSection = srcSections[srcIndex];
+        var dstSection = dstSections[dstIndex];
+
+        // Nothing to do if both are empty
+        if (srcSection.hasOnlyAir() && dstSection.hasOnlyAir()) {
+            return;
+        }
+
+        srcSections[srcIndex] = new LevelChunkSection(dstSection.getStates(), srcSection.getBiomes());
+        dstSections[dstIndex] = new LevelChunkSection(srcSection.getStates(), dstSection.getBiomes());
+    }
+
     private void markForUpdate(int x, int y, int z) {
         this.updates.add(new BlockPos(x, y, z));
         for (Direction d : Direction.values()) {
@@ -363,7 +535,19 @@ private void attemptRecovery(int x, int y, int z, BlockEntityMoveRecord moveReco
         }
     }
 
-    private void updateChunks() {
+    private void updateChunks(@Nullable SpatialTransfer transfer) {
+
+        // The transfer relights the chunks itself before they're sent
+        if (transfer != null) {
+            for (int x = 0; x < this.cx_size; x++) {
+                for (int z = 0; z < this.cz_size; z++) {
+                    final LevelChunk c = this.myChunks[x][z];
+                    c.setUnsaved(true);
+                    transfer.queueChunkUpdate(this.level, c);
+                }
+            }
+            return;
+        }
 
         LevelLightEngine lightManager = level.getLightEngine();
 
@@ -381,14 +565,8 @@ private void updateChunks() {
         // send shit...
         for (int x = 0; x < this.cx_size; x++) {
             for (int z = 0; z < this.cz_size; z++) {
-
                 final LevelChunk c = this.myChunks[x][z];
-
-                ServerCompassService.updateArea(this.getLevel(), c);
-
-                var cdp = Platform.getFullChunkPacket(c);
-                level.getChunkSource().chunkMap.getPlayers(c.getPos(), false)
-                        .forEach(spe -> spe.connection.send(cdp));
+                sendChunkToPlayers(this.level, c);
             }
         }
 
@@ -396,6 +574,14 @@ private void updateChunks() {
         level.getChunkSource().tick(() -> false, false);
     }
 
+    static void sendChunkToPlayers(ServerLevel level, LevelChunk c) {
+        ServerCompassService.updateArea(level, c);
+
+        var cdp = Platform.getFullChunkPacket(c);
+        level.getChunkSource().chunkMap.getPlayers(c.getPos(), false)
+                .forEach(spe -> spe.connection.send(cdp));
+    }
+
     List<BlockPos> getUpdates() {
         return this.updates;
     }
@@ -451,6 +637,9 @@ private record BlockEntityMoveRecord(
             BlockState state) {
     }
 
+    private record KeptBlock(CachedPlane plane, BlockPos pos, BlockState state) {
+    }
+
     private record PoiMoveRecord(
             BlockPos relativePos,
             Holder<PoiType> poiType) {
@@ -0,0 +1,411 @@
+package appeng.spatial;
+
+import java.util.Arrays;
+import java.util.function.Predicate;
+
+import org.jetbrains.annotations.Nullable;
+
+import io.netty.buffer.Unpooled;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+import net.minecraft.world.level.chunk.PalettedContainer;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayFIFOQueue;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+
+/**
+ * Prepares the block states of two equally sized regions for being swapped, a few chunk sections at a time. For every
+ * section that the regions touch, a copy of its block states is made in which the part inside the region already
+ * holds the blocks of the other region. Sections that lie entirely within both regions at the same alignment are
+ * exchanged as a whole instead. Applying the swap then only replaces the section contents, which is cheap enough to
+ * happen in a single tick.
+ * <p/>
+ * The regions may still change while they're being staged. Each copy remembers the serialized content of the section
+ * it was made from, and {@link #verify()} queues everything that depends on a section that has changed since to be
+ * staged again.
+ */
+final class SectionStager {
+    private final SectionSource src;
+    private final SectionSource dst;
+    private final BlockPos srcMin;
+    private final BlockPos srcMax;
+    private final int offsetX;
+    private final int offsetY;
+    private final int offsetZ;
+    private final boolean sectionAligned;
+    private final Predicate<BlockState> immovable;
+    @Nullable
+    private final BlockState matrixFrame;
+
+    /**
+     * Staged copies of the sections in either region, by {@link SectionPos#asLong}.
+     */
+    private final Long2ObjectMap<StagedSection> srcSections = new Long2ObjectOpenHashMap<>();
+    private final Long2ObjectMap<StagedSection> dstSections = new Long2ObjectOpenHashMap<>();
+    /**
+     * Source sections that are exchanged as a whole with the corresponding destination section.
+     */
+    private final LongSet wholeSections = new LongOpenHashSet();
+
+    /**
+     * Source sections that still need to be staged. Each one also covers the part of the destination region it is
+     * swapped with.
+     */
+    private final LongArrayFIFOQueue pending = new LongArrayFIFOQueue();
+    private final LongSet queued = new LongOpenHashSet();
+    private final int totalSections;
+    private int restagedSections;
+
+    /**
+     * @param srcMin      The lowest corner of the source region.
+     * @param dstMin      The lowest corner of the destination region.
+     * @param size        The size of both regions in blocks.
+     * @param immovable   Blocks that stay where they are, along with whatever is at the same position in the other
+     *                    region.
+     * @param matrixFrame Replaced by air when it's moved, if not null.
+     */
+    SectionStager(SectionSource src, BlockPos srcMin, SectionSource dst, BlockPos dstMin, BlockPos size,
+            Predicate<BlockState> immovable, @Nullable BlockState matrixFrame) {
+        this.src = src;
+        this.dst = dst;
+        this.srcMin = srcMin;
+        this.srcMax = srcMin.offset(size.getX() - 1, size.getY() - 1, size.getZ() - 1);
+        this.offsetX = dstMin.getX() - srcMin.getX();
+        this.offsetY = dstMin.getY() - srcMin.getY();
+        this.offsetZ = dstMin.getZ() - srcMin.getZ();
+        this.sectionAligned = SectionPos.sectionRelative(offsetX) == 0 && SectionPos.sectionRelative(offsetY) == 0
+                && SectionPos.sectionRelative(offsetZ) == 0;
+        this.immovable = immovable;
+        this.matrixFrame = matrixFrame;
+
+        for (int sx = SectionPos.blockToSectionCoord(srcMin.getX()); sx <= SectionPos
+                .blockToSectionCoord(srcMax.getX()); sx++) {
+            for (int sz = SectionPos.blockToSectionCoord(srcMin.getZ()); sz <= SectionPos
+                    .blockToSectionCoord(srcMax.getZ()); sz++) {
+                for (int sy = SectionPos.blockToSectionCoord(srcMin.getY()); sy <= SectionPos
+                        .blockToSectionCoord(srcMax.getY()); sy++) {
+                    enqueue(SectionPos.asLong(sx, sy, sz));
+                }
+            }
+        }
+        this.totalSections = pending.size();
+    }
+
+    /**
+     * Stages some of the remaining sections.
+     *
+     * @param maxSections The maximum number of source sections to stage.
+     * @return True if no sections are left to be staged.
+     */
+    boolean tick(int maxSections) {
+        for (int i = 0; i < maxSections && !pending.isEmpty(); i++) {
+            var sectionPos = pending.dequeueLong();
+            queued.remove(sectionPos);
+            stageSection(sectionPos);
+        }
+        return pending.isEmpty();
+    }
+
+    /**
+     * Compares the staged sections with the current content of the regions, and queues everything to be staged again
+     * that was derived from a section which has changed in the meantime.
+     *
+     * @return The number of sections that have changed.
+     */
+    int verify() {
+        int changed = 0;
+
+        var changedSections = new LongArrayList();
+        findChangedSections(srcSections, src, changedSections);
+        for (int i = 0; i < changedSections.size(); i++) {
+            var sectionPos = changedSections.getLong(i);
+            srcSections.remove(sectionPos);
+            enqueue(sectionPos);
+        }
+        changed += changedSections.size();
+
+        changedSections.clear();
+        findChangedSections(dstSections, dst, changedSections);
+        for (int i = 0; i < changedSections.size(); i++) {
+            var sectionPos = changedSections.getLong(i);
+            dstSections.remove(sectionPos);
+            enqueueSourcesOf(sectionPos);
+        }
+        changed += changedSections.size();
+
+        // Something that can't be moved may have been placed in a section that would be exchanged as a whole
+        var iterator = wholeSections.iterator();
+        while (iterator.hasNext()) {
+            var sectionPos = iterator.nextLong();
+            if (!canSwapWhole(SectionPos.x(sectionPos), SectionPos.y(sectionPos), SectionPos.z(sectionPos))) {
+                iterator.remove();
+                enqueue(sectionPos);
+                changed++;
+            }
+        }
+
+        restagedSections += changed;
+        return changed;
+    }
+
+    /**
+     * Replaces the sections of both regions with their staged content. Everything has to be staged and
+     * {@link #verify() verified} beforehand.
+     */
+    void apply(SectionSink srcSink, SectionSink dstSink) {
+        if (!pending.isEmpty()) {
+            throw new IllegalStateException("Not all sections have been staged yet");
+        }
+
+        var iterator = wholeSections.iterator();
+        while (iterator.hasNext()) {
+            var sectionPos = iterator.nextLong();
+            int sx = SectionPos.x(sectionPos);
+            int sy = SectionPos.y(sectionPos);
+            int sz = SectionPos.z(sectionPos);
+            int dx = sx + SectionPos.blockToSectionCoord(offsetX);
+            int dy = sy + SectionPos.blockToSectionCoord(offsetY);
+            int dz = sz + SectionPos.blockToSectionCoord(offsetZ);
+            var srcStates = src.getStates(sx, sy, sz);
+            var dstStates = dst.getStates(dx, dy, dz);
+
+            // Nothing to do if both are empty
+            if (srcStates.maybeHas(state -> !state.isAir()) || dstStates.maybeHas(state -> !state.isAir())) {
+                srcSink.replace(sx, sy, sz, dstStates);
+                dstSink.replace(dx, dy, dz, srcStates);
+            }
+        }
+
+        for (var entry : srcSections.long2ObjectEntrySet()) {
+            var sectionPos = entry.getLongKey();
+            srcSink.replace(SectionPos.x(sectionPos), SectionPos.y(sectionPos), SectionPos.z(sectionPos),
+                    entry.getValue().states);
+        }
+
+        for (var entry : dstSections.long2ObjectEntrySet()) {
+            var sectionPos = entry.getLongKey();
+            dstSink.replace(SectionPos.x(sectionPos), SectionPos.y(sectionPos), SectionPos.z(sectionPos),
+                    entry.getValue().states);
+        }
+
+        wholeSections.clear();
+        srcSections.clear();
+        dstSections.clear();
+    }
+
+    /**
+     * @return The fraction of source sections that have been staged, between 0 and 1.
+     */
+    float getProgress() {
+        return 1 - (float) pending.size() / totalSections;
+    }
+
+    int getTotalSections() {
+        return totalSections;
+    }
+
+    /**
+     * @return How often sections had to be staged again because they changed after being staged.
+     */
+    int getRestagedSections() {
+        return restagedSections;
+    }
+
+    private void enqueue(long sectionPos) {
+        if (queued.add(sectionPos)) {
+            pending.enqueue(sectionPos);
+        }
+    }
+
+    /**
+     * Queues all source sections that are swapped with a part of the given destination section.
+     */
+    private void enqueueSourcesOf(long dstSectionPos) {
+        int minX = Math.max(SectionPos.sectionToBlockCoord(SectionPos.x(dstSectionPos)) - offsetX, srcMin.getX());
+        int minY = Math.max(SectionPos.sectionToBlockCoord(SectionPos.y(dstSectionPos)) - offsetY, srcMin.getY());
+        int minZ = Math.max(SectionPos.sectionToBlockCoord(SectionPos.z(dstSectionPos)) - offsetZ, srcMin.getZ());
+        int maxX = Math.min(SectionPos.sectionToBlockCoord(SectionPos.x(dstSectionPos), 15) - offsetX,
+                srcMax.getX());
+        int maxY = Math.min(SectionPos.sectionToBlockCoord(SectionPos.y(dstSectionPos), 15) - offsetY,
+                srcMax.getY());
+        int maxZ = Math.min(SectionPos.sectionToBlockCoord(SectionPos.z(dstSectionPos), 15) - offsetZ,
+                srcMax.getZ());
+
+        for (int sx = SectionPos.blockToSectionCoord(minX); sx <= SectionPos.blockToSectionCoord(maxX); sx++) {
+            for (int sy = SectionPos.blockToSectionCoord(minY); sy <= SectionPos.blockToSectionCoord(maxY); sy++) {
+                for (int sz = SectionPos.blockToSectionCoord(minZ); sz <= SectionPos.blockToSectionCoord(maxZ); sz++) {
+                    enqueue(SectionPos.asLong(sx, sy, sz));
+                }
+            }
+        }
+    }
+
+    private void stageSection(long sectionPos) {
+        int sx = SectionPos.x(sectionPos);
+        int sy = SectionPos.y(sectionPos);
+        int sz = SectionPos.z(sectionPos);
+
+        if (canSwapWhole(sx, sy, sz)) {
+            wholeSections.add(sectionPos);
+            // Drop copies that may be left over from a previous attempt
+            srcSections.remove(sectionPos);
+            dstSections.remove(SectionPos.offset(sectionPos, SectionPos.blockToSectionCoord(offsetX),
+                    SectionPos.blockToSectionCoord(offsetY), SectionPos.blockToSectionCoord(offsetZ)));
+            return;
+        }
+        wholeSections.remove(sectionPos);
+
+        // The part of the section that lies within the source region
+        int minX = Math.max(SectionPos.sectionToBlockCoord(sx), srcMin.getX());
+        int minY = Math.max(SectionPos.sectionToBlockCoord(sy), srcMin.getY());
+        int minZ = Math.max(SectionPos.sectionToBlockCoord(sz), srcMin.getZ());
+        int maxX = Math.min(SectionPos.sectionToBlockCoord(sx, 15), srcMax.getX());
+        int maxY = Math.min(SectionPos.sectionToBlockCoord(sy, 15), srcMax.getY());
+        int maxZ = Math.min(SectionPos.sectionToBlockCoord(sz, 15), srcMax.getZ());
+
+        var srcStates = src.getStates(sx, sy, sz);
+        var srcCopy = getOrCopy(srcSections, sectionPos, srcStates);
+
+        // That part may be spread across several sections of the destination region
+        for (int dsx = SectionPos.blockToSectionCoord(minX + offsetX); dsx <= SectionPos
+                .blockToSectionCoord(maxX + offsetX); dsx++) {
+            for (int dsy = SectionPos.blockToSectionCoord(minY + offsetY); dsy <= SectionPos
+                    .blockToSectionCoord(maxY + offsetY); dsy++) {
+                for (int dsz = SectionPos.blockToSectionCoord(minZ + offsetZ); dsz <= SectionPos
+                        .blockToSectionCoord(maxZ + offsetZ); dsz++) {
+                    var dstStates = dst.getStates(dsx, dsy, dsz);
+                    var dstCopy = getOrCopy(dstSections, SectionPos.asLong(dsx, dsy, dsz), dstStates);
+
+                    int fromX = Math.max(minX, SectionPos.sectionToBlockCoord(dsx) - offsetX);
+                    int fromY = Math.max(minY, SectionPos.sectionToBlockCoord(dsy) - offsetY);
+                    int fromZ = Math.max(minZ, SectionPos.sectionToBlockCoord(dsz) - offsetZ);
+                    int toX = Math.min(maxX, SectionPos.sectionToBlockCoord(dsx, 15) - offsetX);
+                    int toY = Math.min(maxY, SectionPos.sectionToBlockCoord(dsy, 15) - offsetY);
+                    int toZ = Math.min(maxZ, SectionPos.sectionToBlockCoord(dsz, 15) - offsetZ);
+
+                    stageBlocks(srcStates, srcCopy, dstStates, dstCopy, fromX, fromY, fromZ, toX, toY, toZ);
+                }
+            }
+        }
+    }
+
+    private void stageBlocks(PalettedContainer<BlockState> srcStates, PalettedContainer<BlockState> srcCopy,
+            PalettedContainer<BlockState> dstStates, PalettedContainer<BlockState> dstCopy,
+            int fromX, int fromY, int fromZ, int toX, int toY, int toZ) {
+        for (int x = fromX; x <= toX; x++) {
+            int srcX = SectionPos.sectionRelative(x);
+            int dstX = SectionPos.sectionRelative(x + offsetX);
+            for (int y = fromY; y <= toY; y++) {
+                int srcY = SectionPos.sectionRelative(y);
+                int dstY = SectionPos.sectionRelative(y + offsetY);
+                for (int z = fromZ; z <= toZ; z++) {
+                    int srcZ = SectionPos.sectionRelative(z);
+                    int dstZ = SectionPos.sectionRelative(z + offsetZ);
+
+                    var srcState = srcStates.get(srcX, srcY, srcZ);
+                    var dstState = dstStates.get(dstX, dstY, dstZ);
+                    if (immovable.test(srcState) || immovable.test(dstState)) {
+                        // Undo what a previous attempt may have staged here
+                        srcCopy.set(srcX, srcY, srcZ, srcState);
+                        dstCopy.set(dstX, dstY, dstZ, dstState);
+                    } else {
+                        srcCopy.set(srcX, srcY, srcZ, withoutMatrixFrame(dstState));
+                        dstCopy.set(dstX, dstY, dstZ, withoutMatrixFrame(srcState));
+                    }
+                }
+            }
+        }
+    }
+
+    private BlockState withoutMatrixFrame(BlockState state) {
+        return state == matrixFrame ? Blocks.AIR.defaultBlockState() : state;
+    }
+
+    /**
+     * A section can be exchanged as a whole if it lies entirely within the source region, maps exactly onto a section
+     * of the destination region, and neither contains anything that is treated specially when it's moved.
+     */
+    private boolean canSwapWhole(int sx, int sy, int sz) {
+        if (!sectionAligned
+                || SectionPos.sectionToBlockCoord(sx) < srcMin.getX()
+                || SectionPos.sectionToBlockCoord(sy) < srcMin.getY()
+                || SectionPos.sectionToBlockCoord(sz) < srcMin.getZ()
+                || SectionPos.sectionToBlockCoord(sx, 15) > srcMax.getX()
+                || SectionPos.sectionToBlockCoord(sy, 15) > srcMax.getY()
+                || SectionPos.sectionToBlockCoord(sz, 15) > srcMax.getZ()) {
+            return false;
+        }
+
+        Predicate<BlockState> special = state -> state == matrixFrame || immovable.test(state);
+        return !src.getStates(sx, sy, sz).maybeHas(special)
+                && !dst.getStates(sx + SectionPos.blockToSectionCoord(offsetX),
+                        sy + SectionPos.blockToSectionCoord(offsetY),
+                        sz + SectionPos.blockToSectionCoord(offsetZ)).maybeHas(special);
+    }
+
+    private static PalettedContainer<BlockState> getOrCopy(Long2ObjectMap<StagedSection> sections, long sectionPos,
+            PalettedContainer<BlockState> states) {
+        var staged = sections.get(sectionPos);
+        if (staged == null) {
+            staged = new StagedSection(states.copy(), serialize(states));
+            sections.put(sectionPos, staged);
+        }
+        return staged.states;
+    }
+
+    private static void findChangedSections(Long2ObjectMap<StagedSection> sections, SectionSource source,
+            LongArrayList changed) {
+        for (var entry : sections.long2ObjectEntrySet()) {
+            var sectionPos = entry.getLongKey();
+            var current = source.getStates(SectionPos.x(sectionPos), SectionPos.y(sectionPos),
+                    SectionPos.z(sectionPos));
+            if (!Arrays.equals(entry.getValue().original, serialize(current))) {
+                changed.add(sectionPos);
+            }
+        }
+    }
+
+    /**
+     * Serializes the block states the same way they're sent to clients. Two containers with the same serialized form
+     * also have the same content.
+     */
+    private static byte[] serialize(PalettedContainer<BlockState> states) {
+        var buffer = new FriendlyByteBuf(Unpooled.buffer(states.getSerializedSize()));
+        states.write(buffer);
+        var bytes = new byte[buffer.readableBytes()];
+        buffer.readBytes(bytes);
+        return bytes;
+    }
+
+    /**
+     * Provides the current block states of a {@link LevelChunkSection}.
+     */
+    @FunctionalInterface
+    interface SectionSource {
+        PalettedContainer<BlockState> getStates(int sectionX, int sectionY, int sectionZ);
+    }
+
+    /**
+     * Replaces the block states of a {@link LevelChunkSection}.
+     */
+    @FunctionalInterface
+    interface SectionSink {
+        void replace(int sectionX, int sectionY, int sectionZ, PalettedContainer<BlockState> states);
+    }
+
+    /**
+     * @param states   The staged block states.
+     * @param original The serialized block states of the section they were copied from.
+     */
+    private record StagedSection(PalettedContainer<BlockState> states, byte[] original) {
+    }
+}
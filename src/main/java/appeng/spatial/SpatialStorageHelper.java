@@ -21,6 +21,8 @@
 import java.util.ArrayList;
 import java.util.List;
 
+import org.jetbrains.annotations.Nullable;
+
 import net.minecraft.core.BlockPos;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
@@ -47,6 +49,12 @@ public class SpatialStorageHelper {
 
     private static SpatialStorageHelper instance;
 
+    /**
+     * The transfer that the chunks changed by the current swap are queued in, if any.
+     */
+    @Nullable
+    private SpatialTransfer activeTransfer;
+
     public static SpatialStorageHelper getInstance() {
         if (instance == null) {
             instance = new SpatialStorageHelper();
@@ -54,6 +62,13 @@ public static SpatialStorageHelper getInstance() {
         return instance;
     }
 
+    /**
+     * While a transfer is set, swapped chunks are queued in the transfer instead of being sent to players right away.
+     */
+    public void setActiveTransfer(@Nullable SpatialTransfer transfer) {
+        this.activeTransfer = transfer;
+    }
+
     /**
      * Mostly from dimensional doors.. which mostly got it form X-Comp.
      *
@@ -159,13 +174,23 @@ public void swapRegions(ServerLevel srcLevel, int srcX, int srcY, int srcZ,
         final AABB dstBox = new AABB(dstX, dstY, dstZ, dstX + scaleX + 1, dstY + scaleY + 1,
                 dstZ + scaleZ + 1);
 
+        var stager = this.activeTransfer != null
+                ? this.activeTransfer.takeStager(srcLevel, new BlockPos(srcX, srcY, srcZ), dstLevel,
+                        new BlockPos(dstX, dstY, dstZ), new BlockPos(scaleX + 1, scaleY + 1, scaleZ + 1))
+                : null;
+        if (stager != null) {
+            // Catch up on anything that changed since the regions were staged, before block entities are removed
+            stager.verify();
+            stager.tick(Integer.MAX_VALUE);
+        }
+
         final CachedPlane cDst = new CachedPlane(dstLevel, dstX, dstY, dstZ, dstX + scaleX, dstY + scaleY,
                 dstZ + scaleZ);
         final CachedPlane cSrc = new CachedPlane(srcLevel, srcX, srcY, srcZ, srcX + scaleX, srcY + scaleY,
                 srcZ + scaleZ);
 
         // do nearly all the work... swaps blocks, block entities, and block ticks
-        cSrc.swap(cDst);
+        cSrc.swap(cDst, this.activeTransfer, stager);
 
         // Synchronously load entities
         var loadedSrcChunks = loadEntityChunksSynchronously(srcLevel, srcBox);
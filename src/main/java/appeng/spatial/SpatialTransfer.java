@@ -0,0 +1,402 @@
+package appeng.spatial;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import org.jetbrains.annotations.Nullable;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.TicketType;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.LevelAccessor;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.levelgen.structure.BoundingBox;
+
+import appeng.api.ids.AETags;
+import appeng.core.definitions.AEBlocks;
+
+/**
+ * A spatial transfer that is spread across several ticks. Before the regions are swapped, their chunks are loaded in
+ * the background using chunk tickets, which also keep them loaded until the transfer is complete.
+ * <p/>
+ * If the regions to swap are known in advance, their block states are then staged a few chunk sections per tick (see
+ * {@link SectionStager}). The regions are locked against players breaking or placing blocks while that happens, and
+ * sections that change anyway are staged again. The swap itself happens within a single tick and only has to
+ * exchange the staged sections, so the regions are never observed in a partially swapped state.
+ * <p/>
+ * Afterwards, the changed chunks are relit and sent to players in batches.
+ */
+public class SpatialTransfer {
+    /**
+     * The tickets expire on their own in case a transfer is never completed, e.g. because the server crashed.
+     */
+    private static final TicketType<ChunkPos> TICKET = TicketType.create("ae2_spatial_transfer",
+            Comparator.comparingLong(ChunkPos::toLong), 20 * 60 * 5);
+
+    /**
+     * How often the staged sections are compared with the regions before the swap is scheduled. A region that keeps
+     * changing shouldn't hold up the transfer, since the swap stages whatever is still out of date itself.
+     */
+    private static final int MAX_VERIFY_ROUNDS = 3;
+
+    /**
+     * Chunks are sent once their light has been recomputed, or after this many ticks at the latest.
+     */
+    private static final int MAX_RELIGHT_TICKS = 20;
+
+    /**
+     * Transfers that are currently staging or swapping their regions.
+     */
+    private static final List<SpatialTransfer> LOCKED = new ArrayList<>();
+
+    private final List<TicketedChunk> chunks = new ArrayList<>();
+    private final Queue<ChunkUpdate> pendingUpdates = new ArrayDeque<>();
+    private final Set<LevelChunk> queuedChunks = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final List<Relight> relighting = new ArrayList<>();
+    private Phase phase = Phase.LOADING;
+    private int loadedChunks;
+    private int totalUpdates;
+    private int sentUpdates;
+
+    @Nullable
+    private SwappedRegions regions;
+    @Nullable
+    private SectionStager stager;
+    private int verifyRounds;
+
+    // Statistics for debugging
+    private int loadingTicks;
+    private int stagingTicks;
+    private int stagedSections;
+    private int restagedSections;
+    private long swapNanos;
+    private int sendingTicks;
+
+    /**
+     * Loads the chunks of the given region and keeps them loaded until the transfer is {@link #release() released}.
+     */
+    public void addRegion(ServerLevel level, BlockPos min, BlockPos max) {
+        var minChunk = new ChunkPos(min);
+        var maxChunk = new ChunkPos(max);
+        ChunkPos.rangeClosed(minChunk, maxChunk).forEach(pos -> {
+            level.getChunkSource().addRegionTicket(TICKET, pos, 0, pos);
+            chunks.add(new TicketedChunk(level, pos));
+        });
+    }
+
+    /**
+     * Checks how many chunks were loaded in the meantime.
+     *
+     * @return True if all chunks are loaded.
+     */
+    public boolean tickLoading() {
+        loadingTicks++;
+        while (loadedChunks < chunks.size()) {
+            var chunk = chunks.get(loadedChunks);
+            if (chunk.level.getChunkSource().getChunkNow(chunk.pos.x, chunk.pos.z) == null) {
+                return false;
+            }
+            loadedChunks++;
+        }
+        return true;
+    }
+
+    /**
+     * Sets the regions that the swap is expected to exchange, which allows them to be staged before the swap.
+     *
+     * @param size The size of both regions in blocks.
+     */
+    public void setSwappedRegions(ServerLevel srcLevel, BlockPos srcMin, ServerLevel dstLevel, BlockPos dstMin,
+            BlockPos size) {
+        this.regions = new SwappedRegions(srcLevel, srcMin.immutable(), dstLevel, dstMin.immutable(), size.immutable());
+    }
+
+    /**
+     * Starts staging the regions once their chunks are loaded, and locks them until they're swapped.
+     *
+     * @return False if the regions can't be staged, in which case the swap should be scheduled right away.
+     */
+    public boolean startStaging() {
+        var regions = this.regions;
+        if (regions == null || regions.sectionsOverlap()) {
+            return false;
+        }
+
+        var matrixFrame = AEBlocks.MATRIX_FRAME.block().defaultBlockState();
+        this.stager = new SectionStager(getSections(regions.srcLevel), regions.srcMin,
+                getSections(regions.dstLevel), regions.dstMin, regions.size,
+                state -> state.is(AETags.SPATIAL_BLACKLIST), matrixFrame);
+        this.stagedSections = stager.getTotalSections();
+        this.phase = Phase.STAGING;
+        LOCKED.add(this);
+        return true;
+    }
+
+    /**
+     * Stages some of the remaining sections. Once all of them are staged, they are compared with the regions, and the
+     * ones that have changed in the meantime are staged again.
+     *
+     * @param maxSections The maximum number of sections to stage.
+     * @return True if the swap can be scheduled.
+     */
+    public boolean tickStaging(int maxSections) {
+        stagingTicks++;
+        var stager = this.stager;
+        if (stager == null) {
+            return true;
+        }
+
+        if (!stager.tick(maxSections)) {
+            return false;
+        }
+        if (verifyRounds < MAX_VERIFY_ROUNDS) {
+            verifyRounds++;
+            return stager.verify() == 0;
+        }
+        return true;
+    }
+
+    /**
+     * Hands the staged sections over to the swap, if they were staged for exactly the given regions. The regions may
+     * have changed since the transfer was started, e.g. if the spatial cell was replaced.
+     */
+    @Nullable
+    SectionStager takeStager(ServerLevel srcLevel, BlockPos srcMin, ServerLevel dstLevel, BlockPos dstMin,
+            BlockPos size) {
+        if (!new SwappedRegions(srcLevel, srcMin, dstLevel, dstMin, size).equals(this.regions)) {
+            return null;
+        }
+        return this.stager;
+    }
+
+    /**
+     * Called when the swap was scheduled, after which no more loading progress is tracked.
+     */
+    public void onSwapScheduled() {
+        this.phase = Phase.SWAPPING;
+    }
+
+    /**
+     * Called after the regions were swapped. If the swap didn't happen, nothing will be sent.
+     */
+    public void onSwapped(long swapNanos) {
+        this.swapNanos = swapNanos;
+        this.phase = Phase.SENDING;
+        if (this.stager != null) {
+            this.restagedSections = this.stager.getRestagedSections();
+            this.stager = null;
+        }
+        LOCKED.remove(this);
+    }
+
+    /**
+     * Queues a changed chunk to be sent to the players who can see it.
+     */
+    void queueChunkUpdate(ServerLevel level, LevelChunk chunk) {
+        if (queuedChunks.add(chunk)) {
+            pendingUpdates.add(new ChunkUpdate(level, chunk));
+            totalUpdates++;
+        }
+    }
+
+    /**
+     * Sends the changed chunks whose light has been recomputed to players, and starts relighting the next ones.
+     *
+     * @param maxChunks The maximum number of chunks that are relit at the same time.
+     * @return True if all chunks were sent.
+     */
+    public boolean tickSending(int maxChunks) {
+        sendingTicks++;
+
+        var it = relighting.iterator();
+        while (it.hasNext()) {
+            var relight = it.next();
+            if (relight.future.isDone() || sendingTicks - relight.startTick >= MAX_RELIGHT_TICKS) {
+                it.remove();
+                send(relight.update);
+            }
+        }
+
+        while (relighting.size() < maxChunks) {
+            var update = pendingUpdates.poll();
+            if (update == null) {
+                break;
+            }
+            queuedChunks.remove(update.chunk);
+            var future = update.level.getChunkSource().getLightEngine().lightChunk(update.chunk, false);
+            relighting.add(new Relight(update, future, sendingTicks));
+        }
+
+        if (pendingUpdates.isEmpty() && relighting.isEmpty()) {
+            phase = Phase.DONE;
+            return true;
+        }
+        return false;
+    }
+
+    private void send(ChunkUpdate update) {
+        CachedPlane.sendChunkToPlayers(update.level, update.chunk);
+        sentUpdates++;
+    }
+
+    /**
+     * Sends all remaining chunks and releases the chunk tickets and locks. Chunks that haven't been relit yet are sent
+     * right away, with their light being updated later.
+     */
+    public void release() {
+        for (var relight : relighting) {
+            send(relight.update);
+        }
+        relighting.clear();
+        for (var update : pendingUpdates) {
+            update.level.getChunkSource().getLightEngine().lightChunk(update.chunk, false);
+            send(update);
+        }
+        pendingUpdates.clear();
+        queuedChunks.clear();
+
+        for (var chunk : chunks) {
+            chunk.level.getChunkSource().removeRegionTicket(TICKET, chunk.pos, 0, chunk.pos);
+        }
+        chunks.clear();
+        stager = null;
+        LOCKED.remove(this);
+        phase = Phase.DONE;
+    }
+
+    /**
+     * @return True if the position lies within a region that is currently being staged or swapped by any transfer.
+     */
+    public static boolean isLocked(LevelAccessor level, BlockPos pos) {
+        for (var transfer : LOCKED) {
+            var regions = transfer.regions;
+            if (regions != null && (regions.srcLevel == level && regions.getSrcBox().isInside(pos)
+                    || regions.dstLevel == level && regions.getDstBox().isInside(pos))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static SectionStager.SectionSource getSections(ServerLevel level) {
+        return (sectionX, sectionY, sectionZ) -> {
+            var chunk = level.getChunk(sectionX, sectionZ);
+            return chunk.getSection(chunk.getSectionIndexFromSectionY(sectionY)).getStates();
+        };
+    }
+
+    public Phase getPhase() {
+        return phase;
+    }
+
+    /**
+     * @return The progress of the transfer between 0 and 1. Loading and staging each take up one quarter, sending the
+     *         other half.
+     */
+    public float getProgress() {
+        return switch (phase) {
+            case LOADING -> chunks.isEmpty() ? 0 : 0.25f * loadedChunks / chunks.size();
+            case STAGING -> stager == null ? 0.5f : 0.25f + 0.25f * stager.getProgress();
+            case SWAPPING -> 0.5f;
+            case SENDING -> totalUpdates == 0 ? 1 : 0.5f + 0.5f * sentUpdates / totalUpdates;
+            case DONE -> 1;
+        };
+    }
+
+    public int getLoadingTicks() {
+        return loadingTicks;
+    }
+
+    public int getStagingTicks() {
+        return stagingTicks;
+    }
+
+    /**
+     * @return The number of source sections that were staged, or 0 if the regions weren't staged.
+     */
+    public int getStagedSections() {
+        return stagedSections;
+    }
+
+    public int getRestagedSections() {
+        return stager != null ? stager.getRestagedSections() : restagedSections;
+    }
+
+    public long getSwapNanos() {
+        return swapNanos;
+    }
+
+    public int getSendingTicks() {
+        return sendingTicks;
+    }
+
+    public int getTotalUpdates() {
+        return totalUpdates;
+    }
+
+    public enum Phase {
+        /**
+         * Waiting for the chunks of both regions to be loaded.
+         */
+        LOADING,
+        /**
+         * The regions are locked while their sections are being staged.
+         */
+        STAGING,
+        /**
+         * The swap is scheduled for the end of the current server tick.
+         */
+        SWAPPING,
+        /**
+         * The regions were swapped and the changed chunks are being sent to players.
+         */
+        SENDING,
+        DONE
+    }
+
+    private record TicketedChunk(ServerLevel level, ChunkPos pos) {
+    }
+
+    private record ChunkUpdate(ServerLevel level, LevelChunk chunk) {
+    }
+
+    private record Relight(ChunkUpdate update, CompletableFuture<?> future, int startTick) {
+    }
+
+    private record SwappedRegions(ServerLevel srcLevel, BlockPos srcMin, ServerLevel dstLevel, BlockPos dstMin,
+            BlockPos size) {
+        BoundingBox getSrcBox() {
+            return BoundingBox.fromCorners(srcMin, srcMin.offset(size).offset(-1, -1, -1));
+        }
+
+        BoundingBox getDstBox() {
+            return BoundingBox.fromCorners(dstMin, dstMin.offset(size).offset(-1, -1, -1));
+        }
+
+        /**
+         * Staging replaces whole sections, so the regions must not share any.
+         */
+        boolean sectionsOverlap() {
+            if (srcLevel != dstLevel) {
+                return false;
+            }
+            return toSections(getSrcBox()).intersects(toSections(getDstBox()));
+        }
+
+        private static BoundingBox toSections(BoundingBox box) {
+            return new BoundingBox(
+                    SectionPos.blockToSectionCoord(box.minX()), SectionPos.blockToSectionCoord(box.minY()),
+                    SectionPos.blockToSectionCoord(box.minZ()), SectionPos.blockToSectionCoord(box.maxX()),
+                    SectionPos.blockToSectionCoord(box.maxY()), SectionPos.blockToSectionCoord(box.maxZ()));
+        }
+    }
+}
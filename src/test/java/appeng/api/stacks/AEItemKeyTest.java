@@ -202,6 +202,22 @@ void testIsDamaged() {
         assertTrue(AEItemKey.of(stack).isDamaged());
     }
 
+    @Test
+    void testEqualKeysAreInterned(MinecraftServer server) {
+        var stack = new ItemStack(Items.DIAMOND_SWORD);
+        stack.enchant(Platform.getEnchantment(server, Enchantments.SHARPNESS), 3);
+        var hits = KeyInterner.items().getHits();
+
+        var key = AEItemKey.of(stack);
+        assertThat(AEItemKey.of(stack.copy())).isSameAs(key);
+        assertThat(KeyInterner.items().getHits()).isGreaterThan(hits);
+
+        // The interned key must not share the stack it was created from
+        stack.setDamageValue(10);
+        assertFalse(key.isDamaged());
+        assertThat(AEItemKey.of(stack)).isNotEqualTo(key);
+    }
+
     /**
      * Regression test for {@link FuzzySearch#COMPARATOR} wrongly using AEKey identity comparison as a last resort.
      */
@@ -218,9 +234,14 @@ void testDifferentInstances(MinecraftServer server) {
                 var stack = new ItemStack(Items.DIAMOND_SWORD);
                 stack.enchant(Platform.getEnchantment(server, Enchantments.SHARPNESS), i + 1);
                 keys[i] = AEItemKey.of(stack);
-                keyCopies[i] = AEItemKey.of(stack);
+                // Interned keys would be identical, so create the copies without interning
+                KeyInterner.setEnabled(false);
+                try {
+                    keyCopies[i] = AEItemKey.of(stack);
+                } finally {
+                    KeyInterner.setEnabled(true);
+                }
 
-                // If we ever intern AEKeys, remember to update this test...
                 assertThat(keys[i]).isNotSameAs(keyCopies[i]);
             }
 
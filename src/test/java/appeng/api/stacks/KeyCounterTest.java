@@ -177,6 +177,68 @@ public void testGetFirstItem() {
         assertEquals(1, itemList.getFirstEntry().getLongValue());
     }
 
+    /**
+     * Items without components start out with a counter for a single variant, which has to be replaced once a second
+     * variant of the same item is added.
+     */
+    @Test
+    public void testAddSecondVariantOfSameItem() {
+        itemList.add(nameTag(), 1);
+        itemList.add(nameTag("renamed"), 2);
+        itemList.add(nameTag(), 3);
+
+        assertEquals(4, itemList.get(nameTag()));
+        assertEquals(2, itemList.get(nameTag("renamed")));
+        assertEquals(2, itemList.size());
+        assertThat(itemList.keySet()).containsOnly(nameTag(), nameTag("renamed"));
+
+        assertEquals(2, itemList.remove(nameTag("renamed")));
+        assertEquals(0, itemList.remove(nameTag("renamed")));
+        assertThat(itemList.keySet()).containsOnly(nameTag());
+    }
+
+    @Test
+    public void testAddAllMergesSingleVariants() {
+        var other = new KeyCounter();
+        itemList.add(nameTag(), 1);
+        other.add(nameTag(), 2);
+        other.add(nameTag("renamed"), 3);
+
+        itemList.addAll(other);
+        assertEquals(3, itemList.get(nameTag()));
+        assertEquals(3, itemList.get(nameTag("renamed")));
+
+        itemList.removeAll(other);
+        assertEquals(1, itemList.get(nameTag()));
+        assertEquals(0, itemList.get(nameTag("renamed")));
+    }
+
+    @Test
+    public void testSingleVariantEntriesAreReadOnly() {
+        itemList.add(nameTag(), 1);
+
+        var it = itemList.iterator();
+        var entry = it.next();
+        assertThrows(UnsupportedOperationException.class, () -> entry.setValue(5));
+        assertThrows(UnsupportedOperationException.class, it::remove);
+        assertEquals(1, itemList.get(nameTag()));
+    }
+
+    @Test
+    public void testIteratingSingleVariantDoesNotModifyIt() {
+        var counter = new VariantCounter.SingleVariantCounter();
+        counter.setDropZeros(true);
+        counter.add(nameTag(), 1);
+        counter.add(nameTag(), -1);
+
+        assertThat(counter.iterator().hasNext()).isFalse();
+        assertTrue(counter.isEmpty());
+        // The zero amount is still held for its variant until the zeros are removed explicitly
+        assertThat(counter.canHold(nameTag("renamed"))).isFalse();
+        counter.removeZeros();
+        assertThat(counter.canHold(nameTag("renamed"))).isTrue();
+    }
+
     @Nested
     class FindFuzzyDamageableItems {
 
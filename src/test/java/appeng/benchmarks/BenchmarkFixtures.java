@@ -0,0 +1,113 @@
+package appeng.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import net.minecraft.core.component.DataComponents;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.network.chat.Component;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+
+import appeng.api.config.Actionable;
+import appeng.api.networking.security.IActionSource;
+import appeng.api.stacks.AEItemKey;
+import appeng.api.stacks.GenericStack;
+import appeng.api.storage.StorageCells;
+import appeng.api.storage.cells.StorageCell;
+import appeng.core.definitions.AEItems;
+import appeng.crafting.simulation.helpers.ProcessingPatternBuilder;
+import appeng.crafting.simulation.helpers.SimulationEnv;
+import appeng.me.helpers.BaseActionSource;
+import appeng.me.storage.DriveWatcher;
+import appeng.me.storage.NetworkStorage;
+
+/**
+ * Builds the synthetic networks used by the benchmarks. Everything is deterministic, so that results can be compared
+ * between runs.
+ */
+final class BenchmarkFixtures {
+    static final IActionSource SRC = new BaseActionSource();
+
+    /**
+     * The number of cells in an ME drive.
+     */
+    private static final int CELLS_PER_DRIVE = 10;
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * Creates keys for different items first, and only then different variants of the same items, like a real network
+     * would contain.
+     */
+    static AEItemKey[] createItemKeys(int count) {
+        var items = new ArrayList<Item>();
+        for (var item : BuiltInRegistries.ITEM) {
+            if (item != Items.AIR) {
+                items.add(item);
+            }
+        }
+
+        var keys = new AEItemKey[count];
+        for (int i = 0; i < count; i++) {
+            var stack = new ItemStack(items.get(i % items.size()));
+            var variant = i / items.size();
+            if (variant > 0) {
+                stack.set(DataComponents.CUSTOM_NAME, Component.literal("variant" + variant));
+            }
+            keys[i] = AEItemKey.of(stack);
+        }
+        return keys;
+    }
+
+    static StorageCell createCell() {
+        return Objects.requireNonNull(StorageCells.getCellInventory(AEItems.ITEM_CELL_64K.stack(), null));
+    }
+
+    /**
+     * Mounts the cells of the given number of drives in a new network storage, and fills it with the given keys.
+     */
+    static NetworkStorage createNetworkStorage(int drives, AEItemKey[] keys, long amountPerKey, boolean keyIndex) {
+        var storage = new NetworkStorage(keyIndex);
+        for (int i = 0; i < drives * CELLS_PER_DRIVE; i++) {
+            // Spread the cells over a few priorities, and mount them like a drive does
+            storage.mount(i % 3, new DriveWatcher(createCell(), () -> {
+            }));
+        }
+        for (var key : keys) {
+            storage.insert(key, amountPerKey, Actionable.MODULATE, SRC);
+        }
+        return storage;
+    }
+
+    /**
+     * Adds a chain of processing patterns to the environment. Every pattern consumes the output of the previous one,
+     * and a raw ingredient that is stored in the network.
+     *
+     * @return The output of the last pattern.
+     */
+    static AEItemKey addPatternChain(SimulationEnv env, int patterns) {
+        var keys = createItemKeys(patterns * 2);
+        List<AEItemKey> rawIngredients = new ArrayList<>();
+        AEItemKey previous = null;
+        for (int i = 0; i < patterns; i++) {
+            var raw = keys[patterns + i];
+            var output = keys[i];
+            var builder = new ProcessingPatternBuilder(new GenericStack(output, 1))
+                    .addPreciseInput(1, new GenericStack(raw, 1));
+            if (previous != null) {
+                builder.addPreciseInput(1, new GenericStack(previous, 1));
+            }
+            env.addPattern(builder.build());
+            rawIngredients.add(raw);
+            previous = output;
+        }
+        for (var raw : rawIngredients) {
+            env.addStoredItem(raw, Long.MAX_VALUE / 2);
+        }
+        return previous;
+    }
+}
@@ -0,0 +1,108 @@
+package appeng.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import appeng.util.BootstrapMinecraft;
+
+/**
+ * Runs the JMH benchmarks in this package. They are excluded from the normal unit tests, and only run with
+ * <code>gradlew test -Pbenchmark</code>.
+ * <p/>
+ * The benchmarks run in the JVM of the unit tests, since a forked JVM would not have Minecraft bootstrapped. The
+ * results are written as JSON to <code>build/reports/jmh/results.json</code>. Keep that file from a previous release
+ * and pass it with <code>-Pbenchmark.baseline=path</code> to print how the scores changed since.
+ */
+@Tag("benchmark")
+@BootstrapMinecraft
+class BenchmarkSuiteTest {
+    @Test
+    void runBenchmarks() throws Exception {
+        var resultFile = Path.of(System.getProperty("appeng.benchmarks.resultFile", "build/reports/jmh/results.json"));
+        Files.createDirectories(resultFile.toAbsolutePath().getParent());
+
+        var include = System.getProperty("appeng.benchmarks.include", "");
+        var options = new OptionsBuilder()
+                .include(include.isEmpty() ? BenchmarkSuiteTest.class.getPackageName() + "\\..*Benchmark" : include)
+                .forks(0)
+                .warmupIterations(3)
+                .warmupTime(TimeValue.seconds(2))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(2))
+                .resultFormat(ResultFormatType.JSON)
+                .result(resultFile.toString())
+                .build();
+        var results = new Runner(options).run();
+
+        var baseline = System.getProperty("appeng.benchmarks.baseline", "");
+        if (!baseline.isEmpty()) {
+            printComparison(readScores(Path.of(baseline)), results);
+        }
+    }
+
+    /**
+     * Reads the scores from a JSON report written by a previous run.
+     */
+    private static Map<String, Double> readScores(Path path) throws IOException {
+        var scores = new HashMap<String, Double>();
+        for (var element : JsonParser.parseString(Files.readString(path)).getAsJsonArray()) {
+            var benchmark = element.getAsJsonObject();
+            var params = new TreeMap<String, String>();
+            if (benchmark.has("params")) {
+                for (var param : benchmark.getAsJsonObject("params").entrySet()) {
+                    params.put(param.getKey(), param.getValue().getAsString());
+                }
+            }
+            var score = benchmark.getAsJsonObject("primaryMetric").get("score");
+            scores.put(getName(benchmark.get("benchmark").getAsString(), params), getScore(score));
+        }
+        return scores;
+    }
+
+    private static double getScore(JsonElement score) {
+        // JMH writes NaN and infinite scores as strings
+        return score.getAsJsonPrimitive().isNumber() ? score.getAsDouble() : Double.parseDouble(score.getAsString());
+    }
+
+    private static void printComparison(Map<String, Double> baseline, Collection<RunResult> results) {
+        System.out.println();
+        System.out.printf("%-80s %14s %14s %8s%n", "Benchmark", "Baseline", "Current", "Change");
+        for (var result : results) {
+            var params = new TreeMap<String, String>();
+            for (var key : result.getParams().getParamsKeys()) {
+                params.put(key, result.getParams().getParam(key));
+            }
+            var name = getName(result.getParams().getBenchmark(), params);
+            var score = result.getPrimaryResult().getScore();
+            var unit = result.getPrimaryResult().getScoreUnit();
+
+            var baselineScore = baseline.get(name);
+            if (baselineScore == null) {
+                System.out.printf("%-80s %14s %14.3f %8s %s%n", name, "-", score, "new", unit);
+            } else {
+                var change = (score - baselineScore) / baselineScore * 100;
+                System.out.printf("%-80s %14.3f %14.3f %+7.1f%% %s%n", name, baselineScore, score, change, unit);
+            }
+        }
+    }
+
+    private static String getName(String benchmark, Map<String, String> params) {
+        return params.isEmpty() ? benchmark : benchmark + params;
+    }
+}
@@ -0,0 +1,43 @@
+package appeng.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import appeng.api.networking.crafting.CalculationStrategy;
+import appeng.api.networking.crafting.ICraftingPlan;
+import appeng.api.stacks.AEItemKey;
+import appeng.api.stacks.GenericStack;
+import appeng.crafting.simulation.helpers.SimulationEnv;
+
+/**
+ * Measures a crafting calculation through a chain of the given number of patterns.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CraftingCalculationBenchmark {
+    @Param({ "10", "100" })
+    public int patterns;
+
+    private SimulationEnv env;
+    private AEItemKey output;
+
+    @Setup
+    public void setup() {
+        env = new SimulationEnv();
+        output = BenchmarkFixtures.addPatternChain(env, patterns);
+    }
+
+    @Benchmark
+    public ICraftingPlan calculate() {
+        return env.runSimulationOnCurrentThread(new GenericStack(output, 64), CalculationStrategy.REPORT_MISSING_ITEMS);
+    }
+}
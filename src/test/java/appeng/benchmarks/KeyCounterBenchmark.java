@@ -0,0 +1,77 @@
+package appeng.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import appeng.api.config.FuzzyMode;
+import appeng.api.stacks.AEItemKey;
+import appeng.api.stacks.KeyCounter;
+
+/**
+ * Measures the {@link KeyCounter} operations used by terminals, storage and crafting.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class KeyCounterBenchmark {
+    private static final int FUZZY_SEARCHES = 100;
+
+    @Param({ "100", "10000" })
+    public int keys;
+
+    private AEItemKey[] keyArray;
+    private KeyCounter counter;
+
+    @Setup
+    public void setup() {
+        keyArray = BenchmarkFixtures.createItemKeys(keys);
+        counter = new KeyCounter();
+        for (var key : keyArray) {
+            counter.add(key, 1);
+        }
+    }
+
+    @Benchmark
+    public KeyCounter add() {
+        var result = new KeyCounter();
+        for (var key : keyArray) {
+            result.add(key, 1);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public long get() {
+        long sum = 0;
+        for (var key : keyArray) {
+            sum += counter.get(key);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long iterate() {
+        long sum = 0;
+        for (var entry : counter) {
+            sum += entry.getLongValue();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int findFuzzy() {
+        int found = 0;
+        for (int i = 0; i < FUZZY_SEARCHES; i++) {
+            found += counter.findFuzzy(keyArray[i * keyArray.length / FUZZY_SEARCHES], FuzzyMode.IGNORE_ALL).size();
+        }
+        return found;
+    }
+}
@@ -0,0 +1,95 @@
+package appeng.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import appeng.api.config.Actionable;
+import appeng.api.stacks.AEItemKey;
+import appeng.api.stacks.KeyCounter;
+import appeng.api.storage.cells.StorageCell;
+import appeng.me.storage.NetworkStorage;
+
+/**
+ * Measures inserting into and extracting from a network with the given number of drives full of storage cells, and
+ * from a single storage cell.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StorageBenchmark {
+    /**
+     * Number of keys that are inserted and extracted per benchmark invocation.
+     */
+    private static final int OPERATIONS = 100;
+
+    @Param({ "2", "20" })
+    public int drives;
+
+    @Param({ "100", "1000" })
+    public int keys;
+
+    @Param({ "false", "true" })
+    public boolean keyIndex;
+
+    private AEItemKey[] keyArray;
+    private NetworkStorage networkStorage;
+    private StorageCell cell;
+
+    @Setup
+    public void setup() {
+        keyArray = BenchmarkFixtures.createItemKeys(keys);
+        networkStorage = BenchmarkFixtures.createNetworkStorage(drives, keyArray, 64, keyIndex);
+
+        cell = BenchmarkFixtures.createCell();
+        for (var key : keyArray) {
+            cell.insert(key, 64, Actionable.MODULATE, BenchmarkFixtures.SRC);
+        }
+    }
+
+    @Benchmark
+    public long networkInsertExtract() {
+        long moved = 0;
+        for (int i = 0; i < OPERATIONS; i++) {
+            var key = keyArray[i * keyArray.length / OPERATIONS];
+            moved += networkStorage.insert(key, 1, Actionable.MODULATE, BenchmarkFixtures.SRC);
+            moved += networkStorage.extract(key, 1, Actionable.MODULATE, BenchmarkFixtures.SRC);
+        }
+        return moved;
+    }
+
+    @Benchmark
+    public long networkSimulateExtract() {
+        long available = 0;
+        for (int i = 0; i < OPERATIONS; i++) {
+            var key = keyArray[i * keyArray.length / OPERATIONS];
+            available += networkStorage.extract(key, Long.MAX_VALUE, Actionable.SIMULATE, BenchmarkFixtures.SRC);
+        }
+        return available;
+    }
+
+    @Benchmark
+    public KeyCounter networkAvailableStacks() {
+        var result = new KeyCounter();
+        networkStorage.getAvailableStacks(result);
+        return result;
+    }
+
+    @Benchmark
+    public long cellInsertExtract() {
+        long moved = 0;
+        for (int i = 0; i < OPERATIONS; i++) {
+            var key = keyArray[i * keyArray.length / OPERATIONS];
+            moved += cell.insert(key, 1, Actionable.MODULATE, BenchmarkFixtures.SRC);
+            moved += cell.extract(key, 1, Actionable.MODULATE, BenchmarkFixtures.SRC);
+        }
+        return moved;
+    }
+}
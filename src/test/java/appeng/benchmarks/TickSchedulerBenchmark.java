@@ -0,0 +1,107 @@
+package appeng.benchmarks;
+
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import appeng.api.networking.IGridNode;
+import appeng.api.networking.ticking.IGridTickable;
+import appeng.api.networking.ticking.TickingRequest;
+import appeng.me.service.helpers.TickTracker;
+import appeng.me.service.helpers.TickWheel;
+
+/**
+ * Compares the {@link TickWheel} used by the tick manager with the {@link PriorityQueue} it replaced. Each invocation
+ * simulates one tick of a grid with many ticking devices, a tenth of which is alerted on every tick.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TickSchedulerBenchmark {
+    @Param({ "1000", "5000" })
+    public int devices;
+
+    private List<TickTracker> trackers;
+    private PriorityQueue<TickTracker> queue;
+    private TickWheel wheel;
+    private Random random;
+    private long tick;
+    private int ticked;
+
+    @Setup
+    public void setup() {
+        var setupRandom = new Random(0);
+        var node = mock(IGridNode.class);
+        var tickable = mock(IGridTickable.class);
+        trackers = new ArrayList<>(devices);
+        for (int i = 0; i < devices; i++) {
+            var minRate = 1 + setupRandom.nextInt(20);
+            var request = new TickingRequest(minRate, minRate + setupRandom.nextInt(60), false);
+            trackers.add(new TickTracker(request, node, tickable, 0));
+        }
+
+        queue = new PriorityQueue<>(trackers);
+        wheel = new TickWheel(1);
+        trackers.forEach(wheel::add);
+        random = new Random(1);
+        tick = 0;
+    }
+
+    @Benchmark
+    public int priorityQueue() {
+        tick++;
+        for (int i = 0; i < devices / 10; i++) {
+            var tt = trackers.get(random.nextInt(devices));
+            tt.setTickOnNextTick();
+            queue.remove(tt);
+            queue.add(tt);
+        }
+
+        ticked = 0;
+        while (!queue.isEmpty() && queue.peek().getNextTick() <= tick) {
+            var tt = queue.poll();
+            reschedule(tt);
+            queue.add(tt);
+        }
+        return ticked;
+    }
+
+    @Benchmark
+    public int tickWheel() {
+        tick++;
+        for (int i = 0; i < devices / 10; i++) {
+            var tt = trackers.get(random.nextInt(devices));
+            tt.setTickOnNextTick();
+            wheel.update(tt);
+        }
+
+        ticked = 0;
+        wheel.tick(tick, tt -> {
+            reschedule(tt);
+            wheel.add(tt);
+        });
+        return ticked;
+    }
+
+    /**
+     * Mimics a device that slows down while idle.
+     */
+    private void reschedule(TickTracker tt) {
+        tt.setLastTick(tick);
+        tt.setCurrentRate(tt.getCurrentRate() + 1);
+        ticked++;
+    }
+}
@@ -0,0 +1,68 @@
+package appeng.blockentity.misc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import net.minecraft.world.item.crafting.Ingredient;
+import net.minecraft.world.item.crafting.RecipeHolder;
+import net.minecraft.world.item.crafting.RecipeManager;
+import net.minecraft.world.level.Level;
+
+import appeng.core.AppEng;
+import appeng.recipes.AERecipeTypes;
+import appeng.recipes.handlers.ChargerRecipe;
+import appeng.util.BootstrapMinecraft;
+
+@BootstrapMinecraft
+class ChargerRecipesTest {
+    private final ChargerRecipe ironRecipe = new ChargerRecipe(Ingredient.of(Items.IRON_INGOT),
+            new ItemStack(Items.IRON_BLOCK));
+    private final ChargerRecipe ironOrGoldRecipe = new ChargerRecipe(Ingredient.of(Items.GOLD_INGOT, Items.IRON_INGOT),
+            new ItemStack(Items.GOLD_BLOCK));
+    private final Level level = createLevel(ironRecipe, ironOrGoldRecipe);
+
+    @Test
+    void testFindsFirstMatchingRecipe() {
+        assertThat(ChargerRecipes.findRecipe(level, new ItemStack(Items.IRON_INGOT))).isSameAs(ironRecipe);
+        assertThat(ChargerRecipes.findRecipe(level, new ItemStack(Items.GOLD_INGOT))).isSameAs(ironOrGoldRecipe);
+        assertThat(ChargerRecipes.findRecipe(level, new ItemStack(Items.DIRT))).isNull();
+        assertThat(ChargerRecipes.findRecipe(level, ItemStack.EMPTY)).isNull();
+    }
+
+    @Test
+    void testInsertAndExtract() {
+        assertThat(ChargerRecipes.allowInsert(level, new ItemStack(Items.GOLD_INGOT))).isTrue();
+        assertThat(ChargerRecipes.allowExtract(level, new ItemStack(Items.GOLD_INGOT))).isFalse();
+        assertThat(ChargerRecipes.allowInsert(level, new ItemStack(Items.GOLD_BLOCK))).isFalse();
+        assertThat(ChargerRecipes.allowExtract(level, new ItemStack(Items.GOLD_BLOCK))).isTrue();
+    }
+
+    @Test
+    void testReloadedRecipesAreFound() {
+        var dirtRecipe = new ChargerRecipe(Ingredient.of(Items.DIRT), new ItemStack(Items.GRASS_BLOCK));
+        var reloadedLevel = createLevel(ironRecipe, dirtRecipe);
+
+        assertThat(ChargerRecipes.findRecipe(reloadedLevel, new ItemStack(Items.DIRT))).isSameAs(dirtRecipe);
+        assertThat(ChargerRecipes.findRecipe(reloadedLevel, new ItemStack(Items.GOLD_INGOT))).isNull();
+    }
+
+    private static Level createLevel(ChargerRecipe... recipes) {
+        var holders = new ArrayList<RecipeHolder<ChargerRecipe>>();
+        for (int i = 0; i < recipes.length; i++) {
+            holders.add(new RecipeHolder<>(AppEng.makeId("charger_" + i), recipes[i]));
+        }
+        var recipeManager = mock(RecipeManager.class);
+        when(recipeManager.byType(AERecipeTypes.CHARGER)).thenReturn(List.copyOf(holders));
+        var level = mock(Level.class);
+        when(level.getRecipeManager()).thenReturn(recipeManager);
+        return level;
+    }
+}
@@ -0,0 +1,133 @@
+package appeng.blockentity.misc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import net.minecraft.world.item.crafting.Ingredient;
+import net.minecraft.world.item.crafting.RecipeHolder;
+import net.minecraft.world.item.crafting.RecipeManager;
+import net.minecraft.world.level.Level;
+
+import appeng.core.AppEng;
+import appeng.recipes.AERecipeTypes;
+import appeng.recipes.handlers.InscriberProcessType;
+import appeng.recipes.handlers.InscriberRecipe;
+import appeng.util.BootstrapMinecraft;
+
+/**
+ * Checks that the indexed lookups give the same results as testing every recipe.
+ */
+@BootstrapMinecraft
+class InscriberRecipesTest {
+    private static final Item[] ITEMS = { Items.AIR, Items.STONE, Items.IRON_INGOT, Items.DIAMOND, Items.COBBLESTONE,
+            Items.GOLD_INGOT, Items.REDSTONE, Items.DIRT };
+
+    private final List<InscriberRecipe> recipes = List.of(
+            recipe(Ingredient.of(Items.STONE), Ingredient.of(Items.GOLD_INGOT), Ingredient.EMPTY),
+            recipe(Ingredient.of(Items.IRON_INGOT, Items.STONE), Ingredient.EMPTY, Ingredient.EMPTY),
+            recipe(Ingredient.of(Items.DIAMOND), Ingredient.of(Items.REDSTONE), Ingredient.of(Items.GOLD_INGOT)),
+            recipe(Ingredient.of(Items.COBBLESTONE), Ingredient.EMPTY, Ingredient.EMPTY),
+            recipe(Ingredient.of(Items.STONE), Ingredient.of(Items.DIAMOND), Ingredient.of(Items.REDSTONE)));
+    private final Level level = createLevel(recipes);
+
+    @Test
+    void testFindRecipeMatchesLinearSearch() {
+        // The second pass is answered from the remembered missing recipes
+        for (int pass = 0; pass < 2; pass++) {
+            for (var input : ITEMS) {
+                for (var plateA : ITEMS) {
+                    for (var plateB : ITEMS) {
+                        var inputStack = new ItemStack(input);
+                        var plateAStack = new ItemStack(plateA);
+                        var plateBStack = new ItemStack(plateB);
+                        assertThat(InscriberRecipes.findRecipe(level, inputStack, plateAStack, plateBStack, false))
+                                .as("recipe for %s, %s, %s", input, plateA, plateB)
+                                .isSameAs(findLinear(recipes, inputStack, plateAStack, plateBStack));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void testOptionalIngredientsMatchLinearSearch() {
+        for (var pressA : ITEMS) {
+            var pressAStack = new ItemStack(pressA);
+            var expected = recipes.stream().anyMatch(recipe -> recipe.getTopOptional().test(pressAStack)
+                    || recipe.getBottomOptional().test(pressAStack));
+            assertThat(InscriberRecipes.isValidOptionalIngredient(level, pressAStack)).as("%s", pressA)
+                    .isEqualTo(expected);
+
+            for (var pressB : ITEMS) {
+                var pressBStack = new ItemStack(pressB);
+                var expectedCombination = recipes.stream().anyMatch(recipe -> recipe.getTopOptional().test(pressAStack)
+                        && recipe.getBottomOptional().test(pressBStack)
+                        || recipe.getTopOptional().test(pressBStack) && recipe.getBottomOptional().test(pressAStack));
+                assertThat(InscriberRecipes.isValidOptionalIngredientCombination(level, pressAStack, pressBStack))
+                        .as("%s, %s", pressA, pressB)
+                        .isEqualTo(expectedCombination);
+            }
+        }
+    }
+
+    @Test
+    void testReloadedRecipesAreFound() {
+        var input = new ItemStack(Items.DIRT);
+        assertThat(InscriberRecipes.findRecipe(level, input, ItemStack.EMPTY, ItemStack.EMPTY, false)).isNull();
+
+        // Reloading recipes replaces the recipe collection, which must not remember the missing recipe
+        var reloaded = new ArrayList<>(recipes);
+        var dirtRecipe = recipe(Ingredient.of(Items.DIRT), Ingredient.EMPTY, Ingredient.EMPTY);
+        reloaded.add(dirtRecipe);
+        var reloadedLevel = createLevel(reloaded);
+
+        assertThat(InscriberRecipes.findRecipe(reloadedLevel, input, ItemStack.EMPTY, ItemStack.EMPTY, false))
+                .isSameAs(dirtRecipe);
+    }
+
+    @Test
+    void testRecipesForMiddleInput() {
+        assertThat(InscriberRecipes.getRecipesForMiddleInput(level, new ItemStack(Items.STONE)))
+                .containsExactly(recipes.get(0), recipes.get(1), recipes.get(4));
+        assertThat(InscriberRecipes.getRecipesForMiddleInput(level, ItemStack.EMPTY)).isEqualTo(recipes);
+    }
+
+    @Nullable
+    private static InscriberRecipe findLinear(List<InscriberRecipe> recipes, ItemStack input, ItemStack plateA,
+            ItemStack plateB) {
+        for (var recipe : recipes) {
+            var matchA = recipe.getTopOptional().test(plateA) && recipe.getBottomOptional().test(plateB);
+            var matchB = recipe.getTopOptional().test(plateB) && recipe.getBottomOptional().test(plateA);
+            if ((matchA || matchB) && recipe.getMiddleInput().test(input)) {
+                return recipe;
+            }
+        }
+        return null;
+    }
+
+    private static InscriberRecipe recipe(Ingredient middle, Ingredient top, Ingredient bottom) {
+        return new InscriberRecipe(middle, new ItemStack(Items.PAPER), top, bottom, InscriberProcessType.PRESS);
+    }
+
+    private static Level createLevel(List<InscriberRecipe> recipes) {
+        var holders = new ArrayList<RecipeHolder<InscriberRecipe>>();
+        for (int i = 0; i < recipes.size(); i++) {
+            holders.add(new RecipeHolder<>(AppEng.makeId("inscriber_" + i), recipes.get(i)));
+        }
+        var recipeManager = mock(RecipeManager.class);
+        when(recipeManager.byType(AERecipeTypes.INSCRIBER)).thenReturn(holders);
+        var level = mock(Level.class);
+        when(level.getRecipeManager()).thenReturn(recipeManager);
+        return level;
+    }
+}
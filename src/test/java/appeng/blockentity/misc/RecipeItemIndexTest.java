@@ -0,0 +1,80 @@
+package appeng.blockentity.misc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import net.minecraft.world.item.crafting.Ingredient;
+
+import appeng.util.BootstrapMinecraft;
+
+@BootstrapMinecraft
+class RecipeItemIndexTest {
+    @Test
+    void testCandidatesAreRecipesAcceptingTheItem() {
+        var index = createIndex(Map.of(
+                "stone", List.of(Ingredient.of(Items.STONE)),
+                "stone_or_dirt", List.of(Ingredient.of(Items.STONE, Items.DIRT)),
+                "dirt", List.of(Ingredient.of(Items.DIRT))),
+                List.of("stone", "stone_or_dirt", "dirt"));
+
+        assertThat(index.isSimple()).isTrue();
+        assertThat(index.getCandidates(new ItemStack(Items.STONE))).containsExactly("stone", "stone_or_dirt");
+        assertThat(index.getCandidates(new ItemStack(Items.DIRT))).containsExactly("stone_or_dirt", "dirt");
+        assertThat(index.getCandidates(new ItemStack(Items.DIAMOND))).isEmpty();
+    }
+
+    @Test
+    void testRecipeAcceptingAnItemTwiceIsOnlyListedOnce() {
+        var index = createIndex(Map.of(
+                "twice", List.of(Ingredient.of(Items.GOLD_INGOT), Ingredient.of(Items.GOLD_INGOT, Items.STONE))),
+                List.of("twice"));
+
+        assertThat(index.getCandidates(new ItemStack(Items.GOLD_INGOT))).containsExactly("twice");
+        assertThat(index.getCandidates(new ItemStack(Items.STONE))).containsExactly("twice");
+    }
+
+    @Test
+    void testEmptyIngredientsAcceptEmptyStacks() {
+        var index = createIndex(Map.of(
+                "optional", List.of(Ingredient.EMPTY, Ingredient.of(Items.STONE)),
+                "required", List.of(Ingredient.of(Items.STONE))),
+                List.of("optional", "required"));
+
+        assertThat(index.getCandidates(ItemStack.EMPTY)).containsExactly("optional");
+        assertThat(index.getCandidates(new ItemStack(Items.STONE))).containsExactly("optional", "required");
+    }
+
+    @Test
+    void testNonSimpleIngredientsAreCandidatesForEveryStack() {
+        var custom = mock(Ingredient.class);
+        when(custom.isEmpty()).thenReturn(false);
+        when(custom.isSimple()).thenReturn(false);
+        var index = createIndex(Map.of(
+                "stone", List.of(Ingredient.of(Items.STONE)),
+                "custom", List.of(custom),
+                "custom_or_stone", List.of(custom, Ingredient.of(Items.STONE)),
+                "dirt", List.of(Ingredient.of(Items.DIRT))),
+                List.of("stone", "custom", "custom_or_stone", "dirt"));
+
+        assertThat(index.isSimple()).isFalse();
+        // Merged in recipe order, without duplicates
+        assertThat(index.getCandidates(new ItemStack(Items.STONE))).containsExactly("stone", "custom",
+                "custom_or_stone");
+        assertThat(index.getCandidates(new ItemStack(Items.DIRT))).containsExactly("custom", "custom_or_stone",
+                "dirt");
+        assertThat(index.getCandidates(new ItemStack(Items.DIAMOND))).containsExactly("custom", "custom_or_stone");
+    }
+
+    private static RecipeItemIndex<String> createIndex(Map<String, List<Ingredient>> ingredients,
+            List<String> recipes) {
+        return new RecipeItemIndex<>(recipes, ingredients::get);
+    }
+}
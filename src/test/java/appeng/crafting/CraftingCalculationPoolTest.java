@@ -0,0 +1,159 @@
+package appeng.crafting;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import appeng.api.networking.IGrid;
+import appeng.api.networking.crafting.ICraftingPlan;
+import appeng.crafting.CraftingCalculationPool.Priority;
+
+@Timeout(10)
+class CraftingCalculationPoolTest {
+    private final CraftingCalculationPool pool = new CraftingCalculationPool(() -> 1);
+    private final List<String> started = Collections.synchronizedList(new ArrayList<>());
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final IGrid blockingGrid = mock(IGrid.class);
+    private final IGrid gridA = mock(IGrid.class);
+    private final IGrid gridB = mock(IGrid.class);
+    private Future<ICraftingPlan> blocker;
+
+    /**
+     * Occupies the only thread of the pool, so that the calculations submitted by the tests are queued.
+     */
+    @BeforeEach
+    void occupyPool() throws InterruptedException {
+        var blockerStarted = new CountDownLatch(1);
+        blocker = pool.submit(blockingGrid, Priority.PLAYER, () -> {
+            blockerStarted.countDown();
+            release.await();
+            return null;
+        });
+        assertThat(blockerStarted.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @AfterEach
+    void releasePool() {
+        release.countDown();
+    }
+
+    @Test
+    void testPlayerCalculationsStartFirst() throws Exception {
+        submit(gridA, Priority.AUTOMATION, "automation 1");
+        var last = submit(gridA, Priority.AUTOMATION, "automation 2");
+        submit(gridB, Priority.PLAYER, "player");
+
+        runQueued(last);
+
+        assertThat(started).containsExactly("player", "automation 1", "automation 2");
+    }
+
+    @Test
+    void testSamePriorityStartsInSubmissionOrder() throws Exception {
+        submit(gridA, Priority.AUTOMATION, "first");
+        submit(gridB, Priority.AUTOMATION, "second");
+        var last = submit(mock(IGrid.class), Priority.AUTOMATION, "third");
+
+        runQueued(last);
+
+        assertThat(started).containsExactly("first", "second", "third");
+    }
+
+    @Test
+    void testGridsTakeTurns() throws Exception {
+        submit(gridA, Priority.AUTOMATION, "A1");
+        submit(gridA, Priority.AUTOMATION, "A2");
+        var lastOfA = submit(gridA, Priority.AUTOMATION, "A3");
+        submit(gridB, Priority.AUTOMATION, "B1");
+        submit(gridB, Priority.AUTOMATION, "B2");
+
+        runQueued(lastOfA);
+
+        assertThat(started).containsExactly("A1", "B1", "A2", "B2", "A3");
+    }
+
+    @Test
+    void testCancelledCalculationDoesNotRun() throws Exception {
+        var cancelled = submit(gridA, Priority.PLAYER, "cancelled");
+        var last = submit(gridB, Priority.AUTOMATION, "other");
+
+        assertThat(cancelled.cancel(true)).isTrue();
+        runQueued(last);
+
+        assertThat(started).containsExactly("other");
+        assertThat(cancelled.isCancelled()).isTrue();
+    }
+
+    @Test
+    void testCancelledCalculationsNoLongerCountForTheirGrid() throws Exception {
+        submit(gridA, Priority.AUTOMATION, "A1").cancel(true);
+        submit(gridA, Priority.AUTOMATION, "A2").cancel(true);
+
+        // Gets the first turn again, since the cancelled calculations of its grid are no longer pending
+        submit(gridA, Priority.AUTOMATION, "A3");
+        var last = submit(gridB, Priority.AUTOMATION, "B1");
+
+        runQueued(last);
+
+        assertThat(started).containsExactly("A3", "B1");
+    }
+
+    @Test
+    void testCancellingRunningCalculationInterruptsIt() throws Exception {
+        var interrupted = new CountDownLatch(1);
+        var running = new CountDownLatch(1);
+        release.countDown();
+        blocker.get();
+
+        var future = pool.submit(gridA, Priority.PLAYER, () -> {
+            running.countDown();
+            try {
+                new CountDownLatch(1).await();
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw e;
+            }
+            return null;
+        });
+        assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+
+        future.cancel(true);
+
+        assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(future.isCancelled()).isTrue();
+        // The thread is available for the next calculation
+        assertThat(submit(gridA, Priority.AUTOMATION, "next").get()).isNull();
+        assertThat(started).containsExactly("next");
+    }
+
+    private Future<ICraftingPlan> submit(IGrid grid, Priority priority, String name) {
+        return pool.submit(grid, priority, () -> {
+            started.add(name);
+            return null;
+        });
+    }
+
+    /**
+     * Lets the queued calculations run, and waits until the given one is done.
+     */
+    private void runQueued(Future<ICraftingPlan> last) throws Exception {
+        release.countDown();
+        blocker.get();
+        try {
+            last.get();
+        } catch (CancellationException ignored) {
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package appeng.crafting.execution;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import net.minecraft.world.item.Items;
+
+import appeng.api.config.Actionable;
+import appeng.api.crafting.IPatternDetails;
+import appeng.api.stacks.AEItemKey;
+import appeng.api.stacks.GenericStack;
+import appeng.api.stacks.KeyCounter;
+import appeng.crafting.inv.ListCraftingInventory;
+import appeng.crafting.simulation.helpers.ProcessingPatternBuilder;
+import appeng.util.BootstrapMinecraft;
+
+@BootstrapMinecraft
+class CraftingCpuHelperTest {
+    private static final AEItemKey COBBLESTONE = AEItemKey.of(Items.COBBLESTONE);
+    private static final AEItemKey COAL = AEItemKey.of(Items.COAL);
+    private static final AEItemKey STONE = AEItemKey.of(Items.STONE);
+
+    private final ListCraftingInventory inventory = new ListCraftingInventory(key -> {
+    });
+
+    // 2 cobblestone and 1 coal -> 2 stone
+    private final IPatternDetails pattern = new ProcessingPatternBuilder(
+            new GenericStack(STONE, 2))
+            .addPreciseInput(2, new GenericStack(COBBLESTONE, 1))
+            .addPreciseInput(1, new GenericStack(COAL, 1))
+            .build();
+
+    @Test
+    void testAvailableCopiesAreLimitedByScarcestInput() {
+        inventory.insert(COBBLESTONE, 20, Actionable.MODULATE);
+        inventory.insert(COAL, 3, Actionable.MODULATE);
+
+        assertThat(CraftingCpuHelper.getAvailableCopies(pattern, inventory, null, 64)).isEqualTo(3);
+        assertThat(CraftingCpuHelper.getAvailableCopies(pattern, inventory, null, 2)).isEqualTo(2);
+        // Nothing is extracted
+        assertThat(inventory.list.get(COBBLESTONE)).isEqualTo(20);
+        assertThat(inventory.list.get(COAL)).isEqualTo(3);
+    }
+
+    @Test
+    void testExtractingSeveralCopiesMultipliesInputsAndOutputs() {
+        inventory.insert(COBBLESTONE, 20, Actionable.MODULATE);
+        inventory.insert(COAL, 3, Actionable.MODULATE);
+
+        var expectedOutputs = new KeyCounter();
+        var inputs = CraftingCpuHelper.extractPatternInputs(pattern, inventory, null, expectedOutputs,
+                new KeyCounter(), 3);
+
+        assertThat(inputs).isNotNull();
+        assertThat(inputs[0].get(COBBLESTONE)).isEqualTo(6);
+        assertThat(inputs[1].get(COAL)).isEqualTo(3);
+        assertThat(expectedOutputs.get(STONE)).isEqualTo(6);
+        assertThat(inventory.list.get(COBBLESTONE)).isEqualTo(14);
+        assertThat(inventory.list.get(COAL)).isEqualTo(0);
+    }
+
+    @Test
+    void testExtractingMoreCopiesThanAvailableExtractsNothing() {
+        inventory.insert(COBBLESTONE, 20, Actionable.MODULATE);
+        inventory.insert(COAL, 3, Actionable.MODULATE);
+
+        var expectedOutputs = new KeyCounter();
+        var inputs = CraftingCpuHelper.extractPatternInputs(pattern, inventory, null, expectedOutputs,
+                new KeyCounter(), 4);
+
+        assertThat(inputs).isNull();
+        assertThat(expectedOutputs.isEmpty()).isTrue();
+        assertThat(inventory.list.get(COBBLESTONE)).isEqualTo(20);
+        assertThat(inventory.list.get(COAL)).isEqualTo(3);
+    }
+
+    @Test
+    void testMergePatternInputs() {
+        inventory.insert(COBBLESTONE, 20, Actionable.MODULATE);
+        inventory.insert(COAL, 3, Actionable.MODULATE);
+
+        var first = CraftingCpuHelper.extractPatternInputs(pattern, inventory, null, new KeyCounter(),
+                new KeyCounter());
+        var extra = CraftingCpuHelper.extractPatternInputs(pattern, inventory, null, new KeyCounter(),
+                new KeyCounter(), 2);
+        var merged = CraftingCpuHelper.mergePatternInputs(first, extra);
+
+        assertThat(merged[0].get(COBBLESTONE)).isEqualTo(6);
+        assertThat(merged[1].get(COAL)).isEqualTo(3);
+        // The original containers are left alone, so the first copy can still be pushed on its own
+        assertThat(first[0].get(COBBLESTONE)).isEqualTo(2);
+        assertThat(first[1].get(COAL)).isEqualTo(1);
+    }
+}
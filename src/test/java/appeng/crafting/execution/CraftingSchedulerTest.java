@@ -0,0 +1,158 @@
+package appeng.crafting.execution;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import appeng.api.networking.energy.IEnergyService;
+import appeng.me.service.CraftingService;
+import appeng.util.BootstrapMinecraft;
+
+@BootstrapMinecraft
+class CraftingSchedulerTest {
+    private final CraftingScheduler scheduler = new CraftingScheduler();
+    private final IEnergyService energyService = mock(IEnergyService.class);
+    private final CraftingService craftingService = mock(CraftingService.class);
+
+    @Test
+    void testRoundRobinTakesTurns() {
+        var a = makeCpu(4, 100);
+        var b = makeCpu(4, 100);
+
+        schedule(List.of(a, b), List.of(), CraftingSchedulingPolicy.ROUND_ROBIN, 1);
+        verify(a).pushPatterns(1, energyService, craftingService);
+        verify(b, never()).pushPatterns(anyInt(), any(), any());
+        assertThat(scheduler.getStarvedCpus()).isEqualTo(1);
+
+        schedule(List.of(a, b), List.of(), CraftingSchedulingPolicy.ROUND_ROBIN, 1);
+        verify(b).pushPatterns(1, energyService, craftingService);
+        assertThat(scheduler.getStarvedCpus()).isEqualTo(1);
+    }
+
+    @Test
+    void testShortestJobFirst() {
+        var longJob = makeCpu(4, 100);
+        var shortJob = makeCpu(4, 10);
+
+        schedule(List.of(longJob, shortJob), List.of(), CraftingSchedulingPolicy.SHORTEST_JOB_FIRST, 4);
+
+        verify(shortJob).pushPatterns(4, energyService, craftingService);
+        verify(longJob, never()).pushPatterns(anyInt(), any(), any());
+    }
+
+    @Test
+    void testPlayerFirst() {
+        var automation = makeCpu(4, 10);
+        var player = makeCpu(4, 100);
+        when(player.isRequestedByPlayer()).thenReturn(true);
+
+        schedule(List.of(automation, player), List.of(), CraftingSchedulingPolicy.PLAYER_FIRST, 4);
+
+        verify(player).pushPatterns(4, energyService, craftingService);
+        verify(automation, never()).pushPatterns(anyInt(), any(), any());
+    }
+
+    @Test
+    void testOldestFirst() {
+        var newer = makeCpu(4, 10);
+        var older = makeCpu(4, 10);
+        setElapsedTime(newer, 1000);
+        setElapsedTime(older, 5000);
+
+        schedule(List.of(newer, older), List.of(), CraftingSchedulingPolicy.OLDEST_FIRST, Integer.MAX_VALUE);
+
+        var order = inOrder(newer, older);
+        order.verify(older).pushPatterns(4, energyService, craftingService);
+        order.verify(newer).pushPatterns(4, energyService, craftingService);
+    }
+
+    @Test
+    void testBudgetLimitsPatternsOfAllCpus() {
+        var a = makeCpu(4, 100);
+        var b = makeCpu(4, 100);
+        var c = makeCpu(4, 100);
+
+        schedule(List.of(a, b, c), List.of(), CraftingSchedulingPolicy.ROUND_ROBIN, 6);
+
+        verify(a).pushPatterns(4, energyService, craftingService);
+        verify(b).pushPatterns(2, energyService, craftingService);
+        verify(c, never()).pushPatterns(anyInt(), any(), any());
+        assertThat(scheduler.getQueueDepth()).isEqualTo(3);
+        assertThat(scheduler.getPushedPatterns()).isEqualTo(6);
+        assertThat(scheduler.getStarvedCpus()).isEqualTo(1);
+        assertThat(scheduler.getQueuedPatterns()).isEqualTo(300);
+    }
+
+    @Test
+    void testIdleCpusLendTheirOperations() {
+        var busy = makeCpu(1, 100);
+        var firstLender = makeCpu(2, 0);
+        var secondLender = makeCpu(3, 0);
+
+        schedule(List.of(busy), List.of(firstLender, secondLender), CraftingSchedulingPolicy.ROUND_ROBIN,
+                Integer.MAX_VALUE);
+
+        verify(busy).pushPatterns(6, energyService, craftingService);
+        verify(busy).useOperations(1);
+        verify(firstLender).useOperations(2);
+        verify(secondLender).useOperations(3);
+        assertThat(scheduler.getPushedPatterns()).isEqualTo(6);
+    }
+
+    @Test
+    void testOnlyOperationsThatWereUsedAreLent() {
+        var busy = makeCpu(1, 100);
+        var lender = makeCpu(4, 0);
+        // Only two patterns can be pushed, even though five operations are available
+        when(busy.pushPatterns(anyInt(), any(), any())).thenReturn(2);
+
+        schedule(List.of(busy), List.of(lender), CraftingSchedulingPolicy.ROUND_ROBIN, Integer.MAX_VALUE);
+
+        verify(busy).pushPatterns(5, energyService, craftingService);
+        verify(busy).useOperations(1);
+        verify(lender).useOperations(1);
+    }
+
+    @Test
+    void testLendingIsLimitedByBudget() {
+        var busy = makeCpu(1, 100);
+        var lender = makeCpu(4, 0);
+
+        schedule(List.of(busy), List.of(lender), CraftingSchedulingPolicy.ROUND_ROBIN, 3);
+
+        verify(busy).pushPatterns(3, energyService, craftingService);
+        verify(lender).useOperations(2);
+    }
+
+    private void schedule(List<CraftingCpuLogic> queue, List<CraftingCpuLogic> lenders,
+            CraftingSchedulingPolicy policy, int budget) {
+        scheduler.schedule(new ArrayList<>(queue), lenders, policy, budget, energyService, craftingService);
+    }
+
+    /**
+     * Creates a CPU that can push patterns until its operations are used up.
+     */
+    private CraftingCpuLogic makeCpu(int availableOperations, long remainingPatterns) {
+        var logic = mock(CraftingCpuLogic.class);
+        when(logic.getAvailableOperations()).thenReturn(availableOperations);
+        when(logic.getRemainingPatternCount()).thenReturn(remainingPatterns);
+        when(logic.pushPatterns(anyInt(), any(), any())).thenAnswer(invocation -> invocation.getArgument(0));
+        return logic;
+    }
+
+    private static void setElapsedTime(CraftingCpuLogic logic, long elapsedTime) {
+        var timeTracker = mock(ElapsedTimeTracker.class);
+        when(timeTracker.getElapsedTime()).thenReturn(elapsedTime);
+        when(logic.getElapsedTimeTracker()).thenReturn(timeTracker);
+    }
+}
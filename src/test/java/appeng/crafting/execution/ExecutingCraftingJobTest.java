@@ -0,0 +1,93 @@
+package appeng.crafting.execution;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.LinkedHashMap;
+
+import org.junit.jupiter.api.Test;
+
+import net.minecraft.world.item.Items;
+
+import appeng.api.crafting.IPatternDetails;
+import appeng.api.networking.crafting.ICraftingPlan;
+import appeng.api.stacks.AEItemKey;
+import appeng.api.stacks.GenericStack;
+import appeng.api.stacks.KeyCounter;
+import appeng.crafting.CraftingLink;
+import appeng.crafting.simulation.helpers.ProcessingPatternBuilder;
+import appeng.util.BootstrapMinecraft;
+
+@BootstrapMinecraft
+class ExecutingCraftingJobTest {
+    private static final AEItemKey COBBLESTONE = AEItemKey.of(Items.COBBLESTONE);
+    private static final AEItemKey STONE = AEItemKey.of(Items.STONE);
+    private static final AEItemKey GRAVEL = AEItemKey.of(Items.GRAVEL);
+
+    // 1 cobblestone -> 2 stone
+    private final IPatternDetails smelting = new ProcessingPatternBuilder(new GenericStack(STONE, 2))
+            .addPreciseInput(1, new GenericStack(COBBLESTONE, 1))
+            .build();
+    // 1 cobblestone -> 1 stone + 3 gravel
+    private final IPatternDetails crushing = new ProcessingPatternBuilder(new GenericStack(STONE, 1),
+            new GenericStack(GRAVEL, 3))
+            .addPreciseInput(1, new GenericStack(COBBLESTONE, 1))
+            .build();
+
+    @Test
+    void testPendingOutputsOfNewJob() {
+        var job = createJob(3, 2);
+
+        assertThat(job.pendingOutputs.get(STONE)).isEqualTo(3 * 2 + 2);
+        assertThat(job.pendingOutputs.get(GRAVEL)).isEqualTo(2 * 3);
+        assertThat(job.remainingPatterns).isEqualTo(5);
+        assertThat(job.tasks.get(smelting).value).isEqualTo(3);
+        assertThat(job.tasks.get(crushing).value).isEqualTo(2);
+    }
+
+    @Test
+    void testPushingTasksReducesPendingOutputs() {
+        var job = createJob(3, 2);
+
+        job.onTaskPushed(smelting, job.tasks.get(smelting), 2);
+        assertThat(job.tasks.get(smelting).value).isEqualTo(1);
+        assertThat(job.pendingOutputs.get(STONE)).isEqualTo(2 + 2);
+        assertThat(job.pendingOutputs.get(GRAVEL)).isEqualTo(6);
+        assertThat(job.remainingPatterns).isEqualTo(3);
+
+        job.onTaskPushed(crushing, job.tasks.get(crushing), 1);
+        assertThat(job.pendingOutputs.get(STONE)).isEqualTo(2 + 1);
+        assertThat(job.pendingOutputs.get(GRAVEL)).isEqualTo(3);
+        assertThat(job.remainingPatterns).isEqualTo(2);
+    }
+
+    @Test
+    void testPendingOutputsMatchRemainingTasks() {
+        var job = createJob(5, 4);
+
+        job.onTaskPushed(smelting, job.tasks.get(smelting), 1);
+        job.onTaskPushed(crushing, job.tasks.get(crushing), 3);
+        job.onTaskPushed(smelting, job.tasks.get(smelting), 4);
+        job.onTaskPushed(crushing, job.tasks.get(crushing), 1);
+
+        // Everything was pushed
+        assertThat(job.pendingOutputs.get(STONE)).isZero();
+        assertThat(job.pendingOutputs.get(GRAVEL)).isZero();
+        assertThat(job.remainingPatterns).isZero();
+    }
+
+    private ExecutingCraftingJob createJob(long smeltingCopies, long crushingCopies) {
+        var patternTimes = new LinkedHashMap<IPatternDetails, Long>();
+        patternTimes.put(smelting, smeltingCopies);
+        patternTimes.put(crushing, crushingCopies);
+
+        var plan = mock(ICraftingPlan.class);
+        when(plan.finalOutput()).thenReturn(new GenericStack(STONE, smeltingCopies * 2 + crushingCopies));
+        when(plan.emittedItems()).thenReturn(new KeyCounter());
+        when(plan.patternTimes()).thenReturn(patternTimes);
+
+        return new ExecutingCraftingJob(plan, what -> {
+        }, mock(CraftingLink.class), null);
+    }
+}
@@ -0,0 +1,119 @@
+package appeng.crafting.pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+
+import net.minecraft.world.item.Items;
+import net.minecraft.world.item.crafting.RecipeManager;
+import net.minecraft.world.level.Level;
+
+import appeng.api.crafting.IPatternDetails;
+import appeng.api.stacks.AEItemKey;
+import appeng.util.BootstrapMinecraft;
+
+@BootstrapMinecraft
+class DecodedPatternCacheTest {
+    private final DecodedPatternCache cache = new DecodedPatternCache();
+    private final AEItemKey pattern = AEItemKey.of(Items.PAPER);
+    private final AEItemKey otherPattern = AEItemKey.of(Items.BOOK);
+    private final List<AEItemKey> decoded = new ArrayList<>();
+    private final Level level = createLevel(mock(RecipeManager.class));
+
+    @Test
+    void testRepeatedDecodeIsAHit() {
+        var first = get(pattern, level);
+        var second = get(pattern, level);
+
+        assertThat(second).isSameAs(first);
+        assertThat(decoded).containsExactly(pattern);
+        assertThat(cache.getMisses()).isEqualTo(1);
+        assertThat(cache.getHits()).isEqualTo(1);
+    }
+
+    @Test
+    void testDifferentPatternsAreDecodedSeparately() {
+        var first = get(pattern, level);
+        var other = get(otherPattern, level);
+
+        assertThat(other).isNotSameAs(first);
+        assertThat(decoded).containsExactly(pattern, otherPattern);
+        assertThat(cache.getMisses()).isEqualTo(2);
+        assertThat(cache.getHits()).isZero();
+    }
+
+    @Test
+    void testInvalidPatternsAreCached() {
+        assertThat(cache.get(pattern, level, this::decodeInvalid)).isNull();
+        assertThat(cache.get(pattern, level, this::decodeInvalid)).isNull();
+
+        assertThat(decoded).containsExactly(pattern);
+        assertThat(cache.getMisses()).isEqualTo(1);
+        assertThat(cache.getHits()).isEqualTo(1);
+    }
+
+    @Test
+    void testClearInvalidatesDecodedPatterns() {
+        var before = get(pattern, level);
+        cache.clear();
+        var after = get(pattern, level);
+
+        assertThat(after).isNotSameAs(before);
+        assertThat(decoded).containsExactly(pattern, pattern);
+        assertThat(cache.getMisses()).isEqualTo(2);
+        assertThat(cache.getHits()).isZero();
+    }
+
+    @Test
+    void testNewRecipeManagerDecodesAgain() {
+        // The server creates a new recipe manager when datapacks are reloaded
+        var before = get(pattern, level);
+        var after = get(pattern, createLevel(mock(RecipeManager.class)));
+
+        assertThat(after).isNotSameAs(before);
+        assertThat(decoded).containsExactly(pattern, pattern);
+        // The old recipe manager keeps its entries
+        assertThat(get(pattern, level)).isSameAs(before);
+        assertThat(cache.getHits()).isEqualTo(1);
+    }
+
+    @Test
+    void testLevelsWithoutRecipesAreNotCached() {
+        var recipeless = createLevel(null);
+        var first = get(pattern, recipeless);
+        var second = get(pattern, recipeless);
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(decoded).containsExactly(pattern, pattern);
+        assertThat(cache.getMisses()).isZero();
+        assertThat(cache.getHits()).isZero();
+    }
+
+    @Nullable
+    private IPatternDetails get(AEItemKey what, Level level) {
+        return cache.get(what, level, this::decode);
+    }
+
+    private IPatternDetails decode(AEItemKey what) {
+        decoded.add(what);
+        return mock(IPatternDetails.class);
+    }
+
+    @Nullable
+    private IPatternDetails decodeInvalid(AEItemKey what) {
+        decoded.add(what);
+        return null;
+    }
+
+    private static Level createLevel(@Nullable RecipeManager recipeManager) {
+        var level = mock(Level.class);
+        when(level.getRecipeManager()).thenReturn(recipeManager);
+        return level;
+    }
+}
@@ -336,6 +336,50 @@ public void testAdaptiveOrder() {
                 .usedMatch(mult(input, 547));
     }
 
+    /**
+     * The simulated attempt that {@link CalculationStrategy#CRAFT_LESS} runs to estimate the craftable amount must not
+     * leak its missing items into the plan that is finally returned.
+     */
+    @Test
+    public void testAdaptiveOrderReportsNoMissingItems() {
+        var env = new SimulationEnv();
+
+        var input = item(Items.COBBLESTONE);
+        var output = item(Items.STONE);
+
+        env.addPattern(new ProcessingPatternBuilder(output).addPreciseInput(1, input).build());
+        env.addStoredItem(mult(input, 10));
+
+        var plan = env.runSimulation(mult(output, 100), CalculationStrategy.CRAFT_LESS);
+        assertThatPlan(plan)
+                .succeeded()
+                .outputMatches(mult(output, 10))
+                .missingMatch();
+    }
+
+    /**
+     * Test for {@link CalculationStrategy#CRAFT_LESS} with a pattern that produces more than one output per craft.
+     */
+    @Test
+    public void testAdaptiveOrderWithBatchedOutputs() {
+        var env = new SimulationEnv();
+
+        var input = item(Items.COBBLESTONE);
+        var output = item(Items.STONE);
+
+        var pattern = env.addPattern(
+                new ProcessingPatternBuilder(mult(output, 2)).addPreciseInput(3, input).build());
+
+        // 10 cobblestone is enough for 3 crafts, i.e. 6 stone
+        env.addStoredItem(mult(input, 10));
+        var plan = env.runSimulation(mult(output, 1000), CalculationStrategy.CRAFT_LESS);
+        assertThatPlan(plan)
+                .succeeded()
+                .patternsMatch(pattern, 3)
+                .outputMatches(mult(output, 6))
+                .usedMatch(mult(input, 9));
+    }
+
     /**
      * This tests that leftovers from previous crafting iterations reused in a subsequent iteration, are not scheduled
      * for extraction from the network.
@@ -99,6 +99,14 @@ public ICraftingPlan runSimulation(GenericStack what, CalculationStrategy strate
         }
     }
 
+    /**
+     * Runs the simulation to completion on the current thread, without waiting for the server thread.
+     */
+    public ICraftingPlan runSimulationOnCurrentThread(GenericStack what, CalculationStrategy strategy) {
+        return new CraftingCalculation(levelMock, gridMock, simulationRequester, what, strategy, true).run();
+    }
+
+    private final Level levelMock = mock(Level.class);
     private final IGrid gridMock = createGridMock();
     private final IGridNode nodeMock = createNodeMock();
     private final ICraftingSimulationRequester simulationRequester = new ICraftingSimulationRequester() {
@@ -193,6 +201,11 @@ public void refreshNodeCraftingProvider(IGridNode node) {
                 throw new UnsupportedOperationException();
             }
 
+            @Override
+            public void refreshNodeBusyState(IGridNode node) {
+                throw new UnsupportedOperationException();
+            }
+
             @Override
             public void addGlobalCraftingProvider(ICraftingProvider cc) {
                 throw new UnsupportedOperationException();
@@ -0,0 +1,97 @@
+package appeng.helpers.patternprovider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import net.minecraft.world.item.Items;
+
+import appeng.api.config.Actionable;
+import appeng.api.crafting.IPatternDetails;
+import appeng.api.stacks.AEItemKey;
+import appeng.api.stacks.AEKey;
+import appeng.api.stacks.GenericStack;
+import appeng.api.stacks.KeyCounter;
+import appeng.crafting.simulation.helpers.ProcessingPatternBuilder;
+import appeng.util.BootstrapMinecraft;
+
+@BootstrapMinecraft
+class PatternProviderBatchTest {
+    private static final AEItemKey COBBLESTONE = AEItemKey.of(Items.COBBLESTONE);
+    private static final AEItemKey COAL = AEItemKey.of(Items.COAL);
+    private static final AEItemKey STONE = AEItemKey.of(Items.STONE);
+
+    // 2 cobblestone and 1 coal -> 1 stone
+    private final IPatternDetails pattern = new ProcessingPatternBuilder(new GenericStack(STONE, 1))
+            .addPreciseInput(2, new GenericStack(COBBLESTONE, 1))
+            .addPreciseInput(1, new GenericStack(COAL, 1))
+            .build();
+
+    @Test
+    void testBatchIsLimitedByRoomInTarget() {
+        var target = new LimitedTarget(Map.of(COBBLESTONE, 10L, COAL, 64L));
+        assertThat(PatternProviderLogic.getAcceptedCopies(target, pattern, 64)).isEqualTo(5);
+
+        target = new LimitedTarget(Map.of(COBBLESTONE, 64L, COAL, 3L));
+        assertThat(PatternProviderLogic.getAcceptedCopies(target, pattern, 64)).isEqualTo(3);
+    }
+
+    @Test
+    void testBatchIsLimitedByRequestedCopies() {
+        var target = new LimitedTarget(Map.of(COBBLESTONE, 1000L, COAL, 1000L));
+        assertThat(PatternProviderLogic.getAcceptedCopies(target, pattern, 7)).isEqualTo(7);
+    }
+
+    @Test
+    void testFullTargetAcceptsNoCopies() {
+        var target = new LimitedTarget(Map.of(COBBLESTONE, 1L, COAL, 64L));
+        assertThat(PatternProviderLogic.getAcceptedCopies(target, pattern, 64)).isEqualTo(0);
+    }
+
+    /**
+     * A single copy may be pushed if the target only accepts part of it, with the rest going to the send list. A batch
+     * has to fit completely, otherwise the overflow of all copies would be buffered in the provider.
+     */
+    @Test
+    void testBatchRequiresCompleteAcceptance() {
+        var target = new LimitedTarget(Map.of(COBBLESTONE, 5L, COAL, 64L));
+        var inputs = new KeyCounter[] { new KeyCounter(), new KeyCounter() };
+        inputs[0].add(COBBLESTONE, 6);
+        inputs[1].add(COAL, 3);
+
+        assertThat(PatternProviderLogic.adapterAcceptsAll(target, inputs, false)).isTrue();
+        assertThat(PatternProviderLogic.adapterAcceptsAll(target, inputs, true)).isFalse();
+
+        inputs[0].set(COBBLESTONE, 4);
+        assertThat(PatternProviderLogic.adapterAcceptsAll(target, inputs, true)).isTrue();
+    }
+
+    /**
+     * Accepts up to a fixed amount of each key.
+     */
+    private static class LimitedTarget implements PatternProviderTarget {
+        private final Map<AEKey, Long> room;
+
+        LimitedTarget(Map<AEKey, Long> room) {
+            this.room = new HashMap<>(room);
+        }
+
+        @Override
+        public long insert(AEKey what, long amount, Actionable type) {
+            var inserted = Math.min(amount, room.getOrDefault(what, 0L));
+            if (type == Actionable.MODULATE) {
+                room.put(what, room.getOrDefault(what, 0L) - inserted);
+            }
+            return inserted;
+        }
+
+        @Override
+        public boolean containsPatternInput(Set<AEKey> patternInputs) {
+            return false;
+        }
+    }
+}
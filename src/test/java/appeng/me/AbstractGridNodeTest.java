@@ -53,6 +53,12 @@ protected GridNode makeReadyNode(GridFlags... flags) {
         return node;
     }
 
+    protected GridNode makeReadyNode(Object owner, Set<GridFlags> flags) {
+        var node = new GridNode(level, owner, listener, flags);
+        node.markReady();
+        return node;
+    }
+
     protected GridNode makePoweredNode(GridFlags... flags) {
         var node = makeNode(flags);
         node.addService(IAEPowerStorage.class, new InfinitePowerStorage());
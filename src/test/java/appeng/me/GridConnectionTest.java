@@ -205,4 +205,69 @@ private void assertSameGrid(IGridNode a, IGridNode b) {
         }
     }
 
+    /**
+     * Tests how grids are split when connections or nodes are removed.
+     */
+    @Nested
+    class GridSplitting {
+        /**
+         * When there's <code>a-b-c-d</code>, disconnecting c from d should only move d to a new grid.
+         */
+        @Test
+        void testSmallerPartMovesToNewGrid() {
+            var a = makeReadyNode();
+            var b = makeReadyNode();
+            var c = makeReadyNode();
+            var d = makeReadyNode();
+            GridHelper.createConnection(a, b);
+            GridHelper.createConnection(b, c);
+            var con = GridHelper.createConnection(c, d);
+            var grid = a.getGrid();
+
+            con.destroy();
+            assertSame(grid, a.getGrid());
+            assertSame(grid, b.getGrid());
+            assertSame(grid, c.getGrid());
+            assertThat(d.getGrid()).isNotSameAs(grid);
+            assertEquals(3, grid.size());
+            assertEquals(1, d.getGrid().size());
+        }
+
+        /**
+         * Removing a connection of a loop must not split the grid.
+         */
+        @Test
+        void testLoopIsNotSplit() {
+            var a = makeReadyNode();
+            var b = makeReadyNode();
+            var c = makeReadyNode();
+            GridHelper.createConnection(a, b);
+            GridHelper.createConnection(b, c);
+            var con = GridHelper.createConnection(c, a);
+            var grid = a.getGrid();
+
+            con.destroy();
+            assertSame(grid, a.getGrid());
+            assertSame(grid, b.getGrid());
+            assertSame(grid, c.getGrid());
+        }
+
+        /**
+         * Destroying the center of <code>a-b-c</code> should leave a and c in separate grids.
+         */
+        @Test
+        void testDestroyingNodeSplitsGrid() {
+            var a = makeReadyNode();
+            var b = makeReadyNode();
+            var c = makeReadyNode();
+            GridHelper.createConnection(a, b);
+            GridHelper.createConnection(b, c);
+
+            b.destroy();
+            assertNotNull(a.getGrid());
+            assertNotNull(c.getGrid());
+            assertThat(a.getGrid()).isNotSameAs(c.getGrid());
+        }
+    }
+
 }
@@ -0,0 +1,102 @@
+package appeng.me;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import appeng.api.networking.GridHelper;
+import appeng.api.networking.IGrid;
+
+/**
+ * Tests the per-class machine sets and versions of {@link Grid}.
+ */
+class GridMachinesTest extends AbstractGridNodeTest {
+    private final Controller controller = new Controller();
+    private GridNode controllerNode;
+    private IGrid grid;
+
+    @BeforeEach
+    void createGrid() {
+        controllerNode = makeReadyNode(controller, Set.of());
+        grid = controllerNode.getGrid();
+    }
+
+    @Test
+    void testMachinesAreGroupedByClass() {
+        var terminal = new Terminal();
+        join(terminal);
+
+        assertThat(grid.getMachines(Controller.class)).containsExactly(controller);
+        assertThat(grid.getMachines(Terminal.class)).containsExactly(terminal);
+        assertThat(grid.getMachineClasses()).containsExactlyInAnyOrder(Controller.class, Terminal.class);
+        // Nothing changed, so the same set is returned
+        assertThat(grid.getMachines(Terminal.class)).isSameAs(grid.getMachines(Terminal.class));
+    }
+
+    @Test
+    void testQueryBeforeMachineJoins() {
+        assertThat(grid.getMachines(Terminal.class)).isEmpty();
+        assertThat(grid.getActiveMachines(Terminal.class)).isEmpty();
+        assertThat(grid.getMachinesVersion(Terminal.class)).isZero();
+
+        var terminal = new Terminal();
+        join(terminal);
+
+        assertThat(grid.getMachines(Terminal.class)).containsExactly(terminal);
+        assertThat(grid.getMachinesVersion(Terminal.class)).isNotZero();
+    }
+
+    @Test
+    void testJoiningAndLeavingChangesVersion() {
+        var first = new Terminal();
+        var firstNode = join(first);
+        var versionWithFirst = grid.getMachinesVersion(Terminal.class);
+        var controllerVersion = grid.getMachinesVersion(Controller.class);
+
+        var second = new Terminal();
+        join(second);
+        assertThat(grid.getMachines(Terminal.class)).containsExactlyInAnyOrder(first, second);
+        assertThat(grid.getMachinesVersion(Terminal.class)).isGreaterThan(versionWithFirst);
+
+        firstNode.destroy();
+        assertThat(grid.getMachines(Terminal.class)).containsExactly(second);
+        // Other classes are not affected
+        assertThat(grid.getMachinesVersion(Controller.class)).isEqualTo(controllerVersion);
+    }
+
+    @Test
+    void testLastMachineOfClassLeaving() {
+        var first = new Terminal();
+        var firstNode = join(first);
+        var versionWithFirst = grid.getMachinesVersion(Terminal.class);
+
+        firstNode.destroy();
+        assertThat(grid.getMachines(Terminal.class)).isEmpty();
+        assertThat(grid.getMachineClasses()).containsExactly(Controller.class);
+        assertThat(grid.getMachinesVersion(Terminal.class)).isNotEqualTo(versionWithFirst);
+
+        // A machine of the same class joining again must not look like nothing changed
+        var second = new Terminal();
+        join(second);
+        assertThat(grid.getMachines(Terminal.class)).containsExactly(second);
+        assertThat(grid.getMachinesVersion(Terminal.class)).isGreaterThan(versionWithFirst);
+    }
+
+    private GridNode join(Object machine) {
+        // Nodes without a grid join the grid of the node they're connected to
+        var node = new GridNode(level, machine, listener, Set.of());
+        GridHelper.createConnection(controllerNode, node);
+        node.markReady();
+        assertThat(node.getGrid()).isSameAs(grid);
+        return node;
+    }
+
+    private static class Controller {
+    }
+
+    private static class Terminal {
+    }
+}
@@ -53,6 +53,49 @@ void testAlertDevice() {
         assertThat(timesSinceLastTick).containsExactly(11, 10, 1);
     }
 
+    /**
+     * Alerting many devices at once ticks exactly those devices on the next tick.
+     */
+    @Test
+    void testAlertManyDevices() {
+        var ticks = new int[50];
+        var nodes = new ArrayList<GridNode>();
+        for (int i = 0; i < ticks.length; i++) {
+            var index = i;
+            var node = makeTickingNode(
+                    new TickingRequest(20, 20, false),
+                    (tickingNode, ticksSinceLastCall) -> {
+                        ticks[index]++;
+                        return TickRateModulation.SAME;
+                    });
+            if (!nodes.isEmpty()) {
+                GridHelper.createConnection(nodes.getLast(), node);
+            }
+            nodes.add(node);
+        }
+        var grid = nodes.getFirst().getGrid();
+
+        runTick(grid, 5);
+        assertThat(ticks).containsOnly(0);
+
+        for (int i = 0; i < nodes.size(); i += 2) {
+            grid.getTickManager().alertDevice(nodes.get(i));
+        }
+        runTick(grid, 1);
+        for (int i = 0; i < ticks.length; i++) {
+            assertThat(ticks[i]).as("ticks of device %d", i).isEqualTo(i % 2 == 0 ? 1 : 0);
+        }
+    }
+
+    /**
+     * Devices that tick less often than the number of ticks the tick manager schedules ahead still tick at their rate.
+     */
+    @Test
+    void testSlowDevice() {
+        assertThat(runTicks(new TickingRequest(300, 300, false), TickRateModulation.SAME))
+                .containsExactly(300, 300, 300);
+    }
+
     /**
      * Tests the sleeping behavior of nodes.
      */
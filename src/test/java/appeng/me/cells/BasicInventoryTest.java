@@ -1,8 +1,12 @@
 package appeng.me.cells;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Random;
 
 import org.junit.jupiter.api.Test;
 
@@ -13,15 +17,21 @@
 import net.minecraft.world.level.material.Fluids;
 
 import appeng.api.config.Actionable;
+import appeng.api.ids.AEComponents;
 import appeng.api.networking.security.IActionSource;
 import appeng.api.stacks.AEFluidKey;
 import appeng.api.stacks.AEItemKey;
+import appeng.api.stacks.AEKey;
 import appeng.api.stacks.AEKeyType;
+import appeng.api.stacks.KeyCounter;
 import appeng.api.storage.StorageCells;
 import appeng.api.storage.cells.CellState;
+import appeng.blockentity.inventory.AppEngCellInventory;
 import appeng.core.definitions.AEItems;
 import appeng.me.helpers.BaseActionSource;
 import appeng.util.BootstrapMinecraft;
+import appeng.util.inv.AppEngInternalInventory;
+import appeng.util.inv.InternalInventoryHost;
 
 @BootstrapMinecraft
 public class BasicInventoryTest {
@@ -176,6 +186,124 @@ void testVoidUpgradeUnformatted() {
         assertThat(cell.insert(rejected, Long.MAX_VALUE, Actionable.MODULATE, SRC)).isZero();
     }
 
+    /**
+     * The delta listener has to report the actual change in stored amounts, even if the void upgrade makes insert
+     * report more than what was stored.
+     */
+    @Test
+    void testDeltaListenerReportsStoredAmounts() {
+        var item = AEItems.ITEM_CELL_1K.get();
+        var stack = new ItemStack(item);
+        item.getUpgrades(stack).addItems(AEItems.VOID_CARD.stack());
+
+        var cell = (BasicCellInventory) StorageCells.getCellInventory(stack, null);
+        Objects.requireNonNull(cell);
+        var deltas = new KeyCounter();
+        cell.setDeltaListener(deltas::add);
+
+        var what = AEItemKey.of(Items.DIAMOND);
+        assertThat(cell.insert(what, Long.MAX_VALUE, Actionable.MODULATE, SRC)).isEqualTo(Long.MAX_VALUE);
+        assertThat(deltas.get(what)).isEqualTo(cell.getAvailableStacks().get(what));
+
+        cell.extract(what, 10, Actionable.MODULATE, SRC);
+        cell.extract(what, 10, Actionable.SIMULATE, SRC);
+        assertThat(deltas.get(what)).isEqualTo(cell.getAvailableStacks().get(what));
+
+        cell.extract(what, Long.MAX_VALUE, Actionable.MODULATE, SRC);
+        assertThat(deltas.get(what)).isZero();
+    }
+
+    /**
+     * The stored item count is tracked incrementally, so it has to match a recount of the content, also after the cell
+     * was written to its stack and loaded again.
+     */
+    @Test
+    void testIncrementalCountMatchesRecount() {
+        var stack = AEItems.ITEM_CELL_64K.stack();
+        var saves = new int[1];
+        var cell = BasicCellInventory.createInventory(stack, () -> saves[0]++);
+        Objects.requireNonNull(cell);
+        var keys = generateDifferentKeys(8);
+
+        var random = new Random(0);
+        for (int i = 0; i < 500; i++) {
+            var key = keys[random.nextInt(keys.length)];
+            var amount = 1 + random.nextInt(200);
+            if (random.nextBoolean()) {
+                cell.insert(key, amount, Actionable.MODULATE, SRC);
+            } else {
+                cell.extract(key, amount, Actionable.MODULATE, SRC);
+            }
+            assertMatchesRecount(cell);
+        }
+        assertThat(saves[0]).isPositive();
+
+        var storedBeforeSave = getStacks(cell);
+        cell.persist();
+        var reloaded = BasicCellInventory.createInventory(stack, null);
+        Objects.requireNonNull(reloaded);
+        assertThat(getStacks(reloaded)).isEqualTo(storedBeforeSave);
+        assertThat(reloaded.getStoredItemCount()).isEqualTo(cell.getStoredItemCount());
+        assertThat(reloaded.getStoredItemTypes()).isEqualTo(cell.getStoredItemTypes());
+    }
+
+    /**
+     * Changes to a cell in a cell inventory are only written to the stack once the stack is accessed through the
+     * inventory.
+     */
+    @Test
+    void testChangesArePersistedWhenStackIsAccessed() {
+        var host = mock(InternalInventoryHost.class);
+        var internalInv = new AppEngInternalInventory(host, 1, 1);
+        var cellInv = new AppEngCellInventory(internalInv);
+        internalInv.setItemDirect(0, AEItems.ITEM_CELL_1K.stack());
+        var stack = internalInv.getStackInSlot(0);
+
+        var saves = new int[1];
+        var cell = BasicCellInventory.createInventory(stack, () -> saves[0]++);
+        Objects.requireNonNull(cell);
+        cellInv.setHandler(0, cell);
+        var diamond = AEItemKey.of(Items.DIAMOND);
+        cell.insert(diamond, 100, Actionable.MODULATE, SRC);
+        cell.extract(diamond, 30, Actionable.MODULATE, SRC);
+        cell.insert(AEItemKey.of(Items.STICK), 5, Actionable.MODULATE, SRC);
+
+        // The container was notified of every change, but nothing was written yet
+        assertThat(saves[0]).isEqualTo(3);
+        assertThat(stack.has(AEComponents.STORAGE_CELL_INV)).isFalse();
+
+        var persistedStack = cellInv.getStackInSlot(0);
+        assertThat(persistedStack.has(AEComponents.STORAGE_CELL_INV)).isTrue();
+        var reloaded = BasicCellInventory.createInventory(persistedStack, null);
+        Objects.requireNonNull(reloaded);
+        assertThat(getStacks(reloaded)).containsOnly(Map.entry(diamond, 70L),
+                Map.entry(AEItemKey.of(Items.STICK), 5L));
+        assertThat(reloaded.getStoredItemCount()).isEqualTo(75);
+
+        // Removing everything clears the stack once it's persisted again
+        cell.extract(diamond, 70, Actionable.MODULATE, SRC);
+        cell.extract(AEItemKey.of(Items.STICK), 5, Actionable.MODULATE, SRC);
+        assertThat(cell.getStoredItemCount()).isZero();
+        cellInv.persist();
+        assertThat(stack.has(AEComponents.STORAGE_CELL_INV)).isFalse();
+    }
+
+    private static void assertMatchesRecount(BasicCellInventory cell) {
+        var stacks = getStacks(cell);
+        assertThat(cell.getStoredItemCount()).isEqualTo(stacks.values().stream().mapToLong(Long::longValue).sum());
+        assertThat(cell.getStoredItemTypes()).isEqualTo(stacks.size());
+    }
+
+    private static Map<AEKey, Long> getStacks(BasicCellInventory cell) {
+        var counter = new KeyCounter();
+        cell.getAvailableStacks(counter);
+        var result = new HashMap<AEKey, Long>();
+        for (var entry : counter) {
+            result.put(entry.getKey(), entry.getLongValue());
+        }
+        return result;
+    }
+
     private static AEItemKey[] generateDifferentKeys(int count) {
         var out = new AEItemKey[count];
         for (int i = 0; i < count; ++i) {
@@ -0,0 +1,311 @@
+package appeng.me.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.saveddata.SavedData;
+import net.minecraft.world.level.storage.DimensionDataStorage;
+
+import appeng.api.networking.GridFlags;
+import appeng.api.networking.GridHelper;
+import appeng.api.networking.IGrid;
+import appeng.api.networking.IGridNodeListener;
+import appeng.api.networking.pathing.ChannelMode;
+import appeng.api.networking.pathing.ControllerState;
+import appeng.blockentity.networking.ControllerBlockEntity;
+import appeng.me.AbstractGridNodeTest;
+import appeng.me.GridNode;
+
+/**
+ * Checks that changes applied incrementally to the channel assignment of a grid give the same result as pathing the
+ * entire grid again.
+ */
+class PathingServiceTest extends AbstractGridNodeTest {
+    private GridNode controller;
+    private GridNode denseCable;
+    private GridNode cable;
+    private final List<GridNode> devices = new ArrayList<>();
+
+    @BeforeEach
+    void setupServer() {
+        // Reaching a new number of channels looks up the owners of the grid nodes to grant them advancements
+        var server = mock(MinecraftServer.class);
+        var dataStorage = mock(DimensionDataStorage.class);
+        when(level.getServer()).thenReturn(server);
+        when(server.getLevel(Level.OVERWORLD)).thenReturn(level);
+        when(level.getDataStorage()).thenReturn(dataStorage);
+        when(dataStorage.computeIfAbsent(any(), anyString()))
+                .thenAnswer(invocation -> invocation.<SavedData.Factory<?>>getArgument(0).constructor().get());
+    }
+
+    @Test
+    void testAddingDeviceIsAppliedIncrementally() {
+        var grid = buildGrid(3);
+
+        var device = makeDevice();
+        GridHelper.createConnection(cable, device);
+        tickWithoutBooting(grid);
+
+        assertThat(device.getUsedChannels()).isEqualTo(1);
+        assertThat(cable.getUsedChannels()).isEqualTo(4);
+        assertThat(grid.getPathingService().getUsedChannels()).isEqualTo(4);
+        assertSameAsRepath(grid);
+    }
+
+    @Test
+    void testRemovingDeviceIsAppliedIncrementally() {
+        var grid = buildGrid(3);
+
+        devices.getFirst().destroy();
+        tickWithoutBooting(grid);
+
+        assertThat(cable.getUsedChannels()).isEqualTo(2);
+        assertThat(denseCable.getUsedChannels()).isEqualTo(2);
+        assertThat(grid.getPathingService().getUsedChannels()).isEqualTo(2);
+        assertSameAsRepath(grid);
+    }
+
+    @Test
+    void testAddingAndRemovingDevicesInTheSameTick() {
+        var grid = buildGrid(3);
+
+        devices.get(1).destroy();
+        GridHelper.createConnection(denseCable, makeDevice());
+        GridHelper.createConnection(cable, makeDevice());
+        tickWithoutBooting(grid);
+
+        assertThat(grid.getPathingService().getUsedChannels()).isEqualTo(4);
+        assertSameAsRepath(grid);
+    }
+
+    @Test
+    void testNewConnectionBetweenExistingNodesRepaths() {
+        var grid = buildGrid(3);
+
+        // Gives the devices a shorter route to the controller
+        reset(listener);
+        GridHelper.createConnection(controller, cable);
+        runTick(grid);
+
+        verify(listener, atLeastOnce()).onStateChanged(any(), any(), eq(IGridNodeListener.State.GRID_BOOT));
+        assertSameAsRepath(grid);
+    }
+
+    @Test
+    void testAddingControllerRepaths() {
+        var grid = buildGrid(3);
+
+        var secondController = makeController(1);
+        GridHelper.createConnection(controller, secondController);
+        GridHelper.createConnection(secondController, cable);
+        reset(listener);
+        runTick(grid);
+
+        verify(listener, atLeastOnce()).onStateChanged(any(), any(), eq(IGridNodeListener.State.GRID_BOOT));
+        assertThat(grid.getPathingService().getControllerState()).isEqualTo(ControllerState.CONTROLLER_ONLINE);
+        assertThat(grid.getPathingService().getUsedChannels()).isEqualTo(3);
+        assertSameAsRepath(grid);
+    }
+
+    @Test
+    void testRemovingControllerRepaths() {
+        var grid = buildGrid(3);
+        var secondController = makeController(1);
+        GridHelper.createConnection(controller, secondController);
+        GridHelper.createConnection(secondController, cable);
+        runTick(grid);
+
+        secondController.destroy();
+        reset(listener);
+        runTick(grid);
+
+        verify(listener, atLeastOnce()).onStateChanged(any(), any(), eq(IGridNodeListener.State.GRID_BOOT));
+        assertThat(denseCable.getUsedChannels()).isEqualTo(3);
+        assertSameAsRepath(grid);
+    }
+
+    @Test
+    void testRemovingLastControllerSwitchesToAdHoc() {
+        var grid = buildGrid(3);
+
+        controller.destroy();
+        grid = cable.getGrid();
+        runTick(grid);
+
+        assertThat(grid.getPathingService().getControllerState()).isEqualTo(ControllerState.NO_CONTROLLER);
+        assertThat(grid.getPathingService().getUsedChannels()).isEqualTo(3);
+        assertSameAsRepath(grid);
+    }
+
+    @Test
+    void testDenseCableCapacityIsRespected() {
+        controller = makeController(0);
+        denseCable = makeReadyNode(GridFlags.DENSE_CAPACITY);
+        GridHelper.createConnection(controller, denseCable);
+        var grid = controller.getGrid();
+        ((PathingService) grid.getPathingService()).setForcedChannelMode(ChannelMode.DEFAULT);
+        for (int i = 0; i < 32; i++) {
+            var device = makeDevice();
+            GridHelper.createConnection(denseCable, device);
+            devices.add(device);
+        }
+        runTick(grid);
+        assertThat(denseCable.getUsedChannels()).isEqualTo(32);
+
+        // The dense cable is full, so the new device doesn't get a channel
+        var extraDevice = makeDevice();
+        GridHelper.createConnection(denseCable, extraDevice);
+        devices.add(extraDevice);
+        tickWithoutBooting(grid);
+
+        assertThat(extraDevice.getUsedChannels()).isZero();
+        assertThat(denseCable.getUsedChannels()).isEqualTo(32);
+        assertThat(grid.getPathingService().getUsedChannels()).isEqualTo(32);
+
+        // The full calculation may pick another device to go without a channel, but the totals must be the same
+        var incremental = getChannelAssignment(grid);
+        grid.getPathingService().repath();
+        runTick(grid);
+        var full = getChannelAssignment(grid);
+        assertThat(full.channelsInUse()).isEqualTo(incremental.channelsInUse());
+        assertThat(full.channelPowerUsage()).isEqualTo(incremental.channelPowerUsage());
+        assertThat(denseCable.getUsedChannels()).isEqualTo(32);
+        assertThat(countDevicesWithChannel()).isEqualTo(32);
+
+        // Freeing a channel while a device is waiting for one has to hand it over with a full calculation
+        var deviceWithChannel = devices.stream().filter(device -> device.getUsedChannels() > 0).findFirst()
+                .orElseThrow();
+        devices.remove(deviceWithChannel);
+        deviceWithChannel.destroy();
+        reset(listener);
+        runTick(grid);
+
+        verify(listener, atLeastOnce()).onStateChanged(any(), any(), eq(IGridNodeListener.State.GRID_BOOT));
+        assertThat(countDevicesWithChannel()).isEqualTo(32);
+        assertSameAsRepath(grid);
+    }
+
+    @Test
+    void testSplittingGridRepathsBothParts() {
+        var grid = buildGrid(2);
+        var bridge = makeReadyNode();
+        var otherCable = makeReadyNode();
+        GridHelper.createConnection(denseCable, bridge);
+        GridHelper.createConnection(bridge, otherCable);
+        var otherDevices = List.of(makeDevice(), makeDevice(), makeDevice());
+        for (var device : otherDevices) {
+            GridHelper.createConnection(otherCable, device);
+        }
+        runTick(grid);
+        assertThat(grid.getPathingService().getUsedChannels()).isEqualTo(5);
+
+        bridge.destroy();
+        grid = controller.getGrid();
+        var otherGrid = otherCable.getGrid();
+        assertThat(otherGrid).isNotSameAs(grid);
+        runTick(grid);
+        runTick(otherGrid);
+
+        assertThat(grid.getPathingService().getUsedChannels()).isEqualTo(2);
+        assertThat(otherGrid.getPathingService().getControllerState()).isEqualTo(ControllerState.NO_CONTROLLER);
+        assertThat(otherGrid.getPathingService().getUsedChannels()).isEqualTo(3);
+        assertSameAsRepath(grid);
+        assertSameAsRepath(otherGrid);
+    }
+
+    /**
+     * Builds a grid of a controller, a dense cable, a normal cable and the given number of devices attached to the
+     * normal cable, and paths it.
+     */
+    private IGrid buildGrid(int deviceCount) {
+        controller = makeController(0);
+        denseCable = makeReadyNode(GridFlags.DENSE_CAPACITY);
+        cable = makeReadyNode();
+        GridHelper.createConnection(controller, denseCable);
+        GridHelper.createConnection(denseCable, cable);
+        for (int i = 0; i < deviceCount; i++) {
+            var device = makeDevice();
+            GridHelper.createConnection(cable, device);
+            devices.add(device);
+        }
+
+        var grid = controller.getGrid();
+        ((PathingService) grid.getPathingService()).setForcedChannelMode(ChannelMode.DEFAULT);
+        runTick(grid);
+        assertThat(grid.getPathingService().getControllerState()).isEqualTo(ControllerState.CONTROLLER_ONLINE);
+        assertThat(grid.getPathingService().getUsedChannels()).isEqualTo(deviceCount);
+        return grid;
+    }
+
+    private GridNode makeController(int x) {
+        var owner = mock(ControllerBlockEntity.class);
+        var node = makeReadyNode(owner, Set.of(GridFlags.CANNOT_CARRY, GridFlags.DENSE_CAPACITY));
+        when(owner.getGridNode()).thenReturn(node);
+        when(owner.getBlockPos()).thenReturn(new BlockPos(x, 0, 0));
+        return node;
+    }
+
+    private GridNode makeDevice() {
+        return makeReadyNode(GridFlags.REQUIRE_CHANNEL);
+    }
+
+    private long countDevicesWithChannel() {
+        return devices.stream().filter(GridNode::meetsChannelRequirements).count();
+    }
+
+    /**
+     * Applies the pending changes of the grid, and checks that it didn't need to reboot for them.
+     */
+    private void tickWithoutBooting(IGrid grid) {
+        reset(listener);
+        runTick(grid);
+        verify(listener, never()).onStateChanged(any(), any(), eq(IGridNodeListener.State.GRID_BOOT));
+    }
+
+    /**
+     * Paths the entire grid again, and checks that every node and connection keeps its channels.
+     */
+    private void assertSameAsRepath(IGrid grid) {
+        var current = getChannelAssignment(grid);
+        grid.getPathingService().repath();
+        runTick(grid);
+        assertThat(current).isEqualTo(getChannelAssignment(grid));
+    }
+
+    private static ChannelAssignment getChannelAssignment(IGrid grid) {
+        var usedChannels = new HashMap<Object, Integer>();
+        for (var node : grid.getNodes()) {
+            usedChannels.put(node, node.getUsedChannels());
+            for (var connection : node.getConnections()) {
+                usedChannels.put(connection, connection.getUsedChannels());
+            }
+        }
+        var pathingService = (PathingService) grid.getPathingService();
+        return new ChannelAssignment(usedChannels, pathingService.getUsedChannels(),
+                pathingService.getChannelPowerUsage());
+    }
+
+    private record ChannelAssignment(Map<Object, Integer> usedChannels, int channelsInUse,
+            double channelPowerUsage) {
+    }
+}
@@ -0,0 +1,129 @@
+package appeng.me.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import net.minecraft.network.chat.Component;
+
+import appeng.api.implementations.blockentities.PatternContainerGroup;
+import appeng.api.inventories.InternalInventory;
+import appeng.api.networking.GridHelper;
+import appeng.api.networking.IGrid;
+import appeng.helpers.patternprovider.PatternContainer;
+import appeng.me.AbstractGridNodeTest;
+import appeng.me.GridNode;
+import appeng.util.inv.AppEngInternalInventory;
+
+class PatternContainerServiceTest extends AbstractGridNodeTest {
+    private final List<PatternContainer> notified = new ArrayList<>();
+    private final PatternContainerService.Listener changeListener = notified::add;
+    private GridNode rootNode;
+    private IGrid grid;
+    private PatternContainerService service;
+
+    @BeforeEach
+    void createGrid() {
+        rootNode = makeReadyNode(new Object(), Set.of());
+        grid = rootNode.getGrid();
+        service = PatternContainerService.get(grid);
+        service.addListener(changeListener);
+    }
+
+    @Test
+    void testListenersAreNotifiedOfChanges() {
+        var container = new TestContainer();
+        join(container);
+
+        PatternContainerService.notifyChanged(container);
+        PatternContainerService.notifyChanged(container);
+
+        assertThat(notified).containsExactly(container, container);
+    }
+
+    @Test
+    void testRemovedListenersAreNotNotified() {
+        var container = new TestContainer();
+        join(container);
+
+        service.removeListener(changeListener);
+        PatternContainerService.notifyChanged(container);
+
+        assertThat(notified).isEmpty();
+    }
+
+    @Test
+    void testContainersWithoutGridAreIgnored() {
+        var container = new TestContainer();
+
+        PatternContainerService.notifyChanged(container);
+
+        assertThat(notified).isEmpty();
+    }
+
+    @Test
+    void testContainersJoiningAndLeavingChangeVersion() {
+        var initialVersion = service.getContainersVersion();
+
+        var first = join(new TestContainer());
+        var versionWithFirst = service.getContainersVersion();
+        assertThat(versionWithFirst).isNotEqualTo(initialVersion);
+
+        join(new TestContainer());
+        var versionWithBoth = service.getContainersVersion();
+        assertThat(versionWithBoth).isNotEqualTo(versionWithFirst);
+
+        first.destroy();
+        assertThat(service.getContainersVersion()).isNotIn(initialVersion, versionWithFirst, versionWithBoth);
+    }
+
+    @Test
+    void testOtherMachinesDoNotChangeVersion() {
+        var version = service.getContainersVersion();
+
+        var node = join(new Object());
+        assertThat(service.getContainersVersion()).isEqualTo(version);
+
+        node.destroy();
+        assertThat(service.getContainersVersion()).isEqualTo(version);
+    }
+
+    private GridNode join(Object machine) {
+        var node = new GridNode(level, machine, listener, Set.of());
+        GridHelper.createConnection(rootNode, node);
+        node.markReady();
+        assertThat(node.getGrid()).isSameAs(grid);
+        if (machine instanceof TestContainer container) {
+            container.grid = grid;
+        }
+        return node;
+    }
+
+    private static class TestContainer implements PatternContainer {
+        private final InternalInventory patterns = new AppEngInternalInventory(9);
+        @Nullable
+        private IGrid grid;
+
+        @Nullable
+        @Override
+        public IGrid getGrid() {
+            return grid;
+        }
+
+        @Override
+        public InternalInventory getTerminalPatternInventory() {
+            return patterns;
+        }
+
+        @Override
+        public PatternContainerGroup getTerminalGroup() {
+            return new PatternContainerGroup(null, Component.literal("test"), List.of());
+        }
+    }
+}
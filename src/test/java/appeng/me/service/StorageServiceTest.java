@@ -0,0 +1,173 @@
+package appeng.me.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import net.minecraft.network.chat.Component;
+import net.minecraft.world.item.Items;
+
+import appeng.api.config.Actionable;
+import appeng.api.networking.IGrid;
+import appeng.api.networking.security.IActionSource;
+import appeng.api.stacks.AEItemKey;
+import appeng.api.stacks.AEKey;
+import appeng.api.stacks.KeyCounter;
+import appeng.api.storage.MEStorage;
+import appeng.me.AbstractGridNodeTest;
+import appeng.me.helpers.BaseActionSource;
+import appeng.menu.me.common.IncrementalUpdateHelper;
+
+/**
+ * Tests the cached inventory that {@link StorageService} shares between all terminals of a grid.
+ */
+class StorageServiceTest extends AbstractGridNodeTest {
+    private static final IActionSource SRC = new BaseActionSource();
+
+    private final AEItemKey stone = AEItemKey.of(Items.STONE);
+    private final AEItemKey dirt = AEItemKey.of(Items.DIRT);
+    private final SimpleStorage storage = new SimpleStorage();
+    private IGrid grid;
+    private StorageService service;
+
+    @BeforeEach
+    void mountStorage() {
+        grid = makeReadyNode().getGrid();
+        service = (StorageService) grid.getStorageService();
+        service.addGlobalStorageProvider(mounts -> mounts.mount(storage));
+    }
+
+    @Test
+    void testTerminalInventoryReflectsChanges() {
+        insert(stone, 10);
+        runTick(grid);
+        assertThat(service.getTerminalInventory().get(stone)).isEqualTo(10);
+
+        storage.content.add(dirt, 5);
+        runTick(grid);
+        assertThat(service.getTerminalInventory().get(dirt)).isEqualTo(5);
+        assertThat(service.getTerminalInventory().get(stone)).isEqualTo(10);
+    }
+
+    @Test
+    void testJournalContainsChangedKeys() {
+        service.getTerminalInventory();
+        var journal = service.getChangeJournal();
+        var version = journal.getVersion();
+        assertThat(getChangesSince(version)).isEmpty();
+
+        insert(stone, 10);
+        insert(dirt, 5);
+        runTick(grid);
+        service.getTerminalInventory();
+        assertThat(getChangesSince(version)).containsExactlyInAnyOrder(stone, dirt);
+
+        // Unchanged keys are not journaled again
+        version = journal.getVersion();
+        extract(dirt, 5);
+        runTick(grid);
+        service.getTerminalInventory();
+        assertThat(getChangesSince(version)).containsExactly(dirt);
+        assertThat(service.getTerminalInventory().get(dirt)).isZero();
+    }
+
+    @Test
+    void testTerminalsShareTheJournal() {
+        var first = new IncrementalUpdateHelper();
+        var second = new IncrementalUpdateHelper();
+        service.getTerminalInventory();
+
+        // Helpers that never read from the journal need a full update
+        assertThat(first.addChangesFrom(service.getChangeJournal())).isFalse();
+        assertThat(second.addChangesFrom(service.getChangeJournal())).isFalse();
+        first.commitChanges();
+        second.commitChanges();
+
+        insert(stone, 10);
+        runTick(grid);
+        service.getTerminalInventory();
+        assertThat(first.addChangesFrom(service.getChangeJournal())).isTrue();
+        assertThat(first).containsExactly(stone);
+        first.commitChanges();
+
+        insert(dirt, 1);
+        runTick(grid);
+        service.getTerminalInventory();
+
+        // Each helper only sees the changes since it last read from the journal
+        assertThat(first.addChangesFrom(service.getChangeJournal())).isTrue();
+        assertThat(first).containsExactly(dirt);
+        assertThat(second.addChangesFrom(service.getChangeJournal())).isTrue();
+        assertThat(second).containsExactlyInAnyOrder(stone, dirt);
+    }
+
+    @Test
+    void testForgottenJournalRequiresFullUpdate() {
+        var helper = new IncrementalUpdateHelper();
+        service.getTerminalInventory();
+        helper.addChangesFrom(service.getChangeJournal());
+        helper.commitChanges();
+
+        helper.forgetJournal();
+        insert(stone, 10);
+        runTick(grid);
+        service.getTerminalInventory();
+
+        assertThat(helper.addChangesFrom(service.getChangeJournal())).isFalse();
+        // Afterwards, incremental updates work again
+        insert(stone, 1);
+        runTick(grid);
+        service.getTerminalInventory();
+        assertThat(helper.addChangesFrom(service.getChangeJournal())).isTrue();
+        assertThat(helper).containsExactly(stone);
+    }
+
+    private void insert(AEKey what, long amount) {
+        assertThat(service.getInventory().insert(what, amount, Actionable.MODULATE, SRC)).isEqualTo(amount);
+    }
+
+    private void extract(AEKey what, long amount) {
+        assertThat(service.getInventory().extract(what, amount, Actionable.MODULATE, SRC)).isEqualTo(amount);
+    }
+
+    private List<AEKey> getChangesSince(long version) {
+        var result = new ArrayList<AEKey>();
+        assertThat(service.getChangeJournal().getChangesSince(version, result::add)).isTrue();
+        return result;
+    }
+
+    private static class SimpleStorage implements MEStorage {
+        final KeyCounter content = new KeyCounter();
+
+        @Override
+        public long insert(AEKey what, long amount, Actionable mode, IActionSource source) {
+            if (mode == Actionable.MODULATE) {
+                content.add(what, amount);
+            }
+            return amount;
+        }
+
+        @Override
+        public long extract(AEKey what, long amount, Actionable mode, IActionSource source) {
+            var extracted = Math.min(amount, content.get(what));
+            if (mode == Actionable.MODULATE) {
+                content.remove(what, extracted);
+            }
+            return extracted;
+        }
+
+        @Override
+        public void getAvailableStacks(KeyCounter out) {
+            out.addAll(content);
+        }
+
+        @Override
+        public Component getDescription() {
+            return Component.literal("simple storage");
+        }
+    }
+}
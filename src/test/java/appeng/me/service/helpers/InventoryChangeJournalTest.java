@@ -0,0 +1,75 @@
+package appeng.me.service.helpers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import net.minecraft.world.item.Items;
+
+import appeng.api.stacks.AEItemKey;
+import appeng.api.stacks.AEKey;
+import appeng.util.BootstrapMinecraft;
+
+@BootstrapMinecraft
+class InventoryChangeJournalTest {
+    private final InventoryChangeJournal journal = new InventoryChangeJournal();
+    private final AEItemKey stone = AEItemKey.of(Items.STONE);
+    private final AEItemKey dirt = AEItemKey.of(Items.DIRT);
+
+    @Test
+    void testChangesBeforeFirstReadAreNotRecorded() {
+        journal.add(stone);
+        assertThat(journal.getVersion()).isEqualTo(1);
+
+        // Readers have to start with a full update anyway
+        assertThat(journal.getChangesSince(0, key -> {
+        })).isFalse();
+        assertThat(getChangesSince(1)).isEmpty();
+    }
+
+    @Test
+    void testChangesSinceVersion() {
+        var start = journal.getVersion();
+        assertThat(getChangesSince(start)).isEmpty();
+
+        journal.add(stone);
+        var afterStone = journal.getVersion();
+        journal.add(dirt);
+        journal.add(stone);
+
+        assertThat(getChangesSince(start)).containsExactly(stone, dirt, stone);
+        assertThat(getChangesSince(afterStone)).containsExactly(dirt, stone);
+        assertThat(getChangesSince(journal.getVersion())).isEmpty();
+    }
+
+    @Test
+    void testReaderThatFellBehindMustResync() {
+        var start = journal.getVersion();
+        getChangesSince(start);
+
+        for (int i = 0; i < 20000; i++) {
+            journal.add(i % 2 == 0 ? stone : dirt);
+        }
+
+        assertThat(journal.getChangesSince(start, key -> {
+            throw new AssertionError("Should not pass changes");
+        })).isFalse();
+        assertThat(getChangesSince(journal.getVersion() - 2)).containsExactly(stone, dirt);
+    }
+
+    @Test
+    void testVersionsFromTheFutureAreRejected() {
+        getChangesSince(0);
+        assertThat(journal.getChangesSince(journal.getVersion() + 1, key -> {
+        })).isFalse();
+    }
+
+    private List<AEKey> getChangesSince(long version) {
+        var result = new ArrayList<AEKey>();
+        assertThat(journal.getChangesSince(version, result::add)).isTrue();
+        return result;
+    }
+}
@@ -87,6 +87,62 @@ public Set<AEKey> getEmitableItems() {
         assertThat(craftingProviders.getMediums(pattern)).isEmpty();
     }
 
+    @Test
+    void testReadyProviders() {
+        var craftingProviders = new NetworkCraftingProviders();
+        var pattern = new ProcessingPatternBuilder(new GenericStack(AEItemKey.of(Items.ANDESITE), 1)).build();
+        var busy = new boolean[] { true, true };
+
+        var nodes = new IGridNode[2];
+        for (int i = 0; i < nodes.length; i++) {
+            var index = i;
+            var provider = new ICraftingProvider() {
+                @Override
+                public List<IPatternDetails> getAvailablePatterns() {
+                    return List.of(pattern);
+                }
+
+                @Override
+                public boolean pushPattern(IPatternDetails patternDetails, KeyCounter[] inputHolder) {
+                    return false;
+                }
+
+                @Override
+                public boolean isBusy() {
+                    return busy[index];
+                }
+
+                @Override
+                public boolean notifiesBusyChanges() {
+                    return true;
+                }
+            };
+            nodes[i] = mock(IGridNode.class);
+            when(nodes[i].getService(ICraftingProvider.class)).thenReturn(provider);
+        }
+
+        assertThat(craftingProviders.hasReadyProvider(pattern)).isFalse();
+        craftingProviders.addProvider(nodes[0]);
+        craftingProviders.addProvider(nodes[1]);
+        assertThat(craftingProviders.hasReadyProvider(pattern)).isFalse();
+
+        busy[1] = false;
+        assertThat(craftingProviders.hasReadyProvider(pattern)).isFalse();
+        craftingProviders.refreshBusyState(nodes[1]);
+        assertThat(craftingProviders.hasReadyProvider(pattern)).isTrue();
+
+        // Removing the busy provider keeps the ready one
+        craftingProviders.removeProvider(nodes[0]);
+        assertThat(craftingProviders.hasReadyProvider(pattern)).isTrue();
+
+        busy[1] = true;
+        craftingProviders.refreshBusyState(nodes[1]);
+        assertThat(craftingProviders.hasReadyProvider(pattern)).isFalse();
+
+        craftingProviders.removeProvider(nodes[1]);
+        assertThat(craftingProviders.hasReadyProvider(pattern)).isFalse();
+    }
+
     @Test
     void testPatternPriorities() {
         var craftingProviders = new NetworkCraftingProviders();
@@ -0,0 +1,170 @@
+package appeng.me.service.helpers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import appeng.api.networking.IGridNode;
+import appeng.api.networking.ticking.IGridTickable;
+import appeng.api.networking.ticking.TickingRequest;
+
+class TickWheelTest {
+    private static TickTracker makeTracker(int rate, long currentTick) {
+        return new TickTracker(new TickingRequest(rate, rate, false, rate), mock(IGridNode.class),
+                mock(IGridTickable.class), currentTick);
+    }
+
+    private static List<TickTracker> tick(TickWheel wheel, long currentTick) {
+        var result = new ArrayList<TickTracker>();
+        wheel.tick(currentTick, result::add);
+        return result;
+    }
+
+    @Test
+    void testTrackersAreDueAfterTheirRate() {
+        var wheel = new TickWheel(0);
+        var fast = makeTracker(1, 0);
+        var slow = makeTracker(3, 0);
+        wheel.add(fast);
+        wheel.add(slow);
+
+        assertThat(tick(wheel, 0)).isEmpty();
+        assertThat(tick(wheel, 1)).containsExactly(fast);
+        assertThat(tick(wheel, 2)).isEmpty();
+        assertThat(tick(wheel, 3)).containsExactly(slow);
+        assertThat(wheel.isEmpty()).isTrue();
+    }
+
+    @Test
+    void testRemovedTrackersAreNotDue() {
+        var wheel = new TickWheel(0);
+        var a = makeTracker(2, 0);
+        var b = makeTracker(2, 0);
+        var c = makeTracker(2, 0);
+        wheel.add(a);
+        wheel.add(b);
+        wheel.add(c);
+
+        wheel.remove(b);
+        assertThat(wheel.contains(b)).isFalse();
+        assertThat(wheel.size()).isEqualTo(2);
+        assertThat(tick(wheel, 2)).containsExactly(a, c);
+    }
+
+    /**
+     * Trackers that are due more than one revolution of the wheel in the future must not be ticked early.
+     */
+    @Test
+    void testTrackersInLaterRevolutions() {
+        var wheel = new TickWheel(0);
+        var tracker = makeTracker(1000, 0);
+        wheel.add(tracker);
+
+        for (int tick = 1; tick < 1000; tick++) {
+            assertThat(tick(wheel, tick)).isEmpty();
+        }
+        assertThat(tick(wheel, 1000)).containsExactly(tracker);
+    }
+
+    /**
+     * If ticks were skipped, all trackers that became due in the meantime are ticked at once.
+     */
+    @Test
+    void testSkippedTicks() {
+        var wheel = new TickWheel(0);
+        var a = makeTracker(5, 0);
+        var b = makeTracker(300, 0);
+        var c = makeTracker(2000, 0);
+        wheel.add(a);
+        wheel.add(b);
+        wheel.add(c);
+
+        assertThat(tick(wheel, 1000)).containsExactly(a, b);
+        assertThat(wheel.contains(c)).isTrue();
+    }
+
+    /**
+     * Trackers that become due while the current tick is processed are processed in the same pass.
+     */
+    @Test
+    void testTrackersAddedWhileTicking() {
+        var wheel = new TickWheel(0);
+        var a = makeTracker(1, 0);
+        var b = makeTracker(1, 0);
+        wheel.add(a);
+
+        var ticked = new ArrayList<TickTracker>();
+        wheel.tick(1, tt -> {
+            ticked.add(tt);
+            if (tt == a) {
+                wheel.add(b);
+            }
+        });
+        assertThat(ticked).containsExactly(a, b);
+    }
+
+    /**
+     * Compares the wheel with the {@link PriorityQueue} the tick manager used before, while trackers are alerted, put
+     * to sleep and woken up at random, and ticks are occasionally skipped.
+     */
+    @Test
+    void testMatchesPriorityQueue() {
+        var random = new Random(0);
+        var trackers = new ArrayList<TickTracker>();
+        for (int i = 0; i < 500; i++) {
+            var minRate = 1 + random.nextInt(20);
+            var request = new TickingRequest(minRate, minRate + random.nextInt(400), false);
+            trackers.add(new TickTracker(request, mock(IGridNode.class), mock(IGridTickable.class), 0));
+        }
+        var wheel = new TickWheel(1);
+        var queue = new PriorityQueue<TickTracker>();
+        for (var tt : trackers) {
+            wheel.add(tt);
+            queue.add(tt);
+        }
+
+        long currentTick = 0;
+        for (int round = 0; round < 2000; round++) {
+            currentTick += random.nextInt(50) == 0 ? 1 + random.nextInt(600) : 1;
+
+            for (int i = 0; i < 20; i++) {
+                var tt = trackers.get(random.nextInt(trackers.size()));
+                if (random.nextInt(4) == 0) {
+                    if (wheel.contains(tt)) {
+                        wheel.remove(tt);
+                        queue.remove(tt);
+                    } else {
+                        wheel.add(tt);
+                        queue.add(tt);
+                    }
+                } else if (wheel.contains(tt)) {
+                    tt.setTickOnNextTick();
+                    wheel.update(tt);
+                    queue.remove(tt);
+                    queue.add(tt);
+                }
+            }
+
+            var expected = new ArrayList<TickTracker>();
+            while (!queue.isEmpty() && queue.peek().getNextTick() <= currentTick) {
+                expected.add(queue.poll());
+            }
+            var ticked = tick(wheel, currentTick);
+            assertThat(ticked).as("tick %d", currentTick).containsExactlyInAnyOrderElementsOf(expected);
+            assertThat(wheel.size()).isEqualTo(queue.size());
+
+            for (var tt : ticked) {
+                tt.setLastTick(currentTick);
+                tt.setCurrentRate(tt.getCurrentRate() + random.nextInt(3) - 1);
+                wheel.add(tt);
+                queue.add(tt);
+            }
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package appeng.me.storage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import net.neoforged.neoforge.items.ItemStackHandler;
+
+import appeng.api.stacks.AEItemKey;
+import appeng.api.stacks.AEKey;
+import appeng.api.stacks.KeyCounter;
+import appeng.me.storage.ExternalInventoryCache.ScanResult;
+import appeng.util.BootstrapMinecraft;
+
+@BootstrapMinecraft
+class ExternalInventoryCacheTest {
+    private static final Item[] ITEMS = { Items.STONE, Items.DIRT, Items.DIAMOND, Items.STICK };
+
+    private final ItemStackHandler handler = new ItemStackHandler(10);
+    private final ExternalStorageFacade facade = ExternalStorageFacade.of(handler);
+    private final ExternalInventoryCache cache = ExternalInventoryCache.of(facade);
+
+    @Test
+    void testScanResultsOfChunks() {
+        assertThat(cache.update(4)).isEqualTo(ScanResult.SCANNING);
+        assertThat(cache.update(4)).isEqualTo(ScanResult.SCANNING);
+        assertThat(cache.update(4)).isEqualTo(ScanResult.UNCHANGED);
+        assertThat(cache.getLastPassSlots()).isEqualTo(10);
+        assertThat(cache.getLastPassTicks()).isEqualTo(3);
+
+        handler.setStackInSlot(5, new ItemStack(Items.STONE, 3));
+        assertThat(cache.update(4)).isEqualTo(ScanResult.SCANNING);
+        assertThat(cache.update(4)).isEqualTo(ScanResult.CHANGED);
+        // The pass contained a change, so the inventory isn't considered idle yet
+        assertThat(cache.update(4)).isEqualTo(ScanResult.SCANNING);
+
+        assertThat(cache.update(4)).isEqualTo(ScanResult.SCANNING);
+        assertThat(cache.update(4)).isEqualTo(ScanResult.SCANNING);
+        assertThat(cache.update(4)).isEqualTo(ScanResult.UNCHANGED);
+        assertThat(getCachedItems()).containsOnly(Map.entry(AEItemKey.of(Items.STONE), 3L));
+    }
+
+    @Test
+    void testChunkedScansMatchFullRescan() {
+        var random = new Random(0);
+        for (int round = 0; round < 50; round++) {
+            // Change a few slots, including ones that were already scanned in the current pass
+            for (int i = random.nextInt(4); i >= 0; i--) {
+                var slot = random.nextInt(handler.getSlots());
+                if (random.nextInt(4) == 0) {
+                    handler.setStackInSlot(slot, ItemStack.EMPTY);
+                } else {
+                    handler.setStackInSlot(slot, new ItemStack(ITEMS[random.nextInt(ITEMS.length)],
+                            1 + random.nextInt(64)));
+                }
+            }
+            cache.update(1 + random.nextInt(4));
+        }
+
+        // Once a complete pass has been scanned since the last change, the cache is up-to-date
+        completePass();
+        assertThat(getCachedItems()).isEqualTo(getRescannedItems());
+    }
+
+    @Test
+    void testUpdateAllMatchesFullRescan() {
+        handler.setStackInSlot(0, new ItemStack(Items.STONE, 10));
+        handler.setStackInSlot(9, new ItemStack(Items.STONE, 5));
+        assertThat(cache.updateAll()).isTrue();
+        assertThat(getCachedItems()).isEqualTo(getRescannedItems());
+
+        handler.setStackInSlot(9, new ItemStack(Items.DIRT, 5));
+        assertThat(cache.updateAll()).isTrue();
+        assertThat(getCachedItems()).isEqualTo(getRescannedItems())
+                .containsOnly(Map.entry(AEItemKey.of(Items.STONE), 10L), Map.entry(AEItemKey.of(Items.DIRT), 5L));
+
+        assertThat(cache.updateAll()).isFalse();
+    }
+
+    @Test
+    void testSlotsRemovedFromInventory() {
+        handler.setStackInSlot(2, new ItemStack(Items.STONE, 10));
+        handler.setStackInSlot(8, new ItemStack(Items.DIRT, 5));
+        completePass();
+
+        handler.setSize(5);
+        handler.setStackInSlot(2, new ItemStack(Items.STONE, 7));
+        assertThat(cache.update(2)).isEqualTo(ScanResult.CHANGED);
+        completePass();
+
+        assertThat(getCachedItems()).isEqualTo(getRescannedItems())
+                .containsOnly(Map.entry(AEItemKey.of(Items.STONE), 7L));
+    }
+
+    @Test
+    void testExtractableOnlySkipsLockedSlots() {
+        var lockedHandler = new ItemStackHandler(4) {
+            @Override
+            public ItemStack extractItem(int slot, int amount, boolean simulate) {
+                return slot == 1 ? ItemStack.EMPTY : super.extractItem(slot, amount, simulate);
+            }
+        };
+        var lockedFacade = ExternalStorageFacade.of(lockedHandler);
+        lockedFacade.setExtractableOnly(true);
+        var lockedCache = ExternalInventoryCache.of(lockedFacade);
+        lockedHandler.setStackInSlot(0, new ItemStack(Items.STONE, 2));
+        lockedHandler.setStackInSlot(1, new ItemStack(Items.DIRT, 3));
+
+        lockedCache.updateAll();
+
+        var cached = new KeyCounter();
+        lockedCache.getAvailableItems(cached);
+        var rescanned = new KeyCounter();
+        lockedFacade.getAvailableStacks(rescanned);
+        assertThat(toMap(cached)).isEqualTo(toMap(rescanned))
+                .containsOnly(Map.entry(AEItemKey.of(Items.STONE), 2L));
+    }
+
+    /**
+     * Scans chunks until a pass without changes was completed.
+     */
+    private void completePass() {
+        for (int i = 0; i < 100; i++) {
+            if (cache.update(3) == ScanResult.UNCHANGED) {
+                return;
+            }
+        }
+        throw new AssertionError("No pass without changes was completed");
+    }
+
+    private Map<AEKey, Long> getCachedItems() {
+        var out = new KeyCounter();
+        cache.getAvailableItems(out);
+        return toMap(out);
+    }
+
+    private Map<AEKey, Long> getRescannedItems() {
+        var out = new KeyCounter();
+        facade.getAvailableStacks(out);
+        return toMap(out);
+    }
+
+    private static Map<AEKey, Long> toMap(KeyCounter counter) {
+        var result = new HashMap<AEKey, Long>();
+        for (var entry : counter) {
+            if (entry.getLongValue() != 0) {
+                result.put(entry.getKey(), entry.getLongValue());
+            }
+        }
+        return result;
+    }
+}
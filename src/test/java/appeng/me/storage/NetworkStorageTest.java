@@ -0,0 +1,339 @@
+package appeng.me.storage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.ObjLongConsumer;
+
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+
+import net.minecraft.network.chat.Component;
+import net.minecraft.world.item.Items;
+
+import appeng.api.config.Actionable;
+import appeng.api.networking.security.IActionSource;
+import appeng.api.stacks.AEItemKey;
+import appeng.api.stacks.AEKey;
+import appeng.api.stacks.KeyCounter;
+import appeng.api.storage.MEStorage;
+import appeng.me.helpers.BaseActionSource;
+import appeng.util.BootstrapMinecraft;
+
+/**
+ * Checks that routing inserts and extracts through the key index gives the same results as asking every mounted
+ * storage in order of priority.
+ */
+@BootstrapMinecraft
+class NetworkStorageTest {
+    private static final IActionSource SRC = new BaseActionSource();
+
+    private final AEItemKey stone = AEItemKey.of(Items.STONE);
+    private final AEItemKey dirt = AEItemKey.of(Items.DIRT);
+    private final AEItemKey[] keys = { stone, dirt, AEItemKey.of(Items.DIAMOND), AEItemKey.of(Items.STICK) };
+
+    private final Network indexed = new Network(true);
+    private final Network unindexed = new Network(false);
+
+    @Test
+    void testRandomOperationsMatchPriorityWalk() {
+        var random = new Random(0);
+        var priorities = new int[] { 0, 0, 0, 1, 1, -1 };
+        for (int i = 0; i < 24; i++) {
+            var priority = priorities[random.nextInt(priorities.length)];
+            var capacity = 50 + random.nextInt(200);
+            var kind = Kind.values()[random.nextInt(Kind.values().length)];
+            var preferredKey = random.nextInt(3) == 0 ? keys[random.nextInt(keys.length)] : null;
+            mount(priority, kind, capacity, preferredKey);
+        }
+        assertThat(indexed.network.getIndexedInventoryCount()).isPositive();
+        assertThat(unindexed.network.getIndexedInventoryCount()).isZero();
+
+        for (int op = 0; op < 2000; op++) {
+            var what = keys[random.nextInt(keys.length)];
+            var amount = 1 + random.nextInt(300);
+            var mode = random.nextInt(4) == 0 ? Actionable.SIMULATE : Actionable.MODULATE;
+
+            switch (random.nextInt(5)) {
+                case 0, 1 -> assertThat(indexed.network.insert(what, amount, mode, SRC))
+                        .as("insert #%d", op)
+                        .isEqualTo(unindexed.network.insert(what, amount, mode, SRC));
+                case 2, 3 -> assertThat(indexed.network.extract(what, amount, mode, SRC))
+                        .as("extract #%d", op)
+                        .isEqualTo(unindexed.network.extract(what, amount, mode, SRC));
+                default -> {
+                    // Remounting moves the storage to the end of its priority
+                    var i = random.nextInt(indexed.storages.size());
+                    var priority = priorities[random.nextInt(priorities.length)];
+                    indexed.remount(i, priority);
+                    unindexed.remount(i, priority);
+                }
+            }
+
+            assertSameContent();
+        }
+    }
+
+    @Test
+    void testInsertTiesUseMountOrder() {
+        mount(0, Kind.UNINDEXED, 10, stone);
+        var second = mount(0, Kind.INDEXED, 10, null);
+        mount(0, Kind.UNTRACKED, 10, stone);
+        var fourth = mount(0, Kind.INDEXED, 10, null);
+        for (var network : List.of(indexed, unindexed)) {
+            network.storages.get(second).change(stone, 5);
+            network.storages.get(fourth).change(stone, 5);
+        }
+
+        // All four are preferred, and fill up in the order they were mounted
+        insertBoth(stone, 23);
+        assertSameContent();
+        assertThat(unindexed.amounts(stone)).containsExactly(10L, 10L, 8L, 5L);
+    }
+
+    @Test
+    void testExtractTiesUseMountOrder() {
+        mount(1, Kind.INDEXED, 100, null);
+        mount(0, Kind.INDEXED, 100, null);
+        mount(0, Kind.UNTRACKED, 100, null);
+        mount(0, Kind.INDEXED, 100, null);
+        for (var network : List.of(indexed, unindexed)) {
+            for (var storage : network.storages) {
+                storage.change(stone, 10);
+            }
+        }
+
+        // The lowest priority is used first, in the order the storage was mounted
+        extractBoth(stone, 25);
+        assertSameContent();
+        assertThat(unindexed.amounts(stone)).containsExactly(10L, 0L, 0L, 5L);
+    }
+
+    @Test
+    void testPreferredStorageIsUsedBeforeEmptyStorage() {
+        mount(0, Kind.INDEXED, 100, null);
+        mount(0, Kind.UNINDEXED, 100, stone);
+        mount(0, Kind.INDEXED, 100, null);
+        insertBoth(dirt, 10);
+        insertBoth(stone, 10);
+        insertBoth(dirt, 10);
+        assertSameContent();
+        assertThat(unindexed.amounts(stone)).containsExactly(0L, 10L, 0L);
+        assertThat(unindexed.amounts(dirt)).containsExactly(20L, 0L, 0L);
+    }
+
+    @Test
+    void testStorageUnmountedDuringInsertIsSkipped() {
+        var trigger = mount(1, Kind.INDEXED, 10, null);
+        var removed = mount(0, Kind.INDEXED, 100, null);
+        mount(0, Kind.UNINDEXED, 100, null);
+        for (var network : List.of(indexed, unindexed)) {
+            network.storages.get(removed).change(stone, 5);
+            network.storages.get(trigger).onModulate = () -> network.network.unmount(network.storages.get(removed));
+        }
+
+        insertBoth(stone, 30);
+        assertSameContent();
+        assertThat(unindexed.amounts(stone)).containsExactly(10L, 5L, 20L);
+
+        // The unmount happens once the insert is done
+        extractBoth(stone, 100);
+        assertSameContent();
+        assertThat(unindexed.amounts(stone)).containsExactly(0L, 5L, 0L);
+    }
+
+    @Test
+    void testStorageUnmountedDuringExtractIsSkipped() {
+        var trigger = mount(0, Kind.INDEXED, 100, null);
+        var removed = mount(1, Kind.INDEXED, 100, null);
+        mount(1, Kind.UNTRACKED, 100, null);
+        for (var network : List.of(indexed, unindexed)) {
+            for (var storage : network.storages) {
+                storage.change(stone, 10);
+            }
+            network.storages.get(trigger).onModulate = () -> network.network.unmount(network.storages.get(removed));
+        }
+
+        extractBoth(stone, 15);
+        assertSameContent();
+        assertThat(unindexed.amounts(stone)).containsExactly(0L, 10L, 5L);
+    }
+
+    @Test
+    void testStorageMountedDuringInsertIsUsedAfterwards() {
+        var trigger = mount(0, Kind.INDEXED, 10, null);
+        for (var network : List.of(indexed, unindexed)) {
+            var late = new ReportingStorage(100, null, true);
+            network.storages.get(trigger).onModulate = () -> network.network.mount(1, late);
+            network.storages.add(late);
+        }
+
+        assertThat(indexed.network.insert(stone, 20, Actionable.MODULATE, SRC)).isEqualTo(10);
+        assertThat(unindexed.network.insert(stone, 20, Actionable.MODULATE, SRC)).isEqualTo(10);
+        insertBoth(stone, 20);
+        assertSameContent();
+        assertThat(unindexed.amounts(stone)).containsExactly(10L, 20L);
+    }
+
+    private int mount(int priority, Kind kind, long capacity, @Nullable AEKey preferredKey) {
+        indexed.mount(priority, kind, capacity, preferredKey);
+        unindexed.mount(priority, kind, capacity, preferredKey);
+        return indexed.storages.size() - 1;
+    }
+
+    private void insertBoth(AEKey what, long amount) {
+        assertThat(indexed.network.insert(what, amount, Actionable.MODULATE, SRC))
+                .isEqualTo(unindexed.network.insert(what, amount, Actionable.MODULATE, SRC));
+    }
+
+    private void extractBoth(AEKey what, long amount) {
+        assertThat(indexed.network.extract(what, amount, Actionable.MODULATE, SRC))
+                .isEqualTo(unindexed.network.extract(what, amount, Actionable.MODULATE, SRC));
+    }
+
+    private void assertSameContent() {
+        for (var what : keys) {
+            assertThat(indexed.amounts(what)).as("amounts of %s", what).isEqualTo(unindexed.amounts(what));
+        }
+    }
+
+    private enum Kind {
+        /**
+         * Reports its changes and is only preferred for its content, so it can be indexed.
+         */
+        INDEXED,
+        /**
+         * Reports its changes, but can be preferred for keys it doesn't contain.
+         */
+        UNINDEXED,
+        /**
+         * Doesn't report its changes.
+         */
+        UNTRACKED
+    }
+
+    private static class Network {
+        final NetworkStorage network;
+        final List<TestStorage> storages = new ArrayList<>();
+
+        Network(boolean useKeyIndex) {
+            this.network = new NetworkStorage(useKeyIndex);
+        }
+
+        void mount(int priority, Kind kind, long capacity, @Nullable AEKey preferredKey) {
+            var storage = switch (kind) {
+                case INDEXED -> new ReportingStorage(capacity, null, true);
+                case UNINDEXED -> new ReportingStorage(capacity, preferredKey, false);
+                case UNTRACKED -> new TestStorage(capacity, preferredKey);
+            };
+            storages.add(storage);
+            network.mount(priority, storage);
+        }
+
+        void remount(int index, int priority) {
+            var storage = storages.get(index);
+            network.unmount(storage);
+            network.mount(priority, storage);
+        }
+
+        List<Long> amounts(AEKey what) {
+            return storages.stream().map(storage -> storage.content.get(what)).toList();
+        }
+    }
+
+    private static class TestStorage implements MEStorage {
+        final KeyCounter content = new KeyCounter();
+        private final long capacity;
+        private final Set<AEKey> preferredKeys;
+        @Nullable
+        Runnable onModulate;
+
+        TestStorage(long capacity, @Nullable AEKey preferredKey) {
+            this.capacity = capacity;
+            this.preferredKeys = preferredKey != null ? Set.of(preferredKey) : Set.of();
+        }
+
+        @Override
+        public boolean isPreferredStorageFor(AEKey what, IActionSource source) {
+            return content.get(what) > 0 || preferredKeys.contains(what);
+        }
+
+        @Override
+        public long insert(AEKey what, long amount, Actionable mode, IActionSource source) {
+            var stored = 0L;
+            for (var entry : content) {
+                stored += entry.getLongValue();
+            }
+            var inserted = Math.min(amount, capacity - stored);
+            if (inserted > 0 && mode == Actionable.MODULATE) {
+                change(what, inserted);
+            }
+            return inserted;
+        }
+
+        @Override
+        public long extract(AEKey what, long amount, Actionable mode, IActionSource source) {
+            var extracted = Math.min(amount, content.get(what));
+            if (extracted > 0 && mode == Actionable.MODULATE) {
+                change(what, -extracted);
+            }
+            return extracted;
+        }
+
+        void change(AEKey what, long delta) {
+            content.add(what, delta);
+            if (onModulate != null) {
+                var callback = onModulate;
+                onModulate = null;
+                callback.run();
+            }
+        }
+
+        @Override
+        public void getAvailableStacks(KeyCounter out) {
+            for (var entry : content) {
+                if (entry.getLongValue() > 0) {
+                    out.add(entry.getKey(), entry.getLongValue());
+                }
+            }
+        }
+
+        @Override
+        public Component getDescription() {
+            return Component.literal("test storage");
+        }
+    }
+
+    private static class ReportingStorage extends TestStorage implements IDeltaReportingStorage {
+        private final boolean preferredOnlyForContent;
+        @Nullable
+        private ObjLongConsumer<AEKey> deltaListener;
+
+        ReportingStorage(long capacity, @Nullable AEKey preferredKey, boolean preferredOnlyForContent) {
+            super(capacity, preferredKey);
+            this.preferredOnlyForContent = preferredOnlyForContent;
+        }
+
+        @Override
+        void change(AEKey what, long delta) {
+            if (deltaListener != null) {
+                deltaListener.accept(what, delta);
+            }
+            super.change(what, delta);
+        }
+
+        @Override
+        public boolean setDeltaListener(@Nullable ObjLongConsumer<AEKey> listener) {
+            this.deltaListener = listener;
+            return true;
+        }
+
+        @Override
+        public boolean isPreferredOnlyForContent() {
+            return preferredOnlyForContent;
+        }
+    }
+}
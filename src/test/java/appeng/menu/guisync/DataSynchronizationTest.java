@@ -0,0 +1,163 @@
+package appeng.menu.guisync;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.netty.buffer.Unpooled;
+
+import net.minecraft.core.RegistryAccess;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.network.RegistryFriendlyByteBuf;
+
+import it.unimi.dsi.fastutil.shorts.ShortOpenHashSet;
+import it.unimi.dsi.fastutil.shorts.ShortSet;
+
+import appeng.util.BootstrapMinecraft;
+
+@BootstrapMinecraft
+public class DataSynchronizationTest {
+    private final Host server = new Host();
+    private final Host client = new Host();
+    private final DataSynchronization serverSync = new DataSynchronization(server);
+    private final DataSynchronization clientSync = new DataSynchronization(client);
+
+    @BeforeEach
+    void sendInitialValues() {
+        assertThat(serverSync.hasChanges(-100)).isTrue();
+        sendUpdate();
+    }
+
+    @Test
+    void testMinIntervalDefersUpdates() {
+        server.progress = 1;
+        assertThat(serverSync.hasChanges(0)).isTrue();
+        assertThat(sendUpdate()).containsOnly(Host.PROGRESS);
+        assertThat(client.progress).isEqualTo(1);
+
+        for (int tick = 1; tick < 5; tick++) {
+            server.progress++;
+            assertThat(serverSync.hasChanges(tick)).as("changes in tick %d", tick).isFalse();
+        }
+        assertThat(sendUpdate()).isEmpty();
+        assertThat(client.progress).isEqualTo(1);
+
+        // The latest value is sent once the interval has passed
+        assertThat(serverSync.hasChanges(5)).isTrue();
+        assertThat(sendUpdate()).containsOnly(Host.PROGRESS);
+        assertThat(client.progress).isEqualTo(5);
+    }
+
+    @Test
+    void testSmallChangesAreSentOnceTheValueSettles() {
+        server.power = 100;
+        assertThat(serverSync.hasChanges(0)).isTrue();
+        sendUpdate();
+        assertThat(client.power).isEqualTo(100);
+
+        // Below the threshold while the value is still changing
+        server.power = 105;
+        assertThat(serverSync.hasChanges(1)).isFalse();
+        server.power = 108;
+        assertThat(serverSync.hasChanges(2)).isFalse();
+        assertThat(client.power).isEqualTo(100);
+
+        // The value stopped changing
+        assertThat(serverSync.hasChanges(3)).isTrue();
+        assertThat(sendUpdate()).containsOnly(Host.POWER);
+        assertThat(client.power).isEqualTo(108);
+
+        // A change that reaches the threshold is sent right away
+        server.power = 118;
+        assertThat(serverSync.hasChanges(4)).isTrue();
+        sendUpdate();
+        assertThat(client.power).isEqualTo(118);
+    }
+
+    @Test
+    void testSmallChangesAreSentAlongWithOtherFields() {
+        server.power = 100;
+        serverSync.hasChanges(0);
+        sendUpdate();
+
+        server.power = 103;
+        server.name = "changed";
+        assertThat(serverSync.hasChanges(1)).isTrue();
+        assertThat(sendUpdate()).containsOnly(Host.POWER, Host.NAME);
+        assertThat(client.power).isEqualTo(103);
+        assertThat(client.name).isEqualTo("changed");
+    }
+
+    @Test
+    void testUpdateSendsTheCheckedValue() {
+        server.name = "checked";
+        assertThat(serverSync.hasChanges(0)).isTrue();
+        server.name = "changed later";
+        sendUpdate();
+        assertThat(client.name).isEqualTo("checked");
+
+        // The later change is picked up by the next update
+        assertThat(serverSync.hasChanges(1)).isTrue();
+        sendUpdate();
+        assertThat(client.name).isEqualTo("changed later");
+    }
+
+    @Test
+    void testFullUpdateSendsCurrentValues() {
+        server.progress = 3;
+        server.power = 42;
+        server.name = "full";
+
+        var data = createBuffer();
+        serverSync.writeFull(data);
+        var updatedFields = new ShortOpenHashSet();
+        clientSync.readUpdate(data, updatedFields);
+
+        assertThat(updatedFields).containsOnly(Host.PROGRESS, Host.POWER, Host.NAME);
+        assertThat(client.progress).isEqualTo(3);
+        assertThat(client.power).isEqualTo(42);
+        assertThat(client.name).isEqualTo("full");
+    }
+
+    @Test
+    void testMinDeltaRequiresNumericField() {
+        assertThatThrownBy(() -> new DataSynchronization(new NonNumericHost()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("minDelta");
+    }
+
+    private ShortSet sendUpdate() {
+        var data = createBuffer();
+        serverSync.writeUpdate(data);
+        var updatedFields = new ShortOpenHashSet();
+        clientSync.readUpdate(data, updatedFields);
+        return updatedFields;
+    }
+
+    private static RegistryFriendlyByteBuf createBuffer() {
+        return new RegistryFriendlyByteBuf(Unpooled.buffer(),
+                RegistryAccess.fromRegistryOfRegistries(BuiltInRegistries.REGISTRY));
+    }
+
+    public static class Host {
+        static final short PROGRESS = 1;
+        static final short POWER = 2;
+        static final short NAME = 3;
+
+        @GuiSync(value = PROGRESS, minInterval = 5)
+        public int progress;
+
+        @GuiSync(value = POWER, minDelta = 10)
+        public long power;
+
+        @GuiSync(NAME)
+        public String name = "";
+    }
+
+    public static class NonNumericHost {
+        @GuiSync(value = 1, minDelta = 1)
+        public String name = "";
+    }
+}
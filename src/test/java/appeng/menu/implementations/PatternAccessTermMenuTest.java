@@ -0,0 +1,452 @@
+package appeng.menu.implementations;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import net.minecraft.core.RegistryAccess;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.network.chat.Component;
+import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.server.network.ServerGamePacketListenerImpl;
+import net.minecraft.world.entity.player.Inventory;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+
+import appeng.api.config.Settings;
+import appeng.api.config.ShowPatternProviders;
+import appeng.api.implementations.blockentities.PatternContainerGroup;
+import appeng.api.inventories.InternalInventory;
+import appeng.api.networking.IGrid;
+import appeng.api.networking.IGridNode;
+import appeng.api.parts.IPart;
+import appeng.api.storage.ILinkStatus;
+import appeng.api.storage.IPatternAccessTermMenuHost;
+import appeng.api.util.IConfigManager;
+import appeng.core.network.clientbound.ClearPatternAccessTerminalPacket;
+import appeng.core.network.clientbound.PatternAccessTerminalPacket;
+import appeng.helpers.patternprovider.PatternContainer;
+import appeng.helpers.patternprovider.PatternProviderLogicHost;
+import appeng.me.service.PatternContainerService;
+import appeng.util.BootstrapMinecraft;
+import appeng.util.inv.AppEngInternalInventory;
+
+/**
+ * Checks that the pattern access terminal keeps showing the right containers while they join or leave the grid, change
+ * their visibility or group, and change their patterns. Pattern providers publish their changes through the
+ * {@link PatternContainerService}, while other containers are polled.
+ */
+@BootstrapMinecraft
+class PatternAccessTermMenuTest {
+    private final PatternContainerService service = new PatternContainerService();
+    private final IGrid grid = mock(IGrid.class);
+    /**
+     * The containers on the grid, in the order they joined.
+     */
+    private final Set<PatternContainer> containers = new LinkedHashSet<>();
+    private final Set<PatternContainer> inactive = Collections.newSetFromMap(new IdentityHashMap<>());
+    private long machinesVersion;
+    private ShowPatternProviders shownProviders = ShowPatternProviders.VISIBLE;
+
+    private final List<CustomPacketPayload> packets = new ArrayList<>();
+    /**
+     * What the client would show, by inventory id.
+     */
+    private final Map<Long, ClientInventory> clientInventories = new LinkedHashMap<>();
+
+    private PatternAccessTermMenu menu;
+
+    @BeforeEach
+    void openMenu() {
+        when(grid.getService(PatternContainerService.class)).thenReturn(service);
+        when(grid.getMachineClasses()).thenAnswer(invocation -> containers.stream()
+                .map(Object::getClass)
+                .distinct()
+                .toList());
+        when(grid.getActiveMachines(any())).thenAnswer(invocation -> {
+            Class<?> machineClass = invocation.getArgument(0);
+            var result = new LinkedHashSet<>();
+            for (var container : containers) {
+                if (machineClass.isInstance(container) && !inactive.contains(container)) {
+                    result.add(container);
+                }
+            }
+            return result;
+        });
+        when(grid.getMachinesVersion(any())).thenAnswer(invocation -> machinesVersion);
+
+        var gridNode = mock(IGridNode.class);
+        when(gridNode.isActive()).thenReturn(true);
+        when(gridNode.getGrid()).thenReturn(grid);
+
+        var configManager = mock(IConfigManager.class);
+        when(configManager.getSetting(Settings.TERMINAL_SHOW_PATTERN_PROVIDERS))
+                .thenAnswer(invocation -> shownProviders);
+
+        var host = mock(IPatternAccessTermMenuHost.class, withSettings().extraInterfaces(IPart.class));
+        when(host.getGridNode()).thenReturn(gridNode);
+        when(host.getConfigManager()).thenReturn(configManager);
+        when(host.getLinkStatus()).thenReturn(ILinkStatus.ofConnected());
+
+        var level = mock(ServerLevel.class);
+        when(level.registryAccess()).thenReturn(RegistryAccess.fromRegistryOfRegistries(BuiltInRegistries.REGISTRY));
+        var player = mock(ServerPlayer.class);
+        when(player.level()).thenReturn(level);
+        when(player.getCommandSenderWorld()).thenReturn(level);
+        player.connection = mock(ServerGamePacketListenerImpl.class);
+        doAnswer(invocation -> packets.add(invocation.getArgument(0)))
+                .when(player.connection).send(any(CustomPacketPayload.class));
+
+        menu = new PatternAccessTermMenu(PatternAccessTermMenu.TYPE, 0, new Inventory(player), host, false);
+    }
+
+    @Test
+    void testVisibleContainersAreShown() {
+        join(createProvider("provider"));
+        join(createHiddenProvider("hidden provider"));
+        join(new PolledContainer("polled"));
+        join(new PolledContainer("hidden polled", false));
+
+        assertThat(tick()).isTrue();
+        assertThat(getShownNames()).containsExactlyInAnyOrder("provider", "polled");
+
+        // Nothing changed, so nothing is sent
+        assertThat(tick()).isFalse();
+        assertThat(getTerminalPackets()).isEmpty();
+    }
+
+    @Test
+    void testPublishedPatternChangesAreSentIncrementally() {
+        var provider = join(createProvider("provider"));
+        tick();
+
+        provider.getTerminalPatternInventory().setItemDirect(3, new ItemStack(Items.PAPER));
+        PatternContainerService.notifyChanged(provider);
+
+        assertThat(tick()).isFalse();
+        assertThat(getTerminalPackets()).hasSize(1);
+        assertThat(getShownPatterns("provider")).containsOnlyKeys(3);
+    }
+
+    @Test
+    void testPolledPatternChangesAreSentIncrementally() {
+        var polled = join(new PolledContainer("polled"));
+        tick();
+
+        polled.patterns.setItemDirect(5, new ItemStack(Items.PAPER));
+
+        assertThat(tick()).isFalse();
+        assertThat(getShownPatterns("polled")).containsOnlyKeys(5);
+
+        polled.patterns.setItemDirect(5, ItemStack.EMPTY);
+
+        assertThat(tick()).isFalse();
+        assertThat(getShownPatterns("polled")).isEmpty();
+    }
+
+    @Test
+    void testJoiningContainersAreShown() {
+        join(createProvider("first"));
+        tick();
+
+        join(createProvider("second"));
+        assertThat(tick()).isTrue();
+        assertThat(getShownNames()).containsExactlyInAnyOrder("first", "second");
+
+        join(new PolledContainer("polled"));
+        assertThat(tick()).isTrue();
+        assertThat(getShownNames()).containsExactlyInAnyOrder("first", "second", "polled");
+    }
+
+    @Test
+    void testLeavingContainersAreRemoved() {
+        var first = join(createProvider("first"));
+        join(createProvider("second"));
+        var polled = join(new PolledContainer("polled"));
+        tick();
+
+        leave(first);
+        assertThat(tick()).isTrue();
+        assertThat(getShownNames()).containsExactlyInAnyOrder("second", "polled");
+
+        leave(polled);
+        assertThat(tick()).isTrue();
+        assertThat(getShownNames()).containsExactlyInAnyOrder("second");
+
+        // Changes published by a container that left must not show it again
+        PatternContainerService.notifyChanged(first);
+        assertThat(tick()).isFalse();
+        assertThat(getShownNames()).containsExactlyInAnyOrder("second");
+    }
+
+    @Test
+    void testInactiveContainersAreRemoved() {
+        var provider = join(createProvider("provider"));
+        join(createProvider("other"));
+        tick();
+
+        inactive.add(provider);
+        machinesVersion++;
+        assertThat(tick()).isTrue();
+        assertThat(getShownNames()).containsExactlyInAnyOrder("other");
+
+        inactive.remove(provider);
+        machinesVersion++;
+        assertThat(tick()).isTrue();
+        assertThat(getShownNames()).containsExactlyInAnyOrder("provider", "other");
+    }
+
+    @Test
+    void testPublishedVisibilityChanges() {
+        var provider = join(createProvider("provider"));
+        var hidden = join(createHiddenProvider("hidden"));
+        tick();
+
+        when(provider.isVisibleInTerminal()).thenReturn(false);
+        PatternContainerService.notifyChanged(provider);
+        assertThat(tick()).isTrue();
+        assertThat(getShownNames()).isEmpty();
+
+        when(hidden.isVisibleInTerminal()).thenReturn(true);
+        PatternContainerService.notifyChanged(hidden);
+        assertThat(tick()).isTrue();
+        assertThat(getShownNames()).containsExactlyInAnyOrder("hidden");
+
+        when(provider.isVisibleInTerminal()).thenReturn(true);
+        PatternContainerService.notifyChanged(provider);
+        assertThat(tick()).isTrue();
+        assertThat(getShownNames()).containsExactlyInAnyOrder("provider", "hidden");
+    }
+
+    @Test
+    void testPolledVisibilityChanges() {
+        var polled = join(new PolledContainer("polled"));
+        tick();
+
+        polled.visible = false;
+        assertThat(tick()).isTrue();
+        assertThat(getShownNames()).isEmpty();
+
+        polled.visible = true;
+        assertThat(tick()).isTrue();
+        assertThat(getShownNames()).containsExactlyInAnyOrder("polled");
+    }
+
+    @Test
+    void testPublishedGroupChanges() {
+        var provider = join(createProvider("provider"));
+        tick();
+
+        when(provider.getTerminalGroup()).thenReturn(createGroup("renamed"));
+        PatternContainerService.notifyChanged(provider);
+
+        assertThat(tick()).isTrue();
+        assertThat(getShownNames()).containsExactlyInAnyOrder("renamed");
+    }
+
+    @Test
+    void testUnpublishedGroupChangesAreNoticedEventually() {
+        // The group of a provider depends on the adjacent machine, which doesn't notify the provider
+        var provider = join(createProvider("provider"));
+        tick();
+
+        when(provider.getTerminalGroup()).thenReturn(createGroup("renamed"));
+        for (int i = 0; i < 20 && getShownNames().contains("provider"); i++) {
+            tick();
+        }
+
+        assertThat(getShownNames()).containsExactlyInAnyOrder("renamed");
+    }
+
+    @Test
+    void testChangingShownProvidersSendsFullUpdate() {
+        join(createProvider("provider"));
+        join(createHiddenProvider("hidden"));
+        tick();
+
+        shownProviders = ShowPatternProviders.ALL;
+        assertThat(tick()).isTrue();
+        assertThat(getShownNames()).containsExactlyInAnyOrder("provider", "hidden");
+
+        shownProviders = ShowPatternProviders.VISIBLE;
+        assertThat(tick()).isTrue();
+        assertThat(getShownNames()).containsExactlyInAnyOrder("provider");
+    }
+
+    @Test
+    void testNotFullKeepsProvidersShownThatBecomeFull() {
+        shownProviders = ShowPatternProviders.NOT_FULL;
+        var full = createProvider("full");
+        fill(full.getTerminalPatternInventory());
+        join(full);
+        var provider = join(createProvider("provider"));
+        tick();
+        assertThat(getShownNames()).containsExactlyInAnyOrder("provider");
+
+        fill(provider.getTerminalPatternInventory());
+        PatternContainerService.notifyChanged(provider);
+        assertThat(tick()).isFalse();
+        assertThat(getShownNames()).containsExactlyInAnyOrder("provider");
+        assertThat(getShownPatterns("provider")).hasSize(9);
+    }
+
+    private <T extends PatternContainer> T join(T container) {
+        containers.add(container);
+        machinesVersion++;
+        service.addNode(createNode(container), null);
+        return container;
+    }
+
+    private void leave(PatternContainer container) {
+        containers.remove(container);
+        machinesVersion++;
+        service.removeNode(createNode(container));
+    }
+
+    private static IGridNode createNode(PatternContainer container) {
+        var node = mock(IGridNode.class);
+        when(node.getOwner()).thenReturn(container);
+        return node;
+    }
+
+    private PatternProviderLogicHost createProvider(String name) {
+        var provider = mock(PatternProviderLogicHost.class);
+        var patterns = new AppEngInternalInventory(9);
+        when(provider.getGrid()).thenAnswer(invocation -> containers.contains(provider) ? grid : null);
+        when(provider.isVisibleInTerminal()).thenReturn(true);
+        when(provider.getTerminalPatternInventory()).thenReturn(patterns);
+        when(provider.getTerminalGroup()).thenReturn(createGroup(name));
+        return provider;
+    }
+
+    private PatternProviderLogicHost createHiddenProvider(String name) {
+        var provider = createProvider(name);
+        when(provider.isVisibleInTerminal()).thenReturn(false);
+        return provider;
+    }
+
+    private static PatternContainerGroup createGroup(String name) {
+        return new PatternContainerGroup(null, Component.literal(name), List.of());
+    }
+
+    private static void fill(InternalInventory inventory) {
+        for (int i = 0; i < inventory.size(); i++) {
+            inventory.setItemDirect(i, new ItemStack(Items.PAPER));
+        }
+    }
+
+    /**
+     * Lets the menu send its updates, and applies them to the client state.
+     *
+     * @return True if a full update was sent.
+     */
+    private boolean tick() {
+        packets.clear();
+        menu.broadcastChanges();
+
+        var fullUpdate = false;
+        for (var packet : getTerminalPackets()) {
+            if (packet instanceof ClearPatternAccessTerminalPacket) {
+                fullUpdate = true;
+                clientInventories.clear();
+            } else if (packet instanceof PatternAccessTerminalPacket update) {
+                ClientInventory inventory;
+                if (update.fullUpdate()) {
+                    inventory = new ClientInventory(update.group().name().getString(), new LinkedHashMap<>());
+                    clientInventories.put(update.inventoryId(), inventory);
+                } else {
+                    inventory = clientInventories.get(update.inventoryId());
+                    assertThat(inventory).as("updated inventory %d", update.inventoryId()).isNotNull();
+                }
+                for (var entry : update.slots().int2ObjectEntrySet()) {
+                    if (entry.getValue().isEmpty()) {
+                        inventory.slots.remove(entry.getIntKey());
+                    } else {
+                        inventory.slots.put(entry.getIntKey(), entry.getValue());
+                    }
+                }
+            }
+        }
+        return fullUpdate;
+    }
+
+    private List<CustomPacketPayload> getTerminalPackets() {
+        return packets.stream()
+                .filter(packet -> packet instanceof ClearPatternAccessTerminalPacket
+                        || packet instanceof PatternAccessTerminalPacket)
+                .toList();
+    }
+
+    private List<String> getShownNames() {
+        return clientInventories.values().stream().map(ClientInventory::name).toList();
+    }
+
+    private Map<Integer, ItemStack> getShownPatterns(String name) {
+        for (var inventory : clientInventories.values()) {
+            if (inventory.name.equals(name)) {
+                return inventory.slots;
+            }
+        }
+        throw new AssertionError(name + " is not shown");
+    }
+
+    private record ClientInventory(String name, Map<Integer, ItemStack> slots) {
+    }
+
+    /**
+     * A container that doesn't publish its changes.
+     */
+    private class PolledContainer implements PatternContainer {
+        private final String name;
+        private final InternalInventory patterns = new AppEngInternalInventory(9);
+        private boolean visible;
+
+        PolledContainer(String name) {
+            this(name, true);
+        }
+
+        PolledContainer(String name, boolean visible) {
+            this.name = name;
+            this.visible = visible;
+        }
+
+        @Nullable
+        @Override
+        public IGrid getGrid() {
+            return containers.contains(this) ? grid : null;
+        }
+
+        @Override
+        public boolean isVisibleInTerminal() {
+            return visible;
+        }
+
+        @Override
+        public InternalInventory getTerminalPatternInventory() {
+            return patterns;
+        }
+
+        @Override
+        public PatternContainerGroup getTerminalGroup() {
+            return createGroup(name);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package appeng.menu.me.crafting;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import net.minecraft.world.item.Items;
+
+import appeng.api.stacks.AEItemKey;
+import appeng.api.stacks.AEKey;
+import appeng.crafting.execution.CraftingCpuLogic;
+import appeng.me.cluster.implementations.CraftingCPUCluster;
+import appeng.util.BootstrapMinecraft;
+
+@BootstrapMinecraft
+class SharedCraftingStatusTest {
+    private static final AEItemKey STONE = AEItemKey.of(Items.STONE);
+
+    private final CraftingCpuLogic logic = mock(CraftingCpuLogic.class);
+    private final SharedCraftingStatus status = new SharedCraftingStatus(logic);
+
+    @Test
+    void testListenerIsRegisteredWhileViewed() {
+        status.acquire();
+        status.acquire();
+        verify(logic, times(1)).addListener(any());
+        assertThat(status.getViewers()).isEqualTo(2);
+
+        status.release();
+        verify(logic, never()).removeListener(any());
+
+        status.release();
+        verify(logic).removeListener(any());
+        assertThat(status.getViewers()).isZero();
+
+        assertThatThrownBy(status::release).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void testChangesAreLookedUpOncePerUpdate() {
+        when(logic.getStored(STONE)).thenReturn(5L);
+        status.acquire();
+        status.acquire();
+        var listener = captureListener();
+
+        listener.accept(STONE);
+        listener.accept(STONE);
+        var update = status.poll(100);
+        assertThat(update).isNotNull();
+        assertThat(update.amounts()).containsOnlyKeys(STONE);
+        assertThat(update.amounts().get(STONE).stored()).isEqualTo(5);
+
+        // The second viewer gets the same update in the same tick
+        assertThat(status.poll(100)).isSameAs(update);
+        verify(logic, times(1)).getStored(STONE);
+
+        var next = status.poll(101);
+        assertThat(next).isNotNull();
+        assertThat(next.serial()).isEqualTo(update.serial() + 1);
+        assertThat(next.amounts()).isEmpty();
+    }
+
+    @Test
+    void testUpdatesSlowDownWithManyViewers() {
+        for (int i = 0; i < 5; i++) {
+            status.acquire();
+        }
+
+        assertThat(status.poll(100)).isNotNull();
+        assertThat(status.poll(101)).isNull();
+        assertThat(status.poll(102)).isNotNull();
+    }
+
+    @Test
+    void testReleasingLastViewerDropsCollectedChanges() {
+        status.acquire();
+        captureListener().accept(STONE);
+        status.release();
+
+        status.acquire();
+        var update = status.poll(100);
+        assertThat(update).isNotNull();
+        assertThat(update.amounts()).isEmpty();
+    }
+
+    @Test
+    void testEachCpuOwnsOneStatus() {
+        var first = new CraftingCpuLogic(mock(CraftingCPUCluster.class));
+        var second = new CraftingCpuLogic(mock(CraftingCPUCluster.class));
+
+        assertThat(first.getSharedStatus()).isSameAs(first.getSharedStatus());
+        assertThat(first.getSharedStatus()).isNotSameAs(second.getSharedStatus());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Consumer<AEKey> captureListener() {
+        ArgumentCaptor<Consumer<AEKey>> captor = ArgumentCaptor.forClass(Consumer.class);
+        verify(logic, times(1)).addListener(captor.capture());
+        return captor.getValue();
+    }
+}
@@ -0,0 +1,204 @@
+package appeng.spatial;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.PalettedContainer;
+
+import appeng.util.BootstrapMinecraft;
+
+@BootstrapMinecraft
+class SectionStagerTest {
+    private static final BlockState AIR = Blocks.AIR.defaultBlockState();
+    private static final BlockState STONE = Blocks.STONE.defaultBlockState();
+    private static final BlockState DIRT = Blocks.DIRT.defaultBlockState();
+    private static final BlockState IMMOVABLE = Blocks.BEDROCK.defaultBlockState();
+    private static final BlockState MATRIX_FRAME = Blocks.GLASS.defaultBlockState();
+
+    private final FakeRegion src = new FakeRegion();
+    private final FakeRegion dst = new FakeRegion();
+
+    @Test
+    void testMisalignedRegionsAreStagedOneSectionPerTick() {
+        var srcMin = new BlockPos(10, 5, 7);
+        var dstMin = new BlockPos(100, 40, 200);
+        var size = new BlockPos(30, 30, 30);
+        fill(src, srcMin, size, STONE);
+        fill(dst, dstMin, size, DIRT);
+
+        var stager = createStager(srcMin, dstMin, size);
+        // 3 sections along each axis of the source region
+        assertThat(stager.getTotalSections()).isEqualTo(27);
+
+        for (int i = 1; i < 27; i++) {
+            assertThat(stager.tick(1)).isFalse();
+            assertThat(stager.getProgress()).isCloseTo(i / 27f, within(1e-6f));
+        }
+        assertThat(stager.tick(1)).isTrue();
+
+        // Nothing changes before the staged sections are applied
+        assertThat(src.get(srcMin)).isEqualTo(STONE);
+        assertThat(dst.get(dstMin)).isEqualTo(DIRT);
+
+        assertThat(stager.verify()).isZero();
+        stager.apply(src, dst);
+
+        assertRegion(src, srcMin, size, DIRT);
+        assertRegion(dst, dstMin, size, STONE);
+        // Blocks next to the regions stay where they are
+        assertThat(src.get(srcMin.offset(-1, 0, 0))).isEqualTo(AIR);
+        assertThat(dst.get(dstMin.offset(size))).isEqualTo(AIR);
+    }
+
+    @Test
+    void testAlignedSectionsAreExchangedWhole() {
+        var srcMin = new BlockPos(16, 0, 16);
+        var dstMin = new BlockPos(512, 64, 512);
+        var size = new BlockPos(16, 16, 16);
+        fill(src, srcMin, size, STONE);
+        fill(dst, dstMin, size, DIRT);
+        var srcStates = src.getStates(1, 0, 1);
+        var dstStates = dst.getStates(32, 4, 32);
+
+        var stager = createStager(srcMin, dstMin, size);
+        assertThat(stager.tick(Integer.MAX_VALUE)).isTrue();
+        assertThat(stager.verify()).isZero();
+        stager.apply(src, dst);
+
+        assertThat(src.getStates(1, 0, 1)).isSameAs(dstStates);
+        assertThat(dst.getStates(32, 4, 32)).isSameAs(srcStates);
+    }
+
+    @Test
+    void testChangesAfterStagingAreStagedAgain() {
+        var srcMin = new BlockPos(10, 5, 7);
+        var dstMin = new BlockPos(100, 40, 200);
+        var size = new BlockPos(30, 30, 30);
+        fill(src, srcMin, size, STONE);
+        fill(dst, dstMin, size, DIRT);
+
+        var stager = createStager(srcMin, dstMin, size);
+        stager.tick(Integer.MAX_VALUE);
+
+        // One change inside each region, and one next to the source region in a section that was staged
+        src.set(srcMin.offset(10, 10, 10), AIR);
+        dst.set(dstMin.offset(29, 29, 29), AIR);
+        var outside = srcMin.offset(-1, 0, 0);
+        src.set(outside, DIRT);
+
+        assertThat(stager.verify()).isEqualTo(3);
+        assertThat(stager.tick(Integer.MAX_VALUE)).isTrue();
+        assertThat(stager.verify()).isZero();
+        assertThat(stager.getRestagedSections()).isEqualTo(3);
+        stager.apply(src, dst);
+
+        assertThat(dst.get(dstMin.offset(10, 10, 10))).isEqualTo(AIR);
+        assertThat(src.get(srcMin.offset(29, 29, 29))).isEqualTo(AIR);
+        assertThat(src.get(outside)).isEqualTo(DIRT);
+        assertThat(src.get(srcMin)).isEqualTo(DIRT);
+        assertThat(dst.get(dstMin)).isEqualTo(STONE);
+    }
+
+    @Test
+    void testImmovableBlocksStayWithTheirCounterpart() {
+        var srcMin = new BlockPos(16, 0, 16);
+        var dstMin = new BlockPos(512, 64, 512);
+        var size = new BlockPos(16, 16, 16);
+        fill(src, srcMin, size, STONE);
+        fill(dst, dstMin, size, DIRT);
+
+        var stager = createStager(srcMin, dstMin, size);
+        stager.tick(Integer.MAX_VALUE);
+        // Placed after the sections were staged to be exchanged as a whole
+        src.set(srcMin.offset(1, 2, 3), IMMOVABLE);
+        dst.set(dstMin.offset(4, 5, 6), IMMOVABLE);
+        assertThat(stager.verify()).isEqualTo(1);
+        stager.tick(Integer.MAX_VALUE);
+        stager.apply(src, dst);
+
+        assertThat(src.get(srcMin.offset(1, 2, 3))).isEqualTo(IMMOVABLE);
+        assertThat(dst.get(dstMin.offset(1, 2, 3))).isEqualTo(DIRT);
+        assertThat(src.get(srcMin.offset(4, 5, 6))).isEqualTo(STONE);
+        assertThat(dst.get(dstMin.offset(4, 5, 6))).isEqualTo(IMMOVABLE);
+        assertThat(src.get(srcMin)).isEqualTo(DIRT);
+        assertThat(dst.get(dstMin)).isEqualTo(STONE);
+    }
+
+    @Test
+    void testMatrixFramesAreNotMoved() {
+        var srcMin = new BlockPos(3, 5, 7);
+        var dstMin = new BlockPos(100, 40, 200);
+        var size = new BlockPos(4, 4, 4);
+        fill(src, srcMin, size, STONE);
+        fill(dst, dstMin, size, MATRIX_FRAME);
+
+        var stager = createStager(srcMin, dstMin, size);
+        stager.tick(Integer.MAX_VALUE);
+        stager.apply(src, dst);
+
+        assertRegion(src, srcMin, size, AIR);
+        assertRegion(dst, dstMin, size, STONE);
+    }
+
+    @Test
+    void testCannotApplyBeforeEverythingIsStaged() {
+        var stager = createStager(new BlockPos(0, 0, 0), new BlockPos(100, 0, 0), new BlockPos(32, 16, 16));
+        assertThat(stager.tick(1)).isFalse();
+        assertThatThrownBy(() -> stager.apply(src, dst)).isInstanceOf(IllegalStateException.class);
+    }
+
+    private SectionStager createStager(BlockPos srcMin, BlockPos dstMin, BlockPos size) {
+        return new SectionStager(src, srcMin, dst, dstMin, size, state -> state == IMMOVABLE, MATRIX_FRAME);
+    }
+
+    private static void fill(FakeRegion region, BlockPos min, BlockPos size, BlockState state) {
+        for (var pos : BlockPos.betweenClosed(min, min.offset(size).offset(-1, -1, -1))) {
+            region.set(pos, state);
+        }
+    }
+
+    private static void assertRegion(FakeRegion region, BlockPos min, BlockPos size, BlockState expected) {
+        for (var pos : BlockPos.betweenClosed(min, min.offset(size).offset(-1, -1, -1))) {
+            assertThat(region.get(pos)).as("block at %s", pos).isEqualTo(expected);
+        }
+    }
+
+    private static class FakeRegion implements SectionStager.SectionSource, SectionStager.SectionSink {
+        private final Map<Long, PalettedContainer<BlockState>> sections = new HashMap<>();
+
+        @Override
+        public PalettedContainer<BlockState> getStates(int sectionX, int sectionY, int sectionZ) {
+            return sections.computeIfAbsent(SectionPos.asLong(sectionX, sectionY, sectionZ),
+                    pos -> new PalettedContainer<>(Block.BLOCK_STATE_REGISTRY, AIR,
+                            PalettedContainer.Strategy.SECTION_STATES));
+        }
+
+        @Override
+        public void replace(int sectionX, int sectionY, int sectionZ, PalettedContainer<BlockState> states) {
+            sections.put(SectionPos.asLong(sectionX, sectionY, sectionZ), states);
+        }
+
+        BlockState get(BlockPos pos) {
+            return getStates(SectionPos.blockToSectionCoord(pos.getX()), SectionPos.blockToSectionCoord(pos.getY()),
+                    SectionPos.blockToSectionCoord(pos.getZ())).get(SectionPos.sectionRelative(pos.getX()),
+                            SectionPos.sectionRelative(pos.getY()), SectionPos.sectionRelative(pos.getZ()));
+        }
+
+        void set(BlockPos pos, BlockState state) {
+            getStates(SectionPos.blockToSectionCoord(pos.getX()), SectionPos.blockToSectionCoord(pos.getY()),
+                    SectionPos.blockToSectionCoord(pos.getZ())).set(SectionPos.sectionRelative(pos.getX()),
+                            SectionPos.sectionRelative(pos.getY()), SectionPos.sectionRelative(pos.getZ()), state);
+        }
+    }
+}